@@ -0,0 +1,152 @@
+package org.lowcoder.domain.application;
+
+import org.lowcoder.sdk.util.JsonUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Json patch (RFC 6902) between two application dsls, limited to the add, replace and remove operations. Objects are diffed
+ * key by key, arrays and scalar values are replaced as a whole.
+ */
+public final class ApplicationDslPatch {
+
+    private static final String OP = "op";
+    private static final String PATH = "path";
+    private static final String VALUE = "value";
+    private static final String ADD = "add";
+    private static final String REPLACE = "replace";
+    private static final String REMOVE = "remove";
+
+    private ApplicationDslPatch() {
+    }
+
+    public static List<Map<String, Object>> diff(Map<String, Object> source, Map<String, Object> target) {
+        List<Map<String, Object>> operations = new ArrayList<>();
+        diffObject("", source, target, operations);
+        return operations;
+    }
+
+    /**
+     * @return a new dsl, the source dsl is not modified
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> apply(Map<String, Object> source, List<Map<String, Object>> operations) {
+        Map<String, Object> result = (Map<String, Object>) deepCopy(source);
+        for (Map<String, Object> operation : operations) {
+            applyOperation(result, operation);
+        }
+        return result;
+    }
+
+    public static byte[] compress(List<Map<String, Object>> operations) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(JsonUtils.toJson(operations).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static List<Map<String, Object>> decompress(byte[] compressed) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            String json = new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+            List<Map> operations = JsonUtils.fromJsonList(json, Map.class);
+            if (operations == null) {
+                throw new IllegalStateException("invalid dsl patch");
+            }
+            return (List<Map<String, Object>>) (List<?>) operations;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void diffObject(String path, Map<String, Object> source, Map<String, Object> target,
+            List<Map<String, Object>> operations) {
+        for (Map.Entry<String, Object> entry : source.entrySet()) {
+            if (!target.containsKey(entry.getKey())) {
+                operations.add(operation(REMOVE, path + "/" + escape(entry.getKey()), null));
+            }
+        }
+        for (Map.Entry<String, Object> entry : target.entrySet()) {
+            String childPath = path + "/" + escape(entry.getKey());
+            Object targetValue = entry.getValue();
+            if (!source.containsKey(entry.getKey())) {
+                operations.add(operation(ADD, childPath, targetValue));
+                continue;
+            }
+            Object sourceValue = source.get(entry.getKey());
+            if (sourceValue instanceof Map<?, ?> sourceMap && targetValue instanceof Map<?, ?> targetMap) {
+                diffObject(childPath, (Map<String, Object>) sourceMap, (Map<String, Object>) targetMap, operations);
+            } else if (!Objects.equals(sourceValue, targetValue)) {
+                operations.add(operation(REPLACE, childPath, targetValue));
+            }
+        }
+    }
+
+    private static Map<String, Object> operation(String op, String path, Object value) {
+        Map<String, Object> operation = new HashMap<>();
+        operation.put(OP, op);
+        operation.put(PATH, path);
+        if (!REMOVE.equals(op)) {
+            operation.put(VALUE, value);
+        }
+        return operation;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void applyOperation(Map<String, Object> document, Map<String, Object> operation) {
+        String[] tokens = ((String) operation.get(PATH)).substring(1).split("/", -1);
+        Map<String, Object> parent = document;
+        for (int i = 0; i < tokens.length - 1; i++) {
+            Object child = parent.get(unescape(tokens[i]));
+            if (!(child instanceof Map<?, ?> childMap)) {
+                throw new IllegalStateException("invalid dsl patch path: " + operation.get(PATH));
+            }
+            parent = (Map<String, Object>) childMap;
+        }
+        String key = unescape(tokens[tokens.length - 1]);
+        String op = (String) operation.get(OP);
+        if (REMOVE.equals(op)) {
+            parent.remove(key);
+        } else {
+            parent.put(key, deepCopy(operation.get(VALUE)));
+        }
+    }
+
+    private static Object deepCopy(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            Map<String, Object> copy = new LinkedHashMap<>();
+            map.forEach((k, v) -> copy.put(String.valueOf(k), deepCopy(v)));
+            return copy;
+        }
+        if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+            list.forEach(item -> copy.add(deepCopy(item)));
+            return copy;
+        }
+        return value;
+    }
+
+    private static String escape(String key) {
+        return key.replace("~", "~0").replace("/", "~1");
+    }
+
+    private static String unescape(String token) {
+        return token.replace("~1", "/").replace("~0", "~");
+    }
+}
@@ -63,6 +63,15 @@ public class Application extends HasIdAndAuditing {
     @Setter
     protected Instant lastEditedAt;
 
+    /**
+     * the folder the application is in, null at the root. kept next to the folder relation by
+     * {@link org.lowcoder.domain.folder.service.FolderElementRelationService} so that a folder level is read from the
+     * application indexes alone.
+     */
+    @Getter
+    @JsonIgnore
+    private String folderId;
+
     public Application(
             @JsonProperty("orgId") String organizationId,
             @JsonProperty("gid") String gid,
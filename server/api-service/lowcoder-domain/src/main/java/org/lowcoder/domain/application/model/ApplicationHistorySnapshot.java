@@ -1,5 +1,6 @@
 package org.lowcoder.domain.application.model;
 
+import java.util.List;
 import java.util.Map;
 
 import lombok.NoArgsConstructor;
@@ -21,4 +22,14 @@ public class ApplicationHistorySnapshot extends HasIdAndAuditing {
     private Map<String, Object> dsl;
     private Map<String, Object> context;
 
+    /**
+     * snapshots are stored as a full dsl keyframe followed by deltas, a delta has no dsl but a json patch against the
+     * snapshot {@link #baseSnapshotId}, kept gzipped in {@link #compressedDslPatch} when large.
+     */
+    private String keyframeId;
+    private String baseSnapshotId;
+    private List<Map<String, Object>> dslPatch;
+    private byte[] compressedDslPatch;
+    private String themeId;
+
 }
@@ -7,6 +7,7 @@ import lombok.ToString;
 import org.lowcoder.sdk.models.HasIdAndAuditing;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.util.List;
 import java.util.Map;
 
 @ToString(callSuper = true)
@@ -20,4 +21,11 @@ public class ApplicationHistorySnapshotTS extends HasIdAndAuditing {
     private Map<String, Object> dsl;
     private Map<String, Object> context;
 
+    // see ApplicationHistorySnapshot
+    private String keyframeId;
+    private String baseSnapshotId;
+    private List<Map<String, Object>> dslPatch;
+    private byte[] compressedDslPatch;
+    private String themeId;
+
 }
@@ -0,0 +1,79 @@
+package org.lowcoder.domain.application.model;
+
+import jakarta.annotation.Nullable;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+import lombok.extern.jackson.Jacksonized;
+import org.lowcoder.sdk.models.HasIdAndAuditing;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static org.lowcoder.domain.application.ApplicationUtil.getContainerSizeFromDSL;
+
+/**
+ * The fields of an application shown in listings, taken from its live dsl, so that a listing does not load the dsl of every
+ * application. The id is the id of the application.
+ * <p>
+ * {@link #sourceVersion} identifies the dsl the summary was built from: the id of the latest published version, or the
+ * update time of the application if it was never published. A summary whose source version is not the live one is stale.
+ */
+@Document
+@Getter
+@SuperBuilder
+@Jacksonized
+@NoArgsConstructor
+public class ApplicationSummary extends HasIdAndAuditing {
+
+    private static final String EDITING_VERSION_PREFIX = "editing-";
+
+    private String sourceVersion;
+    private String title;
+    private String description;
+    private String category;
+    private String icon;
+    private Object containerSize;
+    private boolean published;
+    private String publishedVersion;
+    private Instant lastPublishedTime;
+
+    /**
+     * @param latestRecord the latest published version of the application, its dsl is not needed
+     */
+    public static String sourceVersion(Application application, @Nullable ApplicationVersion latestRecord) {
+        if (latestRecord != null) {
+            return latestRecord.getId();
+        }
+        Instant updatedAt = application.getUpdatedAt();
+        return EDITING_VERSION_PREFIX + (updatedAt == null ? 0 : updatedAt.toEpochMilli());
+    }
+
+    /**
+     * @param liveDsl the dsl of the latest published version, or the editing dsl if the application was never published
+     */
+    public static ApplicationSummary from(Application application, @Nullable ApplicationVersion latestRecord, @Nullable Map<String, Object> liveDsl) {
+        Map<?, ?> settings = liveDsl != null && liveDsl.get("settings") instanceof Map<?, ?> map ? map : Map.of();
+        Object containerSize = null;
+        if (liveDsl != null && application.getApplicationType() != ApplicationType.APPLICATION.getValue()) {
+            containerSize = getContainerSizeFromDSL(liveDsl);
+        }
+        return ApplicationSummary.builder()
+                .id(application.getId())
+                .sourceVersion(sourceVersion(application, latestRecord))
+                .title(getSetting(settings, "title"))
+                .description(getSetting(settings, "description"))
+                .category(getSetting(settings, "category"))
+                .icon(getSetting(settings, "icon"))
+                .containerSize(containerSize)
+                .published(latestRecord != null)
+                .publishedVersion(latestRecord == null ? null : latestRecord.version())
+                .lastPublishedTime(latestRecord == null ? null : latestRecord.getCreatedAt())
+                .build();
+    }
+
+    private static String getSetting(Map<?, ?> settings, String key) {
+        return settings.get(key) instanceof String value ? value : "";
+    }
+}
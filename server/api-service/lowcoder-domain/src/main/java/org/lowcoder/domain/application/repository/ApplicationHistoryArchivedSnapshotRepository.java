@@ -15,7 +15,7 @@ public interface ApplicationHistoryArchivedSnapshotRepository extends ReactiveMo
 
     @Query(value = "{ 'applicationId': ?0, $and: [" +
             "{$or: [ { 'context.operations': { $elemMatch: { 'compName': ?1 } } }, { $expr: { $eq: [?1, null] } } ]}, " +
-            "{$or: [ { 'dsl.settings.themeId': ?2 }, { $expr: { $eq: [?2, null] } } ] }, " +
+            "{$or: [ { 'dsl.settings.themeId': ?2 }, { 'themeId': ?2 }, { $expr: { $eq: [?2, null] } } ] }, " +
             "{$or: [ { 'createdAt': { $gte: ?3} }, { $expr: { $eq: [?3, null] } } ] }, " +
             "{$or: [ { 'createdAt': { $lte: ?4} }, { $expr: { $eq: [?4, null] } } ] } " +
             "]}",
@@ -23,4 +23,7 @@ public interface ApplicationHistoryArchivedSnapshotRepository extends ReactiveMo
     Flux<ApplicationHistorySnapshotTS> findAllByApplicationId(String applicationId, String compName, String theme, Instant createdAtFrom, Instant createdAtTo, Pageable pageable);
 
     Mono<Long> countByApplicationId(String applicationId);
+
+    @Query(value = "{ 'keyframeId': ?0 }", fields = "{ context: 0 }")
+    Flux<ApplicationHistorySnapshotTS> findAllByKeyframeId(String keyframeId);
 }
@@ -2,11 +2,13 @@ package org.lowcoder.domain.application.repository;
 
 
 import org.lowcoder.domain.application.model.ApplicationVersion;
+import org.springframework.data.mongodb.repository.Aggregation;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -20,4 +22,13 @@ public interface ApplicationRecordRepository extends ReactiveMongoRepository<App
 
     Mono<ApplicationVersion> findTop1ByApplicationIdOrderByCreatedAtDesc(String applicationId);
 
+    // applicationDSL : 0 -> excludes applicationDSL from the return
+    @Aggregation(pipeline = {"{ $match: { applicationId: ?0 } }", "{ $sort: { createdAt: -1 } }", "{ $limit: 1 }", "{ $project: { applicationDSL: 0 } }"})
+    Mono<ApplicationVersion> findLatestWithoutDslByApplicationId(String applicationId);
+
+    // the dsl is dropped before the sort, so that the sort does not hold every version with its dsl in memory
+    @Aggregation(pipeline = {"{ $match: { applicationId: { $in: ?0 } } }", "{ $project: { applicationDSL: 0 } }", "{ $sort: { createdAt: -1 } }",
+            "{ $group: { _id: '$applicationId', latest: { $first: '$$ROOT' } } }", "{ $replaceRoot: { newRoot: '$latest' } }"})
+    Flux<ApplicationVersion> findLatestWithoutDslByApplicationIdIn(Collection<String> applicationIds);
+
 }
@@ -0,0 +1,9 @@
+package org.lowcoder.domain.application.repository;
+
+import org.lowcoder.domain.application.model.ApplicationSummary;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ApplicationSummaryRepository extends ReactiveMongoRepository<ApplicationSummary, String> {
+}
@@ -0,0 +1,76 @@
+package org.lowcoder.domain.application.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.lowcoder.domain.application.model.Application;
+import org.lowcoder.domain.application.model.ApplicationVersion;
+import org.lowcoder.infra.localcache.CaffeineCacheUtils;
+import org.lowcoder.sdk.config.CommonConfig;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the ids of all modules a published application depends on, directly or through other modules, so that checking
+ * the path of a query executed from a module does not load the live dsl of every module again.
+ * <p>
+ * Entries are keyed by the published version of the root application. Republishing a module changes the closure of every
+ * application using it, so {@link #invalidate(String)} also drops the closures that contain the published application,
+ * and entries expire after the configured time for modules published through another node.
+ */
+@Component
+public class ApplicationModuleClosureCache {
+
+    private final ApplicationService applicationService;
+    private final ApplicationRecordService applicationRecordService;
+    private final Cache<ModuleClosureKey, Set<String>> cache;
+
+    public ApplicationModuleClosureCache(ApplicationService applicationService, ApplicationRecordService applicationRecordService,
+            CommonConfig commonConfig) {
+        this.applicationService = applicationService;
+        this.applicationRecordService = applicationRecordService;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(commonConfig.getQuery().getAppModuleClosureCacheSize())
+                .expireAfterWrite(Duration.ofSeconds(commonConfig.getQuery().getAppModuleClosureCacheExpireSeconds()))
+                .build();
+    }
+
+    /**
+     * @return ids of the modules used by the live version of the application
+     */
+    public Mono<Set<String>> getDependentModuleIds(String rootAppId) {
+        return getLiveVersion(rootAppId)
+                .flatMap(version -> CaffeineCacheUtils.getCacheValueMono(cache, new ModuleClosureKey(rootAppId, version),
+                        () -> loadDependentModuleIds(rootAppId)))
+                .switchIfEmpty(Mono.defer(() -> loadDependentModuleIds(rootAppId)));
+    }
+
+    /**
+     * drop the closure of the application and every closure it is part of, called when the application is published.
+     */
+    public void invalidate(String applicationId) {
+        cache.asMap().entrySet().removeIf(entry -> entry.getKey().rootAppId().equals(applicationId)
+                || entry.getValue().contains(applicationId));
+    }
+
+    /**
+     * same fallback as Application#getLiveApplicationDsl: the editing dsl is live if the app was never published
+     */
+    private Mono<String> getLiveVersion(String rootAppId) {
+        return applicationRecordService.getLatestRecordWithoutDslByApplicationId(rootAppId)
+                .map(ApplicationVersion::getId)
+                .switchIfEmpty(Mono.defer(() -> applicationService.findByIdWithoutDsl(rootAppId)
+                        .mapNotNull(app -> app.getUpdatedAt() == null ? null : "editing-" + app.getUpdatedAt().toEpochMilli())));
+    }
+
+    private Mono<Set<String>> loadDependentModuleIds(String rootAppId) {
+        return applicationService.getAllDependentModulesFromApplicationId(rootAppId, true)
+                .map(modules -> modules.stream().map(Application::getId).collect(Collectors.toUnmodifiableSet()));
+    }
+
+    private record ModuleClosureKey(String rootAppId, String version) {
+    }
+}
@@ -0,0 +1,118 @@
+package org.lowcoder.domain.application.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.commons.collections4.MapUtils;
+import org.lowcoder.domain.application.model.Application;
+import org.lowcoder.domain.application.model.ApplicationVersion;
+import org.lowcoder.domain.query.model.ApplicationQuery;
+import org.lowcoder.infra.localcache.CaffeineCacheUtils;
+import org.lowcoder.sdk.config.CommonConfig;
+import org.lowcoder.sdk.util.JsonUtils;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.lowcoder.sdk.exception.BizError.QUERY_NOT_FOUND;
+import static org.lowcoder.sdk.util.ExceptionUtils.deferredError;
+
+/**
+ * Keeps the queries of an application dsl indexed by query id and gid, so that executing a query
+ * of a hot application does not load and deserialize the whole dsl each time.
+ * <p>
+ * Entries are keyed by the version of the dsl they were built from: the application's updatedAt in edit mode and
+ * the latest published record id in view mode, so an outdated index is never returned even if an
+ * {@link #invalidate(String)} call is missed on another node.
+ */
+@Component
+public class ApplicationQueryIndexCache {
+
+    private final ApplicationService applicationService;
+    private final ApplicationRecordService applicationRecordService;
+    private final Cache<ApplicationQueryIndexKey, Map<String, ApplicationQuery>> cache;
+
+    public ApplicationQueryIndexCache(ApplicationService applicationService, ApplicationRecordService applicationRecordService,
+            CommonConfig commonConfig) {
+        this.applicationService = applicationService;
+        this.applicationRecordService = applicationRecordService;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(commonConfig.getQuery().getAppQueryIndexCacheSize())
+                .expireAfterAccess(Duration.ofHours(1L))
+                .build();
+    }
+
+    /**
+     * @param application only the id and auditing fields are used, so it can be loaded without dsl
+     */
+    public Mono<ApplicationQuery> getQuery(Application application, boolean viewMode, String queryId) {
+        return getQueryIndex(application, viewMode)
+                .mapNotNull(index -> index.get(queryId))
+                .switchIfEmpty(deferredError(QUERY_NOT_FOUND, "LIBRARY_QUERY_NOT_FOUND"));
+    }
+
+    /**
+     * drop every indexed version of the application, called when the application is updated or published.
+     */
+    public void invalidate(String applicationId) {
+        cache.asMap().keySet().removeIf(key -> key.applicationId().equals(applicationId));
+    }
+
+    private Mono<Map<String, ApplicationQuery>> getQueryIndex(Application application, boolean viewMode) {
+        String applicationId = application.getId();
+        if (!viewMode) {
+            return getOrBuild(new ApplicationQueryIndexKey(applicationId, false, getEditingVersion(application)),
+                    () -> getEditingDsl(applicationId));
+        }
+        // same fallback as Application#getLiveApplicationDsl: use the editing dsl if the app was never published
+        return applicationRecordService.getLatestRecordWithoutDslByApplicationId(applicationId)
+                .flatMap(record -> getOrBuild(new ApplicationQueryIndexKey(applicationId, true, record.getId()),
+                        () -> applicationRecordService.getById(record.getId()).map(ApplicationVersion::getApplicationDSL)))
+                .switchIfEmpty(Mono.defer(() -> getOrBuild(new ApplicationQueryIndexKey(applicationId, true, getEditingVersion(application)),
+                        () -> getEditingDsl(applicationId))));
+    }
+
+    private Mono<Map<String, ApplicationQuery>> getOrBuild(ApplicationQueryIndexKey key, Supplier<Mono<Map<String, Object>>> dslSupplier) {
+        if (key.version() == null) {
+            // legacy documents without auditing fields can't be versioned, so they are never cached
+            return dslSupplier.get().map(ApplicationQueryIndexCache::buildQueryIndex);
+        }
+        return CaffeineCacheUtils.getCacheValueMono(cache, key, () -> dslSupplier.get().map(ApplicationQueryIndexCache::buildQueryIndex));
+    }
+
+    private Mono<Map<String, Object>> getEditingDsl(String applicationId) {
+        return applicationService.findById(applicationId).map(Application::getEditingApplicationDSL);
+    }
+
+    private static String getEditingVersion(Application application) {
+        return application.getUpdatedAt() == null ? null : String.valueOf(application.getUpdatedAt().toEpochMilli());
+    }
+
+    static Map<String, ApplicationQuery> buildQueryIndex(Map<String, Object> dsl) {
+        if (MapUtils.isEmpty(dsl) || dsl.get("queries") == null) {
+            return Collections.emptyMap();
+        }
+        Set<ApplicationQuery> queries = JsonUtils.fromJsonSet(JsonUtils.toJson(dsl.get("queries")), ApplicationQuery.class);
+        if (queries == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, ApplicationQuery> index = new HashMap<>();
+        for (ApplicationQuery query : queries) {
+            if (query.getId() != null) {
+                index.putIfAbsent(query.getId(), query);
+            }
+            if (query.getGid() != null) {
+                index.putIfAbsent(query.getGid(), query);
+            }
+        }
+        return Collections.unmodifiableMap(index);
+    }
+
+    private record ApplicationQueryIndexKey(String applicationId, boolean viewMode, String version) {
+    }
+}
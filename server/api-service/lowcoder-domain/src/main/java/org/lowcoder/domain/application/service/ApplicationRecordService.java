@@ -3,6 +3,7 @@ package org.lowcoder.domain.application.service;
 import org.lowcoder.domain.application.model.ApplicationVersion;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -17,6 +18,10 @@ public interface ApplicationRecordService {
 
     Mono<ApplicationVersion> getLatestRecordByApplicationId(String applicationId);
 
+    Mono<ApplicationVersion> getLatestRecordWithoutDslByApplicationId(String applicationId);
+
+    Mono<Map<String, ApplicationVersion>> getLatestRecordsWithoutDslByApplicationIds(Collection<String> applicationIds);
+
     Mono<Long> deleteAllApplicationTagByApplicationId(String applicationId);
 
     Mono<Void> deleteById(String id);
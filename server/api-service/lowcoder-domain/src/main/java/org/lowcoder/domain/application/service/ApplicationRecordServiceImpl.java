@@ -6,6 +6,7 @@ import org.lowcoder.domain.application.repository.ApplicationRecordRepository;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
@@ -58,6 +59,26 @@ public class ApplicationRecordServiceImpl implements ApplicationRecordService {
         return applicationRecordRepository.findTop1ByApplicationIdOrderByCreatedAtDesc(applicationId);
     }
 
+    /**
+     * get the id and meta of the latest published version, without loading its dsl
+     */
+    @Override
+    public Mono<ApplicationVersion> getLatestRecordWithoutDslByApplicationId(String applicationId) {
+        return applicationRecordRepository.findLatestWithoutDslByApplicationId(applicationId);
+    }
+
+    /**
+     * get the latest published version of each application in one query, without loading their dsl
+     */
+    @Override
+    public Mono<Map<String, ApplicationVersion>> getLatestRecordsWithoutDslByApplicationIds(Collection<String> applicationIds) {
+        if (applicationIds.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return applicationRecordRepository.findLatestWithoutDslByApplicationIdIn(applicationIds)
+                .collectMap(ApplicationVersion::getApplicationId);
+    }
+
     @Override
     public Mono<Long> deleteAllApplicationTagByApplicationId(String applicationId) {
         return applicationRecordRepository.deleteByApplicationId(applicationId);
@@ -16,6 +16,7 @@ import org.lowcoder.domain.application.model.ApplicationStatus;
 import org.lowcoder.domain.application.repository.ApplicationRepository;
 import org.lowcoder.domain.permission.model.ResourceRole;
 import org.lowcoder.domain.permission.model.ResourceType;
+import org.lowcoder.domain.permission.service.PermissionDecisionCache;
 import org.lowcoder.domain.permission.service.ResourcePermissionService;
 import org.lowcoder.domain.user.repository.UserRepository;
 import org.lowcoder.domain.util.SlugUtils;
@@ -44,6 +45,7 @@ public class ApplicationServiceImpl implements ApplicationService {
     private final ApplicationRepository repository;
     private final UserRepository userRepository;
     private final ApplicationRecordService applicationRecordService;
+    private final PermissionDecisionCache permissionDecisionCache;
 
     @Override
     public Mono<Application> findById(String id) {
@@ -170,7 +172,8 @@ public class ApplicationServiceImpl implements ApplicationService {
         Application application = Application.builder()
                 .publicToAll(publicToAll)
                 .build();
-        return mongoUpsertHelper.updateById(application, applicationId);
+        return mongoUpsertHelper.updateById(application, applicationId)
+                .doOnSuccess(__ -> permissionDecisionCache.invalidateResource(applicationId));
     }
 
     // Falk: String title, String category, String description, String image will be set in Application Settings inside DSL by Frontend
@@ -212,7 +215,8 @@ public class ApplicationServiceImpl implements ApplicationService {
                             .build();
 
                 })
-                .flatMap(application -> mongoUpsertHelper.updateById(application, applicationId));
+                .flatMap(application -> mongoUpsertHelper.updateById(application, applicationId))
+                .doOnSuccess(__ -> permissionDecisionCache.invalidateResource(applicationId));
 
 
     }
@@ -222,7 +226,8 @@ public class ApplicationServiceImpl implements ApplicationService {
         Application application = Application.builder()
                 .agencyProfile(agencyProfile)
                 .build();
-        return mongoUpsertHelper.updateById(application, applicationId);
+        return mongoUpsertHelper.updateById(application, applicationId)
+                .doOnSuccess(__ -> permissionDecisionCache.invalidateResource(applicationId));
     }
 
 
@@ -0,0 +1,22 @@
+package org.lowcoder.domain.application.service;
+
+import org.lowcoder.domain.application.model.Application;
+import org.lowcoder.domain.application.model.ApplicationSummary;
+import org.lowcoder.domain.application.model.ApplicationVersion;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface ApplicationSummaryService {
+
+    /**
+     * @param applications loaded without dsl
+     * @return application id -> summary of its live dsl
+     */
+    Mono<Map<String, ApplicationSummary>> getByApplications(Collection<Application> applications);
+
+    Mono<ApplicationSummary> refresh(Application application, ApplicationVersion publishedRecord);
+
+    Mono<Void> deleteByApplicationId(String applicationId);
+}
@@ -0,0 +1,88 @@
+package org.lowcoder.domain.application.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.lowcoder.domain.application.model.Application;
+import org.lowcoder.domain.application.model.ApplicationSummary;
+import org.lowcoder.domain.application.model.ApplicationVersion;
+import org.lowcoder.domain.application.repository.ApplicationSummaryRepository;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class ApplicationSummaryServiceImpl implements ApplicationSummaryService {
+
+    private static final int REBUILD_CONCURRENCY = 8;
+
+    private final ApplicationSummaryRepository applicationSummaryRepository;
+    private final ApplicationRecordService applicationRecordService;
+    private final ApplicationService applicationService;
+
+    /**
+     * Reads the stored summaries and the latest published versions in one query each. Summaries that are missing, e.g.
+     * for applications created before summaries existed, or stale, are rebuilt from the live dsl and stored.
+     */
+    @Override
+    public Mono<Map<String, ApplicationSummary>> getByApplications(Collection<Application> applications) {
+        if (applications.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        List<String> applicationIds = applications.stream().map(Application::getId).filter(Objects::nonNull).toList();
+        return Mono.zip(applicationRecordService.getLatestRecordsWithoutDslByApplicationIds(applicationIds),
+                        applicationSummaryRepository.findAllById(applicationIds).collectMap(ApplicationSummary::getId))
+                .flatMap(tuple -> {
+                    Map<String, ApplicationVersion> latestRecords = tuple.getT1();
+                    Map<String, ApplicationSummary> summaries = new HashMap<>(tuple.getT2());
+                    List<Application> staleApplications = applications.stream()
+                            .filter(application -> {
+                                ApplicationSummary summary = summaries.get(application.getId());
+                                return summary == null || !Objects.equals(summary.getSourceVersion(),
+                                        ApplicationSummary.sourceVersion(application, latestRecords.get(application.getId())));
+                            })
+                            .toList();
+                    return Flux.fromIterable(staleApplications)
+                            .flatMap(application -> rebuild(application, latestRecords.get(application.getId())), REBUILD_CONCURRENCY)
+                            .doOnNext(summary -> summaries.put(summary.getId(), summary))
+                            .then(Mono.fromSupplier(() -> summaries));
+                });
+    }
+
+    @Override
+    public Mono<ApplicationSummary> refresh(Application application, ApplicationVersion publishedRecord) {
+        return save(ApplicationSummary.from(application, publishedRecord, publishedRecord.getApplicationDSL()));
+    }
+
+    @Override
+    public Mono<Void> deleteByApplicationId(String applicationId) {
+        return applicationSummaryRepository.deleteById(applicationId);
+    }
+
+    private Mono<ApplicationSummary> rebuild(Application application, ApplicationVersion latestRecord) {
+        if (latestRecord != null) {
+            return applicationRecordService.getById(latestRecord.getId())
+                    .flatMap(record -> save(ApplicationSummary.from(application, latestRecord, record.getApplicationDSL())));
+        }
+        return applicationService.findById(application.getId())
+                .flatMap(applicationWithDsl -> save(ApplicationSummary.from(application, null, applicationWithDsl.getEditingApplicationDSL())));
+    }
+
+    /**
+     * a failed write only means the summary is rebuilt again on the next read
+     */
+    private Mono<ApplicationSummary> save(ApplicationSummary summary) {
+        return applicationSummaryRepository.save(summary)
+                .onErrorResume(e -> {
+                    log.warn("fail to save summary of application {}", summary.getId(), e);
+                    return Mono.just(summary);
+                });
+    }
+}
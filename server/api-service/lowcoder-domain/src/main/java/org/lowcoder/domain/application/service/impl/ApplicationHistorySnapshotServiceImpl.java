@@ -1,39 +1,95 @@
 package org.lowcoder.domain.application.service.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.lowcoder.domain.application.ApplicationDslPatch;
 import org.lowcoder.domain.application.model.ApplicationHistorySnapshot;
 import org.lowcoder.domain.application.model.ApplicationHistorySnapshotTS;
 import org.lowcoder.domain.application.repository.ApplicationHistoryArchivedSnapshotRepository;
 import org.lowcoder.domain.application.repository.ApplicationHistorySnapshotRepository;
 import org.lowcoder.domain.application.service.ApplicationHistorySnapshotService;
+import org.lowcoder.sdk.config.CommonConfig;
 import org.lowcoder.sdk.exception.BizError;
+import org.lowcoder.sdk.util.JsonUtils;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import static org.lowcoder.sdk.exception.BizError.INVALID_HISTORY_SNAPSHOT;
 import static org.lowcoder.sdk.util.ExceptionUtils.deferredError;
+import static org.lowcoder.sdk.util.ExceptionUtils.ofError;
 import static org.lowcoder.sdk.util.ExceptionUtils.ofException;
 
+/**
+ * Each application's snapshots are stored as a full dsl keyframe followed by json patch deltas, each against the previous
+ * snapshot, and a new keyframe every {@link CommonConfig.Query#getAppSnapshotKeyframeInterval()} snapshots. The last dsl
+ * of an application is kept in memory to compute the next delta, a node without it starts a new keyframe. Those dsls are
+ * bounded by their estimated serialized size, see {@link CommonConfig.Query#getAppSnapshotLastDslCacheMaxSizeMb()}: the
+ * keyframe is serialized once and each delta adds the size of its patch.
+ */
 @RequiredArgsConstructor
 @Service
 public class ApplicationHistorySnapshotServiceImpl implements ApplicationHistorySnapshotService {
 
     private final ApplicationHistorySnapshotRepository repository;
     private final ApplicationHistoryArchivedSnapshotRepository repositoryArchived;
+    private final CommonConfig commonConfig;
+
+    private Cache<String, LastSnapshot> lastSnapshots;
+
+    @PostConstruct
+    public void init() {
+        CommonConfig.Query queryConfig = commonConfig.getQuery();
+        lastSnapshots = Caffeine.newBuilder()
+                .maximumWeight(Math.max(queryConfig.getAppSnapshotLastDslCacheMaxSizeMb(), 0) * 1024L * 1024L)
+                .<String, LastSnapshot> weigher((applicationId, last) -> last.size())
+                .expireAfterAccess(Duration.ofMinutes(queryConfig.getAppSnapshotLastDslCacheExpireMinutes()))
+                .build();
+    }
 
     @Override
     public Mono<Boolean> createHistorySnapshot(String applicationId, Map<String, Object> dsl, Map<String, Object> context, String userId) {
         ApplicationHistorySnapshot applicationHistorySnapshot = new ApplicationHistorySnapshot();
         applicationHistorySnapshot.setApplicationId(applicationId);
-        applicationHistorySnapshot.setDsl(dsl);
         applicationHistorySnapshot.setContext(context);
+        applicationHistorySnapshot.setThemeId(getThemeId(dsl));
+
+        LastSnapshot last = lastSnapshots.getIfPresent(applicationId);
+        boolean keyframe = last == null || dsl == null
+                || last.deltaCount() + 1 >= commonConfig.getQuery().getAppSnapshotKeyframeInterval();
+        int patchSize;
+        if (keyframe) {
+            applicationHistorySnapshot.setDsl(dsl);
+            patchSize = 0;
+        } else {
+            List<Map<String, Object>> patch = ApplicationDslPatch.diff(last.dsl(), dsl);
+            applicationHistorySnapshot.setKeyframeId(last.keyframeId());
+            applicationHistorySnapshot.setBaseSnapshotId(last.snapshotId());
+            patchSize = setDslPatch(applicationHistorySnapshot, patch);
+        }
         return repository.save(applicationHistorySnapshot)
+                .doOnNext(saved -> {
+                    if (dsl == null) {
+                        lastSnapshots.invalidate(applicationId);
+                    } else if (keyframe) {
+                        lastSnapshots.put(applicationId, new LastSnapshot(saved.getId(), saved.getId(), 0, dsl, JsonUtils.toJson(dsl).length()));
+                    } else {
+                        lastSnapshots.put(applicationId, new LastSnapshot(saved.getId(), last.keyframeId(), last.deltaCount() + 1, dsl,
+                                last.size() + patchSize));
+                    }
+                })
                 .thenReturn(true)
                 .onErrorReturn(false);
     }
@@ -70,13 +126,111 @@ public class ApplicationHistorySnapshotServiceImpl implements ApplicationHistory
     @Override
     public Mono<ApplicationHistorySnapshot> getHistorySnapshotDetail(String historySnapshotId) {
         return repository.findById(historySnapshotId)
-                .switchIfEmpty(deferredError(INVALID_HISTORY_SNAPSHOT, "INVALID_HISTORY_SNAPSHOT", historySnapshotId));
+                .switchIfEmpty(deferredError(INVALID_HISTORY_SNAPSHOT, "INVALID_HISTORY_SNAPSHOT", historySnapshotId))
+                .flatMap(snapshot -> {
+                    if (snapshot.getKeyframeId() == null) {
+                        return Mono.just(snapshot);
+                    }
+                    return reconstructDsl(SnapshotNode.of(snapshot), snapshot.getKeyframeId())
+                            .map(dsl -> {
+                                snapshot.setDsl(dsl);
+                                return snapshot;
+                            });
+                });
     }
 
 
     @Override
     public Mono<ApplicationHistorySnapshotTS> getHistorySnapshotDetailArchived(String historySnapshotId) {
         return repositoryArchived.findById(historySnapshotId)
-                .switchIfEmpty(deferredError(INVALID_HISTORY_SNAPSHOT, "INVALID_HISTORY_SNAPSHOT", historySnapshotId));
+                .switchIfEmpty(deferredError(INVALID_HISTORY_SNAPSHOT, "INVALID_HISTORY_SNAPSHOT", historySnapshotId))
+                .flatMap(snapshot -> {
+                    if (snapshot.getKeyframeId() == null) {
+                        return Mono.just(snapshot);
+                    }
+                    return reconstructDsl(SnapshotNode.of(snapshot), snapshot.getKeyframeId())
+                            .map(dsl -> {
+                                snapshot.setDsl(dsl);
+                                return snapshot;
+                            });
+                });
+    }
+
+    /**
+     * loads the whole keyframe group at once, from both collections since archival may have moved only part of it, and
+     * applies the deltas from the keyframe to the snapshot.
+     */
+    private Mono<Map<String, Object>> reconstructDsl(SnapshotNode target, String keyframeId) {
+        Flux<SnapshotNode> keyframe = Flux.merge(repository.findById(keyframeId).map(SnapshotNode::of),
+                repositoryArchived.findById(keyframeId).map(SnapshotNode::of));
+        Flux<SnapshotNode> deltas = Flux.merge(repository.findAllByKeyframeId(keyframeId).map(SnapshotNode::of),
+                repositoryArchived.findAllByKeyframeId(keyframeId).map(SnapshotNode::of));
+        return Flux.concat(keyframe, deltas)
+                .collectMap(SnapshotNode::id, node -> node, HashMap::new)
+                .flatMap(nodes -> {
+                    List<SnapshotNode> chain = new ArrayList<>();
+                    SnapshotNode node = target;
+                    while (node.dsl() == null) {
+                        chain.add(node);
+                        node = node.baseSnapshotId() == null ? null : nodes.get(node.baseSnapshotId());
+                        if (node == null || chain.size() > nodes.size()) {
+                            return ofError(INVALID_HISTORY_SNAPSHOT, "INVALID_HISTORY_SNAPSHOT", target.id());
+                        }
+                    }
+                    Collections.reverse(chain);
+                    Map<String, Object> dsl = node.dsl();
+                    for (SnapshotNode delta : chain) {
+                        dsl = ApplicationDslPatch.apply(dsl, delta.patch());
+                    }
+                    return Mono.just(dsl);
+                });
+    }
+
+    /**
+     * @return serialized size of the patch
+     */
+    private int setDslPatch(ApplicationHistorySnapshot snapshot, List<Map<String, Object>> patch) {
+        int size = JsonUtils.toJson(patch).length();
+        if (commonConfig.getQuery().isAppSnapshotCompressDelta() && size >= commonConfig.getQuery().getAppSnapshotCompressThresholdBytes()) {
+            snapshot.setCompressedDslPatch(ApplicationDslPatch.compress(patch));
+        } else {
+            snapshot.setDslPatch(patch);
+        }
+        return size;
+    }
+
+    private static String getThemeId(Map<String, Object> dsl) {
+        if (dsl != null && dsl.get("settings") instanceof Map<?, ?> settings && settings.get("themeId") instanceof String themeId) {
+            return themeId;
+        }
+        return null;
+    }
+
+    /**
+     * @param size serialized size of the keyframe plus the sizes of the patches since, as an estimate of the size of the dsl
+     *             in memory
+     */
+    private record LastSnapshot(String snapshotId, String keyframeId, int deltaCount, Map<String, Object> dsl, int size) {
+    }
+
+    private record SnapshotNode(String id, String baseSnapshotId, Map<String, Object> dsl, List<Map<String, Object>> dslPatch,
+                                byte[] compressedDslPatch) {
+
+        static SnapshotNode of(ApplicationHistorySnapshot snapshot) {
+            return new SnapshotNode(snapshot.getId(), snapshot.getBaseSnapshotId(), snapshot.getDsl(), snapshot.getDslPatch(),
+                    snapshot.getCompressedDslPatch());
+        }
+
+        static SnapshotNode of(ApplicationHistorySnapshotTS snapshot) {
+            return new SnapshotNode(snapshot.getId(), snapshot.getBaseSnapshotId(), snapshot.getDsl(), snapshot.getDslPatch(),
+                    snapshot.getCompressedDslPatch());
+        }
+
+        List<Map<String, Object>> patch() {
+            if (compressedDslPatch != null) {
+                return ApplicationDslPatch.decompress(compressedDslPatch);
+            }
+            return dslPatch == null ? List.of() : dslPatch;
+        }
     }
 }
@@ -4,11 +4,14 @@ import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
 import lombok.extern.jackson.Jacksonized;
 import org.lowcoder.sdk.models.HasIdAndAuditing;
+import org.lowcoder.sdk.util.HashUtils;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.http.MediaType;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 
+import java.util.Map;
+
 @Document
 @Jacksonized
 @SuperBuilder
@@ -19,10 +22,26 @@ public class Asset extends HasIdAndAuditing {
 
     private byte[] data;
 
+    /**
+     * sha256 of the data, missing for assets uploaded before it was stored.
+     */
+    private String contentHash;
+
+    /**
+     * dimension -> id of the smaller thumbnail assets rendered from the same upload.
+     */
+    private Map<String, String> thumbnails;
+
     public static Asset from(MediaType mediaType, byte[] data) {
+        return from(mediaType, data, null);
+    }
+
+    public static Asset from(MediaType mediaType, byte[] data, Map<String, String> thumbnails) {
         return Asset.builder()
                 .contentType(mediaType == null ? null : mediaType.toString())
                 .data(data)
+                .contentHash(HashUtils.hash(data))
+                .thumbnails(thumbnails)
                 .build();
     }
 
@@ -33,4 +52,15 @@ public class Asset extends HasIdAndAuditing {
     public byte[] getData() {
         return data;
     }
+
+    public String getContentHash() {
+        if (contentHash == null && data != null) {
+            contentHash = HashUtils.hash(data);
+        }
+        return contentHash;
+    }
+
+    public Map<String, String> getThumbnails() {
+        return thumbnails == null ? Map.of() : thumbnails;
+    }
 }
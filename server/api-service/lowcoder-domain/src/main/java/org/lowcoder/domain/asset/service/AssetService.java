@@ -1,5 +1,6 @@
 package org.lowcoder.domain.asset.service;
 
+import jakarta.annotation.Nullable;
 import org.lowcoder.domain.asset.model.Asset;
 import org.springframework.http.codec.multipart.Part;
 import org.springframework.web.server.ServerWebExchange;
@@ -16,4 +17,9 @@ public interface AssetService {
 
     Mono<Void> makeImageResponse(ServerWebExchange exchange, String assetId);
 
+    /**
+     * @param size serves the smallest stored thumbnail at least this large, the asset itself when there is none
+     */
+    Mono<Void> makeImageResponse(ServerWebExchange exchange, String assetId, @Nullable Integer size);
+
 }
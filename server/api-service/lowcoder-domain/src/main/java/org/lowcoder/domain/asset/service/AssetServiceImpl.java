@@ -1,13 +1,19 @@
 package org.lowcoder.domain.asset.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.Nullable;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.lowcoder.domain.asset.model.Asset;
+import org.lowcoder.sdk.config.CommonConfig;
 import org.lowcoder.sdk.config.dynamic.Conf;
 import org.lowcoder.sdk.config.dynamic.ConfigCenter;
 import org.lowcoder.sdk.exception.BizError;
 import org.lowcoder.sdk.exception.BizException;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.HttpHeaders;
@@ -19,13 +25,22 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.RejectedExecutionException;
 
 @Slf4j
 @Service
@@ -35,17 +50,43 @@ public class AssetServiceImpl implements AssetService {
 
     private final AssetRepository repository;
     private final Conf<Integer> thumbNailPhotoDimension;
+    private final List<Integer> thumbnailSizes;
+    private final Scheduler thumbnailScheduler;
+    private final long maxCachedAssetBytes;
+    /**
+     * small assets such as avatars and org logos, assets never change once uploaded.
+     */
+    private final Cache<String, Asset> smallAssets;
 
     @Autowired
     public AssetServiceImpl(AssetRepository repository,
-            ConfigCenter configCenter) {
+            ConfigCenter configCenter,
+            CommonConfig commonConfig) {
         this.repository = repository;
         thumbNailPhotoDimension = configCenter.asset().ofInteger("thumbNailPhotoDimension", 128);
+        CommonConfig.Asset assetConfig = commonConfig.getAsset();
+        this.thumbnailSizes = assetConfig.getThumbnailSizes();
+        this.thumbnailScheduler = Schedulers.newBoundedElastic(Math.max(assetConfig.getThumbnailThreads(), 1),
+                Math.max(assetConfig.getThumbnailQueueSize(), 1), "asset-thumbnail");
+        this.maxCachedAssetBytes = assetConfig.getCacheMaxAssetSizeKb() * 1024L;
+        this.smallAssets = Caffeine.newBuilder()
+                .maximumWeight(Math.max(assetConfig.getCacheMaxSizeMb(), 0) * 1024L * 1024L)
+                .<String, Asset> weigher((id, asset) -> asset.getData() == null ? 1 : asset.getData().length)
+                .build();
     }
 
     @Override
     public Mono<Asset> getById(String id) {
-        return repository.findById(id);
+        Asset cached = smallAssets.getIfPresent(id);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return repository.findById(id)
+                .doOnNext(asset -> {
+                    if (asset.getData() != null && asset.getData().length <= maxCachedAssetBytes) {
+                        smallAssets.put(id, asset);
+                    }
+                });
     }
 
     // Falk TODO: Enable base64 upload
@@ -63,79 +104,149 @@ public class AssetServiceImpl implements AssetService {
             return Mono.error(new BizException(BizError.INVALID_PARAMETER, "INCORRECT_IMAGE_TYPE"));
         }
 
-        final Flux<DataBuffer> contentCache = filePart.content().cache();
-
-        return contentCache.count()
-                .defaultIfEmpty(0L)
-                .flatMap(count -> {
-                    // Default implementation for the BufferFactory used breaks down the FilePart into chunks of 4KB.
-                    // So we multiply the count of chunks with 4 to get an estimate on the file size in KB.
-                    if (4 * count > maxFileSizeKB) {
-                        return Mono.error(new BizException(BizError.PAYLOAD_TOO_LARGE, "PAYLOAD_TOO_LARGE", maxFileSizeKB));
-                    }
-                    return DataBufferUtils.join(contentCache);
+        // joined with an exact byte limit, an upload over it fails as soon as the limit is crossed
+        return DataBufferUtils.join(filePart.content(), maxFileSizeKB * 1024)
+                .onErrorMap(DataBufferLimitException.class,
+                        e -> new BizException(BizError.PAYLOAD_TOO_LARGE, "PAYLOAD_TOO_LARGE", maxFileSizeKB))
+                .map(dataBuffer -> {
+                    byte[] data = new byte[dataBuffer.readableByteCount()];
+                    dataBuffer.read(data);
+                    DataBufferUtils.release(dataBuffer);
+                    return data;
                 })
-                .flatMap(dataBuffer -> {
-                    try {
-                        return repository.save(createAsset(dataBuffer, contentType, isThumbnail));
-                    } catch (IOException e) {
-                        log.error("failed to upload image", e);
-                        return Mono.error(new BizException(BizError.INVALID_PARAMETER, "IMAGE_PARSE_ERROR"));
-                    }
-                });
+                .flatMap(data -> isThumbnail ? saveThumbnails(data) : repository.save(Asset.from(contentType, data)));
     }
 
     @Override
     public Mono<Void> remove(String assetId) {
-        return repository.deleteById(assetId)
+        return repository.findById(assetId)
+                .flatMapIterable(asset -> asset.getThumbnails().values())
+                .concatWith(Mono.just(assetId))
+                .concatMap(id -> repository.deleteById(id)
+                        .doOnSuccess(__ -> smallAssets.invalidate(id)))
                 .then();
     }
 
-    private Asset createAsset(DataBuffer dataBuffer, MediaType srcContentType, boolean createThumbnail) throws IOException {
-        byte[] imageData;
-        MediaType contentType;
-
-        if (createThumbnail) {
-            imageData = resizeImage(dataBuffer);
-            contentType = MediaType.IMAGE_JPEG;
-        } else {
-            imageData = new byte[dataBuffer.readableByteCount()];
-            dataBuffer.read(imageData);
-            contentType = srcContentType;
+    /**
+     * decoding and scaling run on the thumbnail scheduler, never on the event loop. The smaller thumbnails are saved
+     * first, so that the main asset can reference them.
+     */
+    private Mono<Asset> saveThumbnails(byte[] source) {
+        int dimension = thumbNailPhotoDimension.get();
+        return Mono.fromCallable(() -> renderThumbnails(source, dimension))
+                .subscribeOn(thumbnailScheduler)
+                .onErrorMap(IOException.class, e -> {
+                    log.error("failed to upload image", e);
+                    return new BizException(BizError.INVALID_PARAMETER, "IMAGE_PARSE_ERROR");
+                })
+                .onErrorMap(RejectedExecutionException.class, e -> new BizException(BizError.REQUEST_THROTTLED, "REQUEST_THROTTLED"))
+                .flatMap(thumbnails -> Flux.fromIterable(thumbnails.entrySet())
+                        .filter(entry -> entry.getKey() != dimension)
+                        .concatMap(entry -> repository.save(Asset.from(MediaType.IMAGE_JPEG, entry.getValue()))
+                                .map(asset -> Map.entry(String.valueOf(entry.getKey()), asset.getId())))
+                        .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                        .flatMap(thumbnailIds -> repository.save(Asset.from(MediaType.IMAGE_JPEG, thumbnails.get(dimension), thumbnailIds))));
+    }
+
+    /**
+     * @return dimension -> jpeg data, from the largest to the smallest. Each size is scaled from the previous one.
+     */
+    private Map<Integer, byte[]> renderThumbnails(byte[] source, int dimension) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(source));
+        if (image == null) {
+            throw new IOException("unsupported image format");
+        }
+        TreeSet<Integer> dimensions = new TreeSet<>(Comparator.reverseOrder());
+        dimensions.add(dimension);
+        thumbnailSizes.stream()
+                .filter(size -> size > 0 && size < dimension)
+                .forEach(dimensions::add);
+
+        Map<Integer, byte[]> thumbnails = new LinkedHashMap<>();
+        for (int size : dimensions) {
+            image = scale(image, size);
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            ImageIO.write(image, "jpg", buffer);
+            thumbnails.put(size, buffer.toByteArray());
         }
-        DataBufferUtils.release(dataBuffer);
-        return Asset.from(contentType, imageData);
+        return thumbnails;
     }
 
-    private byte[] resizeImage(DataBuffer dataBuffer) throws IOException {
-        int dimension = thumbNailPhotoDimension.get();
-        BufferedImage bufferedImage = ImageIO.read(dataBuffer.asInputStream());
-        Image scaledImage = bufferedImage.getScaledInstance(dimension, dimension, Image.SCALE_SMOOTH);
-        BufferedImage imageBuff = new BufferedImage(dimension, dimension, BufferedImage.TYPE_INT_RGB);
-        imageBuff.getGraphics().drawImage(scaledImage, 0, 0, new Color(0, 0, 0), null);
-        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
-        ImageIO.write(imageBuff, "jpg", buffer);
-        byte[] data = buffer.toByteArray();
-        buffer.close();
-        DataBufferUtils.release(dataBuffer);
-        return data;
+    /**
+     * scales to a dimension x dimension image, halving at most at each step so that bilinear scaling stays smooth.
+     */
+    private static BufferedImage scale(BufferedImage source, int dimension) {
+        BufferedImage image = source;
+        int width = image.getWidth();
+        int height = image.getHeight();
+        do {
+            width = width > dimension ? Math.max(width / 2, dimension) : dimension;
+            height = height > dimension ? Math.max(height / 2, dimension) : dimension;
+            BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = scaled.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.drawImage(image, 0, 0, width, height, Color.BLACK, null);
+            } finally {
+                graphics.dispose();
+            }
+            image = scaled;
+        } while (width != dimension || height != dimension);
+        return image;
     }
 
     @Override
     public Mono<Void> makeImageResponse(ServerWebExchange exchange, String assetId) {
+        return makeImageResponse(exchange, assetId, null);
+    }
+
+    /**
+     * the content hash is the etag, a request whose If-None-Match matches it gets a 304 without the data.
+     */
+    @Override
+    public Mono<Void> makeImageResponse(ServerWebExchange exchange, String assetId, @Nullable Integer size) {
         return getById(assetId)
+                .flatMap(asset -> {
+                    String thumbnailId = findThumbnailId(asset, size);
+                    return thumbnailId == null ? Mono.just(asset) : getById(thumbnailId).defaultIfEmpty(asset);
+                })
                 .flatMap(asset -> {
                     final String contentType = asset.getContentType();
                     final ServerHttpResponse response = exchange.getResponse();
 
+                    String etag = "\"" + asset.getContentHash() + "\"";
+                    boolean notModified = asset.getCreatedAt() == null
+                            ? exchange.checkNotModified(etag)
+                            : exchange.checkNotModified(etag, asset.getCreatedAt());
+                    if (notModified) {
+                        return response.setComplete();
+                    }
+
                     response.setStatusCode(HttpStatus.OK);
 
                     if (contentType != null) {
                         response.getHeaders().set(HttpHeaders.CONTENT_TYPE, contentType);
                     }
+                    response.getHeaders().setContentLength(asset.getData().length);
 
                     return response.writeWith(Mono.just(new DefaultDataBufferFactory().wrap(asset.getData())));
                 });
     }
 
+    @Nullable
+    private static String findThumbnailId(Asset asset, @Nullable Integer size) {
+        if (size == null) {
+            return null;
+        }
+        return asset.getThumbnails().entrySet().stream()
+                .filter(entry -> NumberUtils.toInt(entry.getKey()) >= size)
+                .min(Comparator.comparingInt(entry -> NumberUtils.toInt(entry.getKey())))
+                .map(Map.Entry::getValue)
+                .orElse(null);
+    }
+
+    @PreDestroy
+    public void disposeThumbnailScheduler() {
+        thumbnailScheduler.dispose();
+    }
 }
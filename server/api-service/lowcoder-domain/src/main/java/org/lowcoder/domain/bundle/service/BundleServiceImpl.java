@@ -7,6 +7,7 @@ import org.lowcoder.domain.bundle.model.BundleRequestType;
 import org.lowcoder.domain.bundle.repository.BundleRepository;
 import org.lowcoder.domain.permission.model.ResourceRole;
 import org.lowcoder.domain.permission.model.ResourceType;
+import org.lowcoder.domain.permission.service.PermissionDecisionCache;
 import org.lowcoder.domain.permission.service.ResourcePermissionService;
 import org.lowcoder.infra.annotation.NonEmptyMono;
 import org.lowcoder.infra.mongo.MongoUpsertHelper;
@@ -33,6 +34,7 @@ public class BundleServiceImpl implements BundleService {
     private final BundleRepository repository;
     private final MongoUpsertHelper mongoUpsertHelper;
     private final ResourcePermissionService resourcePermissionService;
+    private final PermissionDecisionCache permissionDecisionCache;
 
     @Override
     public Mono<Boolean> updateById(String id, Bundle resource) {
@@ -243,7 +245,8 @@ public class BundleServiceImpl implements BundleService {
         Bundle bundle = Bundle.builder()
                 .publicToAll(publicToAll)
                 .build();
-        return mongoUpsertHelper.updateById(bundle, bundleId);
+        return mongoUpsertHelper.updateById(bundle, bundleId)
+                .doOnSuccess(__ -> permissionDecisionCache.invalidateResource(bundleId));
     }
 
     @Override
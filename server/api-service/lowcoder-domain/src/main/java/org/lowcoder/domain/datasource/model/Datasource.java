@@ -29,7 +29,7 @@ import static org.lowcoder.domain.plugin.DatasourceMetaInfoConstants.*;
 
 @Getter
 @Setter
-@SuperBuilder
+@SuperBuilder(toBuilder = true)
 @Jacksonized
 @NoArgsConstructor
 public class Datasource extends HasIdAndAuditing {
@@ -15,6 +15,12 @@ public interface DatasourceService {
     Mono<Datasource> update(String id, Datasource resource);
 
     Mono<Datasource> getById(String id);
+
+    /**
+     * same as {@link #getById(String)}, but served from a node-local cache of resolved and decrypted datasources.
+     * The returned instance is shared between requests and must not be modified, it is meant for query execution.
+     */
+    Mono<Datasource> getCachedById(String id);
     Flux<Datasource> getByIds(Collection<String> ids);
 
     Mono<Boolean> delete(String id);
@@ -1,7 +1,12 @@
 package org.lowcoder.domain.datasource.service.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.base.Joiner;
+import io.micrometer.core.instrument.Tags;
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
@@ -16,6 +21,8 @@ import org.lowcoder.domain.permission.model.ResourceRole;
 import org.lowcoder.domain.permission.service.ResourcePermissionService;
 import org.lowcoder.domain.plugin.client.DatasourcePluginClient;
 import org.lowcoder.domain.plugin.service.DatasourceMetaInfoService;
+import org.lowcoder.infra.perf.PerfHelper;
+import org.lowcoder.sdk.config.CommonConfig;
 import org.lowcoder.sdk.constants.FieldName;
 import org.lowcoder.sdk.exception.BizError;
 import org.lowcoder.sdk.exception.BizException;
@@ -36,6 +43,8 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import static org.apache.commons.collections4.CollectionUtils.isNotEmpty;
+import static org.lowcoder.infra.perf.PerfEvent.DATASOURCE_CACHE_REQUEST;
+import static org.lowcoder.infra.perf.PerfEvent.DATASOURCE_CACHE_SIZE;
 import static org.lowcoder.sdk.util.ExceptionUtils.deferredError;
 import static org.lowcoder.sdk.util.ExceptionUtils.ofError;
 import static org.lowcoder.sdk.util.LocaleUtils.getLocale;
@@ -55,6 +64,23 @@ public class DatasourceServiceImpl implements DatasourceService {
     private final DatasourceRepository repository;
     private final DatasourcePluginClient datasourcePluginClient;
     private final JsDatasourceHelper jsDatasourceHelper;
+    private final PerfHelper perfHelper;
+    private final CommonConfig commonConfig;
+
+    /**
+     * resolved and decrypted datasources, keyed by the id or gid they were requested with. the expiry bounds how long
+     * another node may keep serving a datasource after it was updated or deleted elsewhere.
+     */
+    private Cache<String, Datasource> datasourceCache;
+
+    @PostConstruct
+    public void init() {
+        datasourceCache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(commonConfig.getQuery().getDatasourceCacheExpireSeconds()))
+                .maximumSize(commonConfig.getQuery().getDatasourceCacheSize())
+                .build();
+        perfHelper.gaugeSafely(DATASOURCE_CACHE_SIZE, Tags.empty(), datasourceCache, Cache::estimatedSize);
+    }
 
     @Override
     public Mono<Datasource> create(Datasource datasource, String creatorId) {
@@ -80,28 +106,69 @@ public class DatasourceServiceImpl implements DatasourceService {
                 .delayUntil(jsDatasourceHelper::fillPluginDefinition)
                 .map(currentDatasource -> currentDatasource.mergeWith(updatedDatasource))
                 .flatMap(this::validateDatasource)
-                .flatMap(this::trySaveDatasource);
+                .flatMap(this::trySaveDatasource)
+                .doOnNext(__ -> evictCachedDatasource(datasourceId));
     }
 
     @Override
     public Mono<Datasource> getById(String id) {
+        Datasource systemStaticDatasource = getSystemStaticDatasource(id);
+        if (systemStaticDatasource != null) {
+            return Mono.just(systemStaticDatasource);
+        }
+        return repository.findById(id);
+    }
+
+    @Override
+    public Mono<Datasource> getCachedById(String id) {
+        Datasource systemStaticDatasource = getSystemStaticDatasource(id);
+        if (systemStaticDatasource != null) {
+            return Mono.just(systemStaticDatasource);
+        }
+
+        Datasource cached = datasourceCache.getIfPresent(id);
+        if (cached != null) {
+            perfHelper.count(DATASOURCE_CACHE_REQUEST, Tags.of("result", "hit"));
+            return Mono.just(copy(cached));
+        }
+        perfHelper.count(DATASOURCE_CACHE_REQUEST, Tags.of("result", "miss"));
+        return repository.findById(id)
+                .doOnNext(datasource -> {
+                    // a datasource whose detail config failed to resolve is returned without it, don't keep it
+                    if (datasource.getDetailConfig() != null) {
+                        datasourceCache.put(id, copy(datasource));
+                    }
+                });
+    }
+
+    @Nullable
+    private Datasource getSystemStaticDatasource(String id) {
         if (StringUtils.equals(id, Datasource.QUICK_REST_API_ID)) {
-            return Mono.just(Datasource.QUICK_REST_API);
+            return Datasource.QUICK_REST_API;
         }
 
         if (StringUtils.equals(id, Datasource.QUICK_GRAPHQL_ID)) {
-            return Mono.just(Datasource.QUICK_GRAPHQL_API);
+            return Datasource.QUICK_GRAPHQL_API;
         }
 
         if (StringUtils.equals(id, Datasource.JS_CODE_ID)) {
-            return Mono.just(Datasource.JS_CODE);
+            return Datasource.JS_CODE;
         }
 
         // if (StringUtils.equals(id, Datasource.LOWCODER_API_ID)) {
-        //     return Mono.just(Datasource.LOWCODER_API);
+        //     return Datasource.LOWCODER_API;
         // }
 
-        return repository.findById(id);
+        return null;
+    }
+
+    /**
+     * drop the cached datasource whether it was cached by id or by gid.
+     */
+    private void evictCachedDatasource(String idOrGid) {
+        datasourceCache.asMap().entrySet().removeIf(entry -> entry.getKey().equals(idOrGid)
+                || idOrGid.equals(entry.getValue().getId())
+                || idOrGid.equals(entry.getValue().getGid()));
     }
 
     @Override
@@ -265,7 +332,8 @@ public class DatasourceServiceImpl implements DatasourceService {
                     }
                     return Mono.empty();
                 })
-                .then(repository.markDatasourceAsDeleted(datasourceId));
+                .then(repository.markDatasourceAsDeleted(datasourceId))
+                .doOnNext(__ -> evictCachedDatasource(datasourceId));
     }
 
     @Nonnull
@@ -274,5 +342,18 @@ public class DatasourceServiceImpl implements DatasourceService {
                 .filter(application -> application.getApplicationStatus() != ApplicationStatus.DELETED)
                 .hasElements();
     }
-}
 
+    /**
+     * the cached datasource is never handed out, callers get a copy so that they can't change what other callers read. typed
+     * plugin configs are not changed once resolved and are shared, the map of a js plugin config is copied.
+     */
+    private static Datasource copy(Datasource datasource) {
+        DatasourceConnectionConfig detailConfig = datasource.getDetailConfig();
+        if (detailConfig instanceof JsDatasourceConnectionConfig jsDatasourceConnectionConfig) {
+            detailConfig = jsDatasourceConnectionConfig.copy();
+        }
+        return datasource.toBuilder()
+                .detailConfig(detailConfig)
+                .build();
+    }
+}
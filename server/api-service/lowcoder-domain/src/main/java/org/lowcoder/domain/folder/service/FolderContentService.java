@@ -0,0 +1,71 @@
+package org.lowcoder.domain.folder.service;
+
+import java.util.Collection;
+import java.util.Map;
+
+import jakarta.annotation.Nullable;
+
+import org.lowcoder.domain.application.model.Application;
+import org.lowcoder.domain.folder.model.Folder;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reads the content of a single folder level from the database, sorted by name and id so that it can be listed with keyset
+ * cursors instead of building the folder tree of the whole organization.
+ */
+public interface FolderContentService {
+
+    /**
+     * @param parentFolderId null for the root folder
+     * @param name matched case-insensitively against the folder name, type and description
+     */
+    Flux<Folder> getLevelFolders(String orgId, @Nullable String parentFolderId, @Nullable String name, @Nullable NameCursor after, int limit);
+
+    /**
+     * the folders directly in any of the given folders, with only their id and parent folder id read.
+     */
+    Flux<Folder> getSubFolders(String orgId, Collection<String> parentFolderIds);
+
+    /**
+     * normal applications directly in the folder, or in no folder at all for the root. permissions are not checked here.
+     */
+    Flux<Application> getLevelApplications(LevelQuery query, @Nullable NameCursor after, int limit);
+
+    /**
+     * normal applications directly in any of the folders, sorted by id so that they can be read batch by batch. permissions
+     * are not checked here.
+     *
+     * @param applicationType all types when null
+     * @param afterId id of the last application of the previous batch
+     */
+    Flux<Application> getFolderApplications(String orgId, Collection<String> folderIds, @Nullable Integer applicationType,
+            @Nullable String afterId, int limit);
+
+    /**
+     * @return folder id -> number of direct sub folders and elements of the folder, for every given folder
+     */
+    Mono<Map<String, ChildCount>> countChildren(String orgId, Collection<String> folderIds);
+
+    /**
+     * @param folderId null for the root folder
+     * @param applicationType all types when null
+     * @param name contained in the application name, case-insensitively
+     * @param category contained in the category of the application summary, applications without a summary are kept
+     */
+    record LevelQuery(String orgId, @Nullable String folderId, @Nullable Integer applicationType, @Nullable String name,
+                      @Nullable String category) {
+    }
+
+    /**
+     * position after the last folder or application of a page
+     *
+     * @param name null for an unnamed one, those are sorted first
+     */
+    record NameCursor(@Nullable String name, String id) {
+    }
+
+    record ChildCount(long folders, long elements) {
+    }
+}
@@ -0,0 +1,195 @@
+package org.lowcoder.domain.folder.service;
+
+import static org.lowcoder.infra.birelation.BiRelationBizType.FOLDER_ELEMENT;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import jakarta.annotation.Nullable;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.lowcoder.domain.application.model.Application;
+import org.lowcoder.domain.application.model.ApplicationStatus;
+import org.lowcoder.domain.application.model.ApplicationSummary;
+import org.lowcoder.domain.folder.model.Folder;
+import org.lowcoder.infra.birelation.BiRelation;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@RequiredArgsConstructor
+public class FolderContentServiceImpl implements FolderContentService {
+
+    private static final String ID_FIELD = "_id";
+    private static final String NAME_FIELD = "name";
+    private static final String FOLDER_ID_FIELD = "folderId";
+    private static final String SUMMARY_FIELD = "summary";
+    private static final String EDITING_DSL_FIELD = "editingApplicationDSL";
+    private static final String PUBLISHED_DSL_FIELD = "publishedApplicationDSL";
+    private static final Sort NAME_SORT = Sort.by(NAME_FIELD, ID_FIELD);
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Override
+    public Flux<Folder> getLevelFolders(String orgId, @Nullable String parentFolderId, @Nullable String name, @Nullable NameCursor after, int limit) {
+        List<Criteria> criteria = new ArrayList<>();
+        criteria.add(Criteria.where("organizationId").is(orgId).and("parentFolderId").is(parentFolderId));
+        if (StringUtils.isNotBlank(name)) {
+            Pattern pattern = containsIgnoreCase(name);
+            criteria.add(new Criteria().orOperator(Criteria.where(NAME_FIELD).regex(pattern),
+                    Criteria.where("type").regex(pattern),
+                    Criteria.where("description").regex(pattern)));
+        }
+        if (after != null) {
+            criteria.add(after(after));
+        }
+        Query query = Query.query(new Criteria().andOperator(criteria))
+                .with(NAME_SORT)
+                .limit(limit);
+        return reactiveMongoTemplate.find(query, Folder.class);
+    }
+
+    /**
+     * walks the (organizationId, parentFolderId, name) index, one range per parent folder.
+     */
+    @Override
+    public Flux<Folder> getSubFolders(String orgId, Collection<String> parentFolderIds) {
+        if (parentFolderIds.isEmpty()) {
+            return Flux.empty();
+        }
+        Query query = Query.query(Criteria.where("organizationId").is(orgId).and("parentFolderId").in(parentFolderIds));
+        query.fields().include(ID_FIELD, "parentFolderId");
+        return reactiveMongoTemplate.find(query, Folder.class);
+    }
+
+    @Override
+    public Flux<Application> getLevelApplications(LevelQuery query, @Nullable NameCursor after, int limit) {
+        MongoConverter converter = reactiveMongoTemplate.getConverter();
+        Aggregation aggregation = Aggregation.newAggregation(levelApplicationStages(query, after, limit));
+        return reactiveMongoTemplate.aggregate(aggregation, reactiveMongoTemplate.getCollectionName(Application.class), Document.class)
+                .map(document -> converter.read(Application.class, document));
+    }
+
+    /**
+     * the sort comes right after the match so that it can walk the (organizationId, folderId, name, _id) index, the summary
+     * lookup then only runs for the applications read until the limit is reached.
+     */
+    private List<AggregationOperation> levelApplicationStages(LevelQuery query, @Nullable NameCursor after, int limit) {
+        List<Criteria> criteria = new ArrayList<>();
+        criteria.add(applicationCriteria(query.orgId(), query.applicationType()).and(FOLDER_ID_FIELD).is(query.folderId()));
+        if (StringUtils.isNotBlank(query.name())) {
+            criteria.add(Criteria.where(NAME_FIELD).regex(containsIgnoreCase(query.name())));
+        }
+        if (after != null) {
+            criteria.add(after(after));
+        }
+
+        List<AggregationOperation> stages = new ArrayList<>();
+        stages.add(Aggregation.match(new Criteria().andOperator(criteria)));
+        stages.add(Aggregation.sort(NAME_SORT));
+        if (StringUtils.isNotBlank(query.category())) {
+            stages.add(Aggregation.lookup(reactiveMongoTemplate.getCollectionName(ApplicationSummary.class), ID_FIELD, ID_FIELD, SUMMARY_FIELD));
+            stages.add(Aggregation.match(new Criteria().orOperator(Criteria.where(SUMMARY_FIELD).size(0),
+                    Criteria.where(SUMMARY_FIELD + ".category").regex(containsIgnoreCase(query.category())))));
+        }
+        stages.add(Aggregation.limit(limit));
+        stages.add(stage("$project", new Document(EDITING_DSL_FIELD, 0)
+                .append(PUBLISHED_DSL_FIELD, 0)
+                .append(SUMMARY_FIELD, 0)));
+        return stages;
+    }
+
+    /**
+     * walks the (organizationId, folderId, _id) index, one range per folder merged by id.
+     */
+    @Override
+    public Flux<Application> getFolderApplications(String orgId, Collection<String> folderIds, @Nullable Integer applicationType,
+            @Nullable String afterId, int limit) {
+        if (folderIds.isEmpty()) {
+            return Flux.empty();
+        }
+        Criteria criteria = applicationCriteria(orgId, applicationType).and(FOLDER_ID_FIELD).in(folderIds);
+        if (afterId != null) {
+            criteria = criteria.and(ID_FIELD).gt(toId(afterId));
+        }
+        Query query = Query.query(criteria)
+                .with(Sort.by(ID_FIELD))
+                .limit(limit);
+        query.fields().exclude(EDITING_DSL_FIELD, PUBLISHED_DSL_FIELD);
+        return reactiveMongoTemplate.find(query, Application.class);
+    }
+
+    private static Criteria applicationCriteria(String orgId, @Nullable Integer applicationType) {
+        Criteria criteria = Criteria.where("organizationId").is(orgId)
+                .and("applicationStatus").is(ApplicationStatus.NORMAL.name());
+        if (applicationType != null) {
+            criteria = criteria.and("applicationType").is(applicationType);
+        }
+        return criteria;
+    }
+
+    @Override
+    public Mono<Map<String, ChildCount>> countChildren(String orgId, Collection<String> folderIds) {
+        if (folderIds.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        Mono<Map<String, Long>> folderCountsMono = countBy(Folder.class,
+                Criteria.where("organizationId").is(orgId).and("parentFolderId").in(folderIds), "parentFolderId");
+        Mono<Map<String, Long>> elementCountsMono = countBy(BiRelation.class,
+                Criteria.where("bizType").is(FOLDER_ELEMENT.name()).and("sourceId").in(folderIds), "sourceId");
+        return Mono.zip(folderCountsMono, elementCountsMono)
+                .map(tuple -> folderIds.stream()
+                        .distinct()
+                        .collect(Collectors.toMap(Function.identity(),
+                                folderId -> new ChildCount(tuple.getT1().getOrDefault(folderId, 0L), tuple.getT2().getOrDefault(folderId, 0L)))));
+    }
+
+    private Mono<Map<String, Long>> countBy(Class<?> entityClass, Criteria criteria, String field) {
+        Aggregation aggregation = Aggregation.newAggregation(Aggregation.match(criteria),
+                Aggregation.group(field).count().as("count"));
+        return reactiveMongoTemplate.aggregate(aggregation, reactiveMongoTemplate.getCollectionName(entityClass), Document.class)
+                .collectMap(document -> document.getString(ID_FIELD), document -> ((Number) document.get("count")).longValue());
+    }
+
+    /**
+     * null names sort before all others, and no name is greater than null.
+     */
+    private static Criteria after(NameCursor cursor) {
+        Object id = toId(cursor.id());
+        if (cursor.name() == null) {
+            return new Criteria().orOperator(Criteria.where(NAME_FIELD).ne(null),
+                    Criteria.where(NAME_FIELD).is(null).and(ID_FIELD).gt(id));
+        }
+        return new Criteria().orOperator(Criteria.where(NAME_FIELD).gt(cursor.name()),
+                Criteria.where(NAME_FIELD).is(cursor.name()).and(ID_FIELD).gt(id));
+    }
+
+    private static Object toId(String id) {
+        return ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+
+    private static Pattern containsIgnoreCase(String value) {
+        return Pattern.compile(Pattern.quote(value), Pattern.CASE_INSENSITIVE);
+    }
+
+    private static AggregationOperation stage(String operator, Document spec) {
+        return context -> new Document(operator, spec);
+    }
+}
@@ -2,38 +2,57 @@ package org.lowcoder.domain.folder.service;
 
 import static org.lowcoder.infra.birelation.BiRelationBizType.FOLDER_ELEMENT;
 
+import java.util.Collection;
 import java.util.List;
 
+import jakarta.annotation.Nullable;
+
 import lombok.RequiredArgsConstructor;
+import org.lowcoder.domain.application.model.Application;
 import org.lowcoder.domain.folder.model.FolderElement;
+import org.lowcoder.infra.birelation.BiRelation;
 import org.lowcoder.infra.birelation.BiRelationBizType;
 import org.lowcoder.infra.birelation.BiRelationService;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+/**
+ * the folder relations are mirrored on {@link Application#getFolderId()}, bundles have no such field and are left as they are.
+ */
 @RequiredArgsConstructor
 @Service
 public class FolderElementRelationServiceImpl implements FolderElementRelationService {
 
+    private static final String FOLDER_ID_FIELD = "folderId";
+
     private final BiRelationService biRelationService;
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
 
     @Override
     public Mono<Boolean> deleteByFolderIds(List<String> folderIds) {
-        return biRelationService.removeAllBiRelations(FOLDER_ELEMENT, folderIds);
+        return biRelationService.getBySourceIds(FOLDER_ELEMENT, folderIds)
+                .map(BiRelation::getTargetId)
+                .collectList()
+                .flatMap(elementIds -> biRelationService.removeAllBiRelations(FOLDER_ELEMENT, folderIds)
+                        .delayUntil(removed -> setFolderId(elementIds, null)));
     }
 
     @Override
     public Mono<Boolean> deleteByElementId(String elementId) {
-        return biRelationService.removeAllBiRelationsByTargetId(FOLDER_ELEMENT, elementId);
+        return biRelationService.removeAllBiRelationsByTargetId(FOLDER_ELEMENT, elementId)
+                .delayUntil(removed -> setFolderId(List.of(elementId), null));
     }
 
     @Override
     public Mono<Void> create(String folderId, String elementId) {
         return biRelationService.addBiRelation(BiRelationBizType.FOLDER_ELEMENT, folderId, elementId, null, null)
-                .then();
+                .then(setFolderId(List.of(elementId), folderId));
     }
 
     @Override
@@ -41,4 +60,13 @@ public class FolderElementRelationServiceImpl implements FolderElementRelationSe
         return biRelationService.getByTargetIds(BiRelationBizType.FOLDER_ELEMENT, elementIds)
                 .map(biRelation -> new FolderElement(biRelation.getSourceId(), biRelation.getTargetId()));
     }
+
+    private Mono<Void> setFolderId(Collection<String> elementIds, @Nullable String folderId) {
+        if (elementIds.isEmpty()) {
+            return Mono.empty();
+        }
+        Update update = folderId == null ? new Update().unset(FOLDER_ID_FIELD) : new Update().set(FOLDER_ID_FIELD, folderId);
+        return reactiveMongoTemplate.updateMulti(Query.query(Criteria.where("_id").in(elementIds)), update, Application.class)
+                .then();
+    }
 }
@@ -15,4 +15,8 @@ public class MaterialMeta extends HasIdAndAuditing {
     private String orgId;
     private long size;// in bytes
     private MaterialType type;
+    /**
+     * sha256 of the content, missing for files uploaded before it was stored.
+     */
+    private String contentHash;
 }
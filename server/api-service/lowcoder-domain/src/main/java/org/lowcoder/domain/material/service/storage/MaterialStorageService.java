@@ -3,6 +3,7 @@ package org.lowcoder.domain.material.service.storage;
 import org.lowcoder.domain.material.model.MaterialMeta;
 import org.reactivestreams.Publisher;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Scheduler;
@@ -17,5 +18,12 @@ public interface MaterialStorageService {
 
     Publisher<? extends DataBuffer> download(MaterialMeta materialMeta);
 
+    /**
+     * the content from offset, at most count bytes. The default implementation still reads the content before offset.
+     */
+    default Publisher<? extends DataBuffer> download(MaterialMeta materialMeta, long offset, long count) {
+        return DataBufferUtils.takeUntilByteCount(DataBufferUtils.skipUntilByteCount(download(materialMeta), offset), count);
+    }
+
     Mono<Void> delete(MaterialMeta materialMeta);
 }
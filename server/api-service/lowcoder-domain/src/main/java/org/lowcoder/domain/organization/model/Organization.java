@@ -9,12 +9,14 @@ import lombok.experimental.SuperBuilder;
 import lombok.extern.jackson.Jacksonized;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.lowcoder.domain.mongodb.AfterMongodbRead;
 import org.lowcoder.domain.mongodb.BeforeMongodbWrite;
 import org.lowcoder.domain.mongodb.MongodbInterceptorContext;
 import org.lowcoder.sdk.auth.AbstractAuthConfig;
 import org.lowcoder.sdk.models.HasIdAndAuditing;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.util.unit.DataSize;
 
 import java.util.*;
 
@@ -96,6 +98,9 @@ public class Organization extends HasIdAndAuditing implements BeforeMongodbWrite
 
     public static class OrganizationCommonSettings extends HashMap<String, Object> {
         public static final String PASSWORD_RESET_EMAIL_TEMPLATE = "PASSWORD_RESET_EMAIL_TEMPLATE";
+        // lower the server limits of the query results for the org, see QueryExecutionServiceImpl
+        public static final String MAX_QUERY_RESULT_ROWS = "maxQueryResultRows";
+        public static final String MAX_QUERY_RESULT_SIZE = "maxQueryResultSize";
 
         /**
          * Settings excluded from sanitized export
@@ -103,6 +108,29 @@ public class Organization extends HasIdAndAuditing implements BeforeMongodbWrite
         private final Set<String> excludedKeys = Set.of(
             PASSWORD_RESET_EMAIL_TEMPLATE
         );
+        /**
+         * 0 when not set or not a number
+         */
+        public int getMaxQueryResultRows() {
+            Object value = get(MAX_QUERY_RESULT_ROWS);
+            return value instanceof Number number ? number.intValue() : NumberUtils.toInt(Objects.toString(value, null));
+        }
+
+        /**
+         * a data size such as 10MB, 0 when not set or not a valid size
+         */
+        public long getMaxQueryResultBytes() {
+            Object value = get(MAX_QUERY_RESULT_SIZE);
+            if (value == null) {
+                return 0;
+            }
+            try {
+                return DataSize.parse(value.toString()).toBytes();
+            } catch (IllegalArgumentException e) {
+                return 0;
+            }
+        }
+
         public OrganizationCommonSettings sanitized() {
             OrganizationCommonSettings sanitized = new OrganizationCommonSettings();
             if (isEmpty()) {
@@ -0,0 +1,71 @@
+package org.lowcoder.domain.organization.service;
+
+import java.util.List;
+
+import jakarta.annotation.Nullable;
+
+import org.apache.commons.lang3.StringUtils;
+import org.lowcoder.infra.birelation.BiRelation;
+import org.lowcoder.infra.birelation.BiRelationBizType;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Lists the members of an organization or a group page by page in the database, joining the user collection only when
+ * the members are searched or sorted by name.
+ */
+public interface MemberSearchService {
+
+    Mono<MemberPage> searchMembers(MemberQuery query);
+
+    enum MemberSortKey {
+        USER_NAME("userName"),
+        ROLE("role"),
+        JOIN_TIME("joinTime");
+
+        private final String value;
+
+        MemberSortKey(String value) {
+            this.value = value;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        /**
+         * @return null when the value is blank or unknown, members are then listed in the order they were added
+         */
+        @Nullable
+        public static MemberSortKey fromValue(@Nullable String value) {
+            for (MemberSortKey sortKey : values()) {
+                if (StringUtils.equalsIgnoreCase(sortKey.value, value)) {
+                    return sortKey;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * @param search case-insensitive prefix of the user name or email
+     * @param role relation of the members, all roles when blank
+     * @param pageNum 1-based page, ignored when a cursor is given
+     * @param pageSize 0 for all members
+     * @param cursor {@link MemberPage#nextCursor()} of the previous page
+     */
+    record MemberQuery(BiRelationBizType bizType, String sourceId, @Nullable String search, @Nullable String role,
+                       @Nullable MemberSortKey sort, boolean descending, int pageNum, int pageSize, @Nullable String cursor) {
+
+        boolean joinsUsers() {
+            return StringUtils.isNotBlank(search) || sort == MemberSortKey.USER_NAME;
+        }
+    }
+
+    /**
+     * @param total all the members matching the query, across pages
+     * @param nextCursor null on the last page
+     */
+    record MemberPage(List<BiRelation> members, long total, @Nullable String nextCursor) {
+    }
+}
@@ -0,0 +1,338 @@
+package org.lowcoder.domain.organization.service;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.lowcoder.sdk.util.ExceptionUtils.ofError;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+import jakarta.annotation.Nullable;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.bson.Document;
+import org.lowcoder.domain.user.model.User;
+import org.lowcoder.infra.birelation.BiRelation;
+import org.lowcoder.sdk.exception.BizError;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Members are joined with their users only to search or sort them by name, through the lowercased search keys kept on
+ * the users. The join starts from whichever side is expected to be smaller:
+ * <ul>
+ *     <li>a search starts from the users matching the prefix when they are fewer than the members</li>
+ *     <li>a name sort walks the users in name order when the members are a large enough part of them to fill the page
+ *     quickly</li>
+ * </ul>
+ * and from the members otherwise. Both plans sort the same keys, so a cursor stays valid whichever plan the next page
+ * takes.
+ */
+@Service
+@RequiredArgsConstructor
+public class MemberSearchServiceImpl implements MemberSearchService {
+
+    private static final String ID_FIELD = "_id";
+    private static final String USER_FIELD = "user";
+    private static final String MEMBER_FIELD = "member";
+    private static final String SEARCH_NAME_FIELD = "searchName";
+    private static final String SEARCH_EMAIL_FIELD = "searchEmail";
+    private static final String SEARCH_NAME_WORDS_FIELD = "searchNameWords";
+    private static final String SORT_NAME_FIELD = "sortName";
+    private static final String SORT_USER_ID_FIELD = "sortUserId";
+    private static final String COUNT_FIELD = "count";
+    private static final String TOTAL_FIELD = "total";
+    private static final String PAGE_FIELD = "page";
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Override
+    public Mono<MemberPage> searchMembers(MemberQuery query) {
+        Cursor cursor;
+        try {
+            cursor = Cursor.decode(query.cursor(), query.sort());
+        } catch (RuntimeException e) {
+            return ofError(BizError.INVALID_PARAMETER, "INVALID_PARAMETER", "cursor");
+        }
+
+        return reactiveMongoTemplate.count(Query.query(memberCriteria(query)), BiRelation.class)
+                .flatMap(memberCount -> {
+                    if (StringUtils.isNotBlank(query.search())) {
+                        return searchByPrefix(query, cursor, memberCount);
+                    }
+                    if (query.sort() == MemberSortKey.USER_NAME) {
+                        return sortByName(query, cursor, memberCount);
+                    }
+                    return aggregate(pageStages(query, cursor, List.of(new Document("$match", memberCriteria(query).getCriteriaObject()))), BiRelation.class)
+                            .collectList()
+                            .map(documents -> toPage(query, documents, memberCount));
+                });
+    }
+
+    /**
+     * the page and the total come from one pass over the joined members, bounded by the members or by the users matching
+     * the prefix, whichever there are fewer of.
+     */
+    private Mono<MemberPage> searchByPrefix(MemberQuery query, @Nullable Cursor cursor, long memberCount) {
+        if (memberCount == 0) {
+            return Mono.just(new MemberPage(List.of(), 0, null));
+        }
+        Criteria userCriteria = userSearchCriteria(query.search());
+        Query matchingUsers = Query.query(userCriteria).limit((int) Math.min(memberCount, Integer.MAX_VALUE));
+        return reactiveMongoTemplate.count(matchingUsers, User.class)
+                .flatMap(userCount -> {
+                    boolean fromUsers = userCount < memberCount;
+                    List<Document> stages = fromUsers
+                                            ? joinFromUsers(query, List.of(new Document("$match", userCriteria.getCriteriaObject())))
+                                            : joinFromMembers(query, userCriteria);
+                    Class<?> collectionClass = fromUsers ? User.class : BiRelation.class;
+                    // without paging the page is the whole result, which may not fit in a single $facet document
+                    if (query.pageSize() <= 0 && cursor == null) {
+                        return aggregate(pageStages(query, null, stages), collectionClass)
+                                .collectList()
+                                .map(documents -> toPage(query, documents, documents.size()));
+                    }
+                    stages.add(new Document("$facet", new Document(TOTAL_FIELD, List.of(new Document("$count", COUNT_FIELD)))
+                            .append(PAGE_FIELD, pageStages(query, cursor, List.of()))));
+                    return aggregate(stages, collectionClass)
+                            .next()
+                            .map(result -> {
+                                List<Document> total = result.getList(TOTAL_FIELD, Document.class);
+                                long count = total.isEmpty() ? 0 : ((Number) total.get(0).get(COUNT_FIELD)).longValue();
+                                return toPage(query, result.getList(PAGE_FIELD, Document.class), count);
+                            });
+                });
+    }
+
+    /**
+     * walking the users in name order reads about (offset + page size) * users / members of them, against every member
+     * when starting from the members.
+     */
+    private Mono<MemberPage> sortByName(MemberQuery query, @Nullable Cursor cursor, long memberCount) {
+        return reactiveMongoTemplate.estimatedCount(User.class)
+                .flatMapMany(userCount -> {
+                    long offset = cursor == null ? (long) Math.max(query.pageNum() - 1, 0) * query.pageSize() : 0;
+                    boolean walkUsers = query.pageSize() > 0
+                            && (offset + query.pageSize() + 1) * userCount < memberCount * memberCount;
+                    if (walkUsers) {
+                        return aggregate(walkUsersByName(query, cursor), User.class);
+                    }
+                    return aggregate(pageStages(query, cursor, joinFromMembers(query, null)), BiRelation.class);
+                })
+                .collectList()
+                .map(documents -> toPage(query, documents, memberCount));
+    }
+
+    private List<Document> walkUsersByName(MemberQuery query, @Nullable Cursor cursor) {
+        int direction = query.descending() ? -1 : 1;
+        List<Document> userStages = new ArrayList<>();
+        if (cursor != null) {
+            userStages.add(new Document("$match", cursor.after(SEARCH_NAME_FIELD, ID_FIELD, query.descending()).getCriteriaObject()));
+        }
+        userStages.add(new Document("$sort", new Document(SEARCH_NAME_FIELD, direction).append(ID_FIELD, direction)));
+
+        List<Document> stages = joinFromUsers(query, userStages);
+        if (cursor == null && query.pageNum() > 1) {
+            stages.add(new Document("$skip", (long) (query.pageNum() - 1) * query.pageSize()));
+        }
+        stages.add(new Document("$limit", query.pageSize() + 1L));
+        return stages;
+    }
+
+    private static Criteria memberCriteria(MemberQuery query) {
+        Criteria criteria = Criteria.where("bizType").is(query.bizType().name())
+                .and("sourceId").is(query.sourceId());
+        if (StringUtils.isNotBlank(query.role())) {
+            criteria = criteria.and("relation").is(query.role());
+        }
+        return criteria;
+    }
+
+    /**
+     * an anchored prefix of the lowercased keys, read as a range of their indexes. the prefix matches the start of the
+     * name, of any word of the name, or of the email, so a last name is still found, but not text inside a word.
+     */
+    private static Criteria userSearchCriteria(String search) {
+        Pattern prefix = Pattern.compile("^" + Pattern.quote(User.toSearchKey(search.trim())));
+        return new Criteria().orOperator(Criteria.where(SEARCH_NAME_FIELD).regex(prefix),
+                Criteria.where(SEARCH_NAME_WORDS_FIELD).regex(prefix),
+                Criteria.where(SEARCH_EMAIL_FIELD).regex(prefix));
+    }
+
+    /**
+     * user ids are kept as strings in the relations, the lookup converts them back to object ids so that each member is
+     * matched through the _id index of the user collection. members without a user are dropped.
+     */
+    private List<Document> joinFromMembers(MemberQuery query, @Nullable Criteria userCriteria) {
+        Document userMatch = new Document("$expr", new Document("$eq", List.of("$" + ID_FIELD, "$$userId")));
+        if (userCriteria != null) {
+            userMatch.putAll(userCriteria.getCriteriaObject());
+        }
+        Document userId = new Document("$convert", new Document("input", "$targetId")
+                .append("to", "objectId")
+                .append("onError", null)
+                .append("onNull", null));
+
+        List<Document> stages = new ArrayList<>();
+        stages.add(new Document("$match", memberCriteria(query).getCriteriaObject()));
+        stages.add(new Document("$lookup", new Document("from", reactiveMongoTemplate.getCollectionName(User.class))
+                .append("let", new Document("userId", userId))
+                .append("pipeline", List.of(new Document("$match", userMatch), new Document("$project", new Document(SEARCH_NAME_FIELD, 1))))
+                .append("as", USER_FIELD)));
+        stages.add(new Document("$unwind", "$" + USER_FIELD));
+        stages.add(new Document("$addFields", new Document(SORT_NAME_FIELD, "$" + USER_FIELD + "." + SEARCH_NAME_FIELD)
+                .append(SORT_USER_ID_FIELD, "$" + USER_FIELD + "." + ID_FIELD)));
+        return stages;
+    }
+
+    /**
+     * the membership of each user is matched through the (bizType, sourceId, targetId) index, users who are not members are
+     * dropped and the members keep the same sort keys as {@link #joinFromMembers}.
+     */
+    private List<Document> joinFromUsers(MemberQuery query, List<Document> userStages) {
+        Document memberMatch = new Document(memberCriteria(query).getCriteriaObject())
+                .append("$expr", new Document("$eq", List.of("$targetId", "$$userId")));
+
+        List<Document> stages = new ArrayList<>(userStages);
+        stages.add(new Document("$lookup", new Document("from", reactiveMongoTemplate.getCollectionName(BiRelation.class))
+                .append("let", new Document("userId", new Document("$toString", "$" + ID_FIELD)))
+                .append("pipeline", List.of(new Document("$match", memberMatch)))
+                .append("as", MEMBER_FIELD)));
+        stages.add(new Document("$unwind", "$" + MEMBER_FIELD));
+        stages.add(new Document("$replaceRoot", new Document("newRoot", new Document("$mergeObjects", List.of("$" + MEMBER_FIELD,
+                new Document(SORT_NAME_FIELD, "$" + SEARCH_NAME_FIELD).append(SORT_USER_ID_FIELD, "$" + ID_FIELD))))));
+        return stages;
+    }
+
+    /**
+     * sorted by the sort key and then by a unique id, so that the cursor of the last member is a unique position. one more
+     * member than the page size is fetched to tell whether there is a next page.
+     */
+    private static List<Document> pageStages(MemberQuery query, @Nullable Cursor cursor, List<Document> memberStages) {
+        String sortField = sortField(query.sort());
+        String idField = idField(query.sort());
+        int direction = query.descending() ? -1 : 1;
+
+        List<Document> stages = new ArrayList<>(memberStages);
+        if (cursor != null) {
+            stages.add(new Document("$match", cursor.after(sortField, idField, query.descending()).getCriteriaObject()));
+        }
+        Document sort = new Document();
+        if (sortField != null) {
+            sort.append(sortField, direction);
+        }
+        stages.add(new Document("$sort", sort.append(idField, direction)));
+        if (cursor == null && query.pageNum() > 1 && query.pageSize() > 0) {
+            stages.add(new Document("$skip", (long) (query.pageNum() - 1) * query.pageSize()));
+        }
+        if (query.pageSize() > 0) {
+            stages.add(new Document("$limit", query.pageSize() + 1L));
+        }
+        return stages;
+    }
+
+    private Flux<Document> aggregate(List<Document> stages, Class<?> collectionClass) {
+        Aggregation aggregation = Aggregation.newAggregation(stages.stream().map(MemberSearchServiceImpl::stage).toList())
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+        return reactiveMongoTemplate.aggregate(aggregation, reactiveMongoTemplate.getCollectionName(collectionClass), Document.class);
+    }
+
+    private MemberPage toPage(MemberQuery query, List<Document> documents, long total) {
+        String nextCursor = null;
+        if (query.pageSize() > 0 && documents.size() > query.pageSize()) {
+            documents = documents.subList(0, query.pageSize());
+            Document last = documents.get(documents.size() - 1);
+            String sortField = sortField(query.sort());
+            nextCursor = new Cursor(query.sort(), sortField == null ? null : last.get(sortField), last.get(idField(query.sort()))).encode();
+        }
+
+        MongoConverter converter = reactiveMongoTemplate.getConverter();
+        List<BiRelation> members = documents.stream()
+                .map(document -> converter.read(BiRelation.class, document))
+                .toList();
+        return new MemberPage(members, total, nextCursor);
+    }
+
+    @Nullable
+    private static String sortField(@Nullable MemberSortKey sortKey) {
+        if (sortKey == null) {
+            return null;
+        }
+        return switch (sortKey) {
+            case USER_NAME -> SORT_NAME_FIELD;
+            case ROLE -> "relation";
+            case JOIN_TIME -> "createdAt";
+        };
+    }
+
+    /**
+     * ties on the name are broken by the user id, which both join plans can sort by
+     */
+    private static String idField(@Nullable MemberSortKey sortKey) {
+        return sortKey == MemberSortKey.USER_NAME ? SORT_USER_ID_FIELD : ID_FIELD;
+    }
+
+    private static AggregationOperation stage(Document stage) {
+        return context -> stage;
+    }
+
+    /**
+     * position of the last member of a page, kept as extended json so that dates and object ids keep their bson types.
+     */
+    private record Cursor(@Nullable MemberSortKey sort, @Nullable Object value, Object id) {
+
+        @Nullable
+        static Cursor decode(@Nullable String cursor, @Nullable MemberSortKey sort) {
+            if (StringUtils.isBlank(cursor)) {
+                return null;
+            }
+            Document document = Document.parse(new String(Base64.getUrlDecoder().decode(cursor), UTF_8));
+            if (!Objects.equals(document.getString("sort"), sortName(sort)) || document.get("id") == null) {
+                throw new IllegalArgumentException("cursor does not belong to this sort");
+            }
+            return new Cursor(sort, document.get("value"), document.get("id"));
+        }
+
+        String encode() {
+            Document document = new Document("sort", sortName(sort))
+                    .append("value", value)
+                    .append("id", id);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(document.toJson().getBytes(UTF_8));
+        }
+
+        /**
+         * missing and null sort values come first in ascending order and last in descending order
+         */
+        Criteria after(@Nullable String sortField, String idField, boolean descending) {
+            if (sortField == null) {
+                return descending ? Criteria.where(idField).lt(id) : Criteria.where(idField).gt(id);
+            }
+            Criteria sameValue = Criteria.where(sortField).is(value).and(idField);
+            sameValue = descending ? sameValue.lt(id) : sameValue.gt(id);
+            if (value == null) {
+                return descending ? sameValue : new Criteria().orOperator(Criteria.where(sortField).ne(null), sameValue);
+            }
+            if (descending) {
+                return new Criteria().orOperator(Criteria.where(sortField).lt(value), sameValue, Criteria.where(sortField).is(null));
+            }
+            return new Criteria().orOperator(Criteria.where(sortField).gt(value), sameValue);
+        }
+
+        @Nullable
+        private static String sortName(@Nullable MemberSortKey sort) {
+            return sort == null ? null : sort.name();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package org.lowcoder.domain.organization.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.lowcoder.domain.organization.event.OrgDeletedEvent;
+import org.lowcoder.domain.organization.model.OrgMember;
+import org.lowcoder.domain.util.RedisInvalidationChannel;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Node level cache of the active org memberships of each user, read by every authenticated request to resolve the current
+ * org member.
+ * <p>
+ * Membership changes and current org switches made through {@link OrgMemberService}, and org deletions, drop the affected
+ * entries on every node through the {@link #INVALIDATION_CHANNEL} redis channel. Entries also expire after {@link #EXPIRE}
+ * in case a broadcast is lost.
+ */
+@Component
+public class OrgMemberCache {
+
+    private static final String INVALIDATION_CHANNEL = "lowcoder:org-member-invalidation";
+    private static final String USER_PREFIX = "user:";
+    private static final String ALL = "all";
+    private static final Duration EXPIRE = Duration.ofSeconds(30);
+    private static final long MAX_SIZE = 100000;
+
+    private final Cache<String, List<OrgMember>> activeOrgMembers = Caffeine.newBuilder()
+            .maximumSize(MAX_SIZE)
+            .expireAfterWrite(EXPIRE)
+            .build();
+    private final RedisInvalidationChannel invalidationChannel;
+
+    public OrgMemberCache(ReactiveRedisTemplate<String, String> reactiveTemplate) {
+        this.invalidationChannel = new RedisInvalidationChannel(reactiveTemplate, INVALIDATION_CHANNEL, this::onInvalidation);
+    }
+
+    @PostConstruct
+    public void subscribeInvalidations() {
+        invalidationChannel.subscribe();
+    }
+
+    @PreDestroy
+    public void unsubscribeInvalidations() {
+        invalidationChannel.unsubscribe();
+    }
+
+    /**
+     * users without any active org are not cached, their first request usually adds them to one.
+     */
+    public Mono<List<OrgMember>> getActiveOrgMembers(String userId, Supplier<Mono<List<OrgMember>>> loader) {
+        List<OrgMember> orgMembers = activeOrgMembers.getIfPresent(userId);
+        if (orgMembers != null) {
+            return Mono.just(orgMembers);
+        }
+        return loader.get()
+                .doOnNext(loaded -> {
+                    if (!loaded.isEmpty()) {
+                        activeOrgMembers.put(userId, List.copyOf(loaded));
+                    }
+                });
+    }
+
+    public Mono<Void> invalidateUser(String userId) {
+        return invalidationChannel.invalidate(USER_PREFIX + userId);
+    }
+
+    public Mono<Void> invalidateUsers(Collection<String> userIds) {
+        return Mono.when(userIds.stream().map(this::invalidateUser).toList());
+    }
+
+    /**
+     * for changes whose affected users are not known, e.g. an org deleted
+     */
+    public Mono<Void> invalidateAll() {
+        return invalidationChannel.invalidate(ALL);
+    }
+
+    @EventListener
+    public void onOrgDeleted(OrgDeletedEvent event) {
+        invalidateAll().subscribe();
+    }
+
+    private void onInvalidation(String message) {
+        if (ALL.equals(message)) {
+            activeOrgMembers.invalidateAll();
+            return;
+        }
+        if (message.startsWith(USER_PREFIX)) {
+            activeOrgMembers.invalidate(message.substring(USER_PREFIX.length()));
+        }
+    }
+}
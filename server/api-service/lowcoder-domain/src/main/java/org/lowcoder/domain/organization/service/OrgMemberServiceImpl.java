@@ -8,6 +8,7 @@ import org.lowcoder.domain.group.model.GroupMember;
 import org.lowcoder.domain.group.service.GroupMemberService;
 import org.lowcoder.domain.group.service.GroupService;
 import org.lowcoder.domain.organization.model.*;
+import org.lowcoder.domain.permission.service.PermissionDecisionCache;
 import org.lowcoder.domain.user.model.User;
 import org.lowcoder.infra.annotation.PossibleEmptyMono;
 import org.lowcoder.infra.birelation.BiRelation;
@@ -28,6 +29,7 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static org.lowcoder.infra.birelation.BiRelationBizType.ORG_MEMBER;
@@ -44,6 +46,8 @@ public class OrgMemberServiceImpl implements OrgMemberService {
     private final OrganizationService organizationService;
     private final CommonConfig commonConfig;
     private final MongoUpsertHelper mongoUpsertHelper;
+    private final PermissionDecisionCache permissionDecisionCache;
+    private final OrgMemberCache orgMemberCache;
 
     @Override
     public Flux<OrgMember> getOrganizationMembers(String orgId) {
@@ -62,6 +66,11 @@ public class OrgMemberServiceImpl implements OrgMemberService {
      */
     @Override
     public Flux<OrgMember> getAllActiveOrgs(String userId) {
+        return orgMemberCache.getActiveOrgMembers(userId, () -> loadAllActiveOrgs(userId).collectList())
+                .flatMapIterable(Function.identity());
+    }
+
+    private Flux<OrgMember> loadAllActiveOrgs(String userId) {
         // get all.
         Flux<OrgMember> orgMemberFlux = biRelationService.getByTargetId(ORG_MEMBER, userId)
                 .map(OrgMember::from)
@@ -127,6 +136,7 @@ public class OrgMemberServiceImpl implements OrgMemberService {
         return biRelationService.addBiRelation(ORG_MEMBER, orgId,
                         userId, memberRole.getValue(), OrgMemberState.NORMAL.getValue())
                 .delayUntil(biRelation -> onOrgMemberAdded(orgId, userId))
+                .delayUntil(__ -> orgMemberCache.invalidateUser(userId))
                 .hasElement();
     }
 
@@ -144,17 +154,23 @@ public class OrgMemberServiceImpl implements OrgMemberService {
     @Override
     public Mono<Boolean> updateMemberRole(String orgId, String userId, MemberRole memberRole) {
         return biRelationService.updateRelation(ORG_MEMBER, orgId, userId, memberRole.getValue())
-                .hasElement();
+                .hasElement()
+                .doOnSuccess(__ -> permissionDecisionCache.invalidateUser(userId))
+                .delayUntil(__ -> orgMemberCache.invalidateUser(userId));
     }
 
     @Override
     public Mono<Boolean> removeMember(String orgId, String userId) {
-        return biRelationService.removeBiRelation(ORG_MEMBER, orgId, userId);
+        return biRelationService.removeBiRelation(ORG_MEMBER, orgId, userId)
+                .doOnSuccess(__ -> permissionDecisionCache.invalidateUser(userId))
+                .delayUntil(__ -> orgMemberCache.invalidateUser(userId));
     }
 
     @Override
     public Mono<Boolean> deleteOrgMembers(String orgId) {
-        return biRelationService.removeAllBiRelations(ORG_MEMBER, orgId);
+        return biRelationService.removeAllBiRelations(ORG_MEMBER, orgId)
+                .doOnSuccess(__ -> permissionDecisionCache.invalidateAll())
+                .delayUntil(__ -> orgMemberCache.invalidateAll());
     }
 
     @Override
@@ -216,12 +232,14 @@ public class OrgMemberServiceImpl implements OrgMemberService {
 
     @Override
     public Mono<Boolean> markAsUserCurrentOrgId(String orgId, String userId) {
-        return biRelationService.updateState(ORG_MEMBER, orgId, userId, OrgMemberState.CURRENT.getValue());
+        return biRelationService.updateState(ORG_MEMBER, orgId, userId, OrgMemberState.CURRENT.getValue())
+                .delayUntil(__ -> orgMemberCache.invalidateUser(userId));
     }
 
     @Override
     public Mono<Boolean> removeCurrentOrgMark(String previousCurrentOrgId, String userId) {
-        return biRelationService.updateState(ORG_MEMBER, previousCurrentOrgId, userId, OrgMemberState.NORMAL.getValue());
+        return biRelationService.updateState(ORG_MEMBER, previousCurrentOrgId, userId, OrgMemberState.NORMAL.getValue())
+                .delayUntil(__ -> orgMemberCache.invalidateUser(userId));
     }
 
     @Override
@@ -243,7 +261,8 @@ public class OrgMemberServiceImpl implements OrgMemberService {
                         .build())
                 .toList();
         return biRelationService.batchAddBiRelation(biRelations)
-                .then(bulkAddToAllUserGroup(orgId, userIds));
+                .then(bulkAddToAllUserGroup(orgId, userIds))
+                .then(orgMemberCache.invalidateUsers(userIds));
     }
 
     @Override
@@ -258,7 +277,8 @@ public class OrgMemberServiceImpl implements OrgMemberService {
                         .build())
                 .toList();
         return biRelationService.batchAddBiRelation(biRelations)
-                .then(bulkAddToAllUserGroup(orgIds, userId, memberRole));
+                .then(bulkAddToAllUserGroup(orgIds, userId, memberRole))
+                .then(orgMemberCache.invalidateUser(userId));
     }
 
     @Override
@@ -288,6 +308,8 @@ public class OrgMemberServiceImpl implements OrgMemberService {
         List<Document> filters = userIds.stream()
                 .map(userId -> new Document(Map.of("bizType", ORG_MEMBER.name(), "sourceId", orgId, "targetId", userId)))
                 .toList();
-        return mongoUpsertHelper.bulkRemove(filters, BiRelation.class);
+        return mongoUpsertHelper.bulkRemove(filters, BiRelation.class)
+                .doOnSuccess(__ -> permissionDecisionCache.invalidateUsers(userIds))
+                .delayUntil(__ -> orgMemberCache.invalidateUsers(userIds));
     }
 }
@@ -0,0 +1,82 @@
+package org.lowcoder.domain.permission.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.lowcoder.domain.permission.model.ResourceAction;
+import org.lowcoder.infra.localcache.CaffeineCacheUtils;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived cache of granted permission checks and of the groups a user belongs to in an org, so that repeated checks
+ * of the same user on the same resource, e.g. all the queries of a dashboard, skip the org member, group and permission
+ * lookups.
+ * <p>
+ * Only granted decisions are kept, a denied check is always evaluated again. Entries are dropped when the permissions or
+ * memberships they depend on are changed through this node, and expire after {@link #EXPIRE} for changes made elsewhere.
+ */
+@Component
+public class PermissionDecisionCache {
+
+    private static final Duration EXPIRE = Duration.ofSeconds(10);
+    private static final long MAX_SIZE = 100000;
+
+    private final Cache<PermissionDecisionKey, Boolean> grantedDecisions = Caffeine.newBuilder()
+            .maximumSize(MAX_SIZE)
+            .expireAfterWrite(EXPIRE)
+            .build();
+
+    private final Cache<UserGroupsKey, Set<String>> userGroupIds = Caffeine.newBuilder()
+            .maximumSize(MAX_SIZE)
+            .expireAfterWrite(EXPIRE)
+            .build();
+
+    /**
+     * @param check completes empty if the permission is granted and errors otherwise
+     */
+    public Mono<Void> checkGranted(String userId, String resourceId, ResourceAction resourceAction, Supplier<Mono<Void>> check) {
+        PermissionDecisionKey key = new PermissionDecisionKey(userId, resourceId, resourceAction);
+        if (grantedDecisions.getIfPresent(key) != null) {
+            return Mono.empty();
+        }
+        return check.get()
+                .doOnSuccess(__ -> grantedDecisions.put(key, Boolean.TRUE));
+    }
+
+    public Mono<Set<String>> getUserGroupIds(String orgId, String userId, Supplier<Mono<Set<String>>> loader) {
+        return CaffeineCacheUtils.getCacheValueMono(userGroupIds, new UserGroupsKey(orgId, userId), loader);
+    }
+
+    public void invalidateResource(String resourceId) {
+        grantedDecisions.asMap().keySet().removeIf(key -> key.resourceId().equals(resourceId));
+    }
+
+    public void invalidateUser(String userId) {
+        grantedDecisions.asMap().keySet().removeIf(key -> key.userId().equals(userId));
+        userGroupIds.asMap().keySet().removeIf(key -> key.userId().equals(userId));
+    }
+
+    public void invalidateUsers(Collection<String> userIds) {
+        grantedDecisions.asMap().keySet().removeIf(key -> userIds.contains(key.userId()));
+        userGroupIds.asMap().keySet().removeIf(key -> userIds.contains(key.userId()));
+    }
+
+    /**
+     * for changes whose affected users or resources are not known, e.g. a permission removed by its id
+     */
+    public void invalidateAll() {
+        grantedDecisions.invalidateAll();
+        userGroupIds.invalidateAll();
+    }
+
+    private record PermissionDecisionKey(String userId, String resourceId, ResourceAction resourceAction) {
+    }
+
+    private record UserGroupsKey(String orgId, String userId) {
+    }
+}
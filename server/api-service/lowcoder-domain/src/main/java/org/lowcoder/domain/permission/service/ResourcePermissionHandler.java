@@ -37,6 +37,9 @@ abstract class ResourcePermissionHandler implements ResourcePermissionHandlerSer
     @Autowired
     protected CommonConfig config;
 
+    @Autowired
+    private PermissionDecisionCache permissionDecisionCache;
+
     @Override
     public Mono<Map<String, List<ResourcePermission>>> getAllMatchingPermissions(String userId,
                                                                                  Collection<String> resourceIds,
@@ -211,8 +214,8 @@ abstract class ResourcePermissionHandler implements ResourcePermissionHandlerSer
 
 
     private Mono<Set<String>> getUserGroupIds(String orgId, String userId) {
-        return groupMemberService.getUserGroupIdsInOrg(orgId, userId)
-                .map(Sets::newHashSet);
+        return permissionDecisionCache.getUserGroupIds(orgId, userId,
+                () -> groupMemberService.getUserGroupIdsInOrg(orgId, userId).map(Sets::newHashSet));
     }
 
     protected abstract Mono<String> getOrgId(String resourceId);
@@ -38,6 +38,7 @@ public class ResourcePermissionServiceImpl implements ResourcePermissionService
     private final ResourcePermissionHandlerService datasourcePermissionHandler;
     @Qualifier("bundlePermissionHandler")
     private final ResourcePermissionHandlerService bundlePermissionHandler;
+    private final PermissionDecisionCache permissionDecisionCache;
 
     @Override
     public Mono<Map<String, Collection<ResourcePermission>>> getByResourceTypeAndResourceIds(ResourceType resourceType,
@@ -125,12 +126,14 @@ public class ResourcePermissionServiceImpl implements ResourcePermissionService
 
     @Override
     public Mono<Boolean> removeById(String permissionId) {
-        return repository.removePermissionById(permissionId);
+        return repository.removePermissionById(permissionId)
+                .doOnSuccess(__ -> permissionDecisionCache.invalidateAll());
     }
 
     @Override
     public Mono<Boolean> updateRoleById(String permissionId, ResourceRole role) {
-        return repository.updatePermissionRoleById(permissionId, role);
+        return repository.updatePermissionRoleById(permissionId, role)
+                .doOnSuccess(__ -> permissionDecisionCache.invalidateAll());
     }
 
     /**
@@ -170,14 +173,15 @@ public class ResourcePermissionServiceImpl implements ResourcePermissionService
 
     @Override
     public Mono<Void> checkResourcePermissionWithError(String userId, String resourceId, ResourceAction action) {
-        return getAllMatchingPermissions(userId, singleton(resourceId), action)
-                .flatMap(map -> {
-                    List<ResourcePermission> resourcePermissions = map.get(resourceId);
-                    if (CollectionUtils.isNotEmpty(resourcePermissions)) {
-                        return Mono.empty();
-                    }
-                    return Mono.error(new BizException(NOT_AUTHORIZED, "NOT_AUTHORIZED"));
-                });
+        return permissionDecisionCache.checkGranted(userId, resourceId, action,
+                () -> getAllMatchingPermissions(userId, singleton(resourceId), action)
+                        .flatMap(map -> {
+                            List<ResourcePermission> resourcePermissions = map.get(resourceId);
+                            if (CollectionUtils.isNotEmpty(resourcePermissions)) {
+                                return Mono.empty();
+                            }
+                            return Mono.error(new BizException(NOT_AUTHORIZED, "NOT_AUTHORIZED"));
+                        }));
     }
 
     @Override
@@ -256,12 +260,14 @@ public class ResourcePermissionServiceImpl implements ResourcePermissionService
     
     @Override
     public Mono<Boolean> removeUserApplicationPermission(String appId, String userId) {
-        return repository.removePermissionBy(ResourceType.APPLICATION, appId, ResourceHolder.USER, userId);
+        return repository.removePermissionBy(ResourceType.APPLICATION, appId, ResourceHolder.USER, userId)
+                .doOnSuccess(__ -> permissionDecisionCache.invalidateResource(appId));
     }
 
     @Override
     public Mono<Boolean> removeUserDatasourcePermission(String appId, String userId) {
-        return repository.removePermissionBy(ResourceType.APPLICATION, appId, ResourceHolder.USER, userId);
+        return repository.removePermissionBy(ResourceType.APPLICATION, appId, ResourceHolder.USER, userId)
+                .doOnSuccess(__ -> permissionDecisionCache.invalidateResource(appId));
     }
 
     @Override
@@ -137,7 +137,7 @@ public class DatasourceMetaInfoServiceImpl implements DatasourceMetaInfoService
             .type("googleSheets")
             .displayName("Google Sheets")
             .pluginExecutorKey("googleSheets-plugin")
-            .connectionPool(StatelessConnectionPool.class).build();
+            .connectionPool(ClientBasedConnectionPool.class).build();
 
     private static final DatasourceMetaInfo GRAPHQL = DatasourceMetaInfo.builder()
             .type("graphql")
@@ -1,13 +1,20 @@
 package org.lowcoder.domain.query.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.lowcoder.domain.datasource.model.Datasource;
 import org.lowcoder.domain.datasource.model.DatasourceConnectionHolder;
 import org.lowcoder.domain.datasource.service.DatasourceConnectionPool;
+import org.lowcoder.domain.organization.service.OrganizationService;
 import org.lowcoder.domain.plugin.client.DatasourcePluginClient;
 import org.lowcoder.domain.plugin.service.DatasourceMetaInfoService;
 import org.lowcoder.domain.query.util.QueryTimeoutUtils;
+import org.lowcoder.infra.perf.PerfHelper;
 import org.lowcoder.sdk.config.CommonConfig;
 import org.lowcoder.sdk.exception.BizException;
 import org.lowcoder.sdk.exception.PluginException;
@@ -16,7 +23,9 @@ import org.lowcoder.sdk.models.Property;
 import org.lowcoder.sdk.models.QueryExecutionResult;
 import org.lowcoder.sdk.query.QueryExecutionContext;
 import org.lowcoder.sdk.query.QueryVisitorContext;
+import org.lowcoder.sdk.query.ResultSetLimits;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
@@ -26,6 +35,9 @@ import java.util.Map;
 import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
+import static org.lowcoder.infra.perf.PerfEvent.QUERY_CONNECTION_ACQUIRE;
+import static org.lowcoder.infra.perf.PerfEvent.QUERY_CONTEXT_BUILD;
+import static org.lowcoder.infra.perf.PerfEvent.QUERY_PLUGIN_EXECUTE;
 import static org.lowcoder.sdk.exception.BizError.QUERY_EXECUTION_ERROR;
 import static org.lowcoder.sdk.exception.PluginCommonError.QUERY_EXECUTION_TIMEOUT;
 import static org.lowcoder.sdk.util.ExceptionUtils.ofException;
@@ -35,11 +47,31 @@ import static org.lowcoder.sdk.util.ExceptionUtils.ofException;
 @Service
 public class QueryExecutionServiceImpl implements QueryExecutionService {
 
+    private static final long ORG_LIMITS_CACHE_SIZE = 10000;
+    private static final Duration ORG_LIMITS_EXPIRE = Duration.ofSeconds(60);
+
     private final DatasourceConnectionPool datasourceConnectionPool;
     private final DatasourceMetaInfoService datasourceMetaInfoService;
     private final DatasourcePluginClient datasourcePluginClient;
     private final CommonConfig common;
-    
+    private final PerfHelper perfHelper;
+    private final OrganizationService organizationService;
+
+    private ResultSetLimits resultSetLimits;
+    // org id -> the server limits capped by the org settings
+    private Cache<String, ResultSetLimits> orgResultSetLimits;
+
+    @PostConstruct
+    public void init() {
+        resultSetLimits = new ResultSetLimits(common.getQuery().getMaxResultRows(),
+                DataSize.parse(common.getMaxQueryResponseSize()).toBytes(),
+                common.getQuery().getSqlFetchSize());
+        orgResultSetLimits = Caffeine.newBuilder()
+                .maximumSize(ORG_LIMITS_CACHE_SIZE)
+                .expireAfterWrite(ORG_LIMITS_EXPIRE)
+                .build();
+    }
+
     @Override
     public Mono<QueryExecutionResult> executeQuery(Datasource datasource, Map<String, Object> queryConfig, Map<String, Object> requestParams,
                                                    String timeoutStr, QueryVisitorContext queryVisitorContext) {
@@ -68,17 +100,41 @@ public class QueryExecutionServiceImpl implements QueryExecutionService {
     private Mono<QueryExecutionResult> executeLocally(Datasource datasource, Map<String, Object> queryConfig, Map<String, Object> requestParams,
             QueryVisitorContext queryVisitorContext) {
         var queryExecutor = datasourceMetaInfoService.getQueryExecutor(datasource.getType());
-
-        return queryExecutor.buildQueryExecutionContextMono(datasource.getDetailConfig(), queryConfig, requestParams, queryVisitorContext)
-                .zipWhen(context -> datasourceConnectionPool.getOrCreateConnection(datasource))
+        Tags tags = Tags.of("datasourceType", datasource.getType());
+
+        return getResultSetLimits(queryVisitorContext.getApplicationOrgId())
+                .flatMap(limits -> perfHelper.recordMonoTime(QUERY_CONTEXT_BUILD, tags,
+                        queryExecutor.buildQueryExecutionContextMono(datasource.getDetailConfig(), queryConfig, requestParams,
+                                queryVisitorContext.withResultSetLimits(limits))))
+                .zipWhen(context -> perfHelper.recordMonoTime(QUERY_CONNECTION_ACQUIRE, tags,
+                        datasourceConnectionPool.getOrCreateConnection(datasource)))
                 .flatMap(tuple -> {
                     QueryExecutionContext queryExecutionRequest = tuple.getT1();
                     DatasourceConnectionHolder connectionHolder = tuple.getT2();
-                    return queryExecutor.doExecuteQuery(connectionHolder.connection(), queryExecutionRequest)
+                    return perfHelper.recordMonoTime(QUERY_PLUGIN_EXECUTE, tags,
+                                    queryExecutor.doExecuteQuery(connectionHolder.connection(), queryExecutionRequest))
                             .doOnError(connectionHolder::onQueryError);
                 });
     }
 
+    /**
+     * an org can lower the server limits through its common settings, but not raise them. orgs whose settings can't be
+     * read get the server limits.
+     */
+    private Mono<ResultSetLimits> getResultSetLimits(String orgId) {
+        if (StringUtils.isBlank(orgId)) {
+            return Mono.just(resultSetLimits);
+        }
+        ResultSetLimits cached = orgResultSetLimits.getIfPresent(orgId);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return organizationService.getOrgCommonSettings(orgId)
+                .map(settings -> resultSetLimits.capped(settings.getMaxQueryResultRows(), settings.getMaxQueryResultBytes()))
+                .doOnNext(limits -> orgResultSetLimits.put(orgId, limits))
+                .onErrorReturn(resultSetLimits);
+    }
+
     private Mono<QueryExecutionResult> executeByNodeJs(Datasource datasource, Map<String, Object> queryConfig, Map<String, Object> requestParams, QueryVisitorContext queryVisitorContext) {
         List<Map<String, Object>> context = requestParams.entrySet()
                 .stream()
@@ -99,12 +155,14 @@ public class QueryExecutionServiceImpl implements QueryExecutionService {
 
         // forward oauth2 access token in case of oauth2(inherit from login)
 
+        Mono<QueryExecutionResult> executeMono = perfHelper.recordMonoTime(QUERY_PLUGIN_EXECUTE, Tags.of("datasourceType", datasource.getType()),
+                Mono.defer(() -> datasourcePluginClient.executeQuery(datasource.getType(), queryConfig, context, datasource.getDetailConfig())));
         if(datasource.getDetailConfig() instanceof JsDatasourceConnectionConfig jsDatasourceConnectionConfig
                 && jsDatasourceConnectionConfig.isOauth2InheritFromLogin()) {
             return Mono.defer(() -> injectOauth2Token(queryVisitorContext, context))
-                    .then(Mono.defer(() -> datasourcePluginClient.executeQuery(datasource.getType(), queryConfig, context, datasource.getDetailConfig())));
+                    .then(executeMono);
         } else {
-            return datasourcePluginClient.executeQuery(datasource.getType(), queryConfig, context, datasource.getDetailConfig());
+            return executeMono;
         }
 
 
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.type.TypeReference;
+import jakarta.annotation.Nullable;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 import lombok.extern.jackson.Jacksonized;
@@ -33,7 +34,7 @@ import static org.lowcoder.infra.util.AssetUtils.toAssetPath;
 @ToString
 @Document
 @Jacksonized
-@SuperBuilder
+@SuperBuilder(toBuilder = true)
 @JsonIgnoreProperties(ignoreUnknown = true)
 @NoArgsConstructor
 public class User extends HasIdAndAuditing implements BeforeMongodbWrite, AfterMongodbRead {
@@ -44,6 +45,21 @@ public class User extends HasIdAndAuditing implements BeforeMongodbWrite, AfterM
 
     private String email;
 
+    /**
+     * lowercased name and email, kept for the indexed member search and name sort, see {@link #toSearchKey(String)}
+     */
+    @JsonIgnore
+    private String searchName;
+
+    @JsonIgnore
+    private String searchEmail;
+
+    /**
+     * lowercased words of the name, so that a search prefix also matches the last name, see {@link #toSearchWords(String)}
+     */
+    @JsonIgnore
+    private List<String> searchNameWords;
+
     private String uiLanguage;
 
     private String avatar;
@@ -84,9 +100,10 @@ public class User extends HasIdAndAuditing implements BeforeMongodbWrite, AfterM
      */
     private List<Object> apiKeys;
 
+    // final so that the builders leave it out and every instance reads its own avatar
     @Transient
     @JsonIgnore
-    private Supplier<String> avatarUrl = memoize(() -> StringUtils.isNotBlank(avatar) ? toAssetPath(avatar) : tpAvatarLink);
+    private final Supplier<String> avatarUrl = memoize(() -> StringUtils.isNotBlank(avatar) ? toAssetPath(avatar) : tpAvatarLink);
 
     @Builder.Default
     @Transient
@@ -143,8 +160,33 @@ public class User extends HasIdAndAuditing implements BeforeMongodbWrite, AfterM
                         connection.getSource() + "(User deleted at " + System.currentTimeMillis() / 1000 + ")"));
     }
 
+    @Nullable
+    public static String toSearchKey(@Nullable String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    @Nullable
+    public static List<String> toSearchWords(@Nullable String name) {
+        if (name == null) {
+            return null;
+        }
+        return Arrays.stream(StringUtils.split(toSearchKey(name)))
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * partial updates without a name or email leave their search keys untouched
+     */
     @Override
     public void beforeMongodbWrite(MongodbInterceptorContext context) {
+        if (name != null) {
+            searchName = toSearchKey(name);
+            searchNameWords = toSearchWords(name);
+        }
+        if (email != null) {
+            searchEmail = toSearchKey(email);
+        }
         if (CollectionUtils.isNotEmpty(this.apiKeysList)) {
             this.apiKeysList.forEach(apiKey -> apiKey.doEncrypt(s -> context.encryptionService().encryptString(s)));
             apiKeys = JsonUtils.fromJsonSafely(JsonUtils.toJsonSafely(apiKeysList, JsonViews.Internal.class), new TypeReference<>() {
@@ -0,0 +1,165 @@
+package org.lowcoder.domain.user.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.commons.lang3.StringUtils;
+import org.lowcoder.domain.user.model.APIKey;
+import org.lowcoder.domain.user.model.Connection;
+import org.lowcoder.domain.user.model.ConnectionAuthToken;
+import org.lowcoder.domain.user.model.User;
+import org.lowcoder.domain.util.RedisInvalidationChannel;
+import org.lowcoder.sdk.constants.AuthSourceConstants;
+import org.lowcoder.sdk.config.CommonConfig;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.stream.Collectors;
+import java.util.function.Supplier;
+
+/**
+ * Near cache of the users resolved from session tokens, so that an authenticated request does not read the token from
+ * redis and the user from mongo every time, and the last time each token's validity was extended, so that it is extended
+ * at most once per {@link CommonConfig.Cookie#getExtendValidityIntervalInSeconds()}.
+ * <p>
+ * Every caller gets its own copy of the cached user, callers change and save the user they got.
+ * <p>
+ * Logouts and user changes are broadcast through the {@link #INVALIDATION_CHANNEL} redis channel, so that every node drops
+ * the users it cached for them.
+ */
+@Component
+public class SessionUserCache {
+
+    private static final String INVALIDATION_CHANNEL = "lowcoder:session-user-invalidation";
+    private static final String TOKEN_PREFIX = "token:";
+    private static final String USER_PREFIX = "user:";
+    private static final long MAX_SIZE = 100000;
+
+    private final Cache<String, User> users;
+    private final Cache<String, Boolean> extendedTokens;
+    private final RedisInvalidationChannel invalidationChannel;
+
+    public SessionUserCache(ReactiveRedisTemplate<String, String> reactiveTemplate, CommonConfig commonConfig) {
+        CommonConfig.Cookie cookie = commonConfig.getCookie();
+        this.users = Caffeine.newBuilder()
+                .maximumSize(MAX_SIZE)
+                .expireAfterWrite(Duration.ofSeconds(Math.max(cookie.getSessionCacheTtlInSeconds(), 0)))
+                .build();
+        this.extendedTokens = Caffeine.newBuilder()
+                .maximumSize(MAX_SIZE)
+                .expireAfterWrite(Duration.ofSeconds(Math.max(cookie.getExtendValidityIntervalInSeconds(), 0)))
+                .build();
+        this.invalidationChannel = new RedisInvalidationChannel(reactiveTemplate, INVALIDATION_CHANNEL, this::onInvalidation);
+    }
+
+    @PostConstruct
+    public void subscribeInvalidations() {
+        invalidationChannel.subscribe();
+    }
+
+    @PreDestroy
+    public void unsubscribeInvalidations() {
+        invalidationChannel.unsubscribe();
+    }
+
+    public Mono<User> getUser(String token, Supplier<Mono<User>> loader) {
+        User user = users.getIfPresent(token);
+        if (user != null) {
+            return Mono.just(copy(user));
+        }
+        return loader.get()
+                .doOnNext(loaded -> users.put(token, copy(loaded)));
+    }
+
+    /**
+     * @return true if the validity of the token was not extended within the configured interval, and marks it as extended
+     */
+    public boolean shouldExtendValidity(String token) {
+        return extendedTokens.asMap().putIfAbsent(token, Boolean.TRUE) == null;
+    }
+
+    public Mono<Void> invalidateToken(String token) {
+        if (StringUtils.isBlank(token)) {
+            return Mono.empty();
+        }
+        return invalidationChannel.invalidate(TOKEN_PREFIX + token);
+    }
+
+    public Mono<Void> invalidateUser(String userId) {
+        if (StringUtils.isBlank(userId)) {
+            return Mono.empty();
+        }
+        return invalidationChannel.invalidate(USER_PREFIX + userId);
+    }
+
+    public Mono<Void> invalidateUsers(Collection<String> userIds) {
+        return Mono.when(userIds.stream().map(this::invalidateUser).toList());
+    }
+
+    private void onInvalidation(String message) {
+        if (message.startsWith(TOKEN_PREFIX)) {
+            String token = message.substring(TOKEN_PREFIX.length());
+            users.invalidate(token);
+            extendedTokens.invalidate(token);
+            return;
+        }
+        if (message.startsWith(USER_PREFIX)) {
+            String userId = message.substring(USER_PREFIX.length());
+            users.asMap().values().removeIf(user -> userId.equals(user.getId()));
+        }
+    }
+
+    private static User copy(User user) {
+        User.UserBuilder<?, ?> builder = user.toBuilder()
+                .connections(user.getConnections().stream()
+                        .map(SessionUserCache::copy)
+                        .collect(Collectors.toCollection(HashSet::new)));
+        if (user.getApiKeysList() != null) {
+            builder.apiKeysList(user.getApiKeysList().stream()
+                    .map(apiKey -> new APIKey(apiKey.getId(), apiKey.getName(), apiKey.getDescription(), apiKey.getToken()))
+                    .collect(Collectors.toCollection(ArrayList::new)));
+        }
+        if (user.getApiKeys() != null) {
+            builder.apiKeys(new ArrayList<>(user.getApiKeys()));
+        }
+        if (user.getSearchNameWords() != null) {
+            builder.searchNameWords(new ArrayList<>(user.getSearchNameWords()));
+        }
+        if (user.getOrgTransformedUserInfo() != null) {
+            User.OrgTransformedUserInfo orgTransformedUserInfo = new User.OrgTransformedUserInfo();
+            orgTransformedUserInfo.putAll(user.getOrgTransformedUserInfo());
+            builder.orgTransformedUserInfo(orgTransformedUserInfo);
+        }
+        return builder.build();
+    }
+
+    private static Connection copy(Connection connection) {
+        ConnectionAuthToken authToken = connection.getAuthConnectionAuthToken();
+        return Connection.builder()
+                .authId(connection.getAuthId())
+                .source(connection.getSource())
+                .rawId(connection.getRawId())
+                .name(connection.getName())
+                .email(connection.getEmail())
+                .avatar(connection.getAvatar())
+                .orgIds(connection.getOrgIds() == null ? null : new HashSet<>(connection.getOrgIds()))
+                .authConnectionAuthToken(authToken == null ? null : ConnectionAuthToken.builder()
+                        .accessToken(authToken.getAccessToken())
+                        .expireAt(authToken.getExpireAt())
+                        .refreshToken(authToken.getRefreshToken())
+                        .refreshTokenExpireAt(authToken.getRefreshTokenExpireAt())
+                        .source(authToken.getSource())
+                        .build())
+                // the getter of email connections derives the info from the raw id instead
+                .rawUserInfo(AuthSourceConstants.EMAIL.equals(connection.getSource()) ? null : new HashMap<>(connection.getRawUserInfo()))
+                .tokens(new HashSet<>(connection.getTokens()))
+                .build();
+    }
+}
@@ -74,6 +74,7 @@ public class UserServiceImpl implements UserService {
     private final CommonConfig commonConfig;
     private final AuthenticationService authenticationService;
     private final EmailCommunicationService emailCommunicationService;
+    private final SessionUserCache sessionUserCache;
     private Conf<Integer> avatarMaxSizeInKb;
 
     @PostConstruct
@@ -139,11 +140,13 @@ public class UserServiceImpl implements UserService {
         User user = User.builder()
                 .avatar(newAvatar.getId())
                 .build();
-        return mongoUpsertHelper.updateById(user, userId);
+        return mongoUpsertHelper.updateById(user, userId)
+                .delayUntil(__ -> sessionUserCache.invalidateUser(userId));
     }
 
     public Mono<User> update(String id, User updatedUser) {
         return mongoUpsertHelper.updateById(updatedUser, id)
+                .delayUntil(__ -> sessionUserCache.invalidateUser(id))
                 .flatMap(updated -> {
                     if (!updated) {
                         return ofError(BizError.NO_RESOURCE_FOUND, "NO_USER_FOUND", id);
@@ -209,6 +212,7 @@ public class UserServiceImpl implements UserService {
         user.getConnections().add(connection);
         user.setEmail(email);
         return repository.save(user)
+                .delayUntil(saved -> sessionUserCache.invalidateUser(saved.getId()))
                 .then(Mono.just(true))
                 .onErrorResume(throwable -> {
                     if (throwable instanceof DuplicateKeyException) {
@@ -232,19 +236,23 @@ public class UserServiceImpl implements UserService {
                         user.setPassword(encryptionService.encryptPassword(formAuthRequestContext.getPassword()));
                     }
                 })
-                .flatMap(repository::save);
+                .flatMap(repository::save)
+                .delayUntil(saved -> sessionUserCache.invalidateUser(saved.getId()));
     }
 
     @Override
     public Mono<User> saveUser(User user) {
-        return repository.save(user);
+        return repository.save(user)
+                .delayUntil(saved -> sessionUserCache.invalidateUser(saved.getId()));
     }
 
     @Override
     public Mono<Void> deleteProfilePhoto(User visitor) {
         String userAvatar = visitor.getAvatar();
         visitor.setAvatar(null);
-        return repository.save(visitor).thenReturn(userAvatar)
+        return repository.save(visitor)
+                .delayUntil(saved -> sessionUserCache.invalidateUser(saved.getId()))
+                .thenReturn(userAvatar)
                 .flatMap(assetService::remove);
     }
 
@@ -266,6 +274,7 @@ public class UserServiceImpl implements UserService {
                     sink.next(user);
                 })
                 .flatMap(repository::save)
+                .delayUntil(saved -> sessionUserCache.invalidateUser(saved.getId()))
                 .thenReturn(true);
     }
 
@@ -281,6 +290,7 @@ public class UserServiceImpl implements UserService {
                     String randomStr = generateNewRandomPwd();
                     user.setPassword(encryptionService.encryptPassword(randomStr));
                     return repository.save(user)
+                            .delayUntil(saved -> sessionUserCache.invalidateUser(saved.getId()))
                             .thenReturn(randomStr);
                 });
     }
@@ -322,6 +332,7 @@ public class UserServiceImpl implements UserService {
                     user.setPasswordResetToken(StringUtils.EMPTY);
                     user.setPasswordResetTokenExpiry(Instant.now());
                     return repository.save(user)
+                            .delayUntil(saved -> sessionUserCache.invalidateUser(saved.getId()))
                             .thenReturn(true);
                 });
     }
@@ -343,6 +354,7 @@ public class UserServiceImpl implements UserService {
                     return user;
                 })
                 .flatMap(repository::save)
+                .delayUntil(saved -> sessionUserCache.invalidateUser(saved.getId()))
                 .thenReturn(true);
     }
 
@@ -354,6 +366,7 @@ public class UserServiceImpl implements UserService {
                     return user;
                 })
                 .flatMap(repository::save)
+                .delayUntil(saved -> sessionUserCache.invalidateUser(saved.getId()))
                 .thenReturn(true);
     }
 
@@ -417,7 +430,8 @@ public class UserServiceImpl implements UserService {
                 .flatMap(user -> {
                     user.markAsDeleted();
                     return mongoUpsertHelper.updateById(user, userId);
-                });
+                })
+                .delayUntil(__ -> sessionUserCache.invalidateUser(userId));
     }
 
     protected Map<String, Object> getUserDetailExtra(User user, String orgId) {
@@ -466,7 +480,8 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public Mono<Void> bulkUpdateUser(Collection<PartialResourceWithId<User>> partialResourceWithIds) {
-        return mongoUpsertHelper.bulkUpdate(partialResourceWithIds).then();
+        return mongoUpsertHelper.bulkUpdate(partialResourceWithIds)
+                .then(sessionUserCache.invalidateUsers(partialResourceWithIds.stream().map(PartialResourceWithId::id).toList()));
     }
 
     @Override
@@ -0,0 +1,64 @@
+package org.lowcoder.domain.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.ReactiveSubscription.Message;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * Redis pub/sub channel through which a node level cache tells every node, itself included, which of its entries to drop.
+ * <p>
+ * The owning cache calls {@link #subscribe()} and {@link #unsubscribe()} with its own lifecycle, and
+ * {@link #invalidate(String)} for every change.
+ */
+@Slf4j
+public class RedisInvalidationChannel {
+
+    private final ReactiveRedisTemplate<String, String> reactiveTemplate;
+    private final String channel;
+    private final Consumer<String> onInvalidation;
+    private Disposable subscription;
+
+    /**
+     * @param onInvalidation drops the local entries a message stands for
+     */
+    public RedisInvalidationChannel(ReactiveRedisTemplate<String, String> reactiveTemplate, String channel,
+            Consumer<String> onInvalidation) {
+        this.reactiveTemplate = reactiveTemplate;
+        this.channel = channel;
+        this.onInvalidation = onInvalidation;
+    }
+
+    public void subscribe() {
+        subscription = reactiveTemplate.listenToChannel(channel)
+                .map(Message::getMessage)
+                .doOnNext(onInvalidation)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofMinutes(1))
+                        .doBeforeRetry(signal -> log.warn("subscription to {} failed, retrying", channel, signal.failure())))
+                .subscribe();
+    }
+
+    public void unsubscribe() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    /**
+     * evicts locally first, a failed broadcast only delays other nodes until their entries expire.
+     */
+    public Mono<Void> invalidate(String message) {
+        return Mono.fromRunnable(() -> onInvalidation.accept(message))
+                .then(reactiveTemplate.convertAndSend(channel, message))
+                .onErrorResume(e -> {
+                    log.warn("fail to broadcast invalidation to {}", channel, e);
+                    return Mono.empty();
+                })
+                .then();
+    }
+}
@@ -0,0 +1,39 @@
+package org.lowcoder.domain.application;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ApplicationDslPatchTest {
+
+    private static final Map<String, Object> SOURCE = Map.of(
+            "ui", Map.of("comp", Map.of("text", "hello", "items", List.of(1, 2)), "a/b", "slash"),
+            "settings", Map.of("title", "app", "themeId", "theme1"));
+
+    private static final Map<String, Object> TARGET = Map.of(
+            "ui", Map.of("comp", Map.of("text", "world", "items", List.of(1, 2, 3)), "a/b", "slash~"),
+            "settings", Map.of("title", "app"),
+            "queries", List.of(Map.of("id", "query1")));
+
+    @Test
+    void testDiffAndApply() {
+        List<Map<String, Object>> patch = ApplicationDslPatch.diff(SOURCE, TARGET);
+        assertEquals(5, patch.size());
+        assertEquals(TARGET, ApplicationDslPatch.apply(SOURCE, patch));
+    }
+
+    @Test
+    void testEqualDslHasEmptyPatch() {
+        assertEquals(List.of(), ApplicationDslPatch.diff(SOURCE, SOURCE));
+    }
+
+    @Test
+    void testCompressedPatch() {
+        List<Map<String, Object>> patch = ApplicationDslPatch.diff(SOURCE, TARGET);
+        List<Map<String, Object>> decompressed = ApplicationDslPatch.decompress(ApplicationDslPatch.compress(patch));
+        assertEquals(TARGET, ApplicationDslPatch.apply(SOURCE, decompressed));
+    }
+}
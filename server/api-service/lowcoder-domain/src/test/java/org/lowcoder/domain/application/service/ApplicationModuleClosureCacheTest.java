@@ -0,0 +1,85 @@
+package org.lowcoder.domain.application.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lowcoder.domain.application.model.Application;
+import org.lowcoder.domain.application.model.ApplicationVersion;
+import org.lowcoder.sdk.config.CommonConfig;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.Mockito.*;
+
+class ApplicationModuleClosureCacheTest {
+
+    private ApplicationService applicationService;
+    private ApplicationRecordService applicationRecordService;
+    private ApplicationModuleClosureCache applicationModuleClosureCache;
+
+    @BeforeEach
+    void setUp() {
+        applicationService = mock(ApplicationService.class);
+        applicationRecordService = mock(ApplicationRecordService.class);
+        applicationModuleClosureCache = new ApplicationModuleClosureCache(applicationService, applicationRecordService, new CommonConfig());
+    }
+
+    @Test
+    void testClosureIsCachedPerPublishedVersion() {
+        publish("app1", "version1");
+        when(applicationService.getAllDependentModulesFromApplicationId("app1", true))
+                .thenReturn(Mono.just(List.of(module("module1"), module("module2"))));
+
+        StepVerifier.create(applicationModuleClosureCache.getDependentModuleIds("app1"))
+                .expectNext(Set.of("module1", "module2"))
+                .verifyComplete();
+        applicationModuleClosureCache.getDependentModuleIds("app1").block();
+        verify(applicationService, times(1)).getAllDependentModulesFromApplicationId("app1", true);
+
+        publish("app1", "version2");
+        applicationModuleClosureCache.getDependentModuleIds("app1").block();
+        verify(applicationService, times(2)).getAllDependentModulesFromApplicationId("app1", true);
+    }
+
+    @Test
+    void testInvalidatingModuleDropsClosuresContainingIt() {
+        publish("app1", "version1");
+        publish("app2", "version1");
+        when(applicationService.getAllDependentModulesFromApplicationId("app1", true)).thenReturn(Mono.just(List.of(module("module1"))));
+        when(applicationService.getAllDependentModulesFromApplicationId("app2", true)).thenReturn(Mono.just(List.of(module("module2"))));
+
+        applicationModuleClosureCache.getDependentModuleIds("app1").block();
+        applicationModuleClosureCache.getDependentModuleIds("app2").block();
+        applicationModuleClosureCache.invalidate("module1");
+        applicationModuleClosureCache.getDependentModuleIds("app1").block();
+        applicationModuleClosureCache.getDependentModuleIds("app2").block();
+
+        verify(applicationService, times(2)).getAllDependentModulesFromApplicationId("app1", true);
+        verify(applicationService, times(1)).getAllDependentModulesFromApplicationId("app2", true);
+    }
+
+    @Test
+    void testUsesOwnExpiry() {
+        CommonConfig commonConfig = new CommonConfig();
+        commonConfig.getQuery().setAppModuleClosureCacheExpireSeconds(0);
+        applicationModuleClosureCache = new ApplicationModuleClosureCache(applicationService, applicationRecordService, commonConfig);
+        publish("app1", "version1");
+        when(applicationService.getAllDependentModulesFromApplicationId("app1", true)).thenReturn(Mono.just(List.of(module("module1"))));
+
+        applicationModuleClosureCache.getDependentModuleIds("app1").block();
+        applicationModuleClosureCache.getDependentModuleIds("app1").block();
+
+        verify(applicationService, times(2)).getAllDependentModulesFromApplicationId("app1", true);
+    }
+
+    private void publish(String applicationId, String versionId) {
+        when(applicationRecordService.getLatestRecordWithoutDslByApplicationId(applicationId))
+                .thenReturn(Mono.just(ApplicationVersion.builder().id(versionId).build()));
+    }
+
+    private static Application module(String id) {
+        return Application.builder().id(id).build();
+    }
+}
@@ -0,0 +1,84 @@
+package org.lowcoder.domain.application.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lowcoder.domain.application.model.Application;
+import org.lowcoder.sdk.config.CommonConfig;
+import org.lowcoder.sdk.exception.BizException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+
+class ApplicationQueryIndexCacheTest {
+
+    private ApplicationService applicationService;
+    private ApplicationRecordService applicationRecordService;
+    private ApplicationQueryIndexCache applicationQueryIndexCache;
+
+    @BeforeEach
+    void setUp() {
+        applicationService = mock(ApplicationService.class);
+        applicationRecordService = mock(ApplicationRecordService.class);
+        applicationQueryIndexCache = new ApplicationQueryIndexCache(applicationService, applicationRecordService, new CommonConfig());
+    }
+
+    @Test
+    void testEditingQueryIsServedFromIndexUntilApplicationChanges() {
+        Application app = appWithQueries(Instant.ofEpochMilli(1000L), "query1");
+        when(applicationService.findById("app1")).thenReturn(Mono.just(app));
+
+        StepVerifier.create(applicationQueryIndexCache.getQuery(app, false, "query1"))
+                .expectNextMatches(query -> "query1".equals(query.getId()))
+                .verifyComplete();
+        StepVerifier.create(applicationQueryIndexCache.getQuery(app, false, "gid-query1"))
+                .expectNextMatches(query -> "query1".equals(query.getId()))
+                .verifyComplete();
+        verify(applicationService, times(1)).findById("app1");
+
+        Application updatedApp = appWithQueries(Instant.ofEpochMilli(2000L), "query2");
+        when(applicationService.findById("app1")).thenReturn(Mono.just(updatedApp));
+
+        StepVerifier.create(applicationQueryIndexCache.getQuery(updatedApp, false, "query2"))
+                .expectNextMatches(query -> "query2".equals(query.getId()))
+                .verifyComplete();
+        verify(applicationService, times(2)).findById("app1");
+    }
+
+    @Test
+    void testInvalidateDropsIndex() {
+        Application app = appWithQueries(Instant.ofEpochMilli(1000L), "query1");
+        when(applicationService.findById("app1")).thenReturn(Mono.just(app));
+
+        applicationQueryIndexCache.getQuery(app, false, "query1").block();
+        applicationQueryIndexCache.invalidate("app1");
+        applicationQueryIndexCache.getQuery(app, false, "query1").block();
+
+        verify(applicationService, times(2)).findById("app1");
+    }
+
+    @Test
+    void testUnknownQueryId() {
+        Application app = appWithQueries(Instant.ofEpochMilli(1000L), "query1");
+        when(applicationService.findById("app1")).thenReturn(Mono.just(app));
+
+        StepVerifier.create(applicationQueryIndexCache.getQuery(app, false, "missing"))
+                .expectError(BizException.class)
+                .verify();
+    }
+
+    private static Application appWithQueries(Instant updatedAt, String queryId) {
+        Map<String, Object> query = Map.of("id", queryId, "gid", "gid-" + queryId, "datasourceId", "ds1",
+                "compType", "mysql", "comp", Map.of("sql", "select 1"));
+        Application app = Application.builder()
+                .editingApplicationDSL(Map.of("queries", List.of(query)))
+                .build();
+        app.setId("app1");
+        app.setUpdatedAt(updatedAt);
+        return app;
+    }
+}
@@ -0,0 +1,82 @@
+package org.lowcoder.domain.application.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lowcoder.domain.application.model.Application;
+import org.lowcoder.domain.application.model.ApplicationSummary;
+import org.lowcoder.domain.application.model.ApplicationVersion;
+import org.lowcoder.domain.application.repository.ApplicationSummaryRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class ApplicationSummaryServiceImplTest {
+
+    private ApplicationSummaryRepository applicationSummaryRepository;
+    private ApplicationRecordService applicationRecordService;
+    private ApplicationService applicationService;
+    private ApplicationSummaryServiceImpl applicationSummaryService;
+
+    @BeforeEach
+    void setUp() {
+        applicationSummaryRepository = mock(ApplicationSummaryRepository.class);
+        applicationRecordService = mock(ApplicationRecordService.class);
+        applicationService = mock(ApplicationService.class);
+        applicationSummaryService = new ApplicationSummaryServiceImpl(applicationSummaryRepository, applicationRecordService, applicationService);
+        when(applicationSummaryRepository.save(any(ApplicationSummary.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+    }
+
+    @Test
+    void testUpToDateSummaryIsNotRebuilt() {
+        Application app = app(Instant.ofEpochMilli(1000L), "editing title");
+        ApplicationSummary stored = ApplicationSummary.from(app, null, app.getEditingApplicationDSL());
+        when(applicationRecordService.getLatestRecordsWithoutDslByApplicationIds(anyCollection())).thenReturn(Mono.just(Map.of()));
+        when(applicationSummaryRepository.findAllById(anyCollection())).thenReturn(Flux.just(stored));
+
+        StepVerifier.create(applicationSummaryService.getByApplications(List.of(app)))
+                .expectNextMatches(summaries -> "editing title".equals(summaries.get("app1").getTitle()))
+                .verifyComplete();
+        verify(applicationSummaryRepository, never()).save(any(ApplicationSummary.class));
+    }
+
+    @Test
+    void testStaleSummaryIsRebuiltFromPublishedDsl() {
+        Application app = app(Instant.ofEpochMilli(1000L), "editing title");
+        ApplicationSummary stored = ApplicationSummary.from(app, null, app.getEditingApplicationDSL());
+        ApplicationVersion record = ApplicationVersion.builder()
+                .applicationId("app1")
+                .applicationDSL(Map.of("settings", Map.of("title", "published title", "category", "sales")))
+                .build();
+        record.setId("record1");
+        record.setCreatedAt(Instant.ofEpochMilli(2000L));
+        when(applicationRecordService.getLatestRecordsWithoutDslByApplicationIds(anyCollection())).thenReturn(Mono.just(Map.of("app1", record)));
+        when(applicationRecordService.getById("record1")).thenReturn(Mono.just(record));
+        when(applicationSummaryRepository.findAllById(anyCollection())).thenReturn(Flux.just(stored));
+
+        StepVerifier.create(applicationSummaryService.getByApplications(List.of(app)))
+                .expectNextMatches(summaries -> {
+                    ApplicationSummary summary = summaries.get("app1");
+                    return "published title".equals(summary.getTitle()) && "sales".equals(summary.getCategory())
+                            && summary.isPublished() && "record1".equals(summary.getSourceVersion());
+                })
+                .verifyComplete();
+        verify(applicationSummaryRepository, times(1)).save(any(ApplicationSummary.class));
+    }
+
+    private static Application app(Instant updatedAt, String title) {
+        Application app = Application.builder()
+                .editingApplicationDSL(Map.of("settings", Map.of("title", title)))
+                .build();
+        app.setId("app1");
+        app.setUpdatedAt(updatedAt);
+        return app;
+    }
+}
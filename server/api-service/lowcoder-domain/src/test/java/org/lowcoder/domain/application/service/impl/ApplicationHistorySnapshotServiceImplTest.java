@@ -0,0 +1,102 @@
+package org.lowcoder.domain.application.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lowcoder.domain.application.model.ApplicationHistorySnapshot;
+import org.lowcoder.domain.application.repository.ApplicationHistoryArchivedSnapshotRepository;
+import org.lowcoder.domain.application.repository.ApplicationHistorySnapshotRepository;
+import org.lowcoder.sdk.config.CommonConfig;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ApplicationHistorySnapshotServiceImplTest {
+
+    private final List<ApplicationHistorySnapshot> saved = new ArrayList<>();
+    private CommonConfig commonConfig;
+    private ApplicationHistorySnapshotServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        ApplicationHistorySnapshotRepository repository = mock(ApplicationHistorySnapshotRepository.class);
+        ApplicationHistoryArchivedSnapshotRepository repositoryArchived = mock(ApplicationHistoryArchivedSnapshotRepository.class);
+        when(repository.save(any(ApplicationHistorySnapshot.class))).thenAnswer(invocation -> {
+            ApplicationHistorySnapshot snapshot = invocation.getArgument(0);
+            snapshot.setId("snapshot" + (saved.size() + 1));
+            saved.add(snapshot);
+            return Mono.just(snapshot);
+        });
+        when(repository.findById(anyString())).thenAnswer(invocation -> Mono.justOrEmpty(saved.stream()
+                .filter(snapshot -> snapshot.getId().equals(invocation.getArgument(0)))
+                .findFirst()));
+        when(repository.findAllByKeyframeId(anyString())).thenAnswer(invocation -> Flux.fromStream(saved.stream()
+                .filter(snapshot -> invocation.getArgument(0).equals(snapshot.getKeyframeId()))));
+        when(repositoryArchived.findById(anyString())).thenReturn(Mono.empty());
+        when(repositoryArchived.findAllByKeyframeId(anyString())).thenReturn(Flux.empty());
+
+        commonConfig = new CommonConfig();
+        service = new ApplicationHistorySnapshotServiceImpl(repository, repositoryArchived, commonConfig);
+        service.init();
+    }
+
+    @Test
+    void testSnapshotIsRebuiltFromKeyframeAndDeltas() {
+        createSnapshots(dsl("a", 1), dsl("b", 2), dsl("c", 3));
+
+        assertEquals(dsl("a", 1), saved.get(0).getDsl());
+        assertNull(saved.get(0).getKeyframeId());
+        for (ApplicationHistorySnapshot delta : saved.subList(1, 3)) {
+            assertNull(delta.getDsl());
+            assertEquals("snapshot1", delta.getKeyframeId());
+            assertNotNull(delta.getDslPatch());
+        }
+        assertEquals("snapshot2", saved.get(2).getBaseSnapshotId());
+
+        // the latest first, a rebuilt dsl is set on the loaded snapshot
+        assertEquals(dsl("c", 3), service.getHistorySnapshotDetail("snapshot3").block().getDsl());
+        assertEquals(dsl("b", 2), service.getHistorySnapshotDetail("snapshot2").block().getDsl());
+    }
+
+    @Test
+    void testCompressedDeltasAreRebuilt() {
+        commonConfig.getQuery().setAppSnapshotCompressThresholdBytes(0);
+        createSnapshots(dsl("a", 1), dsl("b", 2), dsl("c", 3));
+
+        assertNull(saved.get(2).getDslPatch());
+        assertNotNull(saved.get(2).getCompressedDslPatch());
+        assertEquals(dsl("c", 3), service.getHistorySnapshotDetail("snapshot3").block().getDsl());
+    }
+
+    @Test
+    void testNewKeyframeAfterInterval() {
+        commonConfig.getQuery().setAppSnapshotKeyframeInterval(2);
+        createSnapshots(dsl("a", 1), dsl("b", 2), dsl("c", 3), dsl("d", 4));
+
+        assertNotNull(saved.get(0).getDsl());
+        assertEquals("snapshot1", saved.get(1).getKeyframeId());
+        assertNotNull(saved.get(2).getDsl());
+        assertEquals("snapshot3", saved.get(3).getKeyframeId());
+        assertEquals(dsl("d", 4), service.getHistorySnapshotDetail("snapshot4").block().getDsl());
+    }
+
+    @SafeVarargs
+    private void createSnapshots(Map<String, Object>... dsls) {
+        for (Map<String, Object> dsl : dsls) {
+            assertTrue(service.createHistorySnapshot("app1", dsl, Map.of(), "user1").block());
+        }
+    }
+
+    private static Map<String, Object> dsl(String compName, int count) {
+        return Map.of("ui", Map.of("comp", Map.of("name", compName, "items", List.of(count, count + 1))),
+                "settings", Map.of("themeId", "theme1"));
+    }
+}
@@ -0,0 +1,122 @@
+package org.lowcoder.domain.datasource.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lowcoder.domain.application.repository.ApplicationRepository;
+import org.lowcoder.domain.datasource.model.Datasource;
+import org.lowcoder.domain.datasource.repository.DatasourceRepository;
+import org.lowcoder.domain.datasource.service.JsDatasourceHelper;
+import org.lowcoder.domain.permission.service.ResourcePermissionService;
+import org.lowcoder.domain.plugin.client.DatasourcePluginClient;
+import org.lowcoder.domain.plugin.service.DatasourceMetaInfoService;
+import org.lowcoder.infra.perf.PerfHelper;
+import org.lowcoder.sdk.config.CommonConfig;
+import org.lowcoder.sdk.models.JsDatasourceConnectionConfig;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class DatasourceServiceImplTest {
+
+    private static final String DATASOURCE_ID = "datasource1";
+    private static final String TYPE = "jsPlugin";
+
+    private DatasourceRepository repository;
+    private DatasourceServiceImpl datasourceService;
+    private final AtomicReference<String> storedName = new AtomicReference<>("old");
+
+    @BeforeEach
+    void setUp() {
+        DatasourceMetaInfoService datasourceMetaInfoService = mock(DatasourceMetaInfoService.class);
+        when(datasourceMetaInfoService.isJsDatasourcePlugin(anyString())).thenReturn(true);
+        JsDatasourceHelper jsDatasourceHelper = mock(JsDatasourceHelper.class);
+        when(jsDatasourceHelper.fillPluginDefinition(any())).thenReturn(Mono.empty());
+        repository = mock(DatasourceRepository.class);
+        when(repository.findById(DATASOURCE_ID)).thenAnswer(invocation -> Mono.fromSupplier(this::storedDatasource));
+        when(repository.save(any())).thenAnswer(invocation -> {
+            Datasource datasource = invocation.getArgument(0);
+            storedName.set(datasource.getName());
+            return Mono.just(datasource);
+        });
+
+        datasourceService = new DatasourceServiceImpl(datasourceMetaInfoService, mock(ApplicationRepository.class),
+                mock(ResourcePermissionService.class), repository, mock(DatasourcePluginClient.class), jsDatasourceHelper,
+                mock(PerfHelper.class), new CommonConfig());
+        datasourceService.init();
+    }
+
+    @Test
+    void testCachedDatasourceIsCopied() {
+        Datasource first = datasourceService.getCachedById(DATASOURCE_ID).block();
+        first.setName("changed");
+        ((JsDatasourceConnectionConfig) first.getDetailConfig()).put("host", "changed");
+
+        StepVerifier.create(datasourceService.getCachedById(DATASOURCE_ID))
+                .assertNext(second -> {
+                    assertNotSame(first, second);
+                    assertEquals("old", second.getName());
+                    JsDatasourceConnectionConfig detailConfig = (JsDatasourceConnectionConfig) second.getDetailConfig();
+                    assertEquals("localhost", detailConfig.get("host"));
+                    assertEquals(TYPE, detailConfig.getType());
+                })
+                .verifyComplete();
+        verify(repository, times(1)).findById(DATASOURCE_ID);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDynamicParamsOfCachedDatasourceAreCopied() {
+        Datasource first = datasourceService.getCachedById(DATASOURCE_ID).block();
+        Datasource second = datasourceService.getCachedById(DATASOURCE_ID).block();
+        ((Map<String, Object>) ((JsDatasourceConnectionConfig) second.getDetailConfig()).get("dynamicParamsConfig")).remove("password");
+
+        StepVerifier.create(datasourceService.getCachedById(DATASOURCE_ID))
+                .assertNext(third -> {
+                    assertEquals(first.getOrganizationId(), third.getOrganizationId());
+                    assertEquals(first.getType(), third.getType());
+                    Map<String, Object> dynamicParamsConfig = (Map<String, Object>) ((JsDatasourceConnectionConfig) third.getDetailConfig())
+                            .get("dynamicParamsConfig");
+                    assertEquals("secret", dynamicParamsConfig.get("password"));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testUpdateInvalidatesCachedDatasource() {
+        StepVerifier.create(datasourceService.getCachedById(DATASOURCE_ID))
+                .expectNextMatches(datasource -> "old".equals(datasource.getName()))
+                .verifyComplete();
+
+        Datasource update = storedDatasource();
+        update.setName("new");
+        datasourceService.update(DATASOURCE_ID, update).block();
+
+        StepVerifier.create(datasourceService.getCachedById(DATASOURCE_ID))
+                .expectNextMatches(datasource -> "new".equals(datasource.getName()))
+                .verifyComplete();
+        verify(repository, times(3)).findById(DATASOURCE_ID);
+    }
+
+    private Datasource storedDatasource() {
+        JsDatasourceConnectionConfig detailConfig = new JsDatasourceConnectionConfig();
+        detailConfig.setType(TYPE);
+        detailConfig.put("host", "localhost");
+        detailConfig.put("dynamicParamsConfig", new HashMap<>(Map.of("password", "secret")));
+        Datasource datasource = new Datasource();
+        datasource.setId(DATASOURCE_ID);
+        datasource.setName(storedName.get());
+        datasource.setType(TYPE);
+        datasource.setOrganizationId("org1");
+        datasource.setDetailConfig(detailConfig);
+        return datasource;
+    }
+}
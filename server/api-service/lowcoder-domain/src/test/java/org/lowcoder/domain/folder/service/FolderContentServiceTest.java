@@ -0,0 +1,96 @@
+package org.lowcoder.domain.folder.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.lowcoder.domain.application.model.Application;
+import org.lowcoder.domain.application.model.ApplicationStatus;
+import org.lowcoder.domain.application.model.ApplicationType;
+import org.lowcoder.domain.folder.service.FolderContentService.LevelQuery;
+import org.lowcoder.domain.folder.service.FolderContentService.NameCursor;
+import org.lowcoder.sdk.util.IDUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@SpringBootTest
+@RunWith(SpringRunner.class)
+public class FolderContentServiceTest {
+
+    @Autowired
+    private FolderContentService folderContentService;
+    @Autowired
+    private FolderElementRelationService folderElementRelationService;
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Test
+    public void testPageThroughUnnamedApplications() {
+        String orgId = IDUtils.generate();
+        List<String> names = Arrays.asList("b", "a", "b", null, null, null);
+        Mono<List<String>> namesMono = Flux.range(0, names.size())
+                .concatMap(i -> createApplication(orgId, names.get(i)))
+                .then(collectPages(new LevelQuery(orgId, null, null, null, null), null, new ArrayList<>()));
+
+        StepVerifier.create(namesMono)
+                .assertNext(list -> Assert.assertEquals(Arrays.asList(null, null, null, "a", "b", "b"), list))
+                .verifyComplete();
+    }
+
+    @Test
+    public void testRootOnlyListsApplicationsInNoFolder() {
+        String orgId = IDUtils.generate();
+        String folderId = IDUtils.generate();
+        Mono<Application> inFolderMono = createApplication(orgId, "in folder")
+                .delayUntil(application -> folderElementRelationService.create(folderId, application.getId()));
+        Mono<Application> movedOutMono = createApplication(orgId, "moved out")
+                .delayUntil(application -> folderElementRelationService.create(folderId, application.getId()))
+                .delayUntil(application -> folderElementRelationService.deleteByElementId(application.getId()));
+
+        Mono<List<String>> rootMono = Mono.zip(inFolderMono, movedOutMono, createApplication(orgId, "root"))
+                .then(folderContentService.getLevelApplications(new LevelQuery(orgId, null, null, null, null), null, 10)
+                        .map(Application::getName)
+                        .collectList());
+        Mono<List<String>> folderMono = folderContentService.getLevelApplications(new LevelQuery(orgId, folderId, null, null, null), null, 10)
+                .map(Application::getName)
+                .collectList();
+
+        StepVerifier.create(rootMono.zipWhen(root -> folderMono))
+                .assertNext(tuple -> {
+                    Assert.assertEquals(List.of("moved out", "root"), tuple.getT1());
+                    Assert.assertEquals(List.of("in folder"), tuple.getT2());
+                })
+                .verifyComplete();
+    }
+
+    private Mono<List<String>> collectPages(LevelQuery query, NameCursor after, List<String> names) {
+        return folderContentService.getLevelApplications(query, after, 2)
+                .collectList()
+                .flatMap(applications -> {
+                    applications.forEach(application -> names.add(application.getName()));
+                    if (applications.size() < 2) {
+                        return Mono.just(names);
+                    }
+                    Application last = applications.get(applications.size() - 1);
+                    return collectPages(query, new NameCursor(last.getName(), last.getId()), names);
+                });
+    }
+
+    private Mono<Application> createApplication(String orgId, String name) {
+        return reactiveMongoTemplate.insert(Application.builder()
+                .organizationId(orgId)
+                .name(name)
+                .applicationType(ApplicationType.APPLICATION.getValue())
+                .applicationStatus(ApplicationStatus.NORMAL)
+                .build());
+    }
+}
@@ -0,0 +1,169 @@
+package org.lowcoder.domain.organization.service;
+
+import static org.lowcoder.infra.birelation.BiRelationBizType.ORG_MEMBER;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.lowcoder.domain.organization.model.MemberRole;
+import org.lowcoder.domain.organization.service.MemberSearchService.MemberPage;
+import org.lowcoder.domain.organization.service.MemberSearchService.MemberQuery;
+import org.lowcoder.domain.organization.service.MemberSearchService.MemberSortKey;
+import org.lowcoder.domain.user.model.User;
+import org.lowcoder.domain.user.model.UserState;
+import org.lowcoder.infra.birelation.BiRelation;
+import org.lowcoder.sdk.util.IDUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@SpringBootTest
+@RunWith(SpringRunner.class)
+public class MemberSearchServiceTest {
+
+    @Autowired
+    private OrgMemberService orgMemberService;
+    @Autowired
+    private MemberSearchService memberSearchService;
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Test
+    public void testPageThroughMembersWithCursor() {
+        int totalCount = 123;
+        String orgId = IDUtils.generate();
+        Set<String> userIds = IntStream.rangeClosed(1, totalCount).mapToObj(i -> IDUtils.generate()).collect(Collectors.toSet());
+
+        Mono<List<String>> listMono = orgMemberService.bulkAddMember(orgId, userIds, MemberRole.MEMBER)
+                .then(collectAllPages(orgId, null, new ArrayList<>()));
+
+        StepVerifier.create(listMono)
+                .assertNext(list -> {
+                    Assert.assertEquals(totalCount, list.size());
+                    Assert.assertEquals(userIds, new HashSet<>(list));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void testPageNumAndTotal() {
+        String orgId = IDUtils.generate();
+        Set<String> userIds = IntStream.rangeClosed(1, 30).mapToObj(i -> IDUtils.generate()).collect(Collectors.toSet());
+
+        Mono<MemberPage> pageMono = orgMemberService.bulkAddMember(orgId, userIds, MemberRole.MEMBER)
+                .then(memberSearchService.searchMembers(new MemberQuery(ORG_MEMBER, orgId, null, null, MemberSortKey.JOIN_TIME, true, 3, 10, null)));
+
+        StepVerifier.create(pageMono)
+                .assertNext(page -> {
+                    Assert.assertEquals(30, page.total());
+                    Assert.assertEquals(10, page.members().size());
+                    Assert.assertNull(page.nextCursor());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void testSearchByNameOrEmailPrefixFromEitherSide() {
+        String orgId = IDUtils.generate();
+        String tag = IDUtils.generate();
+
+        Mono<List<MemberPage>> pagesMono = Flux.concat(
+                        createUser(tag + "-Alice", null),
+                        createUser("Someone", tag + "-alicia@lowcoder.test"),
+                        createUser(tag + "-Bob", null))
+                .collectList()
+                .flatMap(userIds -> orgMemberService.bulkAddMember(orgId, userIds, MemberRole.MEMBER))
+                .then(Mono.zip(
+                        // every user matches, the join starts from the members
+                        memberSearchService.searchMembers(new MemberQuery(ORG_MEMBER, orgId, tag.toUpperCase(), null, null, false, 1, 10, null)),
+                        // fewer users than members match, the join starts from the users
+                        memberSearchService.searchMembers(new MemberQuery(ORG_MEMBER, orgId, tag + "-ALI", null, null, false, 1, 10, null))))
+                .map(tuple -> List.of(tuple.getT1(), tuple.getT2()));
+
+        StepVerifier.create(pagesMono)
+                .assertNext(pages -> {
+                    Assert.assertEquals(3, pages.get(0).total());
+                    Assert.assertEquals(3, pages.get(0).members().size());
+                    Assert.assertEquals(2, pages.get(1).total());
+                    Assert.assertEquals(2, pages.get(1).members().size());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void testSearchByLastNamePrefix() {
+        String orgId = IDUtils.generate();
+        String tag = IDUtils.generate();
+
+        Mono<MemberPage> pageMono = Flux.concat(
+                        createUser("Alice " + tag + "-Smith", null),
+                        createUser("Bob Jones", null))
+                .collectList()
+                .flatMap(userIds -> orgMemberService.bulkAddMember(orgId, userIds, MemberRole.MEMBER))
+                .then(memberSearchService.searchMembers(new MemberQuery(ORG_MEMBER, orgId, tag + "-SM", null, null, false, 1, 10, null)));
+
+        StepVerifier.create(pageMono)
+                .assertNext(page -> {
+                    Assert.assertEquals(1, page.total());
+                    Assert.assertEquals(1, page.members().size());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void testPageThroughMembersByName() {
+        String orgId = IDUtils.generate();
+        List<String> names = List.of("b", "A", "c", "a", "B");
+
+        Mono<List<String>> listMono = Flux.fromIterable(names)
+                .concatMap(name -> createUser(name, null))
+                .collectList()
+                .flatMap(userIds -> orgMemberService.bulkAddMember(orgId, userIds, MemberRole.MEMBER).thenReturn(userIds))
+                .flatMap(userIds -> collectPagesByName(orgId, null, new ArrayList<>())
+                        .map(memberIds -> memberIds.stream().map(userId -> names.get(userIds.indexOf(userId)).toLowerCase()).toList()));
+
+        StepVerifier.create(listMono)
+                .expectNext(List.of("a", "a", "b", "b", "c"))
+                .verifyComplete();
+    }
+
+    private Mono<String> createUser(String name, String email) {
+        return reactiveMongoTemplate.insert(User.builder().name(name).email(email).state(UserState.ACTIVATED).build())
+                .map(User::getId);
+    }
+
+    private Mono<List<String>> collectPagesByName(String orgId, String cursor, List<String> collected) {
+        return memberSearchService.searchMembers(new MemberQuery(ORG_MEMBER, orgId, null, null, MemberSortKey.USER_NAME, false, 1, 2, cursor))
+                .flatMap(page -> {
+                    Assert.assertEquals(5, page.total());
+                    page.members().stream().map(BiRelation::getTargetId).forEach(collected::add);
+                    if (page.nextCursor() == null) {
+                        return Mono.just(collected);
+                    }
+                    return collectPagesByName(orgId, page.nextCursor(), collected);
+                });
+    }
+
+    private Mono<List<String>> collectAllPages(String orgId, String cursor, List<String> collected) {
+        return memberSearchService.searchMembers(new MemberQuery(ORG_MEMBER, orgId, null, null, null, false, 1, 50, cursor))
+                .flatMap(page -> {
+                    page.members().stream().map(BiRelation::getTargetId).forEach(collected::add);
+                    if (page.nextCursor() == null) {
+                        return Mono.just(collected);
+                    }
+                    return collectAllPages(orgId, page.nextCursor(), collected);
+                });
+    }
+}
@@ -0,0 +1,77 @@
+package org.lowcoder.domain.organization.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lowcoder.domain.organization.model.OrgMember;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class OrgMemberCacheTest {
+
+    private ReactiveRedisTemplate<String, String> reactiveTemplate;
+    private OrgMemberCache orgMemberCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        reactiveTemplate = mock(ReactiveRedisTemplate.class);
+        when(reactiveTemplate.convertAndSend(anyString(), anyString())).thenReturn(Mono.just(1L));
+        orgMemberCache = new OrgMemberCache(reactiveTemplate);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void testOrgMembersAreLoadedOncePerUser() {
+        resolve("user1");
+        resolve("user1");
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testUsersWithoutOrgAreNotCached() {
+        orgMemberCache.getActiveOrgMembers("user1", () -> {
+            loads.incrementAndGet();
+            return Mono.just(List.of());
+        }).block();
+        resolve("user1");
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testInvalidateUserIsBroadcast() {
+        resolve("user1");
+        resolve("user2");
+        orgMemberCache.invalidateUser("user1").block();
+        resolve("user1");
+        resolve("user2");
+
+        assertEquals(3, loads.get());
+        verify(reactiveTemplate).convertAndSend("lowcoder:org-member-invalidation", "user:user1");
+    }
+
+    @Test
+    void testInvalidateAll() {
+        resolve("user1");
+        resolve("user2");
+        orgMemberCache.invalidateAll().block();
+        resolve("user1");
+        resolve("user2");
+
+        assertEquals(4, loads.get());
+    }
+
+    private void resolve(String userId) {
+        orgMemberCache.getActiveOrgMembers(userId, () -> Mono.fromSupplier(() -> {
+            loads.incrementAndGet();
+            return List.of(OrgMember.builder().userId(userId).orgId("org1").build());
+        })).block();
+    }
+}
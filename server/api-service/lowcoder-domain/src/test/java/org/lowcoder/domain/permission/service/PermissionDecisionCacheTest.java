@@ -0,0 +1,179 @@
+package org.lowcoder.domain.permission.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lowcoder.domain.application.repository.ApplicationRepository;
+import org.lowcoder.domain.application.service.ApplicationRecordService;
+import org.lowcoder.domain.application.service.ApplicationServiceImpl;
+import org.lowcoder.domain.group.service.GroupMemberServiceImpl;
+import org.lowcoder.domain.permission.model.ResourceAction;
+import org.lowcoder.domain.permission.model.ResourcePermission;
+import org.lowcoder.domain.user.repository.UserRepository;
+import org.lowcoder.infra.birelation.BiRelationService;
+import org.lowcoder.infra.mongo.MongoUpsertHelper;
+import org.lowcoder.sdk.exception.BizException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.lowcoder.infra.birelation.BiRelationBizType.GROUP_MEMBER;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * a granted decision is cached until a change it depends on goes through the services, which is checked here against a
+ * permission handler reading mutable grants.
+ */
+class PermissionDecisionCacheTest {
+
+    private static final String ORG_ID = "org1";
+    private static final String APP_ID = "app1";
+    private static final String GROUP_ID = "group1";
+
+    private final PermissionDecisionCache permissionDecisionCache = new PermissionDecisionCache();
+    // users granted the application directly
+    private final Set<String> userGrants = new HashSet<>();
+    // users in the group, which is granted the application
+    private final Set<String> groupMembers = new HashSet<>();
+    private final AtomicBoolean publicToAll = new AtomicBoolean();
+    private final AtomicInteger evaluations = new AtomicInteger();
+
+    private ResourcePermissionRepository repository;
+    private MongoUpsertHelper mongoUpsertHelper;
+    private BiRelationService biRelationService;
+    private ResourcePermissionServiceImpl resourcePermissionService;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(ResourcePermissionRepository.class);
+        mongoUpsertHelper = mock(MongoUpsertHelper.class);
+        biRelationService = mock(BiRelationService.class);
+        ResourcePermissionHandlerService applicationPermissionHandler = mock(ResourcePermissionHandlerService.class);
+        resourcePermissionService = new ResourcePermissionServiceImpl(repository, applicationPermissionHandler,
+                mock(ResourcePermissionHandlerService.class), mock(ResourcePermissionHandlerService.class), permissionDecisionCache);
+
+        when(applicationPermissionHandler.getAllMatchingPermissions(anyString(), any(), any()))
+                .thenAnswer(invocation -> {
+                    evaluations.incrementAndGet();
+                    String userId = invocation.getArgument(0);
+                    Collection<String> resourceIds = invocation.getArgument(1);
+                    return permissionDecisionCache.getUserGroupIds(ORG_ID, userId,
+                                    () -> Mono.fromSupplier(() -> groupMembers.contains(userId) ? Set.of(GROUP_ID) : Set.<String> of()))
+                            .map(groupIds -> {
+                                boolean granted = publicToAll.get() || userGrants.contains(userId) || groupIds.contains(GROUP_ID);
+                                List<ResourcePermission> permissions = granted ? List.of(ResourcePermission.builder().build()) : List.of();
+                                return Map.of(resourceIds.iterator().next(), permissions);
+                            });
+                });
+    }
+
+    @Test
+    void testGrantedDecisionIsCached() {
+        userGrants.add("user1");
+
+        StepVerifier.create(check("user1").then(check("user1"))).verifyComplete();
+        verifyEvaluations(1);
+    }
+
+    @Test
+    void testRevokingAUserGrantInvalidates() {
+        userGrants.add("user1");
+        StepVerifier.create(check("user1")).verifyComplete();
+
+        userGrants.remove("user1");
+        when(repository.removePermissionBy(any(), eq(APP_ID), any(), eq("user1"))).thenReturn(Mono.just(true));
+        StepVerifier.create(resourcePermissionService.removeUserApplicationPermission(APP_ID, "user1")).expectNext(true).verifyComplete();
+
+        StepVerifier.create(check("user1")).verifyError(BizException.class);
+    }
+
+    @Test
+    void testRemovingAPermissionByIdInvalidates() {
+        userGrants.add("user1");
+        StepVerifier.create(check("user1")).verifyComplete();
+
+        userGrants.remove("user1");
+        when(repository.removePermissionById("permission1")).thenReturn(Mono.just(true));
+        StepVerifier.create(resourcePermissionService.removeById("permission1")).expectNext(true).verifyComplete();
+
+        StepVerifier.create(check("user1")).verifyError(BizException.class);
+    }
+
+    @Test
+    void testLeavingAGroupInvalidates() {
+        GroupMemberServiceImpl groupMemberService = new GroupMemberServiceImpl(biRelationService, mongoUpsertHelper, permissionDecisionCache);
+        groupMembers.add("user1");
+        StepVerifier.create(check("user1")).verifyComplete();
+
+        groupMembers.remove("user1");
+        when(biRelationService.removeBiRelation(GROUP_MEMBER, GROUP_ID, "user1")).thenReturn(Mono.just(true));
+        StepVerifier.create(groupMemberService.removeMember(GROUP_ID, "user1")).expectNext(true).verifyComplete();
+
+        // both the decision and the cached groups of the user are dropped
+        StepVerifier.create(check("user1")).verifyError(BizException.class);
+    }
+
+    @Test
+    void testUnsettingPublicToAllInvalidates() {
+        ApplicationServiceImpl applicationService = new ApplicationServiceImpl(mongoUpsertHelper, resourcePermissionService,
+                mock(ApplicationRepository.class), mock(UserRepository.class), mock(ApplicationRecordService.class), permissionDecisionCache);
+        publicToAll.set(true);
+        StepVerifier.create(check("user1")).verifyComplete();
+
+        publicToAll.set(false);
+        when(mongoUpsertHelper.updateById(any(), eq(APP_ID))).thenReturn(Mono.just(true));
+        StepVerifier.create(applicationService.setApplicationPublicToAll(APP_ID, false)).expectNext(true).verifyComplete();
+
+        StepVerifier.create(check("user1")).verifyError(BizException.class);
+    }
+
+    @Test
+    void testDecisionsDoNotCrossUsers() {
+        userGrants.add("user1");
+        StepVerifier.create(check("user1")).verifyComplete();
+
+        StepVerifier.create(check("user2")).verifyError(BizException.class);
+        verifyEvaluations(2);
+    }
+
+    @Test
+    void testDeniedDecisionsAreNotCached() {
+        StepVerifier.create(check("user1")).verifyError(BizException.class);
+
+        userGrants.add("user1");
+        StepVerifier.create(check("user1")).verifyComplete();
+    }
+
+    @Test
+    void testGroupIdsDoNotCrossOrgsOrUsers() {
+        StepVerifier.create(permissionDecisionCache.getUserGroupIds("org1", "user1", () -> Mono.just(Set.of("group1"))))
+                .expectNext(Set.of("group1"))
+                .verifyComplete();
+
+        StepVerifier.create(permissionDecisionCache.getUserGroupIds("org2", "user1", () -> Mono.just(Set.of("group2"))))
+                .expectNext(Set.of("group2"))
+                .verifyComplete();
+        StepVerifier.create(permissionDecisionCache.getUserGroupIds("org1", "user2", () -> Mono.just(Set.of())))
+                .expectNext(Set.of())
+                .verifyComplete();
+        StepVerifier.create(permissionDecisionCache.getUserGroupIds("org1", "user1", () -> Mono.error(new IllegalStateException("not cached"))))
+                .expectNext(Set.of("group1"))
+                .verifyComplete();
+    }
+
+    private Mono<Void> check(String userId) {
+        return resourcePermissionService.checkResourcePermissionWithError(userId, APP_ID, ResourceAction.READ_APPLICATIONS);
+    }
+
+    private void verifyEvaluations(int count) {
+        assertEquals(count, evaluations.get());
+    }
+}
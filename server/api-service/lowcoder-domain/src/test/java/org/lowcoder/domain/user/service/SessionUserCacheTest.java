@@ -0,0 +1,181 @@
+package org.lowcoder.domain.user.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lowcoder.domain.user.model.APIKey;
+import org.lowcoder.domain.user.model.Connection;
+import org.lowcoder.domain.user.model.User;
+import org.lowcoder.domain.user.model.UserState;
+import org.lowcoder.sdk.config.CommonConfig;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SessionUserCacheTest {
+
+    private SessionUserCache sessionUserCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ReactiveRedisTemplate<String, String> reactiveTemplate = mock(ReactiveRedisTemplate.class);
+        when(reactiveTemplate.convertAndSend(anyString(), anyString())).thenReturn(Mono.just(1L));
+        sessionUserCache = new SessionUserCache(reactiveTemplate, new CommonConfig());
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void testUserIsLoadedOncePerToken() {
+        resolve("token1");
+        resolve("token1");
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testInvalidateTokenAndUser() {
+        resolve("token1");
+        sessionUserCache.invalidateToken("token1").block();
+        resolve("token1");
+        assertEquals(2, loads.get());
+
+        sessionUserCache.invalidateUser("user1").block();
+        resolve("token1");
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testCallersGetTheirOwnCopy() {
+        resolve("token1");
+        User first = sessionUserCache.getUser("token1", Mono::empty).block();
+        first.setAvatar("changed");
+        first.getConnections().add(Connection.builder().source("EMAIL").rawId("a@b.c").email("a@b.c").build());
+
+        User second = sessionUserCache.getUser("token1", Mono::empty).block();
+        assertNotSame(first, second);
+        assertEquals("avatar1", second.getAvatar());
+        assertEquals(1, second.getConnections().size());
+        assertEquals("source1", second.getConnections().iterator().next().getSource());
+    }
+
+    @Test
+    void testLoadedUserIsNotShared() {
+        User loaded = sessionUserCache.getUser("token1", () -> Mono.just(newUser())).block();
+        loaded.setAvatar("changed");
+
+        assertEquals("avatar1", sessionUserCache.getUser("token1", Mono::empty).block().getAvatar());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testEveryFieldIsCopied() throws IllegalAccessException {
+        User user = new User();
+        List<Field> fields = copiedFields();
+        for (Field field : fields) {
+            field.set(user, sampleValue(field));
+        }
+
+        User copy = sessionUserCache.getUser("token1", () -> Mono.just(user)).block();
+        for (Field field : fields) {
+            Object expected = field.get(user);
+            Object actual = field.get(copy);
+            if (expected instanceof Collection<?> || expected instanceof Map<?, ?>) {
+                assertNotSame(expected, actual, field.getName());
+            }
+            if (expected instanceof Collection<?> collection && collection.iterator().next() instanceof Connection) {
+                assertEquals("source1", ((Collection<Connection>) actual).iterator().next().getSource(), field.getName());
+            } else if (expected instanceof Collection<?> collection && collection.iterator().next() instanceof APIKey) {
+                assertEquals("token1", ((Collection<APIKey>) actual).iterator().next().getToken(), field.getName());
+            } else {
+                assertEquals(expected, actual, field.getName());
+            }
+        }
+        assertEquals("/api/assets/avatar", copy.getAvatarUrl());
+    }
+
+    @Test
+    void testValidityIsExtendedOncePerInterval() {
+        assertTrue(sessionUserCache.shouldExtendValidity("token1"));
+        assertFalse(sessionUserCache.shouldExtendValidity("token1"));
+        assertTrue(sessionUserCache.shouldExtendValidity("token2"));
+    }
+
+    private void resolve(String token) {
+        StepVerifier.create(sessionUserCache.getUser(token, () -> Mono.fromSupplier(() -> {
+                    loads.incrementAndGet();
+                    return newUser();
+                })))
+                .expectNextMatches(user -> "user1".equals(user.getId()))
+                .verifyComplete();
+    }
+
+    private static List<Field> copiedFields() {
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> type = User.class; type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers()) && !Modifier.isFinal(field.getModifiers())) {
+                    field.setAccessible(true);
+                    fields.add(field);
+                }
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * fails for types it does not know, so that a new field of the user is not left out of the copy unnoticed
+     */
+    private static Object sampleValue(Field field) {
+        if (field.getType() == String.class) {
+            return field.getName();
+        }
+        if (field.getType() == Boolean.class || field.getType() == boolean.class) {
+            return true;
+        }
+        if (field.getType() == Instant.class) {
+            return Instant.ofEpochSecond(1);
+        }
+        if (field.getType() == UserState.class) {
+            return UserState.ACTIVATED;
+        }
+        if (field.getType() == User.OrgTransformedUserInfo.class) {
+            User.OrgTransformedUserInfo orgTransformedUserInfo = new User.OrgTransformedUserInfo();
+            orgTransformedUserInfo.set("org1", new User.TransformedUserInfo(1, Map.of("key", "value")));
+            return orgTransformedUserInfo;
+        }
+        return switch (field.getName()) {
+            case "connections" -> new HashSet<>(List.of(Connection.builder().source("source1").rawId("raw1").build()));
+            case "apiKeysList" -> new ArrayList<>(List.of(new APIKey("key1", "name1", "description1", "token1")));
+            case "apiKeys" -> new ArrayList<>(List.<Object> of(Map.of("id", "key1")));
+            case "searchNameWords" -> new ArrayList<>(List.of("word1"));
+            default -> fail("no sample value for " + field.getName());
+        };
+    }
+
+    private static User newUser() {
+        User user = new User();
+        user.setId("user1");
+        user.setAvatar("avatar1");
+        user.getConnections().add(Connection.builder().source("source1").rawId("raw1").build());
+        return user;
+    }
+}
@@ -0,0 +1,62 @@
+package org.lowcoder.domain.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.ReactiveSubscription.ChannelMessage;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+class RedisInvalidationChannelTest {
+
+    private static final String CHANNEL = "lowcoder:test-invalidation";
+
+    private ReactiveRedisTemplate<String, String> reactiveTemplate;
+    private List<String> received;
+    private RedisInvalidationChannel invalidationChannel;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        reactiveTemplate = mock(ReactiveRedisTemplate.class);
+        received = new CopyOnWriteArrayList<>();
+        invalidationChannel = new RedisInvalidationChannel(reactiveTemplate, CHANNEL, received::add);
+    }
+
+    @Test
+    void testInvalidateEvictsLocallyAndBroadcasts() {
+        when(reactiveTemplate.convertAndSend(CHANNEL, "user:1")).thenReturn(Mono.just(1L));
+
+        StepVerifier.create(invalidationChannel.invalidate("user:1")).verifyComplete();
+
+        assertEquals(List.of("user:1"), received);
+        verify(reactiveTemplate).convertAndSend(CHANNEL, "user:1");
+    }
+
+    @Test
+    void testFailedBroadcastStillEvictsLocally() {
+        when(reactiveTemplate.convertAndSend(CHANNEL, "user:1")).thenReturn(Mono.error(new IllegalStateException("redis down")));
+
+        StepVerifier.create(invalidationChannel.invalidate("user:1")).verifyComplete();
+
+        assertEquals(List.of("user:1"), received);
+    }
+
+    @Test
+    void testSubscriptionHandlesMessagesFromOtherNodes() {
+        doReturn(Flux.just(new ChannelMessage<>(CHANNEL, "user:1"), new ChannelMessage<>(CHANNEL, "all")))
+                .when(reactiveTemplate).listenToChannel(CHANNEL);
+
+        invalidationChannel.subscribe();
+        invalidationChannel.unsubscribe();
+
+        assertEquals(List.of("user:1", "all"), received);
+    }
+}
@@ -1,21 +1,27 @@
 package org.lowcoder.infra.config;
 
-import org.apache.commons.lang3.StringUtils;
+import lombok.extern.slf4j.Slf4j;
 import org.lowcoder.sdk.config.dynamic.Conf;
 
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 import static org.apache.commons.lang3.ObjectUtils.firstNonNull;
 
+@Slf4j
 class AutoReloadConfImpl<T> implements Conf<T> {
 
     private final String confKey;
     private final T defaultValue;
     private final Function<String, T> valueResolver;
     private final AutoReloadConfigFactory autoReloadConfigFactory;
+    private final List<Consumer<T>> listeners = new CopyOnWriteArrayList<>();
 
-    private volatile String previousStrValue;
-    private volatile T currentValue;
+    private volatile ResolvedValue<T> resolvedValue;
+    private T notifiedValue;
 
     public AutoReloadConfImpl(String confKey, T defaultValue,
             AutoReloadConfigFactory autoReloadConfigFactory,
@@ -26,24 +32,57 @@ class AutoReloadConfImpl<T> implements Conf<T> {
         this.valueResolver = strValueResolver;
     }
 
+    /**
+     * the value is parsed once per config snapshot version.
+     */
     @Override
     public T get() {
-        String currentStrValue = autoReloadConfigFactory.getValue(confKey);
-        if (currentStrValue == null) {
-            return defaultValue;
+        long version = autoReloadConfigFactory.getVersion();
+        ResolvedValue<T> resolved = resolvedValue;
+        if (resolved != null && resolved.version() == version) {
+            return resolved.value();
         }
+        resolved = new ResolvedValue<>(version, resolve());
+        resolvedValue = resolved;
+        return resolved.value();
+    }
 
-        if (StringUtils.equals(previousStrValue, currentStrValue)) {
-            return firstNonNull(currentValue, defaultValue);
+    @Override
+    public synchronized void onChange(Consumer<T> listener) {
+        if (listeners.isEmpty()) {
+            notifiedValue = get();
+            autoReloadConfigFactory.addChangeListener(this::notifyIfChanged);
         }
+        listeners.add(listener);
+    }
 
-        previousStrValue = currentStrValue;
+    private synchronized void notifyIfChanged() {
+        T value = get();
+        if (Objects.equals(value, notifiedValue)) {
+            return;
+        }
+        notifiedValue = value;
+        for (Consumer<T> listener : listeners) {
+            try {
+                listener.accept(value);
+            } catch (Exception e) {
+                log.error("fail to notify change of conf: {}", confKey, e);
+            }
+        }
+    }
+
+    private T resolve() {
+        String strValue = autoReloadConfigFactory.getValue(confKey);
+        if (strValue == null) {
+            return defaultValue;
+        }
         try {
-            currentValue = valueResolver.apply(currentStrValue);
-            return firstNonNull(currentValue, defaultValue);
+            return firstNonNull(valueResolver.apply(strValue), defaultValue);
         } catch (Exception e) {
             return defaultValue;
         }
     }
 
+    private record ResolvedValue<T>(long version, T value) {
+    }
 }
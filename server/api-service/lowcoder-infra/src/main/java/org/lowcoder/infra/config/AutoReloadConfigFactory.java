@@ -1,49 +1,103 @@
 package org.lowcoder.infra.config;
 
+import com.google.common.util.concurrent.MoreExecutors;
 import jakarta.annotation.Nullable;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.lowcoder.infra.config.model.ServerConfig;
 import org.lowcoder.infra.config.repository.ServerConfigRepository;
-import org.lowcoder.infra.localcache.ReloadableCache;
+import org.lowcoder.sdk.destructor.DestructorUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
-import static java.util.Collections.emptyMap;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
 import static java.util.stream.Collectors.toUnmodifiableMap;
 import static org.lowcoder.sdk.util.JsonUtils.toJson;
 
+/**
+ * Reloads all server configs every {@link #RELOAD_INTERVAL} into an immutable {@link ConfigSnapshot}. Values are serialized
+ * once per reload and the snapshot version only changes when some value did, so confs parse a value again only after it
+ * changed and reading a conf is a volatile read.
+ */
 @Slf4j
 @Component
 class AutoReloadConfigFactory {
 
+    private static final Duration RELOAD_INTERVAL = Duration.ofSeconds(3);
+
     @Autowired
     private ServerConfigRepository configRepository;
 
-    private ReloadableCache<Map<String, Object>> allConfigs;
+    private volatile ConfigSnapshot snapshot = ConfigSnapshot.EMPTY;
+    private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
 
     @PostConstruct
     private void init() {
-        allConfigs = ReloadableCache.<Map<String, Object>> newBuilder()
-                .setFactory(() -> configRepository.findAll()
-                        .filter(it -> it.getValue() != null)
-                        .collectList()
-                        .map(configs -> configs.stream().collect(toUnmodifiableMap(ServerConfig::getKey, ServerConfig::getValue))))
-                .setInterval(Duration.ofSeconds(3))
-                .setName("autoReloadConfCache")
-                .build();
+        ScheduledExecutorService scheduledExecutor = newSingleThreadScheduledExecutor();
+        scheduledExecutor.scheduleAtFixedRate(this::reload, 0, RELOAD_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+        DestructorUtil.register(() -> MoreExecutors.shutdownAndAwaitTermination(scheduledExecutor, Duration.ofSeconds(10)),
+                "shutdown and await config reload executor termination.");
+    }
+
+    private void reload() {
+        try {
+            Map<String, String> values = configRepository.findAll()
+                    .filter(it -> it.getValue() != null)
+                    .collectList()
+                    .map(configs -> configs.stream().collect(toUnmodifiableMap(ServerConfig::getKey, it -> toJson(it.getValue()))))
+                    .block();
+            if (values != null) {
+                updateSnapshot(values);
+            }
+        } catch (Exception e) {
+            // keep the current snapshot in error cases
+            log.error("fail to reload server configs", e);
+        }
     }
 
     @Nullable
     public String getValue(String confKey) {
-        Object result = allConfigs.getCachedOrDefault(emptyMap()).get(confKey);
-        if (result == null) {
-            return null;
+        return snapshot.values().get(confKey);
+    }
+
+    /**
+     * @return version of the current snapshot, changes each time any config value changes
+     */
+    public long getVersion() {
+        return snapshot.version();
+    }
+
+    /**
+     * the listener is called from the reload thread after the snapshot changed.
+     */
+    public void addChangeListener(Runnable listener) {
+        changeListeners.add(listener);
+    }
+
+    synchronized void updateSnapshot(Map<String, String> values) {
+        ConfigSnapshot current = snapshot;
+        if (current.values().equals(values)) {
+            return;
         }
+        snapshot = new ConfigSnapshot(current.version() + 1, values);
+        for (Runnable listener : changeListeners) {
+            try {
+                listener.run();
+            } catch (Exception e) {
+                log.error("fail to notify config change listener", e);
+            }
+        }
+    }
+
+    private record ConfigSnapshot(long version, Map<String, String> values) {
 
-        return toJson(result);
+        private static final ConfigSnapshot EMPTY = new ConfigSnapshot(0, Map.of());
     }
 }
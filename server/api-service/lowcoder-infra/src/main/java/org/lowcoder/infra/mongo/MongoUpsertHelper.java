@@ -151,6 +151,7 @@ public class MongoUpsertHelper {
             return Mono.empty();
         }
         var operations = partialResourceWithIds.stream().map(partialResourceWithId -> {
+            applicationEventPublisher.publishEvent(new BeforeSaveEvent<>(partialResourceWithId.partialResource));
             BasicDBObject doc = new BasicDBObject();
             mongoConverter.write(partialResourceWithId.partialResource, doc);
             var filter = new Document("_id", new ObjectId(partialResourceWithId.id));
@@ -10,6 +10,22 @@ public enum PerfEvent {
     CLIENT_BASED_CONNECTION_CREATE,
     CLIENT_BASED_CONNECTION_REMOVE,
     CLIENT_BASED_CONNECTION_SIZE,
+    DATASOURCE_CACHE_REQUEST,
+    DATASOURCE_CACHE_SIZE,
+
+    QUERY_RESOLVE,
+    QUERY_PERMISSION_CHECK,
+    QUERY_DATASOURCE_LOAD,
+    QUERY_CONTEXT_BUILD,
+    QUERY_CONNECTION_ACQUIRE,
+    QUERY_PLUGIN_EXECUTE,
+
+    SNAPSHOT_ARCHIVE_BATCH,
+    SNAPSHOT_ARCHIVE_DOCUMENTS,
+
+    PLUGIN_EVENT_QUEUE_SIZE,
+    PLUGIN_EVENT_DELIVERED,
+    PLUGIN_EVENT_DROPPED,
 
     HIKARI_POOL_TOTAL_CONNECTIONS,
     HIKARI_POOL_ACTIVE_CONNECTIONS,
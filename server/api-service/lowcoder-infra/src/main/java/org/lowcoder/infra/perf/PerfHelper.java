@@ -3,23 +3,38 @@ package org.lowcoder.infra.perf;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.function.ToDoubleFunction;
 
 @Slf4j
 @Component
 public class PerfHelper {
 
+    public static final String OUTCOME_TAG = "outcome";
+
     @Autowired
     private MeterRegistry meterRegistry;
 
+    /**
+     * timers are looked up on every call, so they are built and registered once per name and tags. Tags passed to the
+     * timer methods must therefore have a bounded set of values.
+     */
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
     public void count(PerfEvent event, Iterable<Tag> tags) {
         count(event.perfKey(), tags);
     }
@@ -62,28 +77,78 @@ public class PerfHelper {
     }
 
     public void recordRunnableTime(String name, Iterable<Tag> tags, Runnable f) {
-        Timer timer = Timer.builder(name)
-                .tags(tags)
-                .publishPercentiles(0.95)
-                .register(meterRegistry);
-        timer.record(f);
+        getTimer(name, tags, false).record(f);
     }
 
     public void recordTime(String name, Iterable<Tag> tags, Duration cost) {
-        Timer timer = Timer.builder(name)
-                .tags(tags)
-                .publishPercentiles(0.95)
-                .register(meterRegistry);
-        timer.record(cost);
+        getTimer(name, tags, false).record(cost);
     }
 
     public <T> T recordCallableTime(String name, Iterable<Tag> tags, Callable<T> callable) throws Exception {
-        Timer timer = Timer.builder(name)
-                .tags(tags)
-                .publishPercentiles(0.95)
-                .register(meterRegistry);
-        return timer.recordCallable(callable);
+        return getTimer(name, tags, false).recordCallable(callable);
+    }
+
+    /**
+     * Times the subscription of the mono with a histogram timer, tagged with how it ended: success, error or cancel.
+     */
+    public <T> Mono<T> recordMonoTime(PerfEvent event, Tags tags, Mono<T> mono) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            AtomicBoolean recorded = new AtomicBoolean();
+            return mono
+                    .doOnSuccess(__ -> recordOutcome(event, tags, "success", start, recorded))
+                    .doOnError(__ -> recordOutcome(event, tags, "error", start, recorded))
+                    .doOnCancel(() -> recordOutcome(event, tags, "cancel", start, recorded));
+        });
+    }
+
+    /**
+     * Like {@link #recordMonoTime(PerfEvent, Tags, Mono)}, for tags only known later in the request. The time of a successful
+     * mono is recorded once {@code successTags} emits, or with {@code tags} if it ends empty or with an error. The time of a
+     * failed or cancelled mono is recorded with {@code tags} right away.
+     */
+    public <T> Mono<T> recordMonoTime(PerfEvent event, Tags tags, Function<? super T, Mono<Tags>> successTags, Mono<T> mono) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            AtomicBoolean recorded = new AtomicBoolean();
+            return mono
+                    .doOnSuccess(value -> {
+                        if (!recorded.compareAndSet(false, true)) {
+                            return;
+                        }
+                        long cost = System.nanoTime() - start;
+                        successTags.apply(value)
+                                .onErrorResume(__ -> Mono.empty())
+                                .defaultIfEmpty(tags)
+                                .subscribe(successTagsValue -> record(event, successTagsValue, "success", cost));
+                    })
+                    .doOnError(__ -> recordOutcome(event, tags, "error", start, recorded))
+                    .doOnCancel(() -> recordOutcome(event, tags, "cancel", start, recorded));
+        });
+    }
+
+    private void recordOutcome(PerfEvent event, Tags tags, String outcome, long start, AtomicBoolean recorded) {
+        if (recorded.compareAndSet(false, true)) {
+            record(event, tags, outcome, System.nanoTime() - start);
+        }
+    }
+
+    private void record(PerfEvent event, Tags tags, String outcome, long costNanos) {
+        try {
+            getTimer(event.perfKey(), tags.and(OUTCOME_TAG, outcome), true).record(costNanos, TimeUnit.NANOSECONDS);
+        } catch (Exception e) {
+            log.warn("timer error.{},{}", event, tags, e);
+        }
     }
 
+    private Timer getTimer(String name, Iterable<Tag> tags, boolean histogram) {
+        return timers.computeIfAbsent(new TimerKey(name, Tags.of(tags)), key -> Timer.builder(key.name())
+                .tags(key.tags())
+                .publishPercentiles(0.95)
+                .publishPercentileHistogram(histogram)
+                .register(meterRegistry));
+    }
 
+    private record TimerKey(String name, Tags tags) {
+    }
 }
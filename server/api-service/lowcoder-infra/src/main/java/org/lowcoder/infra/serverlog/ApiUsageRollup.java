@@ -0,0 +1,56 @@
+package org.lowcoder.infra.serverlog;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.Getter;
+
+/**
+ * number of api calls of one org, user or endpoint within one minute or hour, incremented whenever the server logs are
+ * flushed so that usage can be read without counting the server logs.
+ */
+@Document
+@Getter
+public class ApiUsageRollup {
+
+    @Id
+    private String id;
+    private Granularity granularity;
+    private Dimension dimension;
+    private String orgId;
+    private String userId;
+    private String httpMethod;
+    private String urlPath;
+    private long bucketStart;
+    private long count;
+    // minute buckets are dropped by a ttl index once they are no longer needed for recent usage
+    private Instant expireAt;
+
+    public enum Granularity {
+        MINUTE(Duration.ofMinutes(1)),
+        HOUR(Duration.ofHours(1));
+
+        private final long millis;
+
+        Granularity(Duration duration) {
+            this.millis = duration.toMillis();
+        }
+
+        public long millis() {
+            return millis;
+        }
+
+        public long bucketStart(long time) {
+            return time - Math.floorMod(time, millis);
+        }
+    }
+
+    public enum Dimension {
+        ORG,
+        USER,
+        ENDPOINT,
+    }
+}
@@ -0,0 +1,27 @@
+package org.lowcoder.infra.serverlog;
+
+import java.util.Collection;
+
+import jakarta.annotation.Nullable;
+
+import reactor.core.publisher.Mono;
+
+public interface ApiUsageRollupService {
+
+    /**
+     * adds the calls of the server logs to the org, user and endpoint counters of their minute and hour. calls made before
+     * the counters were first updated, by any instance, are left to {@link #backfill()}.
+     */
+    Mono<Void> add(Collection<ServerLog> serverLogs);
+
+    /**
+     * @param from inclusive, from the first call when null
+     * @param to exclusive, up to now when null
+     */
+    Mono<Long> countOrgCalls(String orgId, @Nullable Long from, @Nullable Long to);
+
+    /**
+     * builds the hourly org and user counters from the server logs of the calls made before the counters were first updated.
+     */
+    Mono<Void> backfill();
+}
@@ -0,0 +1,209 @@
+package org.lowcoder.infra.serverlog;
+
+import static org.lowcoder.infra.serverlog.ApiUsageRollup.Dimension.ENDPOINT;
+import static org.lowcoder.infra.serverlog.ApiUsageRollup.Dimension.ORG;
+import static org.lowcoder.infra.serverlog.ApiUsageRollup.Dimension.USER;
+import static org.lowcoder.infra.serverlog.ApiUsageRollup.Granularity.HOUR;
+import static org.lowcoder.infra.serverlog.ApiUsageRollup.Granularity.MINUTE;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import jakarta.annotation.Nullable;
+
+import org.apache.commons.lang3.StringUtils;
+import org.bson.Document;
+import org.lowcoder.infra.config.model.ServerConfig;
+import org.lowcoder.infra.serverlog.ApiUsageRollup.Dimension;
+import org.lowcoder.infra.serverlog.ApiUsageRollup.Granularity;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+@RequiredArgsConstructor
+@Service
+public class ApiUsageRollupServiceImpl implements ApiUsageRollupService {
+
+    private static final Duration MINUTE_BUCKET_RETENTION = Duration.ofDays(2);
+    // ids in url paths would give every application or datasource its own endpoint counter
+    private static final Pattern ID_PATH_SEGMENT = Pattern.compile("/(?:[0-9a-fA-F]{24}|[0-9a-fA-F]{8}(?:-[0-9a-fA-F]{4}){3}-[0-9a-fA-F]{12}|\\d+)(?=/|$)");
+    private static final String ID_PLACEHOLDER = "/{id}";
+    private static final String COUNT_FIELD = "count";
+    private static final String ID_FIELD = "_id";
+    private static final String CUTOVER_TIME_CONFIG_KEY = "apiUsageRollup.cutoverTime";
+    private static final int BACKFILL_BATCH_SIZE = 1000;
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    // errors are not cached so that a failed read is retried with the next logs
+    private final Mono<Long> cutoverTimeMono = Mono.defer(this::getOrCreateCutoverTime)
+            .cache(cutoverTime -> Duration.ofMillis(Long.MAX_VALUE), e -> Duration.ZERO, () -> Duration.ZERO);
+
+    @Override
+    public Mono<Void> add(Collection<ServerLog> serverLogs) {
+        return cutoverTimeMono.flatMap(cutoverTime -> increment(count(serverLogs, cutoverTime)));
+    }
+
+    private static Map<RollupKey, Long> count(Collection<ServerLog> serverLogs, long cutoverTime) {
+        Map<RollupKey, Long> counts = new HashMap<>();
+        for (ServerLog serverLog : serverLogs) {
+            if (StringUtils.isBlank(serverLog.getOrgId()) || serverLog.getCreateTime() < cutoverTime) {
+                continue;
+            }
+            String urlPath = normalizeUrlPath(serverLog.getUrlPath());
+            for (Granularity granularity : Granularity.values()) {
+                long bucketStart = granularity.bucketStart(serverLog.getCreateTime());
+                String orgId = serverLog.getOrgId();
+                counts.merge(new RollupKey(granularity, ORG, bucketStart, orgId, null, null, null), 1L, Long::sum);
+                counts.merge(new RollupKey(granularity, USER, bucketStart, orgId, serverLog.getUserId(), null, null), 1L, Long::sum);
+                counts.merge(new RollupKey(granularity, ENDPOINT, bucketStart, orgId, null, serverLog.getHttpMethod(), urlPath), 1L, Long::sum);
+            }
+        }
+        return counts;
+    }
+
+    private Mono<Void> increment(Map<RollupKey, Long> counts) {
+        if (counts.isEmpty()) {
+            return Mono.empty();
+        }
+        ReactiveBulkOperations bulkOperations = reactiveMongoTemplate.bulkOps(BulkMode.UNORDERED, ApiUsageRollup.class);
+        counts.forEach((key, count) -> bulkOperations.upsert(Query.query(Criteria.where(ID_FIELD).is(key.id())), key.toUpdate(count)));
+        return bulkOperations.execute().then();
+    }
+
+    @Override
+    public Mono<Long> countOrgCalls(String orgId, @Nullable Long from, @Nullable Long to) {
+        Criteria criteria = Criteria.where("orgId").is(orgId)
+                .and("dimension").is(ORG.name())
+                .and("granularity").is(HOUR.name());
+        if (from != null || to != null) {
+            Criteria bucketStart = criteria.and("bucketStart");
+            if (from != null) {
+                bucketStart.gte(from);
+            }
+            if (to != null) {
+                bucketStart.lt(to);
+            }
+        }
+        Aggregation aggregation = Aggregation.newAggregation(Aggregation.match(criteria),
+                Aggregation.group().sum(COUNT_FIELD).as(COUNT_FIELD));
+        return reactiveMongoTemplate.aggregate(aggregation, reactiveMongoTemplate.getCollectionName(ApiUsageRollup.class), Document.class)
+                .next()
+                .map(document -> ((Number) document.get(COUNT_FIELD)).longValue())
+                .defaultIfEmpty(0L);
+    }
+
+    /**
+     * the counters are grouped on the server and added through the same upserts as {@link #add(Collection)}. endpoint
+     * counters are not backfilled since their paths are normalized here, and minute counters would expire right away.
+     */
+    @Override
+    public Mono<Void> backfill() {
+        return cutoverTimeMono.flatMap(cutoverTime -> Flux.concat(backfill(ORG, cutoverTime), backfill(USER, cutoverTime))
+                .then());
+    }
+
+    private Mono<Void> backfill(Dimension dimension, long cutoverTime) {
+        Document groupId = new Document("orgId", "$orgId")
+                .append("bucketStart", new Document("$subtract", List.of("$createTime", new Document("$mod", List.of("$createTime", HOUR.millis())))));
+        if (dimension == USER) {
+            // missing and null user ids share one counter, as they do in add
+            groupId.append("userId", new Document("$ifNull", List.of("$userId", "")));
+        }
+        Aggregation aggregation = Aggregation.newAggregation(
+                        Aggregation.match(Criteria.where("orgId").nin(null, "").and("createTime").lt(cutoverTime)),
+                        stage("$group", new Document(ID_FIELD, groupId).append(COUNT_FIELD, new Document("$sum", 1))))
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+        return reactiveMongoTemplate.aggregate(aggregation, reactiveMongoTemplate.getCollectionName(ServerLog.class), Document.class)
+                .map(document -> {
+                    Document id = document.get(ID_FIELD, Document.class);
+                    RollupKey key = new RollupKey(HOUR, dimension, ((Number) id.get("bucketStart")).longValue(), id.getString("orgId"),
+                            dimension == USER ? StringUtils.defaultIfEmpty(id.getString("userId"), null) : null, null, null);
+                    return Map.entry(key, ((Number) document.get(COUNT_FIELD)).longValue());
+                })
+                .buffer(BACKFILL_BATCH_SIZE)
+                .concatMap(entries -> increment(entries.stream()
+                        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, Long::sum))))
+                .then();
+    }
+
+    /**
+     * the time from which {@link #add(Collection)} counts the calls, the calls before it are left to {@link #backfill()}.
+     * it is stored once for all instances, by whichever reads it first.
+     */
+    private Mono<Long> getOrCreateCutoverTime() {
+        Query query = Query.query(Criteria.where("key").is(CUTOVER_TIME_CONFIG_KEY));
+        Update update = new Update().setOnInsert("value", System.currentTimeMillis());
+        return reactiveMongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().upsert(true).returnNew(true), ServerConfig.class)
+                // another instance inserted it at the same time
+                .retryWhen(Retry.max(1).filter(DuplicateKeyException.class::isInstance))
+                .map(serverConfig -> ((Number) serverConfig.getValue()).longValue());
+    }
+
+    static String normalizeUrlPath(@Nullable String urlPath) {
+        if (urlPath == null) {
+            return "";
+        }
+        return ID_PATH_SEGMENT.matcher(urlPath).replaceAll(ID_PLACEHOLDER);
+    }
+
+    private static AggregationOperation stage(String operator, Document spec) {
+        return context -> new Document(operator, spec);
+    }
+
+    private record RollupKey(Granularity granularity, Dimension dimension, long bucketStart, String orgId, @Nullable String userId,
+                             @Nullable String httpMethod, @Nullable String urlPath) {
+
+        String id() {
+            StringBuilder id = new StringBuilder()
+                    .append(granularity.name()).append(':')
+                    .append(dimension.name()).append(':')
+                    .append(bucketStart).append(':')
+                    .append(orgId);
+            switch (dimension) {
+                case USER -> id.append(':').append(StringUtils.defaultString(userId));
+                case ENDPOINT -> id.append(':').append(StringUtils.defaultString(httpMethod)).append(' ').append(urlPath);
+                default -> {
+                }
+            }
+            return id.toString();
+        }
+
+        Update toUpdate(long count) {
+            Update update = new Update().inc(COUNT_FIELD, count)
+                    .setOnInsert("granularity", granularity.name())
+                    .setOnInsert("dimension", dimension.name())
+                    .setOnInsert("orgId", orgId)
+                    .setOnInsert("bucketStart", bucketStart);
+            switch (dimension) {
+                case USER -> update.setOnInsert("userId", userId);
+                case ENDPOINT -> update.setOnInsert("httpMethod", httpMethod).setOnInsert("urlPath", urlPath);
+                default -> {
+                }
+            }
+            if (granularity == MINUTE) {
+                update.setOnInsert("expireAt", Instant.ofEpochMilli(bucketStart).plus(MINUTE_BUCKET_RETENTION));
+            }
+            return update;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package org.lowcoder.infra.serverlog;
 
 import io.micrometer.core.instrument.Tags;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
 import org.lowcoder.infra.event.SystemCommonEvent;
 import org.lowcoder.infra.perf.PerfHelper;
@@ -10,15 +11,15 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
-import java.time.LocalDateTime;
+import java.time.LocalDate;
 import java.time.ZoneOffset;
-import java.time.temporal.TemporalAdjusters;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
 
 import static org.lowcoder.infra.perf.PerfEvent.SERVER_LOG_BATCH_INSERT;
 
+@Slf4j
 @RequiredArgsConstructor
 @Service
 public class ServerLogServiceImpl implements ServerLogService {
@@ -26,6 +27,7 @@ public class ServerLogServiceImpl implements ServerLogService {
     private final ServerLogRepository serverLogRepository;
     private final PerfHelper perfHelper;
     private final ApplicationEventPublisher applicationEventPublisher;
+    private final ApiUsageRollupService apiUsageRollupService;
 
     private volatile Queue<ServerLog> serverLogs = new ConcurrentLinkedQueue<>();
 
@@ -41,6 +43,12 @@ public class ServerLogServiceImpl implements ServerLogService {
         }
         var tmp = serverLogs;
         serverLogs = new ConcurrentLinkedQueue<>();
+        apiUsageRollupService.add(tmp)
+                .onErrorResume(e -> {
+                    log.error("fail to update api usage rollups", e);
+                    return Mono.empty();
+                })
+                .subscribe();
         serverLogRepository.saveAll(tmp)
                 .collectList()
                 .subscribe(result -> {
@@ -54,16 +62,18 @@ public class ServerLogServiceImpl implements ServerLogService {
                 });
     }
 
+    /**
+     * read from the hourly rollups, last month is the previous calendar month in utc.
+     */
     @Override
     public Mono<Long> getApiUsageCount(String orgId, Boolean lastMonthOnly) {
         if(lastMonthOnly != null && lastMonthOnly) {
-            Long startMonthEpoch = LocalDateTime.now().minusMonths(1).with(TemporalAdjusters.firstDayOfMonth()).toEpochSecond(ZoneOffset.UTC)*1000;
-            Long endMonthEpoch = LocalDateTime.now().minusMonths(1).with(TemporalAdjusters.lastDayOfMonth()).toEpochSecond(ZoneOffset.UTC)*1000;
-            System.out.println("startMonthEpoch is: " + startMonthEpoch);
-            System.out.println("endMonthEpoch is: " + endMonthEpoch);
-            return serverLogRepository.countByOrgIdAndCreateTimeBetween(orgId, startMonthEpoch, endMonthEpoch);
+            LocalDate startOfThisMonth = LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1);
+            long startMonthEpoch = startOfThisMonth.minusMonths(1).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+            long endMonthEpoch = startOfThisMonth.atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+            return apiUsageRollupService.countOrgCalls(orgId, startMonthEpoch, endMonthEpoch);
         }
-        return serverLogRepository.countByOrgId(orgId);
+        return apiUsageRollupService.countOrgCalls(orgId, null, null);
     }
 
 }
@@ -0,0 +1,86 @@
+package org.lowcoder.infra.config;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.lowcoder.sdk.config.dynamic.Conf;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AutoReloadConfigFactoryTest {
+
+    private final AutoReloadConfigFactory factory = new AutoReloadConfigFactory();
+
+    @Test
+    public void testVersionChangesOnlyWithValues() {
+        Assert.assertEquals(0, factory.getVersion());
+        Assert.assertNull(factory.getValue("key"));
+
+        factory.updateSnapshot(Map.of("key", "1"));
+        Assert.assertEquals(1, factory.getVersion());
+        Assert.assertEquals("1", factory.getValue("key"));
+
+        factory.updateSnapshot(Map.of("key", "1"));
+        Assert.assertEquals(1, factory.getVersion());
+
+        factory.updateSnapshot(Map.of("key", "2"));
+        Assert.assertEquals(2, factory.getVersion());
+        Assert.assertEquals("2", factory.getValue("key"));
+
+        factory.updateSnapshot(Map.of());
+        Assert.assertEquals(3, factory.getVersion());
+        Assert.assertNull(factory.getValue("key"));
+    }
+
+    @Test
+    public void testChangeListenersAreCalledOnChange() {
+        AtomicInteger calls = new AtomicInteger();
+        factory.addChangeListener(() -> {
+            throw new IllegalStateException("failing listener");
+        });
+        factory.addChangeListener(calls::incrementAndGet);
+
+        factory.updateSnapshot(Map.of("key", "1"));
+        factory.updateSnapshot(Map.of("key", "1"));
+        Assert.assertEquals(1, calls.get());
+
+        factory.updateSnapshot(Map.of("key", "2"));
+        Assert.assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void testConfIsParsedOncePerVersion() {
+        AtomicInteger parses = new AtomicInteger();
+        Conf<Integer> conf = new AutoReloadConfImpl<>("key", 0, factory, s -> {
+            parses.incrementAndGet();
+            return Integer.valueOf(s);
+        });
+
+        Assert.assertEquals(0, conf.get().intValue());
+        Assert.assertEquals(0, parses.get());
+
+        factory.updateSnapshot(Map.of("key", "1"));
+        Assert.assertEquals(1, conf.get().intValue());
+        Assert.assertEquals(1, conf.get().intValue());
+        Assert.assertEquals(1, parses.get());
+
+        factory.updateSnapshot(Map.of("key", "1", "other", "1"));
+        Assert.assertEquals(1, conf.get().intValue());
+        Assert.assertEquals(2, parses.get());
+    }
+
+    @Test
+    public void testConfListenersAreCalledWhenItsValueChanges() {
+        Conf<Integer> conf = new AutoReloadConfImpl<>("key", 0, factory, Integer::valueOf);
+        List<Integer> notified = new ArrayList<>();
+        conf.onChange(notified::add);
+
+        factory.updateSnapshot(Map.of("key", "1"));
+        // another key changed, the value of the conf did not
+        factory.updateSnapshot(Map.of("key", "1", "other", "1"));
+        factory.updateSnapshot(Map.of("key", "invalid"));
+        Assert.assertEquals(List.of(1, 0), notified);
+    }
+}
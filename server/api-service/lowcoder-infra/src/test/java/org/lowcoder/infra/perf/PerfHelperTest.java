@@ -0,0 +1,98 @@
+package org.lowcoder.infra.perf;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.lang.reflect.Field;
+
+import static org.lowcoder.infra.perf.PerfEvent.QUERY_RESOLVE;
+
+public class PerfHelperTest {
+
+    private static final Tags TAGS = Tags.of("datasourceType", "unknown");
+
+    private final PerfHelper perfHelper = new PerfHelper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Before
+    public void init() throws NoSuchFieldException, IllegalAccessException {
+        Field field = PerfHelper.class.getDeclaredField("meterRegistry");
+        field.setAccessible(true);
+        field.set(perfHelper, meterRegistry);
+    }
+
+    @Test
+    public void testSuccess() {
+        Assert.assertEquals("value", perfHelper.recordMonoTime(QUERY_RESOLVE, TAGS, Mono.just("value")).block());
+        Assert.assertEquals(1, count(TAGS, "success"));
+    }
+
+    @Test
+    public void testEmptyIsASuccess() {
+        Assert.assertNull(perfHelper.recordMonoTime(QUERY_RESOLVE, TAGS, Mono.empty()).block());
+        Assert.assertEquals(1, count(TAGS, "success"));
+    }
+
+    @Test
+    public void testError() {
+        Assert.assertThrows(IllegalStateException.class,
+                () -> perfHelper.recordMonoTime(QUERY_RESOLVE, TAGS, Mono.error(new IllegalStateException())).block());
+        Assert.assertEquals(1, count(TAGS, "error"));
+        Assert.assertEquals(0, count(TAGS, "success"));
+    }
+
+    @Test
+    public void testCancel() {
+        Disposable subscription = perfHelper.recordMonoTime(QUERY_RESOLVE, TAGS, Mono.never()).subscribe();
+        subscription.dispose();
+        Assert.assertEquals(1, count(TAGS, "cancel"));
+    }
+
+    @Test
+    public void testEachSubscriptionIsRecorded() {
+        Mono<String> mono = perfHelper.recordMonoTime(QUERY_RESOLVE, TAGS, Mono.just("value"));
+        mono.block();
+        mono.block();
+        Assert.assertEquals(2, count(TAGS, "success"));
+    }
+
+    @Test
+    public void testSuccessWaitsForLaterTags() {
+        Sinks.One<Tags> laterTags = Sinks.one();
+        perfHelper.recordMonoTime(QUERY_RESOLVE, TAGS, __ -> laterTags.asMono(), Mono.just("value")).block();
+        Assert.assertEquals(0, count(TAGS, "success"));
+
+        Tags mysql = Tags.of("datasourceType", "mysql");
+        laterTags.tryEmitValue(mysql);
+        Assert.assertEquals(1, count(mysql, "success"));
+        Assert.assertEquals(0, count(TAGS, "success"));
+    }
+
+    @Test
+    public void testLaterTagsFallBackToTags() {
+        perfHelper.recordMonoTime(QUERY_RESOLVE, TAGS, __ -> Mono.empty(), Mono.just("value")).block();
+        perfHelper.recordMonoTime(QUERY_RESOLVE, TAGS, __ -> Mono.error(new IllegalStateException()), Mono.just("value")).block();
+        Assert.assertEquals(2, count(TAGS, "success"));
+    }
+
+    @Test
+    public void testErrorDoesNotWaitForLaterTags() {
+        Assert.assertThrows(IllegalStateException.class, () -> perfHelper.recordMonoTime(QUERY_RESOLVE, TAGS, __ -> Mono.never(),
+                Mono.error(new IllegalStateException())).block());
+        Assert.assertEquals(1, count(TAGS, "error"));
+    }
+
+    private long count(Tags tags, String outcome) {
+        Timer timer = meterRegistry.find(QUERY_RESOLVE.perfKey())
+                .tags(tags.and(PerfHelper.OUTCOME_TAG, outcome))
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
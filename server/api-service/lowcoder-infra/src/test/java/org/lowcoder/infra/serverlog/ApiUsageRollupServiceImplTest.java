@@ -0,0 +1,25 @@
+package org.lowcoder.infra.serverlog;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ApiUsageRollupServiceImplTest {
+
+    @Test
+    public void testNormalizeUrlPath() {
+        Assert.assertEquals("/api/applications/{id}/view",
+                ApiUsageRollupServiceImpl.normalizeUrlPath("/api/applications/6566b7c4b2d5ef4a7ac1e5e2/view"));
+        Assert.assertEquals("/api/folders/{id}",
+                ApiUsageRollupServiceImpl.normalizeUrlPath("/api/folders/1b4e28ba-2fa1-11d2-883f-0016d3cca427"));
+        Assert.assertEquals("/api/users/me", ApiUsageRollupServiceImpl.normalizeUrlPath("/api/users/me"));
+        Assert.assertEquals("/api/v1/{id}", ApiUsageRollupServiceImpl.normalizeUrlPath("/api/v1/42"));
+        Assert.assertEquals("", ApiUsageRollupServiceImpl.normalizeUrlPath(null));
+    }
+
+    @Test
+    public void testBucketStart() {
+        long time = 1_700_000_123_456L;
+        Assert.assertEquals(1_700_000_100_000L, ApiUsageRollup.Granularity.MINUTE.bucketStart(time));
+        Assert.assertEquals(1_699_999_200_000L, ApiUsageRollup.Granularity.HOUR.bucketStart(time));
+    }
+}
@@ -1,8 +1,6 @@
 package org.lowcoder.plugin.googlesheets;
 
 
-import com.google.api.services.sheets.v4.SheetsScopes;
-import com.google.auth.oauth2.ServiceAccountCredentials;
 import jakarta.annotation.Nonnull;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.MapUtils;
@@ -10,6 +8,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.lowcoder.plugin.googlesheets.model.*;
 import org.lowcoder.plugin.googlesheets.queryhandler.GoogleSheetsActionHandler;
 import org.lowcoder.plugin.googlesheets.queryhandler.GoogleSheetsActionHandlerFactory;
+import org.lowcoder.plugin.googlesheets.queryhandler.GoogleSheetsGetPreParameters;
 import org.lowcoder.sdk.exception.PluginException;
 import org.lowcoder.sdk.models.DatasourceTestResult;
 import org.lowcoder.sdk.models.QueryExecutionResult;
@@ -22,7 +21,6 @@ import org.pf4j.PluginWrapper;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Scheduler;
 
-import java.io.IOException;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -40,9 +38,8 @@ public class GoogleSheetsPlugin extends Plugin {
 
     @Slf4j
     @Extension
-    public static class GoogleSheetsEngine implements DatasourceQueryEngine<GoogleSheetsDatasourceConfig, Object, GoogleSheetsQueryExecutionContext> {
+    public static class GoogleSheetsEngine implements DatasourceQueryEngine<GoogleSheetsDatasourceConfig, GoogleSheetsConnection, GoogleSheetsQueryExecutionContext> {
 
-        private static final Object CONNECTION_OBJECT = new Object();
         private final Scheduler scheduler = QueryExecutionUtils.querySharedScheduler();
 
         @Nonnull
@@ -66,13 +63,16 @@ public class GoogleSheetsPlugin extends Plugin {
         }
 
         @Override
-        public Mono<Object> createConnection(GoogleSheetsDatasourceConfig datasourceConfig) {
-            return Mono.just(CONNECTION_OBJECT);
+        public Mono<GoogleSheetsConnection> createConnection(GoogleSheetsDatasourceConfig datasourceConfig) {
+            return Mono.fromCallable(() -> new GoogleSheetsConnection(
+                            GoogleSheetsGetPreParameters.createSheetsService(datasourceConfig.getServiceAccount()),
+                            datasourceConfig.getReadCacheTtlSeconds()))
+                    .subscribeOn(scheduler);
         }
 
         @Override
-        public Mono<Void> destroyConnection(Object o) {
-            return Mono.empty();
+        public Mono<Void> destroyConnection(GoogleSheetsConnection connection) {
+            return Mono.fromRunnable(connection::close);
         }
 
         private GoogleSheetsActionRequest parseGoogleSheetsActionRequest(String actionType, Map<String, Object> comp) {
@@ -112,28 +112,24 @@ public class GoogleSheetsPlugin extends Plugin {
             context.setVisitorId(queryVisitorContext.getVisitorId());
             context.setGoogleSheetsActionRequest(googleSheetsActionRequest);
             context.setServiceAccount(datasourceConfig.getServiceAccount());
-            ServiceAccountJsonUtils serviceAccountJsonUtils = new ServiceAccountJsonUtils();
-            serviceAccountJsonUtils.getData(context.getServiceAccount());
-            ServiceAccountCredentials serviceAccountCredentials;
-            try {
-                serviceAccountCredentials = ServiceAccountCredentials.fromPkcs8(
-                        serviceAccountJsonUtils.getClientId(),
-                        serviceAccountJsonUtils.getClientEmail(),
-                        serviceAccountJsonUtils.getPrivateKeyPkcs8(),
-                        serviceAccountJsonUtils.getPrivateKeyId(),
-                        SheetsScopes.all());
-            } catch (IOException e) {
-                throw new RuntimeException(e);
-            }
-            context.setServiceAccountCredentials(serviceAccountCredentials);
             return context;
         }
 
         @Override
-        public Mono<QueryExecutionResult> executeQuery(Object o, GoogleSheetsQueryExecutionContext context) {
+        public Mono<QueryExecutionResult> executeQuery(GoogleSheetsConnection connection, GoogleSheetsQueryExecutionContext context) {
             String actionType = context.getActionType();
             GoogleSheetsActionHandler googleSheetsActionHandler = GoogleSheetsActionHandlerFactory.getGoogleSheetsActionHandler(actionType);
-            return googleSheetsActionHandler.execute(o, context)
+            GoogleSheetsActionRequest request = context.getGoogleSheetsActionRequest();
+            Mono<QueryExecutionResult> result = googleSheetsActionHandler.execute(connection, context);
+            if (!READ_DATA.equals(actionType)) {
+                // before the result is emitted, so that the next read of the caller sees the write. A failed or cancelled
+                // write may still have changed the sheet.
+                Runnable invalidateSheet = () -> connection.invalidateSheet(request.getSpreadsheetId(), request.getSheetName());
+                result = result.doOnSuccess(__ -> invalidateSheet.run())
+                        .doOnError(__ -> invalidateSheet.run())
+                        .doOnCancel(invalidateSheet);
+            }
+            return result
                     .onErrorResume(e -> {
                         log.error("google sheet execute error", e);
                         return Mono.just(QueryExecutionResult.error(GOOGLESHEETS_REQUEST_ERROR, "GOOGLESHEETS_REQUEST_ERROR",
@@ -3,6 +3,10 @@ package org.lowcoder.plugin.googlesheets.model;
 import java.util.Map;
 
 public interface GoogleSheetsActionRequest {
+    String getSpreadsheetId();
+
+    String getSheetName();
+
     void renderParams(Map<String, Object> paramMap);
 
     boolean hasInvalidData();
@@ -0,0 +1,76 @@
+package org.lowcoder.plugin.googlesheets.model;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.api.services.sheets.v4.Sheets;
+
+import jakarta.annotation.Nullable;
+import lombok.Getter;
+
+/**
+ * The sheets client of a datasource, created once and kept by the connection pool until the datasource changes.
+ * <p>
+ * When the datasource sets a read cache ttl, the rows read from a sheet are cached by spreadsheet, sheet and range. Every
+ * write action on a sheet evicts its cached ranges, so a user sees their own writes; writes made outside of lowcoder show
+ * up after the ttl.
+ */
+public class GoogleSheetsConnection {
+
+    private static final long READ_CACHE_MAX_SIZE = 100;
+
+    @Getter
+    private final Sheets sheets;
+    @Nullable
+    private final Cache<RangeCacheKey, List<Map<String, String>>> readCache;
+
+    public GoogleSheetsConnection(Sheets sheets, int readCacheTtlSeconds) {
+        this.sheets = sheets;
+        this.readCache = readCacheTtlSeconds <= 0 ? null : Caffeine.newBuilder()
+                .maximumSize(READ_CACHE_MAX_SIZE)
+                .expireAfterWrite(Duration.ofSeconds(readCacheTtlSeconds))
+                .build();
+    }
+
+    /**
+     * @return rows that can't be changed, they are shared by every read of the range until it expires
+     */
+    @Nullable
+    public List<Map<String, String>> getCachedRows(RangeCacheKey key) {
+        return readCache == null ? null : readCache.getIfPresent(key);
+    }
+
+    public void cacheRows(RangeCacheKey key, List<Map<String, String>> rows) {
+        if (readCache != null) {
+            // copied, so that changes to the rows the first read returned don't show up in the next reads
+            readCache.put(key, rows.stream()
+                    .map(row -> Collections.unmodifiableMap(new LinkedHashMap<>(row)))
+                    .toList());
+        }
+    }
+
+    public void invalidateSheet(String spreadsheetId, String sheetName) {
+        if (readCache != null) {
+            readCache.asMap().keySet().removeIf(key -> key.spreadsheetId().equals(spreadsheetId) && key.sheetName().equals(sheetName));
+        }
+    }
+
+    public void close() {
+        if (readCache != null) {
+            readCache.invalidateAll();
+        }
+    }
+
+    public record RangeCacheKey(String spreadsheetId, String sheetName, String range, int offset, int limit) {
+
+        public static RangeCacheKey of(GoogleSheetsReadDataRequest request) {
+            return new RangeCacheKey(request.getSpreadsheetId(), request.getSheetName(), request.getRange(), request.getOffset(),
+                    request.getLimit());
+        }
+    }
+}
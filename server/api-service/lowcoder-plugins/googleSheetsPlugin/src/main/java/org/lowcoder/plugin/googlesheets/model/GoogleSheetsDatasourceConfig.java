@@ -25,6 +25,8 @@ public class GoogleSheetsDatasourceConfig implements DatasourceConnectionConfig
 
     @JsonView(JsonViews.Internal.class)
     private String serviceAccount;
+    // rows read are cached for this long, 0 disables the cache
+    private final int readCacheTtlSeconds;
 
     public static GoogleSheetsDatasourceConfig buildFrom(Map<String, Object> requestMap) {
         GoogleSheetsDatasourceConfig result = fromJson(toJson(requestMap), GoogleSheetsDatasourceConfig.class);
@@ -39,7 +41,10 @@ public class GoogleSheetsDatasourceConfig implements DatasourceConnectionConfig
         if (!(detailConfig instanceof GoogleSheetsDatasourceConfig updatedConfig)) {
             throw ofPluginException(PluginCommonError.DATASOURCE_ARGUMENT_ERROR, "GOOGLESHEETS_DATASOURCE_CONFIG_ERROR");
         }
-        return new GoogleSheetsDatasourceConfig(MoreObjects.firstNonNull(updatedConfig.getServiceAccount(), serviceAccount));
+        return GoogleSheetsDatasourceConfig.builder()
+                .serviceAccount(MoreObjects.firstNonNull(updatedConfig.getServiceAccount(), serviceAccount))
+                .readCacheTtlSeconds(updatedConfig.getReadCacheTtlSeconds())
+                .build();
     }
 
     @Override
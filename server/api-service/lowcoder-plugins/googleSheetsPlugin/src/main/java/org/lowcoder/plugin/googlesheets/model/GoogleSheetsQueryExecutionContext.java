@@ -2,8 +2,6 @@ package org.lowcoder.plugin.googlesheets.model;
 
 import org.lowcoder.sdk.query.QueryExecutionContext;
 
-import com.google.auth.oauth2.ServiceAccountCredentials;
-
 import lombok.Getter;
 import lombok.Setter;
 
@@ -14,7 +12,6 @@ public class GoogleSheetsQueryExecutionContext extends QueryExecutionContext {
     private String actionType;
     private GoogleSheetsActionRequest googleSheetsActionRequest;
     private String serviceAccount;
-    private ServiceAccountCredentials serviceAccountCredentials;
 
     @Override
     public String toString() {
@@ -22,7 +19,6 @@ public class GoogleSheetsQueryExecutionContext extends QueryExecutionContext {
                 "actionType='" + actionType + '\'' +
                 ", googleSheetsActionRequest=" + googleSheetsActionRequest +
                 ", serviceAccount='" + serviceAccount + '\'' +
-                ", serviceAccountCredentials=" + serviceAccountCredentials +
                 '}';
     }
 }
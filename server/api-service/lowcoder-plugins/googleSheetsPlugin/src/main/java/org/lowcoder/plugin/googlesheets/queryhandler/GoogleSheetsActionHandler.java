@@ -1,5 +1,6 @@
 package org.lowcoder.plugin.googlesheets.queryhandler;
 
+import org.lowcoder.plugin.googlesheets.model.GoogleSheetsConnection;
 import org.lowcoder.plugin.googlesheets.model.GoogleSheetsQueryExecutionContext;
 import org.lowcoder.sdk.models.QueryExecutionResult;
 
@@ -15,6 +16,6 @@ public abstract class GoogleSheetsActionHandler {
 
     public abstract String getActionType();
 
-    public abstract Mono<QueryExecutionResult> execute(Object o, GoogleSheetsQueryExecutionContext context);
+    public abstract Mono<QueryExecutionResult> execute(GoogleSheetsConnection connection, GoogleSheetsQueryExecutionContext context);
 
 }
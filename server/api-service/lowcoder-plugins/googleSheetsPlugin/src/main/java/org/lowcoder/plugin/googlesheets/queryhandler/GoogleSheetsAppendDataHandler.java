@@ -10,6 +10,7 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.lowcoder.plugin.googlesheets.model.GoogleSheetsAppendDataRequest;
+import org.lowcoder.plugin.googlesheets.model.GoogleSheetsConnection;
 import org.lowcoder.plugin.googlesheets.model.GoogleSheetsQueryExecutionContext;
 import org.lowcoder.sdk.exception.PluginException;
 import org.lowcoder.sdk.models.QueryExecutionResult;
@@ -34,18 +35,19 @@ public class GoogleSheetsAppendDataHandler extends GoogleSheetsActionHandler {
     }
 
     @Override
-    public Mono<QueryExecutionResult> execute(Object o, GoogleSheetsQueryExecutionContext context) {
+    public Mono<QueryExecutionResult> execute(GoogleSheetsConnection connection, GoogleSheetsQueryExecutionContext context) {
         return Mono.fromCallable(() -> {
                     GoogleSheetsAppendDataRequest googleSheetsActionRequest = (GoogleSheetsAppendDataRequest) context.getGoogleSheetsActionRequest();
-                    Sheets sheetService = GoogleSheetsGetPreParameters.GetSheetsService(context);
+                    Sheets sheetService = connection.getSheets();
                     SheetChangeSetRow changeSetItems = GoogleSheetsGetPreParameters.getChangeSet(context);
+                    // only the header row is needed to order the appended values
                     List<List<Object>> values = sheetService.spreadsheets()
                             .values()
-                            .get(googleSheetsActionRequest.getSpreadsheetId(), googleSheetsActionRequest.getSheetName())
+                            .get(googleSheetsActionRequest.getSpreadsheetId(), googleSheetsActionRequest.getSheetName() + "!1:1")
                             .execute()
                             .getValues();
                     List<List<Object>> collect = null;
-                    List<Object> firstRow = values.get(0);
+                    List<Object> firstRow = values == null || values.isEmpty() ? null : values.get(0);
 
                     String range = googleSheetsActionRequest.getSheetName() + "!" + "A1";
                     if (firstRow != null && !firstRow.isEmpty()) {
@@ -1,6 +1,7 @@
 package org.lowcoder.plugin.googlesheets.queryhandler;
 
 import org.lowcoder.plugin.googlesheets.model.GoogleSheetsClearDataRequst;
+import org.lowcoder.plugin.googlesheets.model.GoogleSheetsConnection;
 import org.lowcoder.plugin.googlesheets.model.GoogleSheetsQueryExecutionContext;
 import org.lowcoder.sdk.models.QueryExecutionResult;
 import org.lowcoder.sdk.plugin.common.QueryExecutionUtils;
@@ -19,10 +20,10 @@ public class GoogleSheetsClearDataHandler extends GoogleSheetsActionHandler {
     }
 
     @Override
-    public Mono<QueryExecutionResult> execute(Object o, GoogleSheetsQueryExecutionContext context) {
+    public Mono<QueryExecutionResult> execute(GoogleSheetsConnection connection, GoogleSheetsQueryExecutionContext context) {
         GoogleSheetsClearDataRequst googleSheetsActionRequest = (GoogleSheetsClearDataRequst) context.getGoogleSheetsActionRequest();
         final int rowClear = googleSheetsActionRequest.getRowIndex() + 1;
-        Sheets sheetService = GoogleSheetsGetPreParameters.GetSheetsService(context);
+        Sheets sheetService = connection.getSheets();
         String range = googleSheetsActionRequest.getSheetName() + "!" + rowClear + ":" + rowClear;
         ClearValuesRequest requestBody = new ClearValuesRequest();
         return Mono.fromCallable(() -> {
@@ -5,6 +5,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.lowcoder.plugin.googlesheets.model.GoogleSheetsDeleteDataRequest;
+import org.lowcoder.plugin.googlesheets.model.GoogleSheetsConnection;
 import org.lowcoder.plugin.googlesheets.model.GoogleSheetsQueryExecutionContext;
 import org.lowcoder.sdk.models.QueryExecutionResult;
 import org.lowcoder.sdk.plugin.common.QueryExecutionUtils;
@@ -28,12 +29,14 @@ public class GoogleSheetsDeleteDataHandler extends GoogleSheetsActionHandler {
     }
 
     @Override
-    public Mono<QueryExecutionResult> execute(Object o, GoogleSheetsQueryExecutionContext context) {
+    public Mono<QueryExecutionResult> execute(GoogleSheetsConnection connection, GoogleSheetsQueryExecutionContext context) {
         GoogleSheetsDeleteDataRequest googleSheetsActionRequest = (GoogleSheetsDeleteDataRequest) context.getGoogleSheetsActionRequest();
         final int rowDeleteIndex = googleSheetsActionRequest.getRowIndex() + 1;
-        Sheets sheetService = GoogleSheetsGetPreParameters.GetSheetsService(context);
+        Sheets sheetService = connection.getSheets();
         return Mono.fromCallable(() -> {
-                    int sheetId = sheetService.spreadsheets().get(googleSheetsActionRequest.getSpreadsheetId()).execute()
+                    int sheetId = sheetService.spreadsheets().get(googleSheetsActionRequest.getSpreadsheetId())
+                            .setFields("sheets.properties(sheetId,title)")
+                            .execute()
                             .getSheets()
                             .stream()
                             .map(Sheet::getProperties)
@@ -9,6 +9,7 @@ import org.lowcoder.plugin.googlesheets.model.GoogleSheetsActionRequest;
 import org.lowcoder.plugin.googlesheets.model.GoogleSheetsAppendDataRequest;
 import org.lowcoder.plugin.googlesheets.model.GoogleSheetsQueryExecutionContext;
 import org.lowcoder.plugin.googlesheets.model.GoogleSheetsUpdateDataRequest;
+import org.lowcoder.plugin.googlesheets.model.ServiceAccountJsonUtils;
 import org.lowcoder.sdk.exception.PluginException;
 import org.lowcoder.sdk.plugin.sheet.changeset.SheetChangeSetRow;
 
@@ -19,23 +20,52 @@ import com.google.api.client.json.JsonFactory;
 import com.google.api.client.json.gson.GsonFactory;
 import com.google.api.services.sheets.v4.Sheets;
 import com.google.api.services.sheets.v4.Sheets.Builder;
+import com.google.api.services.sheets.v4.SheetsScopes;
 import com.google.auth.http.HttpCredentialsAdapter;
-import com.google.auth.oauth2.GoogleCredentials;
+import com.google.auth.oauth2.ServiceAccountCredentials;
 
 public class GoogleSheetsGetPreParameters {
 
     private static final JsonFactory JSON_FACTORY = GsonFactory.getDefaultInstance();
 
-    public static Sheets GetSheetsService(GoogleSheetsQueryExecutionContext context) {
-        HttpTransport httpTransport;
+    private static volatile HttpTransport httpTransport;
+
+    /**
+     * the client is kept in the datasource connection, the http transport is thread safe and shared by all of them.
+     */
+    public static Sheets createSheetsService(String serviceAccount) {
+        HttpRequestInitializer requestInitializer = new HttpCredentialsAdapter(getServiceAccountCredentials(serviceAccount));
+        return new Builder(getHttpTransport(), JSON_FACTORY, requestInitializer).build();
+    }
+
+    private static HttpTransport getHttpTransport() {
+        if (httpTransport == null) {
+            synchronized (GoogleSheetsGetPreParameters.class) {
+                if (httpTransport == null) {
+                    try {
+                        httpTransport = GoogleNetHttpTransport.newTrustedTransport();
+                    } catch (GeneralSecurityException | IOException e) {
+                        throw new PluginException(GOOGLESHEETS_REQUEST_ERROR, "GOOGLESHEETS_REQUEST_ERROR", e.getMessage());
+                    }
+                }
+            }
+        }
+        return httpTransport;
+    }
+
+    private static ServiceAccountCredentials getServiceAccountCredentials(String serviceAccount) {
+        ServiceAccountJsonUtils serviceAccountJsonUtils = new ServiceAccountJsonUtils();
+        serviceAccountJsonUtils.getData(serviceAccount);
         try {
-            httpTransport = GoogleNetHttpTransport.newTrustedTransport();
-        } catch (GeneralSecurityException | IOException e) {
+            return ServiceAccountCredentials.fromPkcs8(
+                    serviceAccountJsonUtils.getClientId(),
+                    serviceAccountJsonUtils.getClientEmail(),
+                    serviceAccountJsonUtils.getPrivateKeyPkcs8(),
+                    serviceAccountJsonUtils.getPrivateKeyId(),
+                    SheetsScopes.all());
+        } catch (IOException e) {
             throw new PluginException(GOOGLESHEETS_REQUEST_ERROR, "GOOGLESHEETS_REQUEST_ERROR", e.getMessage());
         }
-        final GoogleCredentials googleCredentials = context.getServiceAccountCredentials();
-        HttpRequestInitializer requestInitializer = new HttpCredentialsAdapter(googleCredentials);
-        return new Builder(httpTransport, JSON_FACTORY, requestInitializer).build();
     }
 
     public static SheetChangeSetRow getChangeSet(GoogleSheetsQueryExecutionContext context) {
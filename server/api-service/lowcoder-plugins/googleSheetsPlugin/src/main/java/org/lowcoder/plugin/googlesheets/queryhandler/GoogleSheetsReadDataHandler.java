@@ -1,6 +1,7 @@
 package org.lowcoder.plugin.googlesheets.queryhandler;
 
 
+import java.io.IOException;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
@@ -10,7 +11,10 @@ import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.apache.commons.lang3.StringUtils;
 import org.lowcoder.plugin.googlesheets.constants.FieldName;
+import org.lowcoder.plugin.googlesheets.model.GoogleSheetsConnection;
+import org.lowcoder.plugin.googlesheets.model.GoogleSheetsConnection.RangeCacheKey;
 import org.lowcoder.plugin.googlesheets.model.GoogleSheetsQueryExecutionContext;
 import org.lowcoder.plugin.googlesheets.model.GoogleSheetsReadDataRequest;
 import org.lowcoder.sdk.models.QueryExecutionResult;
@@ -27,6 +31,7 @@ public class GoogleSheetsReadDataHandler extends GoogleSheetsActionHandler {
 
     private static final String APPLICATION_NAME = "ReadSheets";
     private static final JsonFactory JSON_FACTORY = GsonFactory.getDefaultInstance();
+    private static final String LAST_COLUMN = "ZZZ";
 
     @Override
     public String getActionType() {
@@ -34,40 +39,78 @@ public class GoogleSheetsReadDataHandler extends GoogleSheetsActionHandler {
     }
 
     @Override
-    public Mono<QueryExecutionResult> execute(Object o, GoogleSheetsQueryExecutionContext context) {
+    public Mono<QueryExecutionResult> execute(GoogleSheetsConnection connection, GoogleSheetsQueryExecutionContext context) {
+        GoogleSheetsReadDataRequest googleSheetsActionRequest = (GoogleSheetsReadDataRequest) context.getGoogleSheetsActionRequest();
+        RangeCacheKey cacheKey = RangeCacheKey.of(googleSheetsActionRequest);
+        List<Map<String, String>> cachedRows = connection.getCachedRows(cacheKey);
+        if (cachedRows != null) {
+            return Mono.just(QueryExecutionResult.success(cachedRows));
+        }
         return Mono.fromCallable(() -> {
-                    GoogleSheetsReadDataRequest googleSheetsActionRequest = (GoogleSheetsReadDataRequest) context.getGoogleSheetsActionRequest();
-                    Sheets service = GoogleSheetsGetPreParameters.GetSheetsService(context);
-                    ValueRange valueRange;
-                    valueRange = service.spreadsheets()
-                            .values()
-                            .get(googleSheetsActionRequest.getSpreadsheetId(), googleSheetsActionRequest.getSheetName())
-                            .execute();
-                    List<Map<String, String>> result = transformToFinalValues(valueRange);
+                    List<Map<String, String>> result = readRows(connection.getSheets(), googleSheetsActionRequest);
+                    connection.cacheRows(cacheKey, result);
                     return QueryExecutionResult.success(result);
                 })
                 .subscribeOn(QueryExecutionUtils.querySharedScheduler());
     }
 
+    /**
+     * An explicit range is read with its first row as the header. Otherwise, a limit or an offset reads the header row and
+     * only the requested rows in one batch call; without them the whole sheet is read.
+     */
+    private List<Map<String, String>> readRows(Sheets service, GoogleSheetsReadDataRequest request) throws IOException {
+        String spreadsheetId = request.getSpreadsheetId();
+        String sheetName = request.getSheetName();
+        if (StringUtils.isNotBlank(request.getRange())) {
+            return transformToFinalValues(service.spreadsheets().values().get(spreadsheetId, sheetName + "!" + request.getRange()).execute());
+        }
+        if (request.getLimit() <= 0 && request.getOffset() <= 0) {
+            return transformToFinalValues(service.spreadsheets().values().get(spreadsheetId, sheetName).execute());
+        }
+
+        // sheet rows are 1-based and the first one is the header
+        int firstRow = Math.max(request.getOffset(), 0) + 2;
+        String pageRange = request.getLimit() > 0
+                ? sheetName + "!" + firstRow + ":" + (firstRow + request.getLimit() - 1)
+                : sheetName + "!A" + firstRow + ":" + LAST_COLUMN;
+        List<ValueRange> valueRanges = service.spreadsheets()
+                .values()
+                .batchGet(spreadsheetId)
+                .setRanges(List.of(sheetName + "!1:1", pageRange))
+                .execute()
+                .getValueRanges();
+        List<List<Object>> headerValues = valueRanges.get(0).getValues();
+        List<Object> headers = headerValues == null || headerValues.isEmpty() ? List.of() : headerValues.get(0);
+        List<List<Object>> rows = valueRanges.get(1).getValues();
+        return toRows(headers, rows == null ? List.of() : rows, firstRow - 1);
+    }
+
     public List<Map<String, String>> transformToFinalValues(ValueRange valueRange) {
-        final List<Map<String, String>> result = new LinkedList<>();
+        List<List<Object>> values = valueRange.getValues();
+        if (values == null || values.isEmpty()) {
+            return new LinkedList<>();
+        }
         Pattern findOffsetRowPattern = Pattern.compile("(\\d+):");
         String range = valueRange.getRange();
-        List<List<Object>> values = valueRange.getValues();
         Matcher matcher = findOffsetRowPattern.matcher(range);
         matcher.find();
         final int rowOffset = Integer.parseInt(matcher.group(1));
-        int valueSize = 0;
-        for (int i = 0; i < values.size(); i++) {
-            valueSize = Math.max(valueSize, values.get(i).size());
+        return toRows(values.get(0), values.subList(1, values.size()), rowOffset);
+    }
+
+    /**
+     * @param firstRowIndex the row index of the first of the rows, its sheet row number minus one
+     */
+    private List<Map<String, String>> toRows(List<Object> headers, List<List<Object>> rows, int firstRowIndex) {
+        final List<Map<String, String>> result = new LinkedList<>();
+        int valueSize = headers.size();
+        for (List<Object> row : rows) {
+            valueSize = Math.max(valueSize, row.size());
         }
-        List<Object> headers = values.get(0);
         Set<String> headerSet = pardonHeaders(headers, valueSize);
         final String[] headerArray = headerSet.toArray(new String[0]);
-        for (int i = 1; i < values.size(); i++) {
-            List<Object> row = values.get(i);
-            Map<String, String> valueMap = getValueMap(headerArray, row, rowOffset + i - 1);
-            result.add(valueMap);
+        for (int i = 0; i < rows.size(); i++) {
+            result.add(getValueMap(headerArray, rows.get(i), firstRowIndex + i));
         }
         return result;
     }
@@ -11,6 +11,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.stream.Collectors;
 
+import org.lowcoder.plugin.googlesheets.model.GoogleSheetsConnection;
 import org.lowcoder.plugin.googlesheets.model.GoogleSheetsQueryExecutionContext;
 import org.lowcoder.plugin.googlesheets.model.GoogleSheetsUpdateDataRequest;
 import org.lowcoder.sdk.exception.PluginException;
@@ -38,7 +39,7 @@ public class GoogleSheetsUpdateDataHandler extends GoogleSheetsActionHandler {
     }
 
     @Override
-    public Mono<QueryExecutionResult> execute(Object o, GoogleSheetsQueryExecutionContext context) {
+    public Mono<QueryExecutionResult> execute(GoogleSheetsConnection connection, GoogleSheetsQueryExecutionContext context) {
         return Mono.fromCallable(() -> {
                     GoogleSheetsUpdateDataRequest googleSheetsActionRequest = (GoogleSheetsUpdateDataRequest) context.getGoogleSheetsActionRequest();
                     int headerRow = 1;
@@ -48,7 +49,7 @@ public class GoogleSheetsUpdateDataHandler extends GoogleSheetsActionHandler {
                             + updateRow;
                     List<List<Object>> values1;
                     List<List<Object>> values2;
-                    Sheets sheetService = GoogleSheetsGetPreParameters.GetSheetsService(context);
+                    Sheets sheetService = connection.getSheets();
                     SheetChangeSetRow changeSetItems = GoogleSheetsGetPreParameters.getChangeSet(context);
                     values1 = sheetService.spreadsheets()
                             .values()
@@ -0,0 +1,122 @@
+package org.lowcoder.plugin.googlesheets;
+
+import com.google.api.services.sheets.v4.Sheets;
+import com.google.api.services.sheets.v4.model.ValueRange;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.lowcoder.plugin.googlesheets.GoogleSheetsPlugin.GoogleSheetsEngine;
+import org.lowcoder.plugin.googlesheets.model.GoogleSheetsActionRequest;
+import org.lowcoder.plugin.googlesheets.model.GoogleSheetsClearDataRequst;
+import org.lowcoder.plugin.googlesheets.model.GoogleSheetsConnection;
+import org.lowcoder.plugin.googlesheets.model.GoogleSheetsQueryExecutionContext;
+import org.lowcoder.plugin.googlesheets.model.GoogleSheetsReadDataRequest;
+import org.lowcoder.sdk.models.QueryExecutionResult;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.lowcoder.plugin.googlesheets.queryhandler.GoogleSheetsActionHandler.CLEAR_DATA;
+import static org.lowcoder.plugin.googlesheets.queryhandler.GoogleSheetsActionHandler.READ_DATA;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class GoogleSheetsPluginTest {
+
+    private final GoogleSheetsEngine engine = new GoogleSheetsEngine();
+    private final Sheets sheets = mock(Sheets.class, RETURNS_DEEP_STUBS);
+    private final Sheets.Spreadsheets.Values.Get sheet1 = mock(Sheets.Spreadsheets.Values.Get.class);
+    private final Sheets.Spreadsheets.Values.Get sheet2 = mock(Sheets.Spreadsheets.Values.Get.class);
+    private final GoogleSheetsConnection connection = new GoogleSheetsConnection(sheets, 60);
+
+    @Before
+    public void setUp() throws IOException {
+        when(sheets.spreadsheets().values().get("spreadsheet1", "Sheet1")).thenReturn(sheet1);
+        when(sheet1.execute()).thenAnswer(invocation -> valueRange("Sheet1"));
+        when(sheets.spreadsheets().values().get("spreadsheet1", "Sheet2")).thenReturn(sheet2);
+        when(sheet2.execute()).thenAnswer(invocation -> valueRange("Sheet2"));
+    }
+
+    @Test
+    public void testReadsAreCached() throws IOException {
+        read("Sheet1");
+        read("Sheet1");
+
+        verify(sheet1, times(1)).execute();
+    }
+
+    @Test
+    public void testCachedRowsAreNotChangedByReaders() {
+        read("Sheet1").get(0).put("name", "changed");
+
+        List<Map<String, String>> cached = read("Sheet1");
+        Assert.assertEquals("a", cached.get(0).get("name"));
+        Assert.assertThrows(UnsupportedOperationException.class, () -> cached.get(0).put("name", "changed"));
+    }
+
+    @Test
+    public void testWriteInvalidatesTheReadsOfItsSheet() throws IOException {
+        read("Sheet1");
+        read("Sheet2");
+
+        Assert.assertTrue(clear("Sheet1").isSuccess());
+        read("Sheet1");
+        read("Sheet2");
+
+        verify(sheet1, times(2)).execute();
+        verify(sheet2, times(1)).execute();
+    }
+
+    @Test
+    public void testFailedWriteInvalidatesTheReadsOfItsSheet() throws IOException {
+        when(sheets.spreadsheets().values().clear(anyString(), anyString(), any())).thenThrow(new IOException("failed"));
+        read("Sheet1");
+
+        Assert.assertFalse(clear("Sheet1").isSuccess());
+        read("Sheet1");
+
+        verify(sheet1, times(2)).execute();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, String>> read(String sheetName) {
+        GoogleSheetsReadDataRequest request = new GoogleSheetsReadDataRequest();
+        request.setSpreadsheetId("spreadsheet1");
+        request.setSheetName(sheetName);
+        return (List<Map<String, String>>) execute(READ_DATA, request).getData();
+    }
+
+    private QueryExecutionResult clear(String sheetName) {
+        GoogleSheetsClearDataRequst request = new GoogleSheetsClearDataRequst();
+        request.setSpreadsheetId("spreadsheet1");
+        request.setSheetName(sheetName);
+        request.setRowIndex(1);
+        return execute(CLEAR_DATA, request);
+    }
+
+    private QueryExecutionResult execute(String actionType, GoogleSheetsActionRequest request) {
+        GoogleSheetsQueryExecutionContext context = new GoogleSheetsQueryExecutionContext();
+        context.setActionType(actionType);
+        context.setGoogleSheetsActionRequest(request);
+        QueryExecutionResult result = engine.executeQuery(connection, context).block();
+        Assert.assertNotNull(result);
+        return result;
+    }
+
+    private static ValueRange valueRange(String sheetName) {
+        return new ValueRange()
+                .setRange(sheetName + "!A1:Z1000")
+                .setValues(List.of(row("name"), row("a")));
+    }
+
+    private static List<Object> row(Object... values) {
+        return Arrays.asList(values);
+    }
+}
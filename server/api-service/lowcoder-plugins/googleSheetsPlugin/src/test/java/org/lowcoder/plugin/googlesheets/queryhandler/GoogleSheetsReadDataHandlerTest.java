@@ -0,0 +1,92 @@
+package org.lowcoder.plugin.googlesheets.queryhandler;
+
+import com.google.api.services.sheets.v4.Sheets;
+import com.google.api.services.sheets.v4.model.BatchGetValuesResponse;
+import com.google.api.services.sheets.v4.model.ValueRange;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.lowcoder.plugin.googlesheets.constants.FieldName;
+import org.lowcoder.plugin.googlesheets.model.GoogleSheetsConnection;
+import org.lowcoder.plugin.googlesheets.model.GoogleSheetsQueryExecutionContext;
+import org.lowcoder.plugin.googlesheets.model.GoogleSheetsReadDataRequest;
+import org.lowcoder.sdk.models.QueryExecutionResult;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class GoogleSheetsReadDataHandlerTest {
+
+    private final Sheets sheets = mock(Sheets.class, RETURNS_DEEP_STUBS);
+    private final Sheets.Spreadsheets.Values.BatchGet batchGet = mock(Sheets.Spreadsheets.Values.BatchGet.class);
+
+    @Before
+    public void setUp() throws IOException {
+        when(sheets.spreadsheets().values().batchGet("spreadsheet1")).thenReturn(batchGet);
+        when(batchGet.setRanges(anyList())).thenReturn(batchGet);
+        when(batchGet.execute()).thenReturn(new BatchGetValuesResponse().setValueRanges(List.of(
+                new ValueRange().setValues(List.of(row("name", "age"))),
+                new ValueRange().setValues(List.of(row("a", "1"), row("b"))))));
+    }
+
+    @Test
+    public void testFirstPage() {
+        List<Map<String, String>> rows = read(0, 3);
+
+        // the header row and the three rows after it
+        verify(batchGet).setRanges(List.of("Sheet1!1:1", "Sheet1!2:4"));
+        Assert.assertEquals(Map.of(FieldName.ROW_INDEX, "1", "name", "a", "age", "1"), rows.get(0));
+        Assert.assertEquals(Map.of(FieldName.ROW_INDEX, "2", "name", "b", "age", ""), rows.get(1));
+    }
+
+    @Test
+    public void testOffsetAndLimit() {
+        List<Map<String, String>> rows = read(5, 10);
+
+        verify(batchGet).setRanges(List.of("Sheet1!1:1", "Sheet1!7:16"));
+        Assert.assertEquals("6", rows.get(0).get(FieldName.ROW_INDEX));
+        Assert.assertEquals("7", rows.get(1).get(FieldName.ROW_INDEX));
+    }
+
+    @Test
+    public void testOffsetWithoutLimitReadsTheRestOfTheSheet() {
+        List<Map<String, String>> rows = read(5, 0);
+
+        verify(batchGet).setRanges(List.of("Sheet1!1:1", "Sheet1!A7:ZZZ"));
+        Assert.assertEquals("6", rows.get(0).get(FieldName.ROW_INDEX));
+    }
+
+    @Test
+    public void testNegativeOffsetStartsAtTheFirstRow() {
+        read(-1, 2);
+
+        verify(batchGet).setRanges(List.of("Sheet1!1:1", "Sheet1!2:3"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, String>> read(int offset, int limit) {
+        GoogleSheetsReadDataRequest request = new GoogleSheetsReadDataRequest();
+        request.setSpreadsheetId("spreadsheet1");
+        request.setSheetName("Sheet1");
+        request.setOffset(offset);
+        request.setLimit(limit);
+        GoogleSheetsQueryExecutionContext context = new GoogleSheetsQueryExecutionContext();
+        context.setGoogleSheetsActionRequest(request);
+
+        QueryExecutionResult result = new GoogleSheetsReadDataHandler().execute(new GoogleSheetsConnection(sheets, 0), context).block();
+        Assert.assertNotNull(result);
+        return (List<Map<String, String>>) result.getData();
+    }
+
+    private static List<Object> row(Object... values) {
+        return Arrays.asList(values);
+    }
+}
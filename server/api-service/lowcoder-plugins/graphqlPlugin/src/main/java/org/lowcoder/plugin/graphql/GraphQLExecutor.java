@@ -31,6 +31,7 @@ import org.lowcoder.sdk.query.QueryVisitorContext;
 import org.lowcoder.sdk.util.JsonUtils;
 import org.lowcoder.sdk.util.MoreMapUtils;
 import org.lowcoder.sdk.util.MustacheHelper;
+import org.lowcoder.sdk.webclient.HttpConnectionPoolConfig;
 import org.lowcoder.sdk.webclient.WebClientBuildHelper;
 import org.pf4j.Extension;
 import org.springframework.http.*;
@@ -246,6 +247,8 @@ public class GraphQLExecutor implements QueryExecutor<GraphQLDatasourceConfig, O
                     WebClient.Builder webClientBuilder = WebClientBuildHelper.builder()
                             .systemProxy()
                             .disallowedHosts(commonConfig.getDisallowedHosts())
+                            .sharedConnectionPool(uri.getScheme() + "://" + uri.getRawAuthority(),
+                                    HttpConnectionPoolConfig.from(commonConfig.getQuery()))
                             .toWebClientBuilder();
 
                     Map<String, String> allHeaders = context.getHeaders();
@@ -24,6 +24,7 @@ import org.lowcoder.plugin.mssql.util.MssqlResultParser;
 import org.lowcoder.plugin.sql.GeneralSqlExecutor;
 import org.lowcoder.plugin.sql.SqlBasedQueryExecutor;
 import org.lowcoder.sdk.exception.PluginException;
+import org.lowcoder.sdk.models.CompactRows;
 import org.lowcoder.sdk.models.DatasourceStructure;
 import org.lowcoder.sdk.models.DatasourceStructure.Table;
 import org.lowcoder.sdk.plugin.common.sql.SqlBasedDatasourceConnectionConfig;
@@ -50,6 +51,11 @@ public class MssqlQueryExecutor extends SqlBasedQueryExecutor {
                 }
                 return result;
             }
+
+            @Override
+            protected CompactRows parseCompactDataRows(ResultSet resultSet) throws SQLException {
+                return MssqlResultParser.parseCompactRows(resultSet);
+            }
         });
     }
 
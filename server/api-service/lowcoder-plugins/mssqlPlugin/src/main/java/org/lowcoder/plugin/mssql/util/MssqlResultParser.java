@@ -7,10 +7,14 @@ import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.lowcoder.sdk.models.CompactRows;
+
 import com.google.common.collect.ImmutableSet;
 
 public class MssqlResultParser {
@@ -27,6 +31,29 @@ public class MssqlResultParser {
         return row;
     }
 
+    /**
+     * same values as {@link #parseRowValue}, read straight into one array per row without building the row maps.
+     */
+    public static CompactRows parseCompactRows(ResultSet resultSet) throws SQLException {
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        int colCount = metaData.getColumnCount();
+        List<String> columns = new ArrayList<>(colCount);
+        String[] typeNames = new String[colCount];
+        for (int i = 1; i <= colCount; i++) {
+            columns.add(metaData.getColumnName(i));
+            typeNames[i - 1] = metaData.getColumnTypeName(i);
+        }
+        List<Object[]> rows = new ArrayList<>();
+        while (resultSet.next()) {
+            Object[] row = new Object[colCount];
+            for (int i = 1; i <= colCount; i++) {
+                row[i - 1] = getValue(resultSet, i, typeNames[i - 1]);
+            }
+            rows.add(row);
+        }
+        return new CompactRows(columns, rows);
+    }
+
     private static Object getValue(ResultSet resultSet, int i, String typeName) throws SQLException {
 
         if (resultSet.getObject(i) == null) {
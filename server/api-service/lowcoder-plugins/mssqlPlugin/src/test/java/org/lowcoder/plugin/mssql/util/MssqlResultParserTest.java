@@ -0,0 +1,53 @@
+package org.lowcoder.plugin.mssql.util;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.lowcoder.sdk.models.CompactRows;
+
+public class MssqlResultParserTest {
+
+    @Test
+    public void testCompactRowsKeepValueConversions() throws Exception {
+        ResultSet rowResultSet = mockResultSet();
+        Map<String, Object> row = MssqlResultParser.parseRowValue(rowResultSet, rowResultSet.getMetaData(), 3);
+        CompactRows compactRows = MssqlResultParser.parseCompactRows(mockResultSet());
+
+        Assert.assertEquals(List.of("id", "created", "note"), compactRows.getColumns());
+        Assert.assertEquals(1, compactRows.size());
+        Assert.assertEquals(List.copyOf(row.values()), Arrays.asList(compactRows.getRows().get(0)));
+        Assert.assertTrue(compactRows.getRows().get(0)[1] instanceof String);
+        Assert.assertNull(compactRows.getRows().get(0)[2]);
+    }
+
+    private static ResultSet mockResultSet() throws Exception {
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(metaData.getColumnCount()).thenReturn(3);
+        when(metaData.getColumnName(1)).thenReturn("id");
+        when(metaData.getColumnName(2)).thenReturn("created");
+        when(metaData.getColumnName(3)).thenReturn("note");
+        when(metaData.getColumnTypeName(1)).thenReturn("int");
+        when(metaData.getColumnTypeName(2)).thenReturn("datetime2");
+        when(metaData.getColumnTypeName(3)).thenReturn("nvarchar");
+
+        Timestamp created = Timestamp.valueOf("2024-01-02 03:04:05");
+
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getObject(1)).thenReturn(7);
+        when(resultSet.getObject(2)).thenReturn(created);
+        when(resultSet.getTimestamp(2)).thenReturn(created);
+        when(resultSet.getObject(3)).thenReturn(null);
+        return resultSet;
+    }
+}
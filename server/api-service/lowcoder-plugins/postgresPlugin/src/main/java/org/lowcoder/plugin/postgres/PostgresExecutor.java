@@ -25,6 +25,7 @@ import org.lowcoder.plugin.postgres.utils.PostgresResultParser;
 import org.lowcoder.plugin.sql.GeneralSqlExecutor;
 import org.lowcoder.plugin.sql.SqlBasedQueryExecutor;
 import org.lowcoder.sdk.exception.PluginException;
+import org.lowcoder.sdk.models.CompactRows;
 import org.lowcoder.sdk.models.DatasourceStructure;
 import org.lowcoder.sdk.plugin.common.sql.SqlBasedDatasourceConnectionConfig;
 import org.lowcoder.sdk.plugin.sqlcommand.GuiSqlCommand;
@@ -55,6 +56,15 @@ public class PostgresExecutor extends SqlBasedQueryExecutor {
                 }
             }
 
+            @Override
+            protected CompactRows parseCompactDataRows(ResultSet resultSet) throws SQLException {
+                try {
+                    return PostgresResultParser.parseCompactRows(resultSet);
+                } catch (JsonProcessingException e) {
+                    throw new PluginException(QUERY_EXECUTION_ERROR, "QUERY_EXECUTION_ERROR", e.getMessage());
+                }
+            }
+
             @Override
             protected StatementInput getPreparedStatementInput(String query, Map<String, Object> requestParams) {
                 List<String> mustacheKeysInOrder = extractMustacheKeysInOrder(query);
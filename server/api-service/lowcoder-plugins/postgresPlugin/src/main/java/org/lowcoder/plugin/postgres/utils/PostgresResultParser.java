@@ -34,6 +34,7 @@ import java.util.Map;
 import java.util.stream.Stream;
 
 import org.apache.commons.lang3.StringUtils;
+import org.lowcoder.sdk.models.CompactRows;
 import org.lowcoder.sdk.models.DatasourceStructure;
 import org.lowcoder.sdk.models.DatasourceStructure.Table;
 import org.postgresql.util.PGobject;
@@ -184,6 +185,28 @@ public class PostgresResultParser {
         return result;
     }
 
+    /**
+     * same values as {@link #parseRows(ResultSet)}, read straight into one array per row without building the row maps.
+     */
+    public static CompactRows parseCompactRows(ResultSet resultSet) throws SQLException, JsonProcessingException {
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        List<String> columns = new ArrayList<>(columnCount);
+        String[] typeNames = new String[columnCount];
+        for (int i = 1; i <= columnCount; i++) {
+            columns.add(metaData.getColumnName(i));
+            typeNames[i - 1] = metaData.getColumnTypeName(i);
+        }
+        List<Object[]> rows = new ArrayList<>();
+        while (resultSet.next()) {
+            Object[] row = new Object[columnCount];
+            for (int i = 1; i <= columnCount; i++) {
+                row[i - 1] = parseValue(resultSet, i, typeNames[i - 1]);
+            }
+            rows.add(row);
+        }
+        return new CompactRows(columns, rows);
+    }
 
     private static Map<String, Object> parseRowValue(ResultSet resultSet, ResultSetMetaData metaData, int colCount)
             throws SQLException, JsonProcessingException {
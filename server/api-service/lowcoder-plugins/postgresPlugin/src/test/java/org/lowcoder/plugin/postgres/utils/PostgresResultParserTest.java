@@ -0,0 +1,55 @@
+package org.lowcoder.plugin.postgres.utils;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.lowcoder.sdk.models.CompactRows;
+import org.postgresql.util.PGobject;
+
+public class PostgresResultParserTest {
+
+    @Test
+    public void testCompactRowsKeepValueConversions() throws Exception {
+        List<Map<String, Object>> rows = PostgresResultParser.parseRows(mockResultSet());
+        CompactRows compactRows = PostgresResultParser.parseCompactRows(mockResultSet());
+
+        Assert.assertEquals(List.of("day", "tag", "note"), compactRows.getColumns());
+        Assert.assertEquals(1, compactRows.size());
+        Assert.assertEquals(Arrays.asList("2024-01-02", "hello", null), Arrays.asList(compactRows.getRows().get(0)));
+        Assert.assertEquals(List.copyOf(rows.get(0).values()), Arrays.asList(compactRows.getRows().get(0)));
+    }
+
+    private static ResultSet mockResultSet() throws Exception {
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(metaData.getColumnCount()).thenReturn(3);
+        when(metaData.getColumnName(1)).thenReturn("day");
+        when(metaData.getColumnName(2)).thenReturn("tag");
+        when(metaData.getColumnName(3)).thenReturn("note");
+        when(metaData.getColumnTypeName(1)).thenReturn("date");
+        when(metaData.getColumnTypeName(2)).thenReturn("citext");
+        when(metaData.getColumnTypeName(3)).thenReturn("text");
+
+        PGobject tag = new PGobject();
+        tag.setType("citext");
+        tag.setValue("hello");
+        Date day = Date.valueOf("2024-01-02");
+
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getObject(1)).thenReturn(day);
+        when(resultSet.getDate(1)).thenReturn(day);
+        when(resultSet.getObject(2)).thenReturn(tag);
+        when(resultSet.getObject(3)).thenReturn(null);
+        return resultSet;
+    }
+}
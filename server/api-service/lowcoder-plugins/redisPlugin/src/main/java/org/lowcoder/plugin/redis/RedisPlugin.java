@@ -19,10 +19,15 @@ package org.lowcoder.plugin.redis;
 import jakarta.annotation.Nonnull;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang.StringUtils;
-import org.apache.commons.lang3.ArrayUtils;
 import org.lowcoder.plugin.redis.commands.RedisCommand;
+import org.lowcoder.plugin.redis.connection.ClusterRedisConnection;
+import org.lowcoder.plugin.redis.connection.PooledRedisConnection;
+import org.lowcoder.plugin.redis.connection.RedisConnection;
+import org.lowcoder.plugin.redis.connection.RedisMetrics;
 import org.lowcoder.plugin.redis.model.RedisDatasourceConfig;
 import org.lowcoder.plugin.redis.model.RedisQueryExecutionContext;
+import org.lowcoder.plugin.redis.model.RedisQueryExecutionContext.RedisCommandLine;
+import org.lowcoder.plugin.redis.model.RedisTopology;
 import org.lowcoder.plugin.redis.utils.RedisQueryUtils;
 import org.lowcoder.plugin.redis.utils.RedisUriUtils;
 import org.lowcoder.sdk.exception.PluginException;
@@ -36,15 +41,17 @@ import org.pf4j.Plugin;
 import org.pf4j.PluginWrapper;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Scheduler;
-import redis.clients.jedis.Jedis;
+import redis.clients.jedis.DefaultJedisClientConfig;
+import redis.clients.jedis.JedisClientConfig;
+import redis.clients.jedis.JedisCluster;
 import redis.clients.jedis.JedisPool;
 import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.JedisSentinelPool;
 import redis.clients.jedis.Protocol;
-import redis.clients.jedis.Protocol.Command;
 import redis.clients.jedis.exceptions.JedisException;
 import redis.clients.jedis.util.SafeEncoder;
 
-import java.net.URI;
+import java.net.URISyntaxException;
 import java.time.Duration;
 import java.util.*;
 import java.util.regex.Matcher;
@@ -56,6 +63,7 @@ import static java.util.Objects.isNull;
 import static org.lowcoder.plugin.redis.RedisError.REDIS_EXECUTION_ERROR;
 import static org.lowcoder.plugin.redis.RedisError.REDIS_URL_ERROR;
 import static org.lowcoder.plugin.redis.constants.RedisConstants.*;
+import static org.lowcoder.plugin.redis.constants.RedisFieldName.PIPELINE_COMMANDS;
 import static org.lowcoder.plugin.redis.constants.RedisFieldName.RAW_COMMAND;
 import static org.lowcoder.plugin.redis.utils.RedisQueryUtils.convertRedisFormInputToRedisCommand;
 import static org.lowcoder.sdk.exception.PluginCommonError.QUERY_ARGUMENT_ERROR;
@@ -74,17 +82,16 @@ public class RedisPlugin extends Plugin {
 
     @Slf4j
     @Extension
-    public static class RedisEngine implements DatasourceQueryEngine<RedisDatasourceConfig, JedisPool, RedisQueryExecutionContext> {
+    public static class RedisEngine implements DatasourceQueryEngine<RedisDatasourceConfig, RedisConnection, RedisQueryExecutionContext> {
 
         private final Scheduler scheduler = QueryExecutionUtils.querySharedScheduler();
 
         @Override
-        public Mono<JedisPool> createConnection(RedisDatasourceConfig connectionConfig) {
+        public Mono<RedisConnection> createConnection(RedisDatasourceConfig connectionConfig) {
             return Mono.fromCallable(() -> {
-                        final JedisPoolConfig poolConfig = buildPoolConfig();
-                        int timeout = (int) Duration.ofSeconds(DEFAULT_QUERY_TIMEOUT_SECONDS).toMillis();
-                        URI uri = RedisUriUtils.getURI(connectionConfig);
-                        return new JedisPool(poolConfig, uri, timeout);
+                        RedisConnection connection = doCreateRedisConnection(connectionConfig);
+                        RedisMetrics.register(connection);
+                        return connection;
                     })
                     .subscribeOn(scheduler)
                     .onErrorMap(t -> {
@@ -95,30 +102,62 @@ public class RedisPlugin extends Plugin {
                     });
         }
 
+        /**
+         * the ssl flag and the acl user apply to every topology, the sentinels are only reached with the ssl flag.
+         */
+        private RedisConnection doCreateRedisConnection(RedisDatasourceConfig connectionConfig) throws URISyntaxException {
+            final JedisPoolConfig poolConfig = buildPoolConfig();
+            int timeout = (int) Duration.ofSeconds(DEFAULT_QUERY_TIMEOUT_SECONDS).toMillis();
+            JedisClientConfig clientConfig = DefaultJedisClientConfig.builder()
+                    .connectionTimeoutMillis(timeout)
+                    .socketTimeoutMillis(timeout)
+                    .user(StringUtils.isBlank(connectionConfig.getUsername()) ? null : connectionConfig.getUsername())
+                    .password(StringUtils.isBlank(connectionConfig.getPassword()) ? null : connectionConfig.getPassword())
+                    .ssl(connectionConfig.isUsingSsl())
+                    .build();
+            return switch (connectionConfig.getTopology()) {
+                case STANDALONE -> new PooledRedisConnection(new JedisPool(poolConfig, RedisUriUtils.getURI(connectionConfig), timeout));
+                case SENTINEL -> new PooledRedisConnection(new JedisSentinelPool(connectionConfig.getMasterName(),
+                        RedisUriUtils.getHostAndPorts(connectionConfig), poolConfig, clientConfig,
+                        DefaultJedisClientConfig.builder()
+                                .connectionTimeoutMillis(timeout)
+                                .socketTimeoutMillis(timeout)
+                                .ssl(connectionConfig.isUsingSsl())
+                                .build()));
+                case CLUSTER -> new ClusterRedisConnection(new JedisCluster(RedisUriUtils.getHostAndPorts(connectionConfig), clientConfig,
+                        JEDIS_CLUSTER_MAX_ATTEMPTS, poolConfig));
+            };
+        }
+
         /**
          * <a href="https://help.aliyun.com/document_detail/98726.html#section-m2c-5kr-zfb">...</a>
+         * <p>
+         * Connections are not pinged on borrow and return, which would double the round trips of every query; idle ones
+         * are still checked by the evictor. An exhausted pool waits shortly for a connection instead of failing at once.
          */
         private JedisPoolConfig buildPoolConfig() {
             final JedisPoolConfig poolConfig = new JedisPoolConfig();
             poolConfig.setMaxTotal(JEDIS_POOL_MAX_TOTAL);
             poolConfig.setMaxIdle(JEDIS_POOL_MAX_IDLE);
             poolConfig.setMinIdle(JEDIS_POOL_MIN_IDLE);
-            poolConfig.setTestOnBorrow(true);
-            poolConfig.setTestOnReturn(true);
+            poolConfig.setTestOnBorrow(false);
+            poolConfig.setTestOnReturn(false);
             poolConfig.setTestWhileIdle(true);
             poolConfig.setMinEvictableIdleTimeMillis(Duration.ofSeconds(JEDIS_POOL_MIN_EVICTABLE_IDLE_MILLIS).toMillis());
             poolConfig.setTimeBetweenEvictionRunsMillis(Duration.ofSeconds(JEDIS_POOL_TIME_BETWEEN_EVICTION_RUNS_MILLIS).toMillis());
-            poolConfig.setBlockWhenExhausted(false);
+            poolConfig.setBlockWhenExhausted(true);
+            poolConfig.setMaxWaitMillis(JEDIS_POOL_MAX_WAIT_MILLIS);
             return poolConfig;
         }
 
         @Override
-        public Mono<Void> destroyConnection(JedisPool jedisPool) {
+        public Mono<Void> destroyConnection(RedisConnection connection) {
             // Schedule on elastic thread pool and subscribe immediately.
             return Mono.fromRunnable(() -> {
                 try {
-                    if (jedisPool != null) {
-                        jedisPool.destroy();
+                    if (connection != null) {
+                        RedisMetrics.unregister(connection);
+                        connection.close();
                     }
                 } catch (JedisException e) {
                     log.error("Error destroying Jedis pool.");
@@ -129,11 +168,13 @@ public class RedisPlugin extends Plugin {
         @Override
         public Mono<DatasourceTestResult> testConnection(RedisDatasourceConfig connectionConfig) {
             return Mono.fromCallable(() ->
-                            doCreateConnection(connectionConfig)
-                                    .map(jedisPool -> {
-                                        Jedis jedis = jedisPool.getResource();
-                                        jedis.ping();
-                                        jedisPool.destroy();
+                            Mono.fromCallable(() -> doCreateRedisConnection(connectionConfig))
+                                    .map(connection -> {
+                                        try {
+                                            connection.ping();
+                                        } finally {
+                                            connection.close();
+                                        }
                                         return DatasourceTestResult.testSuccess();
                                     })
                                     .onErrorResume(error -> {
@@ -163,6 +204,13 @@ public class RedisPlugin extends Plugin {
                 if (StringUtils.isBlank(connectionConfig.getUri())) {
                     invalids.add("REDIS_URL_EMPTY");
                 }
+            } else if (connectionConfig.getTopology() != RedisTopology.STANDALONE) {
+                if (StringUtils.isBlank(connectionConfig.getNodes())) {
+                    invalids.add("REDIS_NODES_EMPTY");
+                }
+                if (connectionConfig.getTopology() == RedisTopology.SENTINEL && StringUtils.isBlank(connectionConfig.getMasterName())) {
+                    invalids.add("REDIS_MASTER_NAME_EMPTY");
+                }
             } else {
                 if (StringUtils.isBlank(host)) {
                     invalids.add("HOST_EMPTY_PLZ_CHECK");
@@ -182,6 +230,13 @@ public class RedisPlugin extends Plugin {
             Protocol.Command protocolCommand;
             String[] args;
 
+            if (RedisQueryUtils.isPipeline(queryConfig)) {
+                String commandsString = getValueSafelyFromFormData(queryConfig, PIPELINE_COMMANDS, String.class);
+                return RedisQueryExecutionContext.builder()
+                        .pipelinedCommands(getPipelinedCommands(renderMustacheStringWithoutRemoveSurroundedPar(commandsString, requestParams)))
+                        .build();
+            }
+
             if (RedisQueryUtils.isRawCommand(queryConfig)) {
                 String rawCommandString = getValueSafelyFromFormData(queryConfig, RAW_COMMAND, String.class);
                 String renderedCommandString = renderMustacheStringWithoutRemoveSurroundedPar(rawCommandString, requestParams);
@@ -207,18 +262,26 @@ public class RedisPlugin extends Plugin {
 
 
         @Override
-        public Mono<QueryExecutionResult> executeQuery(JedisPool jedisPool, RedisQueryExecutionContext context) {
-            Command protocolCommand = context.getProtocolCommand();
-            String[] args = context.getArgs();
+        public Mono<QueryExecutionResult> executeQuery(RedisConnection connection, RedisQueryExecutionContext context) {
             return Mono.fromCallable(() -> {
-                        try (Jedis jedis = jedisPool.getResource()) {
-                            Object commandOutput;
-                            if (ArrayUtils.isNotEmpty(args)) {
-                                commandOutput = jedis.sendCommand(protocolCommand, args);
+                        long start = System.nanoTime();
+                        boolean success = false;
+                        try {
+                            QueryExecutionResult result;
+                            if (context.isPipelined()) {
+                                List<Object> replies = connection.sendPipelined(context.getPipelinedCommands());
+                                result = QueryExecutionResult.success(replies.stream()
+                                        .map(this::processPipelinedReply)
+                                        .toList());
                             } else {
-                                commandOutput = jedis.sendCommand(protocolCommand);
+                                result = QueryExecutionResult.success(
+                                        processCommandOutput(connection.sendCommand(context.getProtocolCommand(), context.getArgs())));
                             }
-                            return QueryExecutionResult.success(processCommandOutput(commandOutput));
+                            success = true;
+                            return result;
+                        } finally {
+                            RedisMetrics.recordQuery(context.isPipelined() ? "pipeline" : "command", success,
+                                    Duration.ofNanos(System.nanoTime() - start));
                         }
                     })
                     .onErrorResume(error -> {
@@ -228,6 +291,35 @@ public class RedisPlugin extends Plugin {
                     .subscribeOn(scheduler);
         }
 
+        /**
+         * one raw command per line, blank lines are ignored.
+         */
+        private static List<RedisCommandLine> getPipelinedCommands(String commandsString) {
+            List<RedisCommandLine> commands = new ArrayList<>();
+            for (String line : StringUtils.defaultString(commandsString).split("\\R")) {
+                if (StringUtils.isBlank(line)) {
+                    continue;
+                }
+                Map<String, Object> cmdAndArgs = getCommandAndArgs(line.trim());
+                commands.add(new RedisCommandLine(toProtocolCommand((String) cmdAndArgs.get(CMD_KEY)), (String[]) cmdAndArgs.get(ARGS_KEY)));
+            }
+            if (commands.isEmpty()) {
+                throw new PluginException(QUERY_ARGUMENT_ERROR, "COMMAND_EMPTY");
+            }
+            if (commands.size() > PIPELINE_MAX_COMMANDS) {
+                throw new PluginException(QUERY_ARGUMENT_ERROR, "REDIS_PIPELINE_TOO_LARGE", PIPELINE_MAX_COMMANDS);
+            }
+            return commands;
+        }
+
+        private static Protocol.Command toProtocolCommand(String command) {
+            try {
+                return Protocol.Command.valueOf(command);
+            } catch (IllegalArgumentException e) {
+                throw new PluginException(QUERY_ARGUMENT_ERROR, "INVALID_REDIS_REQUEST", command);
+            }
+        }
+
         private static Map<String, Object> getCommandAndArgs(String query) {
             /*
               - This regex matches either a whole word, or anything inside double quotes. If something is inside
@@ -264,6 +356,18 @@ public class RedisPlugin extends Plugin {
             return cmdAndArgs;
         }
 
+        /**
+         * a failed command of a pipeline does not fail the others.
+         */
+        private Object processPipelinedReply(Object reply) {
+            if (reply instanceof Exception e) {
+                Map<String, Object> error = new HashMap<>();
+                error.put("error", e.getMessage());
+                return error;
+            }
+            return processCommandOutput(reply);
+        }
+
         // This will be updated as we encounter different outputs.
         @SuppressWarnings("unchecked")
         private Object processCommandOutput(Object commandOutput) {
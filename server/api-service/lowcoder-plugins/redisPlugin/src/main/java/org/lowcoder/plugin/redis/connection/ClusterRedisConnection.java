@@ -0,0 +1,108 @@
+package org.lowcoder.plugin.redis.connection;
+
+import static org.lowcoder.sdk.exception.PluginCommonError.QUERY_ARGUMENT_ERROR;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.lowcoder.plugin.redis.model.RedisQueryExecutionContext.RedisCommandLine;
+import org.lowcoder.sdk.exception.PluginException;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisCluster;
+import redis.clients.jedis.Protocol;
+import redis.clients.jedis.util.Pool;
+
+/**
+ * Commands are routed by the slot of their first key, see {@link #routingKey}. Commands without a key that only answer for
+ * the node they reach, like KEYS or DBSIZE, are rejected rather than answered for a single node.
+ * <p>
+ * Jedis has no cluster pipeline, so the commands of a pipelined query are sent one after another over the pooled node
+ * connections.
+ */
+public class ClusterRedisConnection implements RedisConnection {
+
+    private static final String NO_KEY = "";
+    private static final String STREAMS = "STREAMS";
+
+    private static final Set<Protocol.Command> KEYLESS_COMMANDS = EnumSet.of(Protocol.Command.PING, Protocol.Command.ECHO,
+            Protocol.Command.TIME, Protocol.Command.INFO);
+    private static final Set<Protocol.Command> NODE_COMMANDS = EnumSet.of(Protocol.Command.KEYS, Protocol.Command.SCAN,
+            Protocol.Command.DBSIZE, Protocol.Command.RANDOMKEY, Protocol.Command.FLUSHDB, Protocol.Command.FLUSHALL);
+
+    private final JedisCluster cluster;
+
+    public ClusterRedisConnection(JedisCluster cluster) {
+        this.cluster = cluster;
+    }
+
+    @Override
+    public Object sendCommand(Protocol.Command command, String[] args) {
+        return cluster.sendCommand(routingKey(command, args), command, ArrayUtils.nullToEmpty(args));
+    }
+
+    @Override
+    public List<Object> sendPipelined(List<RedisCommandLine> commands) {
+        List<Object> replies = new ArrayList<>(commands.size());
+        for (RedisCommandLine commandLine : commands) {
+            try {
+                replies.add(sendCommand(commandLine.command(), commandLine.args()));
+            } catch (RuntimeException e) {
+                replies.add(e);
+            }
+        }
+        return replies;
+    }
+
+    /**
+     * the first key of the command: the first argument for most commands, the first of numkeys keys for EVAL and EVALSHA,
+     * and the first stream for XREAD and XREADGROUP. commands without a key go to the node of the empty key.
+     */
+    static String routingKey(Protocol.Command command, String[] args) {
+        if (NODE_COMMANDS.contains(command)) {
+            throw new PluginException(QUERY_ARGUMENT_ERROR, "REDIS_CLUSTER_COMMAND_NOT_SUPPORTED", command.name());
+        }
+        args = ArrayUtils.nullToEmpty(args);
+        if (KEYLESS_COMMANDS.contains(command) || args.length == 0) {
+            return NO_KEY;
+        }
+        return switch (command) {
+            case EVAL, EVALSHA -> {
+                int numKeys = args.length > 1 ? NumberUtils.toInt(args[1], -1) : -1;
+                if (numKeys < 0 || args.length < 2 + numKeys) {
+                    throw new PluginException(QUERY_ARGUMENT_ERROR, "INVALID_REDIS_REQUEST", command.name());
+                }
+                yield numKeys == 0 ? NO_KEY : args[2];
+            }
+            case XREAD, XREADGROUP -> {
+                for (int i = 0; i < args.length - 1; i++) {
+                    if (STREAMS.equalsIgnoreCase(args[i])) {
+                        yield args[i + 1];
+                    }
+                }
+                throw new PluginException(QUERY_ARGUMENT_ERROR, "INVALID_REDIS_REQUEST", command.name());
+            }
+            default -> args[0];
+        };
+    }
+
+    @Override
+    public void ping() {
+        cluster.sendCommand(NO_KEY, Protocol.Command.PING);
+    }
+
+    @Override
+    public void close() {
+        cluster.close();
+    }
+
+    @Override
+    public Collection<? extends Pool<Jedis>> pools() {
+        return cluster.getClusterNodes().values();
+    }
+}
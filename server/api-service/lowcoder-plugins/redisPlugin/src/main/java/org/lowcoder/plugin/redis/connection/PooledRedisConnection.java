@@ -0,0 +1,62 @@
+package org.lowcoder.plugin.redis.connection;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.lowcoder.plugin.redis.model.RedisQueryExecutionContext.RedisCommandLine;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Protocol;
+import redis.clients.jedis.util.Pool;
+
+/**
+ * standalone and sentinel topologies, a pipelined query borrows a single connection.
+ */
+public class PooledRedisConnection implements RedisConnection {
+
+    private final Pool<Jedis> pool;
+
+    public PooledRedisConnection(Pool<Jedis> pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public Object sendCommand(Protocol.Command command, String[] args) {
+        try (Jedis jedis = pool.getResource()) {
+            if (ArrayUtils.isEmpty(args)) {
+                return jedis.sendCommand(command);
+            }
+            return jedis.sendCommand(command, args);
+        }
+    }
+
+    @Override
+    public List<Object> sendPipelined(List<RedisCommandLine> commands) {
+        try (Jedis jedis = pool.getResource()) {
+            Pipeline pipeline = jedis.pipelined();
+            for (RedisCommandLine commandLine : commands) {
+                pipeline.sendCommand(commandLine.command(), ArrayUtils.nullToEmpty(commandLine.args()));
+            }
+            return pipeline.syncAndReturnAll();
+        }
+    }
+
+    @Override
+    public void ping() {
+        try (Jedis jedis = pool.getResource()) {
+            jedis.ping();
+        }
+    }
+
+    @Override
+    public void close() {
+        pool.destroy();
+    }
+
+    @Override
+    public Collection<? extends Pool<Jedis>> pools() {
+        return List.of(pool);
+    }
+}
@@ -0,0 +1,30 @@
+package org.lowcoder.plugin.redis.connection;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.lowcoder.plugin.redis.model.RedisQueryExecutionContext.RedisCommandLine;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Protocol;
+import redis.clients.jedis.util.Pool;
+
+/**
+ * A redis datasource connection, backed by one pool for a standalone or sentinel topology, or by one pool per node for a
+ * cluster. Calls are blocking.
+ */
+public interface RedisConnection {
+
+    Object sendCommand(Protocol.Command command, String[] args);
+
+    /**
+     * @return the replies in the order of the commands, a failed command is replied by its exception.
+     */
+    List<Object> sendPipelined(List<RedisCommandLine> commands);
+
+    void ping();
+
+    void close();
+
+    Collection<? extends Pool<Jedis>> pools();
+}
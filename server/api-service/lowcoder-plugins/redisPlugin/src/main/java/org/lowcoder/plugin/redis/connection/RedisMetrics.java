@@ -0,0 +1,74 @@
+package org.lowcoder.plugin.redis.connection;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.util.Pool;
+
+/**
+ * Pool usage summed over the open redis datasource connections, and query latencies, reported to the global registry of
+ * the server.
+ */
+public final class RedisMetrics {
+
+    private static final String POOL_CONNECTIONS = "lowcoder.redis.pool.connections";
+    private static final String QUERY = "lowcoder.redis.query";
+
+    private static final Set<RedisConnection> CONNECTIONS = ConcurrentHashMap.newKeySet();
+    // mode and success -> timer, so that a query does not look its timer up in the registry
+    private static final Map<String, Timer> QUERY_TIMERS = new ConcurrentHashMap<>();
+
+    static {
+        registerPoolGauge("active", Pool::getNumActive);
+        registerPoolGauge("idle", Pool::getNumIdle);
+        registerPoolGauge("waiting", Pool::getNumWaiters);
+    }
+
+    private RedisMetrics() {
+    }
+
+    public static void register(RedisConnection connection) {
+        CONNECTIONS.add(connection);
+    }
+
+    public static void unregister(RedisConnection connection) {
+        CONNECTIONS.remove(connection);
+    }
+
+    /**
+     * @param mode command or pipeline
+     */
+    public static void recordQuery(String mode, boolean success, Duration duration) {
+        queryTimer(mode, success).record(duration);
+    }
+
+    static Timer queryTimer(String mode, boolean success) {
+        return QUERY_TIMERS.computeIfAbsent(mode + ":" + success, key -> Timer.builder(QUERY)
+                .tags(Tags.of("mode", mode, "success", String.valueOf(success)))
+                .register(Metrics.globalRegistry));
+    }
+
+    private static void registerPoolGauge(String state, ToIntFunction<Pool<Jedis>> value) {
+        Gauge.builder(POOL_CONNECTIONS, () -> CONNECTIONS.stream()
+                        .flatMap(connection -> connection.pools().stream())
+                        .mapToInt(pool -> {
+                            try {
+                                return value.applyAsInt(pool);
+                            } catch (RuntimeException e) {
+                                // closed meanwhile
+                                return 0;
+                            }
+                        })
+                        .sum())
+                .tag("state", state)
+                .register(Metrics.globalRegistry);
+    }
+}
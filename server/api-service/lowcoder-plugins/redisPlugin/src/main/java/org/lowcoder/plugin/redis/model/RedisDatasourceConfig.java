@@ -34,6 +34,10 @@ public class RedisDatasourceConfig implements DatasourceConnectionConfig {
     private final boolean usingUri;
     @JsonView(JsonViews.Internal.class)
     private String uri;
+    private final RedisTopology topology;
+    // comma separated host:port of the sentinels or of the cluster seed nodes
+    private final String nodes;
+    private final String masterName;
 
     public static RedisDatasourceConfig buildFrom(Map<String, Object> requestMap) {
         RedisDatasourceConfig result = fromJson(toJson(requestMap), RedisDatasourceConfig.class);
@@ -43,6 +47,10 @@ public class RedisDatasourceConfig implements DatasourceConnectionConfig {
         return result;
     }
 
+    public RedisTopology getTopology() {
+        return topology == null || usingUri ? RedisTopology.STANDALONE : topology;
+    }
+
     @Override
     public DatasourceConnectionConfig doEncrypt(Function<String, String> encryptFunc) {
         try {
@@ -83,6 +91,9 @@ public class RedisDatasourceConfig implements DatasourceConnectionConfig {
 
         return RedisDatasourceConfig.builder()
                 .usingUri(false)
+                .topology(updatedRedisConfig.getTopology())
+                .nodes(updatedRedisConfig.getNodes())
+                .masterName(updatedRedisConfig.getMasterName())
                 .usingSsl(updatedRedisConfig.isUsingSsl())
                 .host(updatedRedisConfig.getHost())
                 .port(updatedRedisConfig.getPort())
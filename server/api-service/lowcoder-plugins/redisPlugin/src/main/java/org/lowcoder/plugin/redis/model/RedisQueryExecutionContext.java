@@ -1,5 +1,7 @@
 package org.lowcoder.plugin.redis.model;
 
+import java.util.List;
+
 import org.lowcoder.sdk.query.QueryExecutionContext;
 
 import lombok.Builder;
@@ -12,4 +14,13 @@ public class RedisQueryExecutionContext extends QueryExecutionContext {
 
     private Protocol.Command protocolCommand;
     private String[] args;
+    // not empty for a pipelined query, whose commands are sent in a single round trip
+    private List<RedisCommandLine> pipelinedCommands;
+
+    public boolean isPipelined() {
+        return pipelinedCommands != null && !pipelinedCommands.isEmpty();
+    }
+
+    public record RedisCommandLine(Protocol.Command command, String[] args) {
+    }
 }
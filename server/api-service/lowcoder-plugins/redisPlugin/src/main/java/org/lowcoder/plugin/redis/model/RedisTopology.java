@@ -0,0 +1,7 @@
+package org.lowcoder.plugin.redis.model;
+
+public enum RedisTopology {
+    STANDALONE,
+    SENTINEL,
+    CLUSTER
+}
@@ -50,6 +50,11 @@ public class RedisQueryUtils {
         return "RAW".equalsIgnoreCase(command);
     }
 
+    public static boolean isPipeline(Map<String, Object> formData) {
+        String command = (String) formData.getOrDefault(COMMAND, "");
+        return "PIPELINE".equalsIgnoreCase(command);
+    }
+
     public static RedisCommand convertRedisFormInputToRedisCommand(Map<String, Object> formData) {
         String commandType = (String) formData.getOrDefault(COMMAND, "");
         return switch (commandType.toUpperCase()) {
@@ -4,13 +4,19 @@ import static org.apache.commons.lang3.ObjectUtils.firstNonNull;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.lowcoder.plugin.redis.model.RedisDatasourceConfig;
 
+import redis.clients.jedis.HostAndPort;
+
 public class RedisUriUtils {
     private static final Long DEFAULT_PORT = 6379L;
     private static final String REDIS_SCHEME = "redis://";
+    private static final String REDIS_SSL_SCHEME = "rediss://";
 
     public static URI getURI(RedisDatasourceConfig redisDatasourceConfig) throws URISyntaxException {
 
@@ -19,7 +25,7 @@ public class RedisUriUtils {
         }
 
         StringBuilder builder = new StringBuilder();
-        builder.append(REDIS_SCHEME);
+        builder.append(redisDatasourceConfig.isUsingSsl() ? REDIS_SSL_SCHEME : REDIS_SCHEME);
 
         String uriAuth = getUriAuth(redisDatasourceConfig);
         builder.append(uriAuth);
@@ -33,6 +39,25 @@ public class RedisUriUtils {
         return new URI(builder.toString());
     }
 
+    /**
+     * the sentinels or the cluster seed nodes, as host:port
+     */
+    public static Set<String> getNodes(RedisDatasourceConfig redisDatasourceConfig) {
+        Set<String> nodes = new LinkedHashSet<>();
+        for (String node : StringUtils.split(StringUtils.defaultString(redisDatasourceConfig.getNodes()), ',')) {
+            if (StringUtils.isNotBlank(node)) {
+                nodes.add(node.contains(":") ? node.trim() : node.trim() + ":" + DEFAULT_PORT);
+            }
+        }
+        return nodes;
+    }
+
+    public static Set<HostAndPort> getHostAndPorts(RedisDatasourceConfig redisDatasourceConfig) {
+        return getNodes(redisDatasourceConfig).stream()
+                .map(HostAndPort::parseString)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
     private static String getUriDatabase(RedisDatasourceConfig datasourceConfiguration) {
         return StringUtils.EMPTY;
     }
@@ -0,0 +1,44 @@
+package org.lowcoder.plugin.redis.connection;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.lowcoder.sdk.exception.PluginException;
+
+import redis.clients.jedis.Protocol;
+
+public class ClusterRedisConnectionTest {
+
+    @Test
+    public void testCommandsAreRoutedByTheirFirstArgument() {
+        Assert.assertEquals("key", ClusterRedisConnection.routingKey(Protocol.Command.GET, new String[] {"key"}));
+        Assert.assertEquals("key", ClusterRedisConnection.routingKey(Protocol.Command.HSET, new String[] {"key", "field", "value"}));
+    }
+
+    @Test
+    public void testEvalIsRoutedByItsFirstKey() {
+        Assert.assertEquals("key", ClusterRedisConnection.routingKey(Protocol.Command.EVAL,
+                new String[] {"return redis.call('get', KEYS[1])", "1", "key"}));
+        Assert.assertEquals("key", ClusterRedisConnection.routingKey(Protocol.Command.EVALSHA, new String[] {"sha", "2", "key", "other", "arg"}));
+        Assert.assertEquals("", ClusterRedisConnection.routingKey(Protocol.Command.EVAL, new String[] {"return 1", "0"}));
+        Assert.assertThrows(PluginException.class, () -> ClusterRedisConnection.routingKey(Protocol.Command.EVAL, new String[] {"return 1", "2", "key"}));
+        Assert.assertThrows(PluginException.class, () -> ClusterRedisConnection.routingKey(Protocol.Command.EVAL, new String[] {"return 1", "one"}));
+    }
+
+    @Test
+    public void testStreamReadsAreRoutedByTheirFirstStream() {
+        Assert.assertEquals("stream", ClusterRedisConnection.routingKey(Protocol.Command.XREAD,
+                new String[] {"COUNT", "10", "streams", "stream", "0"}));
+        Assert.assertEquals("stream", ClusterRedisConnection.routingKey(Protocol.Command.XREADGROUP,
+                new String[] {"GROUP", "group", "consumer", "STREAMS", "stream", ">"}));
+        Assert.assertThrows(PluginException.class, () -> ClusterRedisConnection.routingKey(Protocol.Command.XREAD, new String[] {"COUNT", "10"}));
+    }
+
+    @Test
+    public void testKeylessCommands() {
+        Assert.assertEquals("", ClusterRedisConnection.routingKey(Protocol.Command.PING, null));
+        Assert.assertEquals("", ClusterRedisConnection.routingKey(Protocol.Command.INFO, new String[] {"memory"}));
+        // they would only answer for the node of the routing key
+        Assert.assertThrows(PluginException.class, () -> ClusterRedisConnection.routingKey(Protocol.Command.KEYS, new String[] {"*"}));
+        Assert.assertThrows(PluginException.class, () -> ClusterRedisConnection.routingKey(Protocol.Command.DBSIZE, null));
+    }
+}
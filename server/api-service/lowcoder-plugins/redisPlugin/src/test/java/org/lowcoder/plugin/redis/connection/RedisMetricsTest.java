@@ -0,0 +1,37 @@
+package org.lowcoder.plugin.redis.connection;
+
+import java.time.Duration;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class RedisMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Before
+    public void setUp() {
+        Metrics.addRegistry(meterRegistry);
+    }
+
+    @After
+    public void tearDown() {
+        Metrics.removeRegistry(meterRegistry);
+    }
+
+    @Test
+    public void testQueryTimersAreReused() {
+        Assert.assertSame(RedisMetrics.queryTimer("command", true), RedisMetrics.queryTimer("command", true));
+        Assert.assertNotSame(RedisMetrics.queryTimer("command", true), RedisMetrics.queryTimer("command", false));
+        Assert.assertNotSame(RedisMetrics.queryTimer("command", true), RedisMetrics.queryTimer("pipeline", true));
+
+        RedisMetrics.recordQuery("pipeline", false, Duration.ofMillis(5));
+        RedisMetrics.recordQuery("pipeline", false, Duration.ofMillis(7));
+        Assert.assertEquals(2, meterRegistry.get("lowcoder.redis.query").tag("mode", "pipeline").tag("success", "false").timer().count());
+    }
+}
@@ -50,13 +50,18 @@ import org.lowcoder.sdk.plugin.restapi.auth.AuthConfig;
 import org.lowcoder.sdk.plugin.restapi.auth.BasicAuthConfig;
 import org.lowcoder.sdk.plugin.restapi.auth.RestApiAuthType;
 import org.lowcoder.sdk.query.QueryVisitorContext;
+import org.lowcoder.sdk.webclient.HttpConnectionPoolConfig;
 import org.lowcoder.sdk.webclient.WebClientBuildHelper;
 import org.pf4j.Extension;
 import org.springframework.http.*;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.client.reactive.ClientHttpRequest;
 import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.BodyExtractors;
 import org.springframework.web.reactive.function.BodyInserter;
 import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
@@ -96,7 +101,7 @@ public class RestApiExecutor implements QueryExecutor<RestApiDatasourceConfig, O
     private final DataUtils dataUtils = DataUtils.getInstance();
     private final CommonConfig commonConfig;
 
-    // Set an unlimited buffer size, because query payload limit will be handled in webFilter
+    // Set an unlimited buffer size, because the response size is limited while reading it, see toBoundedEntity
     private final ExchangeStrategies exchangeStrategies = ExchangeStrategies
             .builder()
             .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(-1))
@@ -177,6 +182,7 @@ public class RestApiExecutor implements QueryExecutor<RestApiDatasourceConfig, O
                 .sslConfig(datasourceConfig.getSslConfig())
                 .authTokenMono(queryVisitorContext.getAuthTokenMono())
                 .timeoutMs(queryConfig.getTimeoutMs())
+                .maxResponseBytes(queryVisitorContext.getResultSetLimits().maxBytes())
                 .build();
     }
 
@@ -222,6 +228,7 @@ public class RestApiExecutor implements QueryExecutor<RestApiDatasourceConfig, O
                             .disallowedHosts(commonConfig.getDisallowedHosts())
                             .sslConfig(context.getSslConfig())
                             .timeoutMs(context.getTimeoutMs())
+                            .sharedConnectionPool(getOrigin(context.getUri()), HttpConnectionPoolConfig.from(commonConfig.getQuery()))
                             .toWebClientBuilder();
 
                     Map<String, String> allHeaders = context.getHeaders();
@@ -250,18 +257,24 @@ public class RestApiExecutor implements QueryExecutor<RestApiDatasourceConfig, O
                             context.getQueryBody(),
                             context.getBodyParams());
 
-                    return httpCall(client, context.getHttpMethod(), context.getUri(), bodyInserter, 0, authConfig, DEFAULT_HEADERS_CONSUMER)
+                    return httpCall(client, context.getHttpMethod(), context.getUri(), bodyInserter, 0, authConfig, DEFAULT_HEADERS_CONSUMER,
+                            context.getMaxResponseBytes())
                             .map(this::convertToQueryExecutionResult)
                             .onErrorResume(e -> propagateError(REST_API_EXECUTION_ERROR, DEFAULT_REST_ERROR_CODE, e));
                 }));
     }
 
+    private static String getOrigin(URI uri) {
+        return uri.getScheme() + "://" + uri.getRawAuthority();
+    }
+
     private Mono<ResponseEntity<byte[]>> httpCall(WebClient webClient, HttpMethod httpMethod,
             URI uri,
             BodyInserter<?, ? super ClientHttpRequest> requestBody,
             int iteration,
             @Nullable AuthConfig authConfig,
-            Consumer<HttpHeaders> headersConsumer) {
+            Consumer<HttpHeaders> headersConsumer,
+            long maxResponseBytes) {
         if (iteration == MAX_REDIRECTS) {
             return Mono.error(new PluginException(QUERY_EXECUTION_ERROR, "REACH_REDIRECT_LIMIT", MAX_REDIRECTS));
         }
@@ -280,23 +293,52 @@ public class RestApiExecutor implements QueryExecutor<RestApiDatasourceConfig, O
                         } catch (URISyntaxException e) {
                             return propagateError(REST_API_EXECUTION_ERROR, DEFAULT_REST_ERROR_CODE, e);
                         }
-                        return httpCall(webClient, httpMethod, redirectUri, requestBody, iteration + 1, authConfig, headersConsumer);
+                        return httpCall(webClient, httpMethod, redirectUri, requestBody, iteration + 1, authConfig, headersConsumer,
+                                maxResponseBytes);
                     }
                     //digest auth
                     if (authConfig != null && authConfig.getType() == DIGEST_AUTH && AuthHelper.shouldDigestAuth(response)) {
                         try {
                             return httpCall(webClient, httpMethod, uri, requestBody, iteration + 1, authConfig,
                                     headersConsumer.andThen(
-                                            AuthHelper.digestAuth((BasicAuthConfig) authConfig, response, httpMethod, uri.getPath())));
+                                            AuthHelper.digestAuth((BasicAuthConfig) authConfig, response, httpMethod, uri.getPath())),
+                                    maxResponseBytes);
                         } catch (ParseException e) {
                             return propagateError(REST_API_EXECUTION_ERROR, DEFAULT_REST_ERROR_CODE, e);
                         }
                     }
 
-                    return response.toEntity(byte[].class);
+                    return toBoundedEntity(response, maxResponseBytes);
                 });
     }
 
+    /**
+     * reads the body like {@link ClientResponse#toEntity(Class)}, but fails as soon as more than maxResponseBytes arrived
+     * instead of buffering the whole response first.
+     */
+    private static Mono<ResponseEntity<byte[]>> toBoundedEntity(ClientResponse response, long maxResponseBytes) {
+        if (maxResponseBytes <= 0) {
+            return response.toEntity(byte[].class);
+        }
+        if (response.headers().contentLength().orElse(-1) > maxResponseBytes) {
+            return response.releaseBody()
+                    .then(Mono.error(new PluginException(EXCEED_QUERY_RESULT_LIMIT, "EXCEED_QUERY_RESPONSE_SIZE")));
+        }
+        ResponseEntity.BodyBuilder entityBuilder = ResponseEntity.status(response.statusCode())
+                .headers(response.headers().asHttpHeaders());
+        int maxBytes = (int) Math.min(maxResponseBytes, Integer.MAX_VALUE);
+        return DataBufferUtils.join(response.body(BodyExtractors.toDataBuffers()), maxBytes)
+                .map(dataBuffer -> {
+                    byte[] bytes = new byte[dataBuffer.readableByteCount()];
+                    dataBuffer.read(bytes);
+                    DataBufferUtils.release(dataBuffer);
+                    return entityBuilder.body(bytes);
+                })
+                .defaultIfEmpty(entityBuilder.build())
+                .onErrorMap(DataBufferLimitException.class,
+                        e -> new PluginException(EXCEED_QUERY_RESULT_LIMIT, "EXCEED_QUERY_RESPONSE_SIZE"));
+    }
+
     private Mono<Void> authByOauth2InheritFromLogin(RestApiQueryExecutionContext context) {
         if (context.getAuthConfig() == null || context.getAuthConfig().getType() != OAUTH2_INHERIT_FROM_LOGIN) {
             return Mono.empty();
@@ -42,6 +42,7 @@ public class RestApiQueryExecutionContext extends QueryExecutionContext {
     private Mono<List<Property>> authTokenMono;
     private SslConfig sslConfig;
     private long timeoutMs;
+    private long maxResponseBytes;
 
     public URI getUri() {
         return uri;
@@ -99,4 +100,8 @@ public class RestApiQueryExecutionContext extends QueryExecutionContext {
 	public long getTimeoutMs() {
 		return timeoutMs;
 	}
+
+    public long getMaxResponseBytes() {
+        return maxResponseBytes;
+    }
 }
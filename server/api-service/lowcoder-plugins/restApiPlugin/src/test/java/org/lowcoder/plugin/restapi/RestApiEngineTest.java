@@ -4,10 +4,12 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.TextNode;
 import com.google.common.collect.ImmutableMap;
+import com.sun.net.httpserver.HttpServer;
 import org.junit.Assert;
 import org.junit.Test;
 import org.lowcoder.plugin.restapi.model.RestApiQueryExecutionContext;
 import org.lowcoder.sdk.config.CommonConfig;
+import org.lowcoder.sdk.exception.PluginException;
 import org.lowcoder.sdk.models.Property;
 import org.lowcoder.sdk.models.QueryExecutionResult;
 import org.lowcoder.sdk.plugin.common.RestApiUriBuilder;
@@ -15,16 +17,22 @@ import org.lowcoder.sdk.plugin.restapi.RestApiDatasourceConfig;
 import org.lowcoder.sdk.plugin.restapi.auth.BasicAuthConfig;
 import org.lowcoder.sdk.query.QueryExecutionContext;
 import org.lowcoder.sdk.query.QueryVisitorContext;
+import org.lowcoder.sdk.query.ResultSetLimits;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static org.junit.Assert.*;
+import static org.lowcoder.sdk.exception.PluginCommonError.EXCEED_QUERY_RESULT_LIMIT;
 import static org.lowcoder.sdk.plugin.restapi.auth.RestApiAuthType.BASIC_AUTH;
 import static org.lowcoder.sdk.plugin.restapi.auth.RestApiAuthType.DIGEST_AUTH;
 
@@ -300,6 +308,59 @@ public class RestApiEngineTest {
         }
     }
 
+    @Test
+    public void testResponseOverServerMaxBytesFails() throws IOException {
+        byte[] body = "x".repeat(1024).getBytes(StandardCharsets.UTF_8);
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        // a response length of 0 sends the body chunked, without a content length
+        server.createContext("/chunked", exchange -> {
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/sized", exchange -> {
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        try {
+            QueryVisitorContext limitedContext = queryVisitorContext.withResultSetLimits(new ResultSetLimits(0, 100, 0));
+            for (String path : List.of("/chunked", "/sized")) {
+                RestApiDatasourceConfig datasourceConfig = RestApiDatasourceConfig.builder()
+                        .url("http://localhost:" + server.getAddress().getPort() + path)
+                        .build();
+                Map<String, Object> queryConfig = ImmutableMap.of(
+                        "httpMethod", "GET",
+                        "headers", emptyList(),
+                        "params", emptyList()
+                );
+
+                QueryExecutionContext context = executor.doBuildQueryExecutionContext(datasourceConfig, queryConfig, emptyMap(),
+                        limitedContext);
+                StepVerifier.create(executor.doExecuteQuery(null, context))
+                        .expectErrorMatches(e -> e instanceof PluginException pluginException
+                                && pluginException.getError() == EXCEED_QUERY_RESULT_LIMIT)
+                        .verify();
+
+                // a max bytes in the query config is not taken from the user
+                Map<String, Object> userLimitedConfig = ImmutableMap.of(
+                        "httpMethod", "GET",
+                        "headers", emptyList(),
+                        "params", emptyList(),
+                        "maxResultBytes", 1
+                );
+                StepVerifier.create(execute(datasourceConfig, userLimitedConfig, emptyMap()))
+                        .assertNext(result -> assertTrue(result.isSuccess()))
+                        .verifyComplete();
+            }
+        } finally {
+            server.stop(0);
+        }
+    }
+
     private Mono<QueryExecutionResult> execute(RestApiDatasourceConfig datasourceConfig, Map<String, Object> queryConfig,
             Map<String, Object> params) {
         QueryExecutionContext context = executor.doBuildQueryExecutionContext(datasourceConfig,
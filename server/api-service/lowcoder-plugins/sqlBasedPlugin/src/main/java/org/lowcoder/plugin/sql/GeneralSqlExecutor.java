@@ -4,12 +4,15 @@ import jakarta.annotation.Nonnull;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.Pair;
 import org.lowcoder.sdk.exception.PluginException;
+import org.lowcoder.sdk.models.CompactRows;
 import org.lowcoder.sdk.models.QueryExecutionResult;
+import org.lowcoder.sdk.plugin.common.sql.LimitedResultSet;
 import org.lowcoder.sdk.plugin.common.sql.ResultSetParser;
 import org.lowcoder.sdk.plugin.common.sql.SqlBasedQueryExecutionContext;
 import org.lowcoder.sdk.plugin.sqlcommand.GuiSqlCommand;
 import org.lowcoder.sdk.plugin.sqlcommand.GuiSqlCommand.GuiSqlCommandRenderResult;
 import org.lowcoder.sdk.plugin.sqlcommand.command.UpdateOrDeleteSingleCommandRenderResult;
+import org.lowcoder.sdk.query.ResultSetLimits;
 
 import java.math.BigDecimal;
 import java.sql.*;
@@ -50,30 +53,46 @@ public class GeneralSqlExecutor {
         Map<String, Object> requestParams = new HashMap<>(context.getRequestParams());
 
         StatementInput statementInput = getSqlExecutionInput(guiSqlCommand, query, isPreparedStatement, requestParams);
-        return doExecute(connection, statementInput);
+        return doExecute(connection, statementInput, context.getResultSetLimits(), context.isCompactResult());
     }
 
-    private QueryExecutionResult doExecute(Connection connection, StatementInput statementInput) {
-        Pair<Statement, Boolean> executionResult = getStatementAndExecute(connection, statementInput);
+    private QueryExecutionResult doExecute(Connection connection, StatementInput statementInput, ResultSetLimits limits,
+            boolean compactResult) {
+        Pair<Statement, Boolean> executionResult = getStatementAndExecute(connection, statementInput, limits);
 
         boolean isResultSet = executionResult.getRight();
         try (Statement statement = executionResult.getLeft()) {
-            return parseExecuteResult(statement, isResultSet);
+            try {
+                return parseExecuteResult(statement, isResultSet, limits, compactResult);
+            } catch (PluginException e) {
+                // stop the database from producing the rest of a result we are not going to read
+                cancelQuietly(statement);
+                throw e;
+            }
         } catch (SQLException e) {
             throw wrapException(QUERY_EXECUTION_ERROR, "QUERY_EXECUTION_ERROR", e);
         }
     }
 
-    private QueryExecutionResult parseExecuteResult(Statement statement, boolean isResultSet) throws SQLException {
+    private QueryExecutionResult parseExecuteResult(Statement statement, boolean isResultSet, ResultSetLimits limits,
+            boolean compactResult) throws SQLException {
 
         List<Object> result = newArrayList();
         int updateCount = statement.getUpdateCount();
         do {
             if (isResultSet) {
                 try (ResultSet resultSet = statement.getResultSet()) {
-                    List<Map<String, Object>> dataRows = parseDataRows(resultSet);
-                    if (!isGeneratedKeysWithNullValue(dataRows)) {
-                        result.add(dataRows);
+                    ResultSet limitedResultSet = LimitedResultSet.wrap(resultSet, limits);
+                    if (compactResult) {
+                        CompactRows compactRows = parseCompactDataRows(limitedResultSet);
+                        if (!isGeneratedKeysWithNullValue(compactRows)) {
+                            result.add(compactRows);
+                        }
+                    } else {
+                        List<Map<String, Object>> dataRows = parseDataRows(limitedResultSet);
+                        if (!isGeneratedKeysWithNullValue(dataRows)) {
+                            result.add(dataRows);
+                        }
                     }
                 }
             } else {
@@ -95,6 +114,14 @@ public class GeneralSqlExecutor {
         return ResultSetParser.parseRows(resultSet);
     }
 
+    /**
+     * executors overriding {@link #parseDataRows(ResultSet)} should override this too with the same value conversions,
+     * reading the values straight into the row arrays rather than going through the row maps.
+     */
+    protected CompactRows parseCompactDataRows(ResultSet resultSet) throws SQLException {
+        return ResultSetParser.parseCompactRows(resultSet);
+    }
+
     private Map<String, Object> getAffectRowsAndGeneratedKeys(Statement statement, int updateCount) throws SQLException {
         Map<String, Object> result = newHashMapWithExpectedSize(2);
         result.put("affectedRows", updateCount);
@@ -113,6 +140,31 @@ public class GeneralSqlExecutor {
         return result;
     }
 
+    private static void cancelQuietly(Statement statement) {
+        try {
+            statement.cancel();
+        } catch (Exception e) {
+            log.debug("cancel statement error", e);
+        }
+    }
+
+    /**
+     * fetch size and max rows are only hints for the driver, drivers not supporting them are left as they are.
+     * Max rows is set one above the limit so that exceeding it can still be detected.
+     */
+    private static void applyResultSetLimits(Statement statement, ResultSetLimits limits) {
+        try {
+            if (limits.fetchSize() > 0) {
+                statement.setFetchSize(limits.fetchSize());
+            }
+            if (limits.isRowLimited() && limits.maxRows() < Integer.MAX_VALUE) {
+                statement.setMaxRows(limits.maxRows() + 1);
+            }
+        } catch (SQLException e) {
+            log.debug("apply result set limits error", e);
+        }
+    }
+
     private static ResultSet getGeneratedKeys(Statement statement) {
         // Oracle will throw exception here in some cases, so we catch the exception here
         try {
@@ -133,11 +185,15 @@ public class GeneralSqlExecutor {
         return false;
     }
 
-    private Pair<Statement, Boolean> getStatementAndExecute(Connection connection, StatementInput statementInput) {
+    private static boolean isGeneratedKeysWithNullValue(CompactRows compactRows) {
+        return compactRows.size() == 1 && compactRows.getColumns().equals(List.of("GENERATED_KEYS"));
+    }
+
+    private Pair<Statement, Boolean> getStatementAndExecute(Connection connection, StatementInput statementInput, ResultSetLimits limits) {
 
         if (statementInput instanceof UpdateOrDeleteSingleRowStatementInput comboInput) {
             StatementInput selectInput = comboInput.getSelectInput();
-            QueryExecutionResult selectResult = doExecute(connection, selectInput);
+            QueryExecutionResult selectResult = doExecute(connection, selectInput, ResultSetLimits.UNLIMITED, false);
             int selectCount = getSelectCount(selectResult);
             if (selectCount > 1) {
                 throw new PluginException(QUERY_EXECUTION_ERROR, "AFFECT_MORE_THAN_ONE_ROWS_FOR_SINGLE_COMMAND");
@@ -193,6 +249,7 @@ public class GeneralSqlExecutor {
                 } while(orderByIndex >= 0);
 
                 var statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+                applyResultSetLimits(statement, limits);
 
                 bindPreparedStatementParams(statement, params);
                 var isResultSet = statement.execute();
@@ -200,6 +257,7 @@ public class GeneralSqlExecutor {
             }
 
             var statement = connection.createStatement();
+            applyResultSetLimits(statement, limits);
             boolean isResultSet;
             if (supportGenerateKeys) {
                 isResultSet = statement.execute(statementInput.getSql(), Statement.RETURN_GENERATED_KEYS);
@@ -48,6 +48,8 @@ public abstract class SqlBasedQueryExecutor extends BlockingQueryExecutor<SqlBas
             return SqlBasedQueryExecutionContext.builder()
                     .guiSqlCommand(sqlCommand)
                     .requestParams(requestParams)
+                    .resultSetLimits(queryVisitorContext.getResultSetLimits())
+                    .compactResult(queryVisitorContext.isCompactResult())
                     .build();
         }
 
@@ -61,6 +63,8 @@ public abstract class SqlBasedQueryExecutor extends BlockingQueryExecutor<SqlBas
                 .requestParams(requestParams)
                 .disablePreparedStatement(datasourceConfig.isEnableTurnOffPreparedStatement() &&
                         sqlQueryConfig.isDisablePreparedStatement())
+                .resultSetLimits(queryVisitorContext.getResultSetLimits())
+                .compactResult(queryVisitorContext.isCompactResult())
                 .build();
     }
 
@@ -40,6 +40,8 @@ public class CommonConfig {
     private JsExecutor jsExecutor = new JsExecutor();
     private Set<String> disallowedHosts = new HashSet<>();
     private List<String> pluginDirs = new ArrayList<>();
+    private PluginEvents pluginEvents = new PluginEvents();
+    private Asset asset = new Asset();
     private SuperAdmin superAdmin = new SuperAdmin();
     private Marketplace marketplace = new Marketplace();
     private String lowcoderPublicUrl;
@@ -138,6 +140,10 @@ public class CommonConfig {
     public static class Cookie {
         //Set cookie max age to 1 day
         private long maxAgeInHours = 24;
+        // how long a user resolved from a session token is kept in memory, 0 to disable
+        private long sessionCacheTtlInSeconds = 10;
+        // the validity of a session token is extended at most once within this interval
+        private long extendValidityIntervalInSeconds = 60;
 
         public long getMaxAgeInSeconds() {
             return Duration.ofHours(maxAgeInHours).toSeconds();
@@ -164,6 +170,50 @@ public class CommonConfig {
     public static class Query {
         private long readStructureTimeout = 15000;
         private long appSnapshotKeepDuration = 30;
+        private int appSnapshotKeyframeInterval = 20;
+        private boolean appSnapshotCompressDelta = true;
+        private int appSnapshotArchiveBatchSize = 1000;
+        private int appSnapshotCompressThresholdBytes = 1024;
+        private int appSnapshotLastDslCacheMaxSizeMb = 32;
+        private long appSnapshotLastDslCacheExpireMinutes = 30;
+        private long appQueryIndexCacheSize = 1000;
+        private long appModuleClosureCacheSize = 1000;
+        private long appModuleClosureCacheExpireSeconds = 300;
+        private long datasourceCacheSize = 1000;
+        private long datasourceCacheExpireSeconds = 60;
+        private int appViewCacheMaxSizeMb = 64;
+        // 0 for no limit, the result is still bounded by max-query-response-size
+        private int maxResultRows = 0;
+        private int sqlFetchSize = 500;
+        private int httpMaxConnections = 500;
+        private int httpPendingAcquireMaxCount = 1000;
+        private long httpMaxIdleTime = 30000;
+    }
+
+    @Getter
+    @Setter
+    public static class Asset {
+        private int cacheMaxSizeMb = 32;
+        private int cacheMaxAssetSizeKb = 64;
+        /**
+         * smaller thumbnails stored along with the main one, whose size is the thumbNailPhotoDimension asset config
+         */
+        private List<Integer> thumbnailSizes = List.of(32, 64);
+        private int thumbnailThreads = 2;
+        private int thumbnailQueueSize = 100;
+    }
+
+    @Getter
+    @Setter
+    public static class PluginEvents {
+        private int queueCapacity = 10000;
+        private int batchSize = 100;
+        private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_NEWEST;
+    }
+
+    public enum OverflowPolicy {
+        DROP_NEWEST,
+        DROP_OLDEST,
     }
 
     @Data
@@ -1,11 +1,29 @@
 package org.lowcoder.sdk.config.dynamic;
 
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
 public interface Conf<T> extends Supplier<T> {
 
     default <K> Conf<K> then(Function<T, K> mapper) {
-        return () -> mapper.apply(this.get());
+        Conf<T> source = this;
+        return new Conf<>() {
+            @Override
+            public K get() {
+                return mapper.apply(source.get());
+            }
+
+            @Override
+            public void onChange(Consumer<K> listener) {
+                source.onChange(value -> listener.accept(mapper.apply(value)));
+            }
+        };
+    }
+
+    /**
+     * register a listener called with the new value each time it changes, static confs never change.
+     */
+    default void onChange(Consumer<T> listener) {
     }
 }
@@ -17,6 +17,7 @@ public enum PluginCommonError implements PluginError {
     SQL_IN_OPERATOR_PARSE_ERROR(ErrorLogType.VERBOSE),
     PREPARED_STATEMENT_BIND_PARAMETERS_ERROR,
     EXCEED_MAX_QUERY_TIMEOUT,
+    EXCEED_QUERY_RESULT_LIMIT,
 
     CONNECTION_ERROR,
 
@@ -0,0 +1,29 @@
+package org.lowcoder.sdk.models;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * column oriented form of a tabular query result: the column labels are sent once, followed by one value array per row
+ * in the same order, instead of repeating every label as a key in each row.
+ * <p>
+ * Only returned when the client asks for it, see {@link org.lowcoder.sdk.query.QueryVisitorContext#isCompactResult()}.
+ */
+@Getter
+public class CompactRows {
+
+    public static final String COMPACT_RESULT_FORMAT = "compact";
+
+    private final List<String> columns;
+    private final List<Object[]> rows;
+
+    public CompactRows(List<String> columns, List<Object[]> rows) {
+        this.columns = columns;
+        this.rows = rows;
+    }
+
+    public int size() {
+        return rows.size();
+    }
+}
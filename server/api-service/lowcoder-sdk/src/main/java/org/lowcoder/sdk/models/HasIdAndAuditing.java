@@ -21,7 +21,7 @@ import java.time.Instant;
 @Getter
 @Setter
 @ToString
-@SuperBuilder
+@SuperBuilder(toBuilder = true)
 @JsonIgnoreProperties(ignoreUnknown = true)
 @NoArgsConstructor
 public abstract class HasIdAndAuditing implements Persistable<String>, VersionedModel, Serializable {
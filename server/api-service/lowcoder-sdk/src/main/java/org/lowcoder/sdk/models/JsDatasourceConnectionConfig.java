@@ -98,6 +98,21 @@ public class JsDatasourceConnectionConfig extends HashMap<String, Object> implem
         return Collections.emptyList();
     }
 
+    /**
+     * a copy that can be changed, e.g. by {@link #removePasswords()} or {@link #doDecrypt(Function)}, without changing this
+     * config.
+     */
+    public JsDatasourceConnectionConfig copy() {
+        JsDatasourceConnectionConfig copy = new JsDatasourceConnectionConfig();
+        copy.putAll(this);
+        if (this.get("dynamicParamsConfig") instanceof Map<?, ?> dynamicParamsConfig) {
+            copy.put("dynamicParamsConfig", new HashMap<>(dynamicParamsConfig));
+        }
+        copy.setDefinition(definition);
+        copy.setType(type);
+        return copy;
+    }
+
     public void removePasswords() {
         for (String passwordKey : getAllStaticPasswordTypeKeys()) {
             this.remove(passwordKey);
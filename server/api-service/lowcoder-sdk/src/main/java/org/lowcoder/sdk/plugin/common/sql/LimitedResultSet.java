@@ -0,0 +1,120 @@
+package org.lowcoder.sdk.plugin.common.sql;
+
+import org.lowcoder.sdk.exception.PluginException;
+import org.lowcoder.sdk.query.ResultSetLimits;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.ResultSet;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.lowcoder.sdk.exception.PluginCommonError.EXCEED_QUERY_RESULT_LIMIT;
+
+/**
+ * Wraps a {@link ResultSet} so that reading more rows or bytes than the {@link ResultSetLimits} allow fails
+ * as soon as the limit is crossed, instead of materializing an unbounded result in memory first.
+ * <p>
+ * Working at the {@link ResultSet} level keeps every plugin-specific row parser bounded without changing them.
+ * The byte count is an estimate of the values read, each cell being counted once per row.
+ */
+public final class LimitedResultSet implements InvocationHandler {
+
+    private static final Set<String> NON_VALUE_GETTERS = Set.of("getMetaData", "getStatement", "getRow", "getType",
+            "getConcurrency", "getHoldability", "getFetchSize", "getFetchDirection", "getWarnings", "getCursorName");
+
+    private final ResultSet delegate;
+    private final ResultSetLimits limits;
+    private final Set<Object> countedColumnsOfRow = new HashSet<>();
+    private int rows;
+    private long bytes;
+
+    private LimitedResultSet(ResultSet delegate, ResultSetLimits limits) {
+        this.delegate = delegate;
+        this.limits = limits;
+    }
+
+    public static ResultSet wrap(ResultSet resultSet, ResultSetLimits limits) {
+        if (resultSet == null || limits.isUnlimited()) {
+            return resultSet;
+        }
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] {ResultSet.class},
+                new LimitedResultSet(resultSet, limits));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        Object result;
+        try {
+            result = method.invoke(delegate, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+
+        String methodName = method.getName();
+        if ("next".equals(methodName)) {
+            onNext((Boolean) result);
+        } else if (isValueGetter(methodName, args)) {
+            onValueRead(args[0], result);
+        }
+        return result;
+    }
+
+    private void onNext(boolean hasRow) {
+        countedColumnsOfRow.clear();
+        if (!hasRow) {
+            return;
+        }
+        rows++;
+        if (limits.isRowLimited() && rows > limits.maxRows()) {
+            throw new PluginException(EXCEED_QUERY_RESULT_LIMIT, "EXCEED_QUERY_RESULT_ROWS", limits.maxRows());
+        }
+    }
+
+    private void onValueRead(Object column, Object value) {
+        if (!limits.isByteLimited() || !countedColumnsOfRow.add(column)) {
+            return;
+        }
+        bytes += estimateSize(value);
+        if (bytes > limits.maxBytes()) {
+            throw new PluginException(EXCEED_QUERY_RESULT_LIMIT, "EXCEED_QUERY_RESULT_SIZE", limits.maxBytes());
+        }
+    }
+
+    private static boolean isValueGetter(String methodName, Object[] args) {
+        return methodName.startsWith("get")
+                && !NON_VALUE_GETTERS.contains(methodName)
+                && args != null && args.length > 0
+                && (args[0] instanceof Integer || args[0] instanceof String);
+    }
+
+    static long estimateSize(Object value) {
+        if (value == null) {
+            return 4;
+        }
+        if (value instanceof CharSequence charSequence) {
+            return charSequence.length();
+        }
+        if (value instanceof byte[] bytes) {
+            return bytes.length;
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return 8;
+        }
+        try {
+            if (value instanceof Blob blob) {
+                return blob.length();
+            }
+            if (value instanceof Clob clob) {
+                return clob.length();
+            }
+        } catch (Exception e) {
+            // fall through to the string estimate
+        }
+        return String.valueOf(value).length();
+    }
+}
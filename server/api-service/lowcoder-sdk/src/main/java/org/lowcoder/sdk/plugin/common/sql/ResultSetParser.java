@@ -2,6 +2,7 @@ package org.lowcoder.sdk.plugin.common.sql;
 
 import org.apache.commons.codec.binary.Base64;
 import org.jetbrains.annotations.Nullable;
+import org.lowcoder.sdk.models.CompactRows;
 
 import java.sql.Blob;
 import java.sql.ResultSet;
@@ -32,58 +33,83 @@ public class ResultSetParser {
     public static List<Map<String, Object>> parseRows(ResultSet resultSet) throws SQLException {
         ResultSetMetaData metaData = resultSet.getMetaData();
         int columnCount = metaData.getColumnCount();
+        List<String> labels = parseColumns(metaData);
+        ColumnReader[] readers = resolveReaders(metaData, columnCount);
         List<Map<String, Object>> result = new ArrayList<>();
         while (resultSet.next()) {
-            Map<String, Object> row = parseRow(resultSet, metaData, columnCount);
+            Map<String, Object> row = new LinkedHashMap<>(columnCount);
+            // the first column is 1, the second is 2, ...
+            for (int i = 1; i <= columnCount; i++) {
+                row.put(labels.get(i - 1), readers[i - 1].read(resultSet, i));
+            }
             result.add(row);
         }
         return result;
     }
 
-    private static Map<String, Object> parseRow(ResultSet resultSet, ResultSetMetaData metaData, int colCount) throws SQLException {
-        Map<String, Object> row = new LinkedHashMap<>(colCount);
+    /**
+     * same values as {@link #parseRows(ResultSet)}, with the column labels kept once instead of in every row.
+     */
+    public static CompactRows parseCompactRows(ResultSet resultSet) throws SQLException {
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        ColumnReader[] readers = resolveReaders(metaData, columnCount);
+        List<Object[]> rows = new ArrayList<>();
+        while (resultSet.next()) {
+            Object[] row = new Object[columnCount];
+            for (int i = 1; i <= columnCount; i++) {
+                row[i - 1] = readers[i - 1].read(resultSet, i);
+            }
+            rows.add(row);
+        }
+        return new CompactRows(parseColumns(metaData), rows);
+    }
 
-        // the first column is 1, the second is 2, ...
-        for (int i = 1; i <= colCount; i++) {
-            String typeName = metaData.getColumnTypeName(i);
-            Object value = getValue(resultSet, i, typeName);
-            row.put(metaData.getColumnLabel(i), value);
+    /**
+     * column types don't change between rows, so the reader of each column is picked once per result set.
+     */
+    private static ColumnReader[] resolveReaders(ResultSetMetaData metaData, int columnCount) throws SQLException {
+        ColumnReader[] readers = new ColumnReader[columnCount];
+        for (int i = 1; i <= columnCount; i++) {
+            readers[i - 1] = resolveReader(metaData.getColumnTypeName(i));
         }
-        return row;
+        return readers;
     }
 
-    @Nullable
-    private static Object getValue(ResultSet resultSet, int i, String typeName) throws SQLException {
+    private static ColumnReader resolveReader(String typeName) {
 
         // Special handle for this issue:
         // com.mysql.cj.exceptions.DataReadException: The value '30:00:00' is an invalid TIME value.
         //  JDBC Time objects represent a wall-clock time and not a duration as MySQL treats them. If
         //  you are treating this type as a duration, consider retrieving this value as a string and
         //  dealing with it according to your requirements.
-        if (typeName.equalsIgnoreCase("TIME") && isDuration(resultSet, i)) {
-            return resultSet.getString(i);
-        }
-
-        if (resultSet.getObject(i) == null) {
-            return null;
+        if ("TIME".equalsIgnoreCase(typeName)) {
+            return (resultSet, i) -> isDuration(resultSet, i) ? resultSet.getString(i) : resultSet.getObject(i);
         }
         if (DATE_COLUMN_TYPE_NAME.equalsIgnoreCase(typeName)) {
-            return DateTimeFormatter.ISO_DATE.format(resultSet.getDate(i).toLocalDate());
+            return nullSafe((resultSet, i) -> DateTimeFormatter.ISO_DATE.format(resultSet.getDate(i).toLocalDate()));
         }
         if (DATETIME_COLUMN_TYPE_NAME.equalsIgnoreCase(typeName)
                 || TIMESTAMP_COLUMN_TYPE_NAME.equalsIgnoreCase(typeName)) {
-            return DATE_TIME_FORMAT.format(LocalDateTime.of(resultSet.getDate(i).toLocalDate(), resultSet.getTime(i).toLocalTime()));
+            return nullSafe((resultSet, i) -> DATE_TIME_FORMAT.format(LocalDateTime.of(resultSet.getDate(i).toLocalDate(),
+                    resultSet.getTime(i).toLocalTime())));
         }
         if (YEAR_COLUMN_TYPE_NAME.equalsIgnoreCase(typeName)) {
-            return resultSet.getDate(i).toLocalDate().getYear();
+            return nullSafe((resultSet, i) -> resultSet.getDate(i).toLocalDate().getYear());
         }
         if (BLOB_COLUMN_TYPE_NAME.equalsIgnoreCase(typeName)) {
             //Convert binary data into base64
-            Blob blob = resultSet.getBlob(i);
-            byte[] blobBytes = blob.getBytes(1, (int) blob.length());
-            return Base64.encodeBase64String(blobBytes);
+            return nullSafe((resultSet, i) -> {
+                Blob blob = resultSet.getBlob(i);
+                byte[] blobBytes = blob.getBytes(1, (int) blob.length());
+                return Base64.encodeBase64String(blobBytes);
+            });
         }
-        return resultSet.getObject(i);
+        return ResultSet::getObject;
+    }
+
+    private static ColumnReader nullSafe(ColumnReader reader) {
+        return (resultSet, i) -> resultSet.getObject(i) == null ? null : reader.read(resultSet, i);
     }
 
     private static boolean isDuration(ResultSet resultSet, int i) {
@@ -107,4 +133,10 @@ public class ResultSetParser {
                 })
                 .collect(Collectors.toList());
     }
+
+    @FunctionalInterface
+    private interface ColumnReader {
+        @Nullable
+        Object read(ResultSet resultSet, int column) throws SQLException;
+    }
 }
@@ -4,6 +4,7 @@ import lombok.Builder;
 import lombok.Getter;
 import org.lowcoder.sdk.plugin.sqlcommand.GuiSqlCommand;
 import org.lowcoder.sdk.query.QueryExecutionContext;
+import org.lowcoder.sdk.query.ResultSetLimits;
 
 import java.util.Map;
 
@@ -16,25 +17,35 @@ public class SqlBasedQueryExecutionContext extends QueryExecutionContext {
     private final Map<String, Object> requestParams;
     private final boolean disablePreparedStatement;
     private final GuiSqlCommand guiSqlCommand;
+    private final ResultSetLimits resultSetLimits;
+    private final boolean compactResult;
 
     @Builder
     private SqlBasedQueryExecutionContext(String query, Map<String, Object> requestParams, boolean disablePreparedStatement,
-            GuiSqlCommand guiSqlCommand) {
+            GuiSqlCommand guiSqlCommand, ResultSetLimits resultSetLimits, boolean compactResult) {
         this.query = query;
         this.requestParams = requestParams;
         this.disablePreparedStatement = disablePreparedStatement;
         this.guiSqlCommand = guiSqlCommand;
+        this.resultSetLimits = resultSetLimits;
+        this.compactResult = compactResult;
     }
 
     public Map<String, Object> getRequestParams() {
         return emptyIfNull(requestParams);
     }
 
+    public ResultSetLimits getResultSetLimits() {
+        return resultSetLimits == null ? ResultSetLimits.UNLIMITED : resultSetLimits;
+    }
+
     public SqlBasedQueryExecutionContextBuilder toBuilder() {
         return SqlBasedQueryExecutionContext.builder()
                 .query(query)
                 .requestParams(requestParams)
                 .disablePreparedStatement(disablePreparedStatement)
-                .guiSqlCommand(guiSqlCommand);
+                .guiSqlCommand(guiSqlCommand)
+                .resultSetLimits(resultSetLimits)
+                .compactResult(compactResult);
     }
 }
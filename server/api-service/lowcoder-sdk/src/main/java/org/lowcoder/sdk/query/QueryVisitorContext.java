@@ -20,14 +20,44 @@ public class QueryVisitorContext {
 
     private final Mono<List<Property>> authTokenMono;
     private final Set<String> disallowedHosts;
+    private final ResultSetLimits resultSetLimits;
+    /**
+     * whether the client asked for tabular results as {@link org.lowcoder.sdk.models.CompactRows}
+     */
+    private final boolean compactResult;
 
     public QueryVisitorContext(String visitorId, String applicationOrgId, int systemPort,
             MultiValueMap<String, HttpCookie> cookies, Mono<List<Property>> authTokenMono, Set<String> disallowedHosts) {
+        this(visitorId, applicationOrgId, systemPort, cookies, authTokenMono, disallowedHosts, null, false);
+    }
+
+    private QueryVisitorContext(String visitorId, String applicationOrgId, int systemPort,
+            MultiValueMap<String, HttpCookie> cookies, Mono<List<Property>> authTokenMono, Set<String> disallowedHosts,
+            ResultSetLimits resultSetLimits, boolean compactResult) {
         this.visitorId = visitorId;
         this.applicationOrgId = applicationOrgId;
         this.systemPort = systemPort;
         this.cookies = cookies;
         this.authTokenMono = authTokenMono;
         this.disallowedHosts = disallowedHosts;
+        this.resultSetLimits = resultSetLimits;
+        this.compactResult = compactResult;
+    }
+
+    /**
+     * server side limits for the results read by sql and rest api plugins, which the query config of a user can't change
+     */
+    public ResultSetLimits getResultSetLimits() {
+        return resultSetLimits == null ? ResultSetLimits.UNLIMITED : resultSetLimits;
+    }
+
+    public QueryVisitorContext withResultSetLimits(ResultSetLimits resultSetLimits) {
+        return new QueryVisitorContext(visitorId, applicationOrgId, systemPort, cookies, authTokenMono, disallowedHosts, resultSetLimits,
+                compactResult);
+    }
+
+    public QueryVisitorContext withCompactResult(boolean compactResult) {
+        return new QueryVisitorContext(visitorId, applicationOrgId, systemPort, cookies, authTokenMono, disallowedHosts, resultSetLimits,
+                compactResult);
     }
 }
@@ -0,0 +1,44 @@
+package org.lowcoder.sdk.query;
+
+/**
+ * upper bounds for the rows and bytes a sql query may read into memory, together with the jdbc fetch size. The max bytes
+ * also bound the response body of a rest api query.
+ * <p>
+ * The server passes them to the plugins executed locally through {@link QueryVisitorContext#getResultSetLimits()}.
+ */
+public record ResultSetLimits(int maxRows, long maxBytes, int fetchSize) {
+
+    public static final ResultSetLimits UNLIMITED = new ResultSetLimits(0, 0, 0);
+
+    /**
+     * a non-positive max rows value means no limit
+     */
+    public boolean isRowLimited() {
+        return maxRows > 0;
+    }
+
+    /**
+     * a non-positive max bytes value means no limit
+     */
+    public boolean isByteLimited() {
+        return maxBytes > 0;
+    }
+
+    public boolean isUnlimited() {
+        return !isRowLimited() && !isByteLimited();
+    }
+
+    /**
+     * the stricter of these limits and the given ones, which can only lower them. non-positive values leave a limit as is.
+     */
+    public ResultSetLimits capped(int maxRows, long maxBytes) {
+        return new ResultSetLimits((int) stricter(this.maxRows, maxRows), stricter(this.maxBytes, maxBytes), fetchSize);
+    }
+
+    private static long stricter(long limit, long cap) {
+        if (cap <= 0) {
+            return limit;
+        }
+        return limit <= 0 ? cap : Math.min(limit, cap);
+    }
+}
@@ -23,28 +23,17 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.collect.Iterables;
-import jakarta.annotation.Nonnull;
-import jakarta.validation.constraints.NotNull;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.lang3.Range;
 import org.apache.commons.text.StringEscapeUtils;
 import org.lowcoder.sdk.exception.PluginException;
 
 import java.time.Duration;
 import java.util.*;
-import java.util.function.Function;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
-import static com.google.common.collect.Lists.newArrayList;
 import static org.apache.commons.lang3.ObjectUtils.firstNonNull;
 import static org.apache.commons.lang3.StringUtils.isBlank;
-import static org.apache.commons.lang3.StringUtils.substring;
 import static org.lowcoder.sdk.exception.PluginCommonError.SQL_IN_OPERATOR_PARSE_ERROR;
 import static org.lowcoder.sdk.util.JsonUtils.toJson;
-import static org.lowcoder.sdk.util.StreamUtils.collectMap;
 
 @Slf4j
 public final class MustacheHelper {
@@ -52,27 +41,29 @@ public final class MustacheHelper {
     private MustacheHelper() {
     }
 
-    private static final char SPECIAL_CHAR_4_PREPARED_STATEMENT = 16;
-    private static final String SPECIAL_STRING_4_PREPARED_STATEMENT = SPECIAL_CHAR_4_PREPARED_STATEMENT + "";
-
-    // MySQL IN operator: xxx in (?)
-    private static final Pattern MYSQL_IN_OPERATOR_PATTERN =
-            Pattern.compile(".*\\s+(in|IN|In|iN)\\s*\\(\\s*" + SPECIAL_CHAR_4_PREPARED_STATEMENT + "\\s*\\)$");
-
-    private static final Cache<String, List<String>> MUSTACHE_KEY_CACHE;
-    private static final long MUSTACHE_KEY_CACHE_MAX_SIZE = 100000;
-    private static final int MUSTACHE_KEY_CACHE_EXPIRE_MINUTES = 15;
+    private static final Cache<String, MustacheTemplate> MUSTACHE_TEMPLATE_CACHE;
+    private static final long MUSTACHE_TEMPLATE_CACHE_MAX_SIZE = 100000;
+    private static final int MUSTACHE_TEMPLATE_CACHE_EXPIRE_MINUTES = 15;
 
     static {
-        MUSTACHE_KEY_CACHE = Caffeine.newBuilder()
-                .maximumSize(MUSTACHE_KEY_CACHE_MAX_SIZE)
-                .expireAfterWrite(Duration.ofMinutes(MUSTACHE_KEY_CACHE_EXPIRE_MINUTES))
+        MUSTACHE_TEMPLATE_CACHE = Caffeine.newBuilder()
+                .maximumSize(MUSTACHE_TEMPLATE_CACHE_MAX_SIZE)
+                .expireAfterAccess(Duration.ofMinutes(MUSTACHE_TEMPLATE_CACHE_EXPIRE_MINUTES))
                 .build();
     }
 
+    /**
+     * @return the compiled form of the template, shared between calls with the same template string
+     */
+    public static MustacheTemplate compile(String template) {
+        if (isBlank(template)) {
+            return new MustacheTemplate(template, Collections.emptyList());
+        }
+        return MUSTACHE_TEMPLATE_CACHE.get(template, key -> new MustacheTemplate(key, doTokenize(key)));
+    }
+
     public static List<String> tokenize(String template) {
-        List<String> strings = MUSTACHE_KEY_CACHE.get(template, MustacheHelper::doTokenize);
-        return new ArrayList<>(strings);
+        return new ArrayList<>(compile(template).getTokens());
     }
 
     /**
@@ -83,7 +74,8 @@ public final class MustacheHelper {
      * should give the original template back. The tokens are split such that alternative strings in the list are plain
      * text and the others are mustache interpolations.
      */
-    private static List<String> doTokenize(String template) {
+    @VisibleForTesting
+    static List<String> doTokenize(String template) {
         if (isBlank(template)) {
             return Collections.emptyList();
         }
@@ -193,18 +185,8 @@ public final class MustacheHelper {
      * trimmed.
      */
     public static Set<String> extractMustacheKeys(String template) {
-        Set<String> keys = new HashSet<>();
-
-        for (String token : tokenize(template)) {
-            if (token.startsWith("{{") && token.endsWith("}}")) {
-                // Allowing empty tokens to be added, to be compatible with the previous `extractMustacheKeys` method.
-                // Calling `.trim()` before adding because Mustache compiler strips keys in the template before looking
-                // up a value.
-                keys.add(removeCurlyBraces(token));
-            }
-        }
-
-        return keys;
+        // Allowing empty tokens to be added, to be compatible with the previous `extractMustacheKeys` method.
+        return new HashSet<>(compile(template).getKeysInOrder());
     }
 
     public static Set<String> extractMustacheKeysWithCurlyBraces(String template) {
@@ -228,18 +210,7 @@ public final class MustacheHelper {
 
     // For prepared statements we should extract the bindings in order in a list and include duplicate bindings as well.
     public static List<String> extractMustacheKeysInOrder(String template) {
-        List<String> keys = new ArrayList<>();
-
-        for (String token : tokenize(template)) {
-            if (token.startsWith("{{") && token.endsWith("}}")) {
-                // Allowing empty tokens to be added, to be compatible with the previous `extractMustacheKeys` method.
-                // Calling `.trim()` before adding because Mustache compiler strips keys in the template before looking
-                // up a value.
-                keys.add(removeCurlyBraces(token));
-            }
-        }
-
-        return keys;
+        return new ArrayList<>(compile(template).getKeysInOrder());
     }
 
     private static void clearAndPushToken(StringBuilder tokenBuilder, List<String> tokenList) {
@@ -269,8 +240,7 @@ public final class MustacheHelper {
             return template;
         }
 
-        List<String> tokenize = tokenize(template);
-        return renderMustacheTokens(tokenize, paramMap);
+        return compile(template).render(paramMap);
     }
 
     @SuppressWarnings("DuplicatedCode")
@@ -278,8 +248,7 @@ public final class MustacheHelper {
         if (isBlank(template)) {
             return template;
         }
-        List<String> tokenize = tokenize(template);
-        return renderMustacheTokens(tokenize, paramMap, false);
+        return compile(template).render(paramMap, false);
     }
 
     public static String[] renderMustacheArrayString(String[] template, Map<String, ?> paramMap) {
@@ -318,250 +287,30 @@ public final class MustacheHelper {
 
 
     public static String replaceMustacheWithQuestionMarkMore(String query, List<String> mustacheBindings, Map<String, Object> param) {
-        Map<String, String> replaceParamsMap =
-                mustacheBindings.stream().collect(Collectors.toMap(Function.identity(), v -> SPECIAL_STRING_4_PREPARED_STATEMENT, (a, b) -> b));
-        query = renderMustacheString(query, replaceParamsMap);
-        String s = processMoreThanQuestionsInsideQuote(query, mustacheBindings, param, 0);
-        return s.replace(SPECIAL_CHAR_4_PREPARED_STATEMENT, '?');
+        return getPreparedSqlTemplate(query, mustacheBindings).bindQuotedPlaceholders(mustacheBindings, param);
     }
 
     public static String doPrepareStatement(String sql, List<String> mustacheKeys, Map<String, Object> param) {
-        Map<String, String> replaceParamsMap = collectMap(mustacheKeys, Function.identity(), v -> SPECIAL_STRING_4_PREPARED_STATEMENT);
-        sql = renderMustacheString(sql, replaceParamsMap);
-        sql = processMoreThanQuestionsInsideQuote(sql, mustacheKeys, param, 0);
+        PreparedSqlTemplate preparedSqlTemplate = getPreparedSqlTemplate(sql, mustacheKeys);
+        preparedSqlTemplate.bindQuotedPlaceholders(mustacheKeys, param);
 
         try {
-            sql = replaceParamWithInOperator(sql, mustacheKeys, param);
+            return preparedSqlTemplate.expandInOperators(mustacheKeys, param);
         } catch (Exception e) {
             throw new PluginException(SQL_IN_OPERATOR_PARSE_ERROR, "SQL_IN_OPERATOR_PARSE_ERROR", e.getMessage());
         }
-        return sql.replace(SPECIAL_CHAR_4_PREPARED_STATEMENT, '?');
     }
 
-    private static String replaceParamWithInOperator(String sql, List<String> mustacheKeys, Map<String, Object> param) {
-
-        if (CollectionUtils.isEmpty(mustacheKeys)) {
-            return sql;
-        }
-
-        List<Integer> mustachePositions = getMustachePositions(sql);
-
-        int startPos = 0;
-        List<Integer> toRemoveParamIndexes = newArrayList();
-        StringBuilder sqlStringBuilder = new StringBuilder();
-        for (int i = 0; i < mustachePositions.size(); i++) {
-
-            Object o = param.get(mustacheKeys.get(i));
-            int currentPos = mustachePositions.get(i);
-
-            if (!(o instanceof Collection<?>)) { // skip if it's not a collection
-                sqlStringBuilder.append(substring(sql, startPos, currentPos + 1));
-                startPos = currentPos + 1;
-                continue;
-            }
-
-            int rightParIndex = findRightParIndex(sql, currentPos + 1);
-            if (rightParIndex == -1) { // skip if ")" is not found
-                sqlStringBuilder.append(substring(sql, startPos, currentPos + 1));
-                startPos = currentPos + 1;
-                continue;
-            }
-
-            String substring = substring(sql, startPos, rightParIndex + 1);
-            if (!matchInOperatorPattern(substring)) { // skip if it's not in "xxx in (?)" format
-                sqlStringBuilder.append(substring(sql, startPos, currentPos + 1));
-                startPos = currentPos + 1;
-                continue;
-            }
-
-            String jsonArray = toJson(o); // remove "[]" after toJson, and replace current sql param
-            sqlStringBuilder.append(substring(sql, startPos, currentPos))
-                    .append(substring(jsonArray, 1, jsonArray.length() - 1))
-                    .append(") ");
-            startPos = rightParIndex + 1;
-            toRemoveParamIndexes.add(i);
-        }
-
-        sqlStringBuilder.append(substring(sql, startPos, sql.length())); // append rest sql string
-        removeReplacedKeys(mustacheKeys, toRemoveParamIndexes);
-        return sqlStringBuilder.toString();
-    }
-
-    private static void removeReplacedKeys(List<String> mustacheKeys, List<Integer> toRemoveParamIndexes) {
-        toRemoveParamIndexes.stream()
-                .sorted(Comparator.reverseOrder())
-                .forEach(index -> mustacheKeys.remove((int) index));
-    }
-
-    private static boolean matchInOperatorPattern(String substring) {
-        return MYSQL_IN_OPERATOR_PATTERN.matcher(substring).find();
-    }
-
-    @Nonnull
-    private static List<Integer> getMustachePositions(String s) {
-        List<Integer> mustachePositions = newArrayList();
-        int startIndex = 0;
-        while (true) {
-            int index = s.indexOf(SPECIAL_CHAR_4_PREPARED_STATEMENT, startIndex);
-            if (index == -1) {
-                break;
-            }
-            mustachePositions.add(index);
-            startIndex = index + 1;
-        }
-        return mustachePositions;
-    }
-
-    private static int findRightParIndex(String str, int index) {
-        for (int j = index; j < str.length(); j++) {
-            char ch = str.charAt(j);
-            if (Character.isWhitespace(ch)) {
-                continue;
-            }
-            if (ch == ')') {
-                return j;
-            }
-            return -1;
-        }
-        return -1;
-    }
-
-
-    /**
-     * users tend to add quotes for sql params, here we treat param between quotes as a single param
-     * e.g.
-     * select * from user where name like '?%';                        => select * from user where name like ?;
-     * select * from user where name like '%?%?%';                     => select * from user where name like ?;
-     * select * from user where name like '"?%"';                      => select * from user where name like ?;
-     * select * from user where name like '?%' and name like '%?';     => select * from user where name like ? and name like ?;
-     */
-    private static String processMoreThanQuestionsInsideQuote(String query, List<String> bindingKeys, Map<String, Object> params,
-            int generateKeyNumber) {
-
-        Map<Integer, Integer> questionPositionIndexMap = getQuestionPositionIndexMap(query);
-
-        // find quote pair containing ?
-        Range<Integer> range = findQuotePairWithQuestionInside(query);
-        if (range.getMinimum() == -1) {
-            return query;
-        }
-
-        // get ? indexes
-        List<Integer> questionIndexes = new ArrayList<>();
-        for (int i = range.getMinimum(); i < range.getMaximum(); i++) {
-            if (query.charAt(i) == SPECIAL_CHAR_4_PREPARED_STATEMENT) {
-                questionIndexes.add(questionPositionIndexMap.get(i));
-            }
-        }
-        String quoteString = query.substring(range.getMinimum(), range.getMaximum());
-        // combine all "?"s into one "?"
-        query = query.substring(0, range.getMinimum()) + SPECIAL_CHAR_4_PREPARED_STATEMENT + query.substring(range.getMaximum());
-        String value = generateNewValue(bindingKeys, params, questionIndexes, quoteString);
-
-        // generate a new binding key for new "?"
-        String key = "generateKey_" + generateKeyNumber;
-        params.put(key, value);
-        updateBindingKeys(bindingKeys, questionIndexes, key);
-
-        return processMoreThanQuestionsInsideQuote(query, bindingKeys, params, generateKeyNumber + 1);
-    }
-
-    private static void updateBindingKeys(List<String> bindingKeys, List<Integer> questionIndexes, String key) {
-        Integer lastQuestionIndex = Iterables.getLast(questionIndexes);
-        bindingKeys.add(lastQuestionIndex + 1, key);
-
-        // remove original binding keys
-        Collections.reverse(questionIndexes);
-        for (int questionIndex : questionIndexes) {
-            bindingKeys.remove(questionIndex);//remove by index
-        }
-    }
-
-    @NotNull
-    private static String generateNewValue(List<String> bindingKeys, Map<String, Object> params, List<Integer> questionIndexes, String quoteString) {
-        // remove quotes
-        String value = quoteString.substring(1, quoteString.length() - 1);
-        // replace ? value one by one
-        for (int questionIndex : questionIndexes) {
-            Object valueObj = params.get(bindingKeys.get(questionIndex));
-            if (valueObj == null) {
-                value = value.replaceFirst(SPECIAL_STRING_4_PREPARED_STATEMENT, "");
-                continue;
-            }
-            if (valueObj instanceof Number || valueObj instanceof Boolean || valueObj instanceof String) {
-                value = value.replaceFirst(SPECIAL_STRING_4_PREPARED_STATEMENT, valueObj.toString());
-                continue;
-            }
-            value = value.replaceFirst(SPECIAL_STRING_4_PREPARED_STATEMENT, JsonUtils.toJson(valueObj));
-        }
-        return value;
-    }
-
-    @NotNull
-    private static Map<Integer, Integer> getQuestionPositionIndexMap(String query) {
-        // key: string index of "?", value: nth of "?"
-        Map<Integer, Integer> questionPositionIndexMap = new HashMap<>();
-        int count = 0;
-        for (int i = 0; i < query.length(); i++) {
-            if (query.charAt(i) == SPECIAL_CHAR_4_PREPARED_STATEMENT) {
-                questionPositionIndexMap.put(i, count++);
-            }
-        }
-        return questionPositionIndexMap;
-    }
-
-    private static Range<Integer> findQuotePairWithQuestionInside(String query) {
-        int startIndex = 0;
-        while (true) {
-            Range<Integer> range = findQuotePair(query, startIndex);
-            if (range.getMinimum() == -1) {
-                return range;
-            }
-            if (query.substring(range.getMinimum(), range.getMaximum()).contains(SPECIAL_STRING_4_PREPARED_STATEMENT)) {
-                return range;
-            }
-            startIndex = range.getMaximum() + 1;
-        }
-    }
-
-    private static Range<Integer> findQuotePair(String query, int startIndex) {
-        char quote = 0; // not quote
-        int start = -1;
-        for (int i = startIndex; i < query.length(); i++) {
-            if (!isQuote(query, i)) {
-                continue;
-            }
-
-            if (quote == 0) {
-                quote = query.charAt(i);
-                start = i;
-            } else {
-                if (query.charAt(i) == quote) {
-                    return Range.between(start, i + 1);
-                }
-            }
-        }
-        return Range.between(-1, -1);
-    }
-
-    private static boolean isQuote(String query, int index) {
-        char c = query.charAt(index);
-        return (c == '\'' || c == '"') && !isEscape(query, index);
-    }
-
-    private static boolean isEscape(String query, int index) {
-        int count = 0;
-        for (int i = index - 1; i >= 0; i--) {
-            if (query.charAt(i) != '\\') {
-                break;
-            }
-            count++;
+    private static PreparedSqlTemplate getPreparedSqlTemplate(String sql, List<String> mustacheKeys) {
+        MustacheTemplate template = compile(sql);
+        // the usual caller binds exactly the keys of the template, any other key list gets its own shape
+        if (template.getKeysInOrder().equals(mustacheKeys)) {
+            return template.getPreparedSql();
         }
-        // escape when odd count found
-        return count % 2 == 1;
+        return PreparedSqlTemplate.compile(template, mustacheKeys);
     }
 
-    private static String convertToStringValue(Object mustacheValue) {
+    static String convertToStringValue(Object mustacheValue) {
         if (mustacheValue == null) {
             return "";
         }
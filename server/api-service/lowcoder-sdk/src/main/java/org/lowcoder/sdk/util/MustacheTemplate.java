@@ -0,0 +1,128 @@
+package org.lowcoder.sdk.util;
+
+import org.apache.commons.text.StringEscapeUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.lowcoder.sdk.util.MustacheHelper.isMustacheToken;
+import static org.lowcoder.sdk.util.MustacheHelper.removeCurlyBraces;
+
+/**
+ * A mustache template tokenized once into literal segments and parameter slots.
+ * Instances are immutable and shared through {@link MustacheHelper#compile(String)}, rendering only binds values into the slots.
+ */
+public final class MustacheTemplate {
+
+    private final String source;
+    private final List<String> tokens;
+
+    /**
+     * trimmed binding key of every slot token, null for literal tokens
+     */
+    private final String[] slotKeys;
+
+    /**
+     * literal tokens with the quotes surrounding their neighbouring slots already removed
+     */
+    private final String[] unquotedLiterals;
+    private final List<String> keysInOrder;
+
+    private volatile PreparedSqlTemplate preparedSql;
+
+    MustacheTemplate(String source, List<String> tokens) {
+        this.source = source;
+        this.tokens = List.copyOf(tokens);
+
+        int size = tokens.size();
+        this.slotKeys = new String[size];
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            String token = tokens.get(i);
+            if (isMustacheToken(token)) {
+                slotKeys[i] = removeCurlyBraces(token);
+                keys.add(slotKeys[i]);
+            }
+        }
+        this.keysInOrder = Collections.unmodifiableList(keys);
+        this.unquotedLiterals = unquoteLiterals();
+    }
+
+    /**
+     * replays what {@link MustacheHelper#renderMustacheTokens(List, Map, boolean)} does to the tokens around a slot surrounded by quotes:
+     * the closing quote of the previous literal and the opening quote of the next one are dropped.
+     */
+    private String[] unquoteLiterals() {
+        String[] current = tokens.toArray(new String[0]);
+        String[] printed = current.clone();
+        for (int i = 1; i < current.length - 1; i++) {
+            if (slotKeys[i] == null) {
+                continue;
+            }
+            if (current[i - 1].endsWith("\"") && current[i + 1].startsWith("\"")) {
+                printed[i - 1] = printed[i - 1].substring(0, printed[i - 1].length() - 1);
+                current[i + 1] = current[i + 1].substring(1);
+                printed[i + 1] = printed[i + 1].substring(1);
+            }
+        }
+        return printed;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public List<String> getTokens() {
+        return tokens;
+    }
+
+    public List<String> getKeysInOrder() {
+        return keysInOrder;
+    }
+
+    /**
+     * @return the binding key when the whole template is a single mustache slot, otherwise null
+     */
+    public String getSingleSlotKey() {
+        return slotKeys.length == 1 ? slotKeys[0] : null;
+    }
+
+    public String render(Map<String, ?> paramMap) {
+        return render(paramMap, true);
+    }
+
+    public String render(Map<String, ?> paramMap, boolean removeSurroundedPar) {
+        if (tokens.isEmpty()) {
+            return source;
+        }
+
+        StringBuilder rendered = new StringBuilder(source.length() + 16 * keysInOrder.size());
+        for (int i = 0; i < slotKeys.length; i++) {
+            if (slotKeys[i] == null) {
+                rendered.append(removeSurroundedPar ? unquotedLiterals[i] : tokens.get(i));
+                continue;
+            }
+            rendered.append(MustacheHelper.convertToStringValue(paramMap.get(slotKeys[i])));
+        }
+
+        // html entities always start with '&', skip the unescape pass when there can't be any
+        if (rendered.indexOf("&") < 0) {
+            return rendered.toString();
+        }
+        return StringEscapeUtils.unescapeHtml4(rendered.toString());
+    }
+
+    /**
+     * the prepared statement form of this template when every slot is bound as a statement parameter, built on first use.
+     */
+    PreparedSqlTemplate getPreparedSql() {
+        PreparedSqlTemplate result = preparedSql;
+        if (result == null) {
+            result = PreparedSqlTemplate.compile(this, keysInOrder);
+            preparedSql = result;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,311 @@
+package org.lowcoder.sdk.util;
+
+import com.google.common.collect.Iterables;
+import org.apache.commons.lang3.Range;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.lowcoder.sdk.util.JsonUtils.toJson;
+import static org.lowcoder.sdk.util.StreamUtils.collectMap;
+
+/**
+ * The prepared statement shape of a sql mustache template: placeholder positions, quoted placeholders merged into one
+ * and the placeholders that may be expanded by an IN operator are all worked out once, binding only looks at the params.
+ */
+final class PreparedSqlTemplate {
+
+    static final char PLACEHOLDER = 16;
+    private static final String PLACEHOLDER_STRING = String.valueOf(PLACEHOLDER);
+
+    /**
+     * sql with the special placeholder char, quoted placeholders already merged
+     */
+    private final String sql;
+
+    /**
+     * {@link #sql} with the placeholders replaced by "?"
+     */
+    private final String questionMarkSql;
+    private final List<QuoteMerge> quoteMerges;
+    private final int[] placeholderPositions;
+
+    /**
+     * index of the whitespace before "in" when the placeholder is written as "xxx in (?)", otherwise -1
+     */
+    private final int[] inOperatorStarts;
+    private final int[] rightParIndexes;
+
+    private PreparedSqlTemplate(String sql, List<QuoteMerge> quoteMerges) {
+        this.sql = sql;
+        this.questionMarkSql = sql.replace(PLACEHOLDER, '?');
+        this.quoteMerges = quoteMerges;
+        this.placeholderPositions = getPlaceholderPositions(sql);
+        this.inOperatorStarts = new int[placeholderPositions.length];
+        this.rightParIndexes = new int[placeholderPositions.length];
+
+        for (int i = 0; i < placeholderPositions.length; i++) {
+            int position = placeholderPositions[i];
+            int previousPosition = i == 0 ? -1 : placeholderPositions[i - 1];
+            rightParIndexes[i] = findRightParIndex(sql, position + 1);
+            int inOperatorStart = rightParIndexes[i] == -1 ? -1 : findInOperatorStart(sql, position, rightParIndexes[i]);
+            inOperatorStarts[i] = inOperatorStart > previousPosition ? inOperatorStart : -1;
+        }
+    }
+
+    static PreparedSqlTemplate compile(MustacheTemplate template, Collection<String> bindingKeys) {
+        Map<String, String> replaceParamsMap = collectMap(bindingKeys, key -> key, key -> PLACEHOLDER_STRING);
+        String sql = template.render(replaceParamsMap);
+        if (sql == null) {
+            return new PreparedSqlTemplate("", List.of());
+        }
+        return mergeQuotedPlaceholders(sql);
+    }
+
+    /**
+     * users tend to add quotes for sql params, here we treat param between quotes as a single param
+     * e.g.
+     * select * from user where name like '?%';                        => select * from user where name like ?;
+     * select * from user where name like '%?%?%';                     => select * from user where name like ?;
+     * select * from user where name like '"?%"';                      => select * from user where name like ?;
+     * select * from user where name like '?%' and name like '%?';     => select * from user where name like ? and name like ?;
+     */
+    private static PreparedSqlTemplate mergeQuotedPlaceholders(String sql) {
+        List<QuoteMerge> quoteMerges = new ArrayList<>();
+        while (true) {
+            // find quote pair containing ?
+            Range<Integer> range = findQuotePairWithPlaceholderInside(sql);
+            if (range.getMinimum() == -1) {
+                return new PreparedSqlTemplate(sql, List.copyOf(quoteMerges));
+            }
+
+            int placeholderIndex = countPlaceholders(sql, 0, range.getMinimum());
+            List<Integer> placeholderIndexes = new ArrayList<>();
+            List<String> literals = new ArrayList<>();
+            // remove quotes and split the quoted string around its placeholders
+            int literalStart = range.getMinimum() + 1;
+            for (int i = literalStart; i < range.getMaximum() - 1; i++) {
+                if (sql.charAt(i) == PLACEHOLDER) {
+                    placeholderIndexes.add(placeholderIndex++);
+                    literals.add(sql.substring(literalStart, i));
+                    literalStart = i + 1;
+                }
+            }
+            literals.add(sql.substring(literalStart, range.getMaximum() - 1));
+
+            // combine all "?"s into one "?"
+            sql = sql.substring(0, range.getMinimum()) + PLACEHOLDER + sql.substring(range.getMaximum());
+            quoteMerges.add(new QuoteMerge("generateKey_" + quoteMerges.size(), List.copyOf(placeholderIndexes), List.copyOf(literals)));
+        }
+    }
+
+    /**
+     * puts the values of the merged quoted placeholders into {@code params} under generated keys and swaps the original keys
+     * for them in {@code bindingKeys}, both are modified in place.
+     */
+    String bindQuotedPlaceholders(List<String> bindingKeys, Map<String, Object> params) {
+        for (QuoteMerge quoteMerge : quoteMerges) {
+            params.put(quoteMerge.key(), quoteMerge.render(bindingKeys, params));
+            updateBindingKeys(bindingKeys, quoteMerge.placeholderIndexes(), quoteMerge.key());
+        }
+        return questionMarkSql;
+    }
+
+    /**
+     * expands "xxx in (?)" placeholders bound to a collection into the collection values, the expanded keys are removed
+     * from {@code bindingKeys}.
+     */
+    String expandInOperators(List<String> bindingKeys, Map<String, Object> params) {
+        if (bindingKeys.isEmpty()) {
+            return questionMarkSql;
+        }
+
+        StringBuilder sqlStringBuilder = null;
+        List<Integer> toRemoveParamIndexes = new ArrayList<>();
+        int copiedUntil = 0;
+        int inOperatorFrom = 0;
+        for (int i = 0; i < placeholderPositions.length; i++) {
+            Object o = params.get(bindingKeys.get(i));
+            int currentPos = placeholderPositions[i];
+
+            if (!(o instanceof Collection<?>) || inOperatorStarts[i] < inOperatorFrom) {
+                inOperatorFrom = currentPos + 1;
+                continue;
+            }
+
+            if (sqlStringBuilder == null) {
+                sqlStringBuilder = new StringBuilder(sql.length() + 64);
+            }
+            String jsonArray = toJson(o); // remove "[]" after toJson, and replace current sql param
+            sqlStringBuilder.append(sql, copiedUntil, currentPos)
+                    .append(jsonArray, 1, jsonArray.length() - 1)
+                    .append(") ");
+            copiedUntil = rightParIndexes[i] + 1;
+            inOperatorFrom = copiedUntil;
+            toRemoveParamIndexes.add(i);
+        }
+
+        if (sqlStringBuilder == null) {
+            return questionMarkSql;
+        }
+
+        sqlStringBuilder.append(sql, copiedUntil, sql.length()); // append rest sql string
+        for (int i = toRemoveParamIndexes.size() - 1; i >= 0; i--) {
+            bindingKeys.remove((int) toRemoveParamIndexes.get(i));
+        }
+        return sqlStringBuilder.toString().replace(PLACEHOLDER, '?');
+    }
+
+    private static void updateBindingKeys(List<String> bindingKeys, List<Integer> placeholderIndexes, String key) {
+        Integer lastIndex = Iterables.getLast(placeholderIndexes);
+        bindingKeys.add(lastIndex + 1, key);
+
+        // remove original binding keys
+        for (int i = placeholderIndexes.size() - 1; i >= 0; i--) {
+            bindingKeys.remove((int) placeholderIndexes.get(i));//remove by index
+        }
+    }
+
+    private static int[] getPlaceholderPositions(String sql) {
+        int[] positions = new int[countPlaceholders(sql, 0, sql.length())];
+        int count = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            if (sql.charAt(i) == PLACEHOLDER) {
+                positions[count++] = i;
+            }
+        }
+        return positions;
+    }
+
+    private static int countPlaceholders(String sql, int from, int to) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (sql.charAt(i) == PLACEHOLDER) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int findRightParIndex(String str, int index) {
+        for (int j = index; j < str.length(); j++) {
+            char ch = str.charAt(j);
+            if (Character.isWhitespace(ch)) {
+                continue;
+            }
+            if (ch == ')') {
+                return j;
+            }
+            return -1;
+        }
+        return -1;
+    }
+
+    /**
+     * matches the text around a placeholder against the MySQL IN operator: {@code \s+(in|IN|In|iN)\s*\(\s*?\s*\)}
+     */
+    private static int findInOperatorStart(String sql, int position, int rightParIndex) {
+        for (int j = position + 1; j < rightParIndex; j++) {
+            if (!isSpace(sql.charAt(j))) {
+                return -1;
+            }
+        }
+
+        int j = position - 1;
+        while (j >= 0 && isSpace(sql.charAt(j))) {
+            j--;
+        }
+        if (j < 0 || sql.charAt(j) != '(') {
+            return -1;
+        }
+        j--;
+        while (j >= 0 && isSpace(sql.charAt(j))) {
+            j--;
+        }
+        if (j < 2 || (sql.charAt(j) != 'n' && sql.charAt(j) != 'N') || (sql.charAt(j - 1) != 'i' && sql.charAt(j - 1) != 'I')) {
+            return -1;
+        }
+        return isSpace(sql.charAt(j - 2)) ? j - 2 : -1;
+    }
+
+    /**
+     * same characters as {@code \s} in a java regex
+     */
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static Range<Integer> findQuotePairWithPlaceholderInside(String query) {
+        int startIndex = 0;
+        while (true) {
+            Range<Integer> range = findQuotePair(query, startIndex);
+            if (range.getMinimum() == -1) {
+                return range;
+            }
+            if (countPlaceholders(query, range.getMinimum(), range.getMaximum()) > 0) {
+                return range;
+            }
+            startIndex = range.getMaximum() + 1;
+        }
+    }
+
+    private static Range<Integer> findQuotePair(String query, int startIndex) {
+        char quote = 0; // not quote
+        int start = -1;
+        for (int i = startIndex; i < query.length(); i++) {
+            if (!isQuote(query, i)) {
+                continue;
+            }
+
+            if (quote == 0) {
+                quote = query.charAt(i);
+                start = i;
+            } else {
+                if (query.charAt(i) == quote) {
+                    return Range.between(start, i + 1);
+                }
+            }
+        }
+        return Range.between(-1, -1);
+    }
+
+    private static boolean isQuote(String query, int index) {
+        char c = query.charAt(index);
+        return (c == '\'' || c == '"') && !isEscape(query, index);
+    }
+
+    private static boolean isEscape(String query, int index) {
+        int count = 0;
+        for (int i = index - 1; i >= 0; i--) {
+            if (query.charAt(i) != '\\') {
+                break;
+            }
+            count++;
+        }
+        // escape when odd count found
+        return count % 2 == 1;
+    }
+
+    /**
+     * @param placeholderIndexes indexes into the binding keys, as they are when this merge is applied
+     * @param literals the quoted string without its quotes, split around its placeholders
+     */
+    private record QuoteMerge(String key, List<Integer> placeholderIndexes, List<String> literals) {
+
+        String render(List<String> bindingKeys, Map<String, Object> params) {
+            StringBuilder value = new StringBuilder(literals.get(0));
+            for (int i = 0; i < placeholderIndexes.size(); i++) {
+                Object valueObj = params.get(bindingKeys.get(placeholderIndexes.get(i)));
+                if (valueObj instanceof Number || valueObj instanceof Boolean || valueObj instanceof String) {
+                    value.append(valueObj);
+                } else if (valueObj != null) {
+                    value.append(toJson(valueObj));
+                }
+                value.append(literals.get(i + 1));
+            }
+            return value.toString();
+        }
+    }
+}
@@ -2,15 +2,18 @@ package org.lowcoder.sdk.util;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.*;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.lowcoder.sdk.exception.PluginException;
-import tv.twelvetone.json.Json;
 import tv.twelvetone.json.JsonObject.Member;
 import tv.twelvetone.json.JsonValue;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -29,6 +32,11 @@ class RjsonMustacheParser {
 
     private static final String REPLACE_TOKEN = "#replace";
 
+    private static final Cache<String, JsonTemplate> JSON_TEMPLATE_CACHE = Caffeine.newBuilder()
+            .maximumSize(10000)
+            .expireAfterAccess(Duration.ofMinutes(15))
+            .build();
+
     public static String renderMustacheJsonString(String jsonStr, Map<String, Object> paramMap) {
         return renderMustacheJson(jsonStr, paramMap).toString();
     }
@@ -38,20 +46,23 @@ class RjsonMustacheParser {
             return EMPTY_JSON_NODE;
         }
 
+        return JSON_TEMPLATE_CACHE.get(jsonStr, RjsonMustacheParser::compile).render(paramMap);
+    }
+
+    static JsonTemplate compile(String jsonStr) {
         List<String> tokens = tokenize(jsonStr.trim());
         // handle cases like " {{ map }} " / "2022-05-05 11:12:13"
         if (tokens.size() == 1) {
             String oneTokenStr = tokens.get(0);
             if (isMustacheToken(oneTokenStr)) {
-                Object value = paramMap.get(removeCurlyBraces(oneTokenStr));
-                return convertToJsonNode(value);
+                return new JsonTemplate(removeCurlyBraces(oneTokenStr), Map.of(), null);
             }
 
             try {
-                return traverse(RjsonParser.parse(oneTokenStr), Map.of());
+                return new JsonTemplate(null, Map.of(), compileNode(RjsonParser.parse(oneTokenStr)));
             } catch (Throwable e) {
                 // return as a textNode if fails to parse
-                return TextNode.valueOf(oneTokenStr);
+                return new JsonTemplate(null, Map.of(), new ConstantNode(TextNode.valueOf(oneTokenStr)));
             }
         }
 
@@ -59,8 +70,6 @@ class RjsonMustacheParser {
 
         String escapeEvaluatedTokens = escapeEvaluatedTokens(tokenReplaceMap, tokens);
 
-        Map<String, Object> tokenReplaceValueMap = getTokenReplaceValueMap(paramMap, tokenReplaceMap);
-
         JsonValue json;
         try {
             json = RjsonParser.parse(escapeEvaluatedTokens);
@@ -68,7 +77,7 @@ class RjsonMustacheParser {
             throw new PluginException(JSON_PARSE_ERROR, "JSON_PARSE_ERROR", escapeEvaluatedTokens, e.getMessage());
         }
 
-        return traverse(json, tokenReplaceValueMap);
+        return new JsonTemplate(null, Map.copyOf(tokenReplaceMap), compileNode(json));
     }
 
     private static Map<String, Object> getTokenReplaceValueMap(Map<String, ?> paramMap, Map<String, String> tokenReplaceMap) {
@@ -80,83 +89,69 @@ class RjsonMustacheParser {
                 .collect(toMapNullFriendly(Entry::getValue, entry -> trimmedValueMap.get(entry.getKey())));
     }
 
-    private static JsonNode traverse(JsonValue jsonValue, Map<String, Object> paramMap) {
+    /**
+     * resolves everything in the parsed json that doesn't depend on the params, subtrees without mustache become constants.
+     */
+    private static TemplateNode compileNode(JsonValue jsonValue) {
 
         if (jsonValue.isBoolean()) {
-            return BooleanNode.valueOf(jsonValue.asBoolean());
+            return new ConstantNode(BooleanNode.valueOf(jsonValue.asBoolean()));
         }
 
         if (jsonValue.isNull()) {
-            return NullNode.getInstance();
+            return new ConstantNode(NullNode.getInstance());
         }
 
         if (jsonValue.isNumber()) {
             String s = jsonValue.toString();
             Number number = NumberUtils.createNumber(s);
-            return tryGetNumberNode(number);
+            return new ConstantNode(tryGetNumberNode(number));
         }
 
         if (jsonValue.isArray()) {
-
-            ArrayNode newArrayNode = createArrayNode();
-
+            List<TemplateNode> elements = new ArrayList<>();
             for (JsonValue node : jsonValue.asArray()) {
-                newArrayNode.add(traverse(node, paramMap));
+                elements.add(compileNode(node));
             }
 
-            return newArrayNode;
+            ArrayTemplateNode arrayNode = new ArrayTemplateNode(List.copyOf(elements));
+            return arrayNode.isConstant() ? new ConstantNode(arrayNode.render(Map.of())) : arrayNode;
         }
 
         if (jsonValue.isObject()) {
-            var objectNode = createObjectNode();
+            List<ObjectTemplateNode.Field> fields = new ArrayList<>();
             for (Member member : jsonValue.asObject()) {
-                String name = member.getName();
-                JsonValue value = member.getValue();
-
-                String updatedName = tryResolveAsString(name, paramMap);
-                objectNode.set(updatedName, traverse(value, paramMap));
+                fields.add(new ObjectTemplateNode.Field(compileString(member.getName(), true), compileNode(member.getValue())));
             }
-            return objectNode;
-        }
 
-        return tryResolve(jsonValue, paramMap, false);
-    }
+            ObjectTemplateNode objectNode = new ObjectTemplateNode(List.copyOf(fields));
+            return objectNode.isConstant() ? new ConstantNode(objectNode.render(Map.of())) : objectNode;
+        }
 
-    private static String tryResolveAsString(String input, Map<String, Object> paramMap) {
-        JsonNode jsonNode = tryResolve(Json.INSTANCE.value(input), paramMap, true);
-        return jsonNode.textValue();
+        return compileString(jsonValue.asString(), false);
     }
 
-    private static JsonNode tryResolve(JsonValue jsonValue, Map<String, Object> paramMap, boolean toStringType) {
+    private static TemplateNode compileString(String value, boolean toStringType) {
 
-        String input = jsonValue.asString().trim();
+        String input = value.trim();
         if (isBlank(input)) {
-            return TextNode.valueOf(input);
+            return new ConstantNode(TextNode.valueOf(input));
         }
 
         var checkStringResult = checkString(input);
         if (checkStringResult.isRawStr()) {
-            return TextNode.valueOf(input);
+            return new ConstantNode(TextNode.valueOf(input));
         }
 
         if (toStringType || checkStringResult.isQuotedStr()) {
-            return TextNode.valueOf(MustacheHelper.renderMustacheString(checkStringResult.result(), paramMap));
-        }
-
-        List<String> tokenize = tokenize(input);
-        if (tokenize.isEmpty()) {
-            return TextNode.valueOf(input);
+            return new TextTemplateNode(MustacheHelper.compile(checkStringResult.result()));
         }
 
-        if (tokenize.size() == 1) {
-            String token = tokenize.get(0);
-            if (token.startsWith("{{") && token.endsWith("}}")) {
-                Object mustacheValue = paramMap.get(token.substring(2, token.length() - 2).trim());
-                return convertToJsonNode(mustacheValue);
-            }
+        MustacheTemplate template = MustacheHelper.compile(input);
+        if (template.getSingleSlotKey() != null) {
+            return new SlotNode(template.getSingleSlotKey());
         }
-
-        return TextNode.valueOf(MustacheHelper.renderMustacheTokens(tokenize, paramMap));
+        return new TextTemplateNode(template);
     }
 
     private static JsonNode convertToJsonNode(Object mustacheValue) {
@@ -252,4 +247,95 @@ class RjsonMustacheParser {
         return REPLACE_TOKEN + replaceCount.getAndIncrement();
     }
 
+    /**
+     * @param singleSlotKey set when the whole template is a single mustache, its value is returned as is
+     * @param tokenReplaceMap mustache key to the token standing in for it in the parsed json
+     */
+    record JsonTemplate(@Nullable String singleSlotKey, Map<String, String> tokenReplaceMap, @Nullable TemplateNode root) {
+
+        JsonNode render(Map<String, ?> paramMap) {
+            if (singleSlotKey != null) {
+                return convertToJsonNode(paramMap.get(singleSlotKey));
+            }
+            Map<String, Object> values = tokenReplaceMap.isEmpty() ? Map.of() : getTokenReplaceValueMap(paramMap, tokenReplaceMap);
+            return root.render(values);
+        }
+    }
+
+    sealed interface TemplateNode permits ConstantNode, SlotNode, TextTemplateNode, ArrayTemplateNode, ObjectTemplateNode {
+
+        JsonNode render(Map<String, Object> values);
+
+        default boolean isConstant() {
+            return false;
+        }
+    }
+
+    private record ConstantNode(JsonNode node) implements TemplateNode {
+
+        @Override
+        public JsonNode render(Map<String, Object> values) {
+            // rendered trees are handed out to callers which may modify them
+            return node.deepCopy();
+        }
+
+        @Override
+        public boolean isConstant() {
+            return true;
+        }
+    }
+
+    private record SlotNode(String key) implements TemplateNode {
+
+        @Override
+        public JsonNode render(Map<String, Object> values) {
+            return convertToJsonNode(values.get(key));
+        }
+    }
+
+    private record TextTemplateNode(MustacheTemplate template) implements TemplateNode {
+
+        @Override
+        public JsonNode render(Map<String, Object> values) {
+            return TextNode.valueOf(template.render(values));
+        }
+    }
+
+    private record ArrayTemplateNode(List<TemplateNode> elements) implements TemplateNode {
+
+        @Override
+        public JsonNode render(Map<String, Object> values) {
+            ArrayNode arrayNode = createArrayNode();
+            for (TemplateNode element : elements) {
+                arrayNode.add(element.render(values));
+            }
+            return arrayNode;
+        }
+
+        @Override
+        public boolean isConstant() {
+            return elements.stream().allMatch(TemplateNode::isConstant);
+        }
+    }
+
+    private record ObjectTemplateNode(List<Field> fields) implements TemplateNode {
+
+        @Override
+        public JsonNode render(Map<String, Object> values) {
+            var objectNode = createObjectNode();
+            for (Field field : fields) {
+                objectNode.set(field.name().render(values).textValue(), field.value().render(values));
+            }
+            return objectNode;
+        }
+
+        @Override
+        public boolean isConstant() {
+            return fields.stream().allMatch(field -> field.name().isConstant() && field.value().isConstant());
+        }
+
+        private record Field(TemplateNode name, TemplateNode value) {
+        }
+    }
+
 }
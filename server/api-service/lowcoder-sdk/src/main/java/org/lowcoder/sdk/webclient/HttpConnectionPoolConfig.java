@@ -0,0 +1,17 @@
+package org.lowcoder.sdk.webclient;
+
+import org.lowcoder.sdk.config.CommonConfig;
+
+import java.time.Duration;
+
+/**
+ * limits of a pooled http client shared between queries, see {@link WebClientBuildHelper#sharedConnectionPool(String, HttpConnectionPoolConfig)}
+ */
+public record HttpConnectionPoolConfig(int maxConnections, int pendingAcquireMaxCount, Duration maxIdleTime) {
+
+    public static HttpConnectionPoolConfig from(CommonConfig.Query queryConfig) {
+        return new HttpConnectionPoolConfig(queryConfig.getHttpMaxConnections(),
+                queryConfig.getHttpPendingAcquireMaxCount(),
+                Duration.ofMillis(queryConfig.getHttpMaxIdleTime()));
+    }
+}
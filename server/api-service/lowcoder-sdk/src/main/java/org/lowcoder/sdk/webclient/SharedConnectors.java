@@ -0,0 +1,112 @@
+package org.lowcoder.sdk.webclient;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * http connectors shared by key, see {@link WebClientBuildHelper#sharedConnectionPool(String, HttpConnectionPoolConfig)}.
+ * <p>
+ * The connector handed out looks its pool up on every request, so a web client outlives the cache entry it was built
+ * from. A pool that leaves the cache, for any reason, is only disposed once its last in flight request is done;
+ * connections still reading a response body are closed by the pool when they are released.
+ */
+class SharedConnectors<K> {
+
+    private final Cache<K, SharedConnector> connectors;
+
+    SharedConnectors(long maxSize, Duration expireAfterAccess) {
+        this(maxSize, expireAfterAccess, Ticker.systemTicker());
+    }
+
+    SharedConnectors(long maxSize, Duration expireAfterAccess, Ticker ticker) {
+        this.connectors = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(expireAfterAccess)
+                .ticker(ticker)
+                .executor(Runnable::run)
+                .<K, SharedConnector> removalListener((key, connector, cause) -> {
+                    if (connector != null) {
+                        connector.retire();
+                    }
+                })
+                .build();
+    }
+
+    ClientHttpConnector connector(K key, Function<K, SharedConnector> factory) {
+        return (method, uri, requestCallback) -> Mono.usingWhen(Mono.fromSupplier(() -> acquire(key, factory)),
+                connector -> connector.connector().connect(method, uri, requestCallback),
+                connector -> Mono.fromRunnable(connector::release));
+    }
+
+    private SharedConnector acquire(K key, Function<K, SharedConnector> factory) {
+        while (true) {
+            SharedConnector connector = connectors.get(key, factory);
+            if (connector.tryAcquire()) {
+                return connector;
+            }
+            // retired between the lookup and the acquire, the next lookup creates a new one
+            connectors.asMap().remove(key, connector);
+        }
+    }
+
+    void cleanUp() {
+        connectors.cleanUp();
+    }
+
+    static final class SharedConnector {
+
+        private static final int DISPOSED = -1;
+
+        private final ClientHttpConnector connector;
+        private final Disposable pool;
+        // requests in flight, or DISPOSED
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile boolean retired;
+
+        SharedConnector(ClientHttpConnector connector, Disposable pool) {
+            this.connector = connector;
+            this.pool = pool;
+        }
+
+        ClientHttpConnector connector() {
+            return connector;
+        }
+
+        private boolean tryAcquire() {
+            while (true) {
+                int count = inFlight.get();
+                if (retired || count == DISPOSED) {
+                    return false;
+                }
+                if (inFlight.compareAndSet(count, count + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        private void release() {
+            if (inFlight.decrementAndGet() == 0 && retired) {
+                disposeIfIdle();
+            }
+        }
+
+        private void retire() {
+            retired = true;
+            disposeIfIdle();
+        }
+
+        private void disposeIfIdle() {
+            if (inFlight.compareAndSet(0, DISPOSED)) {
+                pool.dispose();
+            }
+        }
+    }
+}
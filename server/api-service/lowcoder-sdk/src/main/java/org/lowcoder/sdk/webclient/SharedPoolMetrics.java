@@ -0,0 +1,66 @@
+package org.lowcoder.sdk.webclient;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.SocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
+
+/**
+ * Metrics of the shared http connection pools, summed per pool name.
+ * <p>
+ * Reactor netty registers the pool of every remote address a provider connects to; its own registrar tags the meters with
+ * that address, which creates meters for every host queries ever talked to. Here the meters are only tagged with the pool
+ * name and add up the pools of all remote addresses.
+ */
+class SharedPoolMetrics implements ConnectionProvider.MeterRegistrar {
+
+    static final SharedPoolMetrics GLOBAL = new SharedPoolMetrics(Metrics.globalRegistry);
+
+    private final MeterRegistry meterRegistry;
+    // pool name -> pools by provider id and remote address
+    private final Map<String, Map<PoolKey, ConnectionPoolMetrics>> pools = new ConcurrentHashMap<>();
+
+    SharedPoolMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void registerMetrics(String poolName, String id, SocketAddress remoteAddress, ConnectionPoolMetrics metrics) {
+        pools.computeIfAbsent(poolName, this::registerGauges).put(new PoolKey(id, remoteAddress), metrics);
+    }
+
+    @Override
+    public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+        Map<PoolKey, ConnectionPoolMetrics> namedPools = pools.get(poolName);
+        if (namedPools != null) {
+            namedPools.remove(new PoolKey(id, remoteAddress));
+        }
+    }
+
+    private Map<PoolKey, ConnectionPoolMetrics> registerGauges(String poolName) {
+        Map<PoolKey, ConnectionPoolMetrics> namedPools = new ConcurrentHashMap<>();
+        Tags tags = Tags.of("pool", poolName);
+        registerGauge("http_pool_total_connections", tags, namedPools, ConnectionPoolMetrics::allocatedSize);
+        registerGauge("http_pool_active_connections", tags, namedPools, ConnectionPoolMetrics::acquiredSize);
+        registerGauge("http_pool_idle_connections", tags, namedPools, ConnectionPoolMetrics::idleSize);
+        registerGauge("http_pool_pending_acquires", tags, namedPools, ConnectionPoolMetrics::pendingAcquireSize);
+        return namedPools;
+    }
+
+    private void registerGauge(String name, Tags tags, Map<PoolKey, ConnectionPoolMetrics> namedPools,
+            ToIntFunction<ConnectionPoolMetrics> value) {
+        Gauge.builder(name, namedPools, it -> it.values().stream().mapToInt(value).sum())
+                .tags(tags)
+                .register(meterRegistry);
+    }
+
+    private record PoolKey(String id, SocketAddress remoteAddress) {
+    }
+}
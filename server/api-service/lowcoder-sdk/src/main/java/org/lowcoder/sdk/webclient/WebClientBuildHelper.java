@@ -10,14 +10,18 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.lowcoder.sdk.plugin.common.ssl.DisableVerifySslConfig;
+import org.lowcoder.sdk.plugin.common.ssl.SslCertVerificationType;
 import org.lowcoder.sdk.plugin.common.ssl.SslConfig;
 import org.lowcoder.sdk.plugin.common.ssl.SslHelper;
 import org.lowcoder.sdk.plugin.common.ssl.VerifySelfSignedCertSslConfig;
+import org.lowcoder.sdk.webclient.SharedConnectors.SharedConnector;
 import org.springframework.boot.context.properties.PropertyMapper;
+import org.springframework.http.client.reactive.ClientHttpConnector;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClient.Builder;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 import reactor.netty.tcp.SslProvider;
 import reactor.netty.transport.ProxyProvider;
 import reactor.netty.transport.ProxyProvider.Proxy;
@@ -37,10 +41,18 @@ public class WebClientBuildHelper {
     private static final String proxyUsername;
     private static final String proxyPassword;
 
+    private static final String SHARED_POOL_NAME = "lowcoder-shared";
+    private static final long SHARED_CONNECTORS_MAX_SIZE = 500;
+    private static final int SHARED_CONNECTORS_EXPIRE_MINUTES = 30;
+    private static final SharedConnectors<SharedConnectorKey> SHARED_CONNECTORS =
+            new SharedConnectors<>(SHARED_CONNECTORS_MAX_SIZE, Duration.ofMinutes(SHARED_CONNECTORS_EXPIRE_MINUTES));
+
     private SslConfig sslConfig;
     private Set<String> disallowedHosts;
     private boolean systemProxy;
     private Long timeoutMs;
+    private String connectionPoolName;
+    private HttpConnectionPoolConfig connectionPoolConfig;
 
     private int maxInMemorySize = 20 * 1024 * 1024;
 
@@ -83,12 +95,53 @@ public class WebClientBuildHelper {
         return this;
     }
     
+    /**
+     * Reuse one pooled http client for all web clients built with the same pool name and settings, instead of creating
+     * a client with its own connections, ssl context and resolver each time. Headers, cookies and filters are still
+     * set per web client.
+     *
+     * @param poolName e.g. the origin the client talks to, every name gets its own bounded connection pool
+     */
+    public WebClientBuildHelper sharedConnectionPool(String poolName, HttpConnectionPoolConfig poolConfig) {
+        this.connectionPoolName = poolName;
+        this.connectionPoolConfig = poolConfig;
+        return this;
+    }
+
     public WebClient build() {
         return toWebClientBuilder().build();
     }
 
     public Builder toWebClientBuilder() {
-        HttpClient httpClient = HttpClient.create();
+        ClientHttpConnector connector = connectionPoolName == null
+                ? new ReactorClientHttpConnector(configure(HttpClient.create()))
+                : getSharedConnector();
+        return WebClient.builder()
+                .codecs(codecs -> codecs
+                        .defaultCodecs()
+                        .maxInMemorySize(maxInMemorySize))
+                .clientConnector(connector);
+    }
+
+    private ClientHttpConnector getSharedConnector() {
+        SharedConnectorKey key = new SharedConnectorKey(connectionPoolName, connectionPoolConfig,
+                sslConfig == null ? null : sslConfig.getSslCertVerificationType(),
+                sslConfig instanceof VerifySelfSignedCertSslConfig selfSignedCertSslConfig ? selfSignedCertSslConfig.getSelfSignedCert() : null,
+                timeoutMs, disallowedHosts, systemProxy);
+        // the pools of all origins share one name, so that their metrics are not tagged with every origin queries talked to
+        return SHARED_CONNECTORS.connector(key, k -> {
+            ConnectionProvider connectionProvider = ConnectionProvider.builder(SHARED_POOL_NAME)
+                    .maxConnections(connectionPoolConfig.maxConnections())
+                    .pendingAcquireMaxCount(connectionPoolConfig.pendingAcquireMaxCount())
+                    .maxIdleTime(connectionPoolConfig.maxIdleTime())
+                    .evictInBackground(connectionPoolConfig.maxIdleTime())
+                    .metrics(true, () -> SharedPoolMetrics.GLOBAL)
+                    .build();
+            return new SharedConnector(new ReactorClientHttpConnector(configure(HttpClient.create(connectionProvider))), connectionProvider);
+        });
+    }
+
+    private HttpClient configure(HttpClient httpClient) {
         if (timeoutMs != null)
         {
             httpClient = httpClient
@@ -128,11 +181,7 @@ public class WebClientBuildHelper {
         if (CollectionUtils.isNotEmpty(disallowedHosts)) {
             httpClient = httpClient.resolver(new SafeHostResolverGroup(disallowedHosts));
         }
-        return WebClient.builder()
-                .codecs(codecs -> codecs
-                        .defaultCodecs()
-                        .maxInMemorySize(maxInMemorySize))
-                .clientConnector(new ReactorClientHttpConnector(httpClient));
+        return httpClient;
     }
 
     private static SslProvider sslProviderWithSelfSignedCert(VerifySelfSignedCertSslConfig verifySelfSignedCertSslConfig) {
@@ -162,4 +211,11 @@ public class WebClientBuildHelper {
             return SslProvider.defaultClientProvider();
         }
     }
+
+    /**
+     * ssl configs don't implement equals, so the settings they contribute to the client are part of the key instead
+     */
+    private record SharedConnectorKey(String poolName, HttpConnectionPoolConfig poolConfig, SslCertVerificationType sslCertVerificationType,
+                                      String selfSignedCert, Long timeoutMs, Set<String> disallowedHosts, boolean systemProxy) {
+    }
 }
@@ -408,6 +408,33 @@ public class MustacheHelperTest {
                 a"%lv"%huichao%\""""), param);
     }
 
+    @Test
+    public void testDoPrepareStatementWithInOperator() {
+        String sql = "select * from user where id in ({{ids}}) and name = {{name}}";
+        List<String> keys = extractMustacheKeysInOrder(sql);
+        Map<String, Object> param = new HashMap<>();
+        param.put("ids", List.of(1, 2));
+        param.put("name", "lv");
+
+        Assert.assertEquals("select * from user where id in (1,2)  and name = ?", doPrepareStatement(sql, keys, param));
+        Assert.assertEquals(List.of("name"), keys);
+
+        // the compiled template is shared, a second statement must not see the keys removed by the first one
+        keys = extractMustacheKeysInOrder(sql);
+        param.put("ids", 1);
+        Assert.assertEquals("select * from user where id in (?) and name = ?", doPrepareStatement(sql, keys, param));
+        Assert.assertEquals(List.of("ids", "name"), keys);
+    }
+
+    @Test
+    public void renderSurroundedByParRepeatedly() {
+        String template = "\"{{a}}\" and \"{{b}}\"";
+        Map<String, Object> param = Map.of("a", 1, "b", 2);
+        Assert.assertEquals("1 and 2", renderMustacheString(template, param));
+        Assert.assertEquals("1 and 2", renderMustacheString(template, param));
+        Assert.assertEquals(template.replace("{{a}}", "1").replace("{{b}}", "2"), renderMustacheStringWithoutRemoveSurroundedPar(template, param));
+    }
+
     private Map<String, Object> buildMap(Map<String, Object> map, Object... args) {
         Map<String, Object> result = new HashMap<>(map);
         for (int i = 0; i < args.length; i += 2) {
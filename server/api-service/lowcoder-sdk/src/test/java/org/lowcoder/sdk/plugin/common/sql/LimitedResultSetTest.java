@@ -0,0 +1,52 @@
+package org.lowcoder.sdk.plugin.common.sql;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.lowcoder.sdk.exception.PluginException;
+import org.lowcoder.sdk.query.ResultSetLimits;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.util.List;
+
+public class LimitedResultSetTest {
+
+    @Test
+    public void testUnlimitedReturnsSameResultSet() {
+        ResultSet resultSet = fakeResultSet(List.of("a"));
+        Assert.assertSame(resultSet, LimitedResultSet.wrap(resultSet, ResultSetLimits.UNLIMITED));
+    }
+
+    @Test
+    public void testRowLimit() throws Exception {
+        ResultSet resultSet = LimitedResultSet.wrap(fakeResultSet(List.of("a", "b", "c")), new ResultSetLimits(2, 0, 0));
+        Assert.assertTrue(resultSet.next());
+        Assert.assertTrue(resultSet.next());
+        Assert.assertThrows(PluginException.class, resultSet::next);
+    }
+
+    @Test
+    public void testByteLimitCountsEachColumnOncePerRow() throws Exception {
+        ResultSet resultSet = LimitedResultSet.wrap(fakeResultSet(List.of("12345", "12345", "12345")), new ResultSetLimits(0, 12, 0));
+        Assert.assertTrue(resultSet.next());
+        resultSet.getObject(1);
+        resultSet.getObject(1);
+        Assert.assertTrue(resultSet.next());
+        resultSet.getObject(1);
+        Assert.assertTrue(resultSet.next());
+        Assert.assertThrows(PluginException.class, () -> resultSet.getObject(1));
+    }
+
+    /**
+     * a single column result set over the given values
+     */
+    private static ResultSet fakeResultSet(List<String> values) {
+        int[] cursor = {-1};
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] {ResultSet.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "next" -> ++cursor[0] < values.size();
+                    case "getObject" -> values.get(cursor[0]);
+                    default -> null;
+                });
+    }
+}
@@ -0,0 +1,59 @@
+package org.lowcoder.sdk.plugin.common.sql;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.lowcoder.sdk.models.CompactRows;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+public class ResultSetParserTest {
+
+    private static final List<String> COLUMNS = List.of("id", "name");
+    private static final List<Object[]> VALUES = List.of(new Object[] {1, "a"}, new Object[] {2, null});
+
+    @Test
+    public void testCompactRowsMatchRowMaps() throws Exception {
+        List<Map<String, Object>> rows = ResultSetParser.parseRows(fakeResultSet(COLUMNS, VALUES));
+        CompactRows compactRows = ResultSetParser.parseCompactRows(fakeResultSet(COLUMNS, VALUES));
+
+        Assert.assertEquals(COLUMNS, compactRows.getColumns());
+        Assert.assertEquals(rows.size(), compactRows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            Assert.assertEquals(List.copyOf(rows.get(i).values()), Arrays.asList(compactRows.getRows().get(i)));
+        }
+    }
+
+    @Test
+    public void testCompactRowsOfEmptyResult() throws Exception {
+        CompactRows compactRows = ResultSetParser.parseCompactRows(fakeResultSet(COLUMNS, List.of()));
+        Assert.assertEquals(COLUMNS, compactRows.getColumns());
+        Assert.assertEquals(0, compactRows.size());
+    }
+
+    /**
+     * a result set of untyped columns over the given rows
+     */
+    private static ResultSet fakeResultSet(List<String> columns, List<Object[]> values) {
+        ResultSetMetaData metaData = (ResultSetMetaData) Proxy.newProxyInstance(ResultSetMetaData.class.getClassLoader(),
+                new Class<?>[] {ResultSetMetaData.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getColumnCount" -> columns.size();
+                    case "getColumnLabel", "getColumnName" -> columns.get((int) args[0] - 1);
+                    case "getColumnTypeName" -> "varchar";
+                    default -> null;
+                });
+        int[] cursor = {-1};
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] {ResultSet.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getMetaData" -> metaData;
+                    case "next" -> ++cursor[0] < values.size();
+                    case "getObject" -> values.get(cursor[0])[(int) args[0] - 1];
+                    default -> null;
+                });
+    }
+}
@@ -0,0 +1,40 @@
+package org.lowcoder.sdk.query;
+
+import org.junit.Assert;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+public class QueryVisitorContextTest {
+
+    private final QueryVisitorContext context = new QueryVisitorContext("user1", "org1", 8080, null, Mono.empty(), Set.of());
+
+    @Test
+    public void testDefaults() {
+        Assert.assertFalse(context.isCompactResult());
+        Assert.assertSame(ResultSetLimits.UNLIMITED, context.getResultSetLimits());
+    }
+
+    @Test
+    public void testCompactResultIsKeptWithTheResultSetLimits() {
+        ResultSetLimits limits = new ResultSetLimits(10, 1024, 0);
+
+        QueryVisitorContext limited = context.withCompactResult(true).withResultSetLimits(limits);
+
+        Assert.assertTrue(limited.isCompactResult());
+        Assert.assertEquals(limits, limited.getResultSetLimits());
+        Assert.assertEquals("user1", limited.getVisitorId());
+        Assert.assertEquals("org1", limited.getApplicationOrgId());
+    }
+
+    @Test
+    public void testResultSetLimitsAreKeptWithTheCompactResult() {
+        ResultSetLimits limits = new ResultSetLimits(10, 1024, 0);
+
+        QueryVisitorContext compact = context.withResultSetLimits(limits).withCompactResult(true);
+
+        Assert.assertTrue(compact.isCompactResult());
+        Assert.assertEquals(limits, compact.getResultSetLimits());
+    }
+}
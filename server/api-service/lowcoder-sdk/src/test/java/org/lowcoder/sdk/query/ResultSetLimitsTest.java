@@ -0,0 +1,23 @@
+package org.lowcoder.sdk.query;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ResultSetLimitsTest {
+
+    @Test
+    public void testCapsCanOnlyLowerTheLimits() {
+        ResultSetLimits limits = new ResultSetLimits(1000, 2048, 500);
+
+        Assert.assertEquals(new ResultSetLimits(10, 1024, 500), limits.capped(10, 1024));
+        Assert.assertEquals(limits, limits.capped(5000, 4096));
+        // non-positive caps are not set
+        Assert.assertEquals(limits, limits.capped(0, -1));
+    }
+
+    @Test
+    public void testCapsLimitAnUnlimitedServer() {
+        Assert.assertEquals(new ResultSetLimits(10, 0, 0), ResultSetLimits.UNLIMITED.capped(10, 0));
+        Assert.assertTrue(ResultSetLimits.UNLIMITED.capped(0, 0).isUnlimited());
+    }
+}
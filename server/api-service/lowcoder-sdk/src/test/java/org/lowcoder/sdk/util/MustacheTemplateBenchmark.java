@@ -0,0 +1,82 @@
+package org.lowcoder.sdk.util;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders text, sql and json templates through the public {@link MustacheHelper} methods only, so the same class runs
+ * against an older build of the sdk, such as the one that tokenized and parsed the template on every call. Compare the
+ * results of both builds.
+ * <p>
+ * Run with {@link #main(String[])} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MustacheTemplateBenchmark {
+
+    private static final String TEXT = "Hello {{user.name}}, your order {{order.id}} of {{ order.amount }} is \"{{order.status}}\" since {{order.date}}";
+
+    private static final String SQL = """
+            select * from orders
+            where user_id = {{user.id}} and status in ({{statuses}})
+              and note like '%{{keyword}}%' and created_at > {{order.date}}
+            order by created_at desc limit {{limit}}""";
+
+    private static final String JSON = """
+            {
+              "user": {"id": {{user.id}}, "name": "{{user.name}}", "tags": ["a", "b", "c"]},
+              "filter": {"statuses": {{statuses}}, "keyword": "%{{keyword}}%"},
+              "paging": {"limit": {{limit}}, "offset": 0},
+              "static": {"enabled": true, "ratio": 0.5, "items": [1, 2, 3, 4, 5]}
+            }""";
+
+    private Map<String, Object> params;
+
+    @Setup
+    public void setup() {
+        params = new HashMap<>();
+        params.put("user.id", 42);
+        params.put("user.name", "lowcoder");
+        params.put("order.id", "A-1024");
+        params.put("order.amount", 12.5);
+        params.put("order.status", "shipped");
+        params.put("order.date", "2024-05-01");
+        params.put("statuses", List.of("new", "paid", "shipped"));
+        params.put("keyword", "gift");
+        params.put("limit", 20);
+    }
+
+    @Benchmark
+    public String renderString() {
+        return MustacheHelper.renderMustacheString(TEXT, params);
+    }
+
+    @Benchmark
+    public String prepareStatement() {
+        List<String> keys = MustacheHelper.extractMustacheKeysInOrder(SQL);
+        return MustacheHelper.doPrepareStatement(SQL, keys, new HashMap<>(params));
+    }
+
+    @Benchmark
+    public Object renderJson() {
+        return MustacheHelper.renderMustacheJson(JSON, params);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MustacheTemplateBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
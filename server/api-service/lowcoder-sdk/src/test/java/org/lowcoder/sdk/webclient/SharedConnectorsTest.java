@@ -0,0 +1,101 @@
+package org.lowcoder.sdk.webclient;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.lowcoder.sdk.webclient.SharedConnectors.SharedConnector;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ClientHttpResponse;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SharedConnectorsTest {
+
+    private static final URI LOCALHOST = URI.create("http://localhost");
+    private static final Duration EXPIRE_AFTER_ACCESS = Duration.ofMinutes(30);
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final SharedConnectors<String> sharedConnectors = new SharedConnectors<>(10, EXPIRE_AFTER_ACCESS, nanos::get);
+    private final List<Disposable> pools = new ArrayList<>();
+    private final List<Sinks.One<ClientHttpResponse>> responses = new ArrayList<>();
+
+    @Test
+    public void testConnectorIsSharedByKey() {
+        connect(sharedConnectors.connector("a", this::newConnector));
+        connect(sharedConnectors.connector("a", this::newConnector));
+        connect(sharedConnectors.connector("b", this::newConnector));
+
+        Assert.assertEquals(2, pools.size());
+        Assert.assertEquals(3, responses.size());
+    }
+
+    @Test
+    public void testExpiredPoolIsDisposedAfterLastRequest() {
+        ClientHttpConnector connector = sharedConnectors.connector("a", this::newConnector);
+        connect(connector);
+        connect(connector);
+
+        expire();
+        Disposable pool = pools.get(0);
+        Assert.assertFalse(pool.isDisposed());
+
+        responses.get(0).tryEmitEmpty();
+        Assert.assertFalse(pool.isDisposed());
+        responses.get(1).tryEmitError(new IllegalStateException());
+        Assert.assertTrue(pool.isDisposed());
+    }
+
+    @Test
+    public void testIdlePoolIsDisposedOnExpiry() {
+        ClientHttpConnector connector = sharedConnectors.connector("a", this::newConnector);
+        connect(connector);
+        responses.get(0).tryEmitEmpty();
+        Assert.assertFalse(pools.get(0).isDisposed());
+
+        expire();
+        Assert.assertTrue(pools.get(0).isDisposed());
+    }
+
+    @Test
+    public void testConnectorBuiltBeforeExpiryGetsNewPool() {
+        ClientHttpConnector connector = sharedConnectors.connector("a", this::newConnector);
+        connect(connector);
+        responses.get(0).tryEmitEmpty();
+        expire();
+
+        connect(connector);
+        Assert.assertEquals(2, pools.size());
+        Assert.assertTrue(pools.get(0).isDisposed());
+        Assert.assertFalse(pools.get(1).isDisposed());
+    }
+
+    private void expire() {
+        nanos.addAndGet(EXPIRE_AFTER_ACCESS.plusSeconds(1).toNanos());
+        sharedConnectors.cleanUp();
+    }
+
+    private static void connect(ClientHttpConnector connector) {
+        connector.connect(HttpMethod.GET, LOCALHOST, request -> Mono.empty()).subscribe(response -> {}, error -> {});
+    }
+
+    /**
+     * a connector whose responses stay pending until the test completes them
+     */
+    private SharedConnector newConnector(String key) {
+        Disposable pool = Disposables.single();
+        pools.add(pool);
+        return new SharedConnector((method, uri, requestCallback) -> {
+            Sinks.One<ClientHttpResponse> response = Sinks.one();
+            responses.add(response);
+            return response.asMono();
+        }, pool);
+    }
+}
@@ -0,0 +1,48 @@
+package org.lowcoder.sdk.webclient;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Assert;
+import org.junit.Test;
+import reactor.netty.resources.ConnectionPoolMetrics;
+
+import java.net.InetSocketAddress;
+
+public class SharedPoolMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SharedPoolMetrics sharedPoolMetrics = new SharedPoolMetrics(meterRegistry);
+
+    @Test
+    public void testPoolsOfAllRemoteAddressesAreSummed() {
+        sharedPoolMetrics.registerMetrics("shared", "1", InetSocketAddress.createUnresolved("a.example.com", 443), new Pool(1, 3, 2, 0));
+        sharedPoolMetrics.registerMetrics("shared", "1", InetSocketAddress.createUnresolved("b.example.com", 443), new Pool(2, 2, 0, 4));
+        sharedPoolMetrics.registerMetrics("shared", "2", InetSocketAddress.createUnresolved("a.example.com", 443), new Pool(0, 1, 1, 0));
+
+        Assert.assertEquals(6, gauge("http_pool_total_connections", "shared"), 0);
+        Assert.assertEquals(3, gauge("http_pool_active_connections", "shared"), 0);
+        Assert.assertEquals(3, gauge("http_pool_idle_connections", "shared"), 0);
+        Assert.assertEquals(4, gauge("http_pool_pending_acquires", "shared"), 0);
+        // one meter per pool name, whatever the remote addresses
+        Assert.assertEquals(1, meterRegistry.find("http_pool_total_connections").gauges().size());
+
+        sharedPoolMetrics.deRegisterMetrics("shared", "1", InetSocketAddress.createUnresolved("b.example.com", 443));
+        Assert.assertEquals(4, gauge("http_pool_total_connections", "shared"), 0);
+        Assert.assertEquals(0, gauge("http_pool_pending_acquires", "shared"), 0);
+    }
+
+    @Test
+    public void testPoolNamesAreKeptApart() {
+        sharedPoolMetrics.registerMetrics("first", "1", InetSocketAddress.createUnresolved("a.example.com", 443), new Pool(1, 1, 0, 0));
+        sharedPoolMetrics.registerMetrics("second", "2", InetSocketAddress.createUnresolved("a.example.com", 443), new Pool(2, 2, 0, 0));
+
+        Assert.assertEquals(1, gauge("http_pool_total_connections", "first"), 0);
+        Assert.assertEquals(2, gauge("http_pool_total_connections", "second"), 0);
+    }
+
+    private double gauge(String name, String pool) {
+        return meterRegistry.get(name).tag("pool", pool).gauge().value();
+    }
+
+    private record Pool(int acquiredSize, int allocatedSize, int idleSize, int pendingAcquireSize) implements ConnectionPoolMetrics {
+    }
+}
@@ -5,6 +5,7 @@ import org.lowcoder.api.application.view.ApplicationInfoView;
 import org.lowcoder.api.application.view.ApplicationPermissionView;
 import org.lowcoder.api.application.view.ApplicationPublishRequest;
 import org.lowcoder.api.application.view.ApplicationView;
+import org.lowcoder.api.application.view.CachedApplicationView;
 import org.lowcoder.domain.application.model.Application;
 import org.lowcoder.domain.application.model.ApplicationRequestType;
 import org.lowcoder.domain.permission.model.ResourceAction;
@@ -33,6 +34,8 @@ public interface ApplicationApiService {
 
     Mono<ApplicationView> getPublishedApplication(String applicationId, ApplicationRequestType requestType, Boolean withDeleted);
 
+    Mono<CachedApplicationView> getCachedPublishedApplication(String applicationId, ApplicationRequestType requestType, Boolean withDeleted);
+
     Mono<Void> updateUserApplicationLastViewTime(String applicationId);
 
     Mono<ApplicationView> update(String applicationId, Application application, Boolean updateStatus);
@@ -16,6 +16,7 @@ import org.lowcoder.api.application.view.ApplicationInfoView;
 import org.lowcoder.api.application.view.ApplicationPermissionView;
 import org.lowcoder.api.application.view.ApplicationPublishRequest;
 import org.lowcoder.api.application.view.ApplicationView;
+import org.lowcoder.api.application.view.CachedApplicationView;
 import org.lowcoder.api.bizthreshold.AbstractBizThresholdChecker;
 import org.lowcoder.api.home.FolderApiService;
 import org.lowcoder.api.home.SessionUserService;
@@ -29,8 +30,11 @@ import org.lowcoder.api.usermanagement.view.GroupView;
 import org.lowcoder.api.usermanagement.view.OrgMemberListView;
 import org.lowcoder.domain.application.model.*;
 import org.lowcoder.domain.application.service.ApplicationHistorySnapshotService;
+import org.lowcoder.domain.application.service.ApplicationModuleClosureCache;
+import org.lowcoder.domain.application.service.ApplicationQueryIndexCache;
 import org.lowcoder.domain.application.service.ApplicationRecordService;
 import org.lowcoder.domain.application.service.ApplicationService;
+import org.lowcoder.domain.application.service.ApplicationSummaryService;
 import org.lowcoder.domain.datasource.model.Datasource;
 import org.lowcoder.domain.datasource.service.DatasourceService;
 import org.lowcoder.domain.folder.service.FolderElementRelationService;
@@ -103,6 +107,10 @@ public class ApplicationApiServiceImpl implements ApplicationApiService {
     private final DatasourceService datasourceService;
     private final ApplicationHistorySnapshotService applicationHistorySnapshotService;
     private final ApplicationRecordService applicationRecordService;
+    private final ApplicationQueryIndexCache applicationQueryIndexCache;
+    private final ApplicationModuleClosureCache applicationModuleClosureCache;
+    private final PublishedApplicationViewCache publishedApplicationViewCache;
+    private final ApplicationSummaryService applicationSummaryService;
     private final FolderElementRelationService folderElementRelationService;
     private final GroupApiService groupApiService;
     private final OrgApiService orgApiService;
@@ -197,6 +205,7 @@ public class ApplicationApiServiceImpl implements ApplicationApiService {
     public Mono<ApplicationView> delete(String applicationId) {
         return checkApplicationStatus(applicationId, ApplicationStatus.RECYCLED)
                 .then(updateApplicationStatus(applicationId, ApplicationStatus.DELETED))
+                .then(applicationSummaryService.deleteByApplicationId(applicationId))
                 .then(applicationService.findById(applicationId))
                 .flatMap(application -> buildView(application).map(appInfoView -> ApplicationView.builder()
                         .applicationInfoView(appInfoView)
@@ -332,6 +341,20 @@ public class ApplicationApiServiceImpl implements ApplicationApiService {
                 });
     }
 
+    /**
+     * same checks as {@link #getPublishedApplication}, the view itself comes from the cache while the application is not
+     * republished, navigation layouts excepted.
+     */
+    @Override
+    public Mono<CachedApplicationView> getCachedPublishedApplication(String applicationId, ApplicationRequestType requestType, Boolean withDeleted) {
+        return checkApplicationPermissionWithReadableErrorMsg(applicationId, READ_APPLICATIONS, requestType)
+                .zipWhen(permission -> applicationService.findByIdWithoutDsl(applicationId)
+                        .delayUntil(application -> Boolean.TRUE.equals(withDeleted)? Mono.empty() : checkApplicationStatus(application, NORMAL))
+                        .delayUntil(application -> checkApplicationViewRequest(application, requestType)))
+                .flatMap(tuple -> publishedApplicationViewCache.get(tuple.getT2(), tuple.getT1().getResourceRole().getValue(),
+                        () -> getPublishedApplication(applicationId, requestType, withDeleted)));
+    }
+
     private Mono<String> getTemplateIdFromApplicationId(String applicationId) {
         return templateService.getByApplicationId(applicationId)
                 .map(Template::getId)
@@ -374,7 +397,11 @@ public class ApplicationApiServiceImpl implements ApplicationApiService {
                 .applicationStatus(Boolean.TRUE.equals(updateStatus) ? application.getApplicationStatus() : null)
                 .build();
         return applicationService.updateById(applicationId, applicationUpdate)
-                .then(applicationService.findById(applicationId));
+                .then(applicationService.findById(applicationId))
+                .doOnNext(applicationUpdated -> {
+                    applicationQueryIndexCache.invalidate(applicationUpdated.getId());
+                    publishedApplicationViewCache.invalidate(applicationUpdated.getId());
+                });
     }
 
     @Override
@@ -384,13 +411,18 @@ public class ApplicationApiServiceImpl implements ApplicationApiService {
                 .flatMap(userId -> resourcePermissionService.checkAndReturnMaxPermission(userId,
                         applicationId, PUBLISH_APPLICATIONS))
                 .delayUntil(__ -> applicationService.findById(applicationId)
-                        .map(application -> ApplicationVersion.builder()
-                                .tag(applicationPublishRequest.tag())
-                                .commitMessage(applicationPublishRequest.commitMessage())
-                                .applicationId(application.getId())
-                                .applicationDSL(application.getEditingApplicationDSL())
-                                .build())
-                        .flatMap(applicationRecordService::insert))
+                        .flatMap(application -> applicationRecordService.insert(ApplicationVersion.builder()
+                                        .tag(applicationPublishRequest.tag())
+                                        .commitMessage(applicationPublishRequest.commitMessage())
+                                        .applicationId(application.getId())
+                                        .applicationDSL(application.getEditingApplicationDSL())
+                                        .build())
+                                .doOnNext(applicationVersion -> {
+                                    applicationQueryIndexCache.invalidate(applicationVersion.getApplicationId());
+                                    applicationModuleClosureCache.invalidate(applicationVersion.getApplicationId());
+                                    publishedApplicationViewCache.invalidate(applicationVersion.getApplicationId());
+                                })
+                                .flatMap(applicationVersion -> applicationSummaryService.refresh(application, applicationVersion))))
                 .flatMap(permission -> applicationService.findById(applicationId)
                         .flatMap(applicationUpdated -> buildView(applicationUpdated, permission.getResourceRole().getValue()).map(appInfoView -> ApplicationView.builder()
                                 .applicationInfoView(appInfoView)
@@ -625,7 +657,8 @@ public class ApplicationApiServiceImpl implements ApplicationApiService {
     public Mono<Boolean> setApplicationPublicToAll(String applicationId, boolean publicToAll) {
         return checkCurrentUserApplicationPermission(applicationId, ResourceAction.SET_APPLICATIONS_PUBLIC)
                 .then(checkApplicationStatus(applicationId, NORMAL))
-                .then(applicationService.setApplicationPublicToAll(applicationId, publicToAll));
+                .then(applicationService.setApplicationPublicToAll(applicationId, publicToAll))
+                .doOnNext(__ -> publishedApplicationViewCache.invalidate(applicationId));
     }
 
     @Override
@@ -633,7 +666,8 @@ public class ApplicationApiServiceImpl implements ApplicationApiService {
         return checkCurrentUserApplicationPermission(applicationId, ResourceAction.SET_APPLICATIONS_PUBLIC_TO_MARKETPLACE)
                 .then(checkApplicationStatus(applicationId, NORMAL))
                 .then(applicationService.setApplicationPublicToMarketplace
-                        (applicationId, request.publicToMarketplace()));
+                        (applicationId, request.publicToMarketplace()))
+                .doOnNext(__ -> publishedApplicationViewCache.invalidate(applicationId));
     }
 
     // Falk: why we have request.publicToMarketplace() - but here only agencyProfile? Not from request?
@@ -642,7 +676,8 @@ public class ApplicationApiServiceImpl implements ApplicationApiService {
         return checkCurrentUserApplicationPermission(applicationId, ResourceAction.SET_APPLICATIONS_AS_AGENCY_PROFILE)
                 .then(checkApplicationStatus(applicationId, NORMAL))
                 .then(applicationService.setApplicationAsAgencyProfile
-                        (applicationId, agencyProfile));
+                        (applicationId, agencyProfile))
+                .doOnNext(__ -> publishedApplicationViewCache.invalidate(applicationId));
     }
 
     @Override
@@ -1,6 +1,7 @@
 package org.lowcoder.api.application;
 
 import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
 import org.lowcoder.api.application.view.*;
 import org.lowcoder.api.framework.view.PageResponseView;
 import org.lowcoder.api.framework.view.ResponseView;
@@ -14,10 +15,16 @@ import org.lowcoder.domain.application.model.ApplicationStatus;
 import org.lowcoder.domain.application.model.ApplicationType;
 import org.lowcoder.domain.application.service.ApplicationRecordService;
 import org.lowcoder.domain.permission.model.ResourceRole;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
@@ -97,30 +104,55 @@ public class ApplicationController implements ApplicationEndpoints {
     }
 
     @Override
-    public Mono<ResponseView<ApplicationView>> getPublishedApplication(@PathVariable String applicationId, @RequestParam(required = false) Boolean withDeleted) {
-        return gidService.convertApplicationIdToObjectId(applicationId).flatMap(appId ->
-                applicationApiService.getPublishedApplication(appId, ApplicationRequestType.PUBLIC_TO_ALL, withDeleted)
-                    .delayUntil(applicationView -> applicationApiService.updateUserApplicationLastViewTime(appId))
-                    .delayUntil(applicationView -> businessEventPublisher.publishApplicationCommonEvent(applicationView, applicationView, APPLICATION_VIEW))
-                    .map(ResponseView::success));
+    public Mono<Void> getPublishedApplication(ServerWebExchange exchange, @PathVariable String applicationId, @RequestParam(required = false) Boolean withDeleted) {
+        return getPublishedApplication(exchange, applicationId, ApplicationRequestType.PUBLIC_TO_ALL, withDeleted);
     }
 
     @Override
-    public Mono<ResponseView<ApplicationView>> getPublishedMarketPlaceApplication(@PathVariable String applicationId) {
-        return gidService.convertApplicationIdToObjectId(applicationId).flatMap(appId ->
-                applicationApiService.getPublishedApplication(appId, ApplicationRequestType.PUBLIC_TO_MARKETPLACE, false)
-                    .delayUntil(applicationView -> applicationApiService.updateUserApplicationLastViewTime(appId))
-                    .delayUntil(applicationView -> businessEventPublisher.publishApplicationCommonEvent(applicationView, applicationView, APPLICATION_VIEW))
-                    .map(ResponseView::success));
+    public Mono<Void> getPublishedMarketPlaceApplication(ServerWebExchange exchange, @PathVariable String applicationId) {
+        return getPublishedApplication(exchange, applicationId, ApplicationRequestType.PUBLIC_TO_MARKETPLACE, false);
     }
 
     @Override
-    public Mono<ResponseView<ApplicationView>> getAgencyProfileApplication(@PathVariable String applicationId) {
+    public Mono<Void> getAgencyProfileApplication(ServerWebExchange exchange, @PathVariable String applicationId) {
+        return getPublishedApplication(exchange, applicationId, ApplicationRequestType.AGENCY_PROFILE, false);
+    }
+
+    private Mono<Void> getPublishedApplication(ServerWebExchange exchange, String applicationId, ApplicationRequestType requestType, Boolean withDeleted) {
         return gidService.convertApplicationIdToObjectId(applicationId).flatMap(appId ->
-                applicationApiService.getPublishedApplication(appId, ApplicationRequestType.AGENCY_PROFILE, false)
-                    .delayUntil(applicationView -> applicationApiService.updateUserApplicationLastViewTime(appId))
-                    .delayUntil(applicationView -> businessEventPublisher.publishApplicationCommonEvent(applicationView, applicationView, APPLICATION_VIEW))
-                    .map(ResponseView::success));
+                applicationApiService.getCachedPublishedApplication(appId, requestType, withDeleted)
+                    .delayUntil(cachedView -> applicationApiService.updateUserApplicationLastViewTime(appId))
+                    .delayUntil(cachedView -> businessEventPublisher.publishApplicationViewEvent(cachedView.getApplicationView()))
+                    .flatMap(cachedView -> writeCachedView(exchange, cachedView)));
+    }
+
+    /**
+     * permissions have been checked for this request, so a matching If-None-Match gets a 304 and the body is otherwise
+     * written as it was cached.
+     */
+    private Mono<Void> writeCachedView(ServerWebExchange exchange, CachedApplicationView cachedView) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().setCacheControl(CacheControl.noCache());
+        response.getHeaders().setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+        if (exchange.checkNotModified(cachedView.getEtag())) {
+            return response.setComplete();
+        }
+
+        byte[] body;
+        if (acceptsGzip(exchange.getRequest())) {
+            response.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            body = cachedView.getGzippedBody();
+        } else {
+            body = cachedView.getBody();
+        }
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setContentLength(body.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    private static boolean acceptsGzip(ServerHttpRequest request) {
+        return request.getHeaders().getOrEmpty(HttpHeaders.ACCEPT_ENCODING).stream()
+                .anyMatch(value -> StringUtils.containsIgnoreCase(value, "gzip"));
     }
 
     @Override
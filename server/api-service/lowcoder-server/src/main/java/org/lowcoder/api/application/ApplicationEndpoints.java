@@ -15,6 +15,7 @@ import org.lowcoder.infra.constant.NewUrl;
 import org.lowcoder.infra.constant.Url;
 import org.lowcoder.sdk.config.JsonViews;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
@@ -98,7 +99,7 @@ public interface ApplicationEndpoints
 		    description = "Retrieve the DSL data of a Lowcoder Application in view-mode by its ID."
 	)
     @GetMapping("/{applicationId}/view")
-    public Mono<ResponseView<ApplicationView>> getPublishedApplication(@PathVariable String applicationId, @RequestParam(required = false) Boolean withDeleted);
+    public Mono<Void> getPublishedApplication(ServerWebExchange exchange, @PathVariable String applicationId, @RequestParam(required = false) Boolean withDeleted);
 
 	@Operation(
 			tags = TAG_APPLICATION_MANAGEMENT,
@@ -107,7 +108,7 @@ public interface ApplicationEndpoints
 			description = "Retrieve the DSL data of a Lowcoder Application in view-mode by its ID for the Marketplace."
 	)
 	@GetMapping("/{applicationId}/view_marketplace")
-	public Mono<ResponseView<ApplicationView>> getPublishedMarketPlaceApplication(@PathVariable String applicationId);
+	public Mono<Void> getPublishedMarketPlaceApplication(ServerWebExchange exchange, @PathVariable String applicationId);
 
 	@Operation(
 			tags = TAG_APPLICATION_MANAGEMENT,
@@ -116,7 +117,7 @@ public interface ApplicationEndpoints
 			description = "Retrieve the DSL data of a Lowcoder Application in view-mode by its ID marked as Agency Profile."
 	)
 	@GetMapping("/{applicationId}/view_agency")
-	public Mono<ResponseView<ApplicationView>> getAgencyProfileApplication(@PathVariable String applicationId);
+	public Mono<Void> getAgencyProfileApplication(ServerWebExchange exchange, @PathVariable String applicationId);
 
 	@Operation(
 			tags = TAG_APPLICATION_MANAGEMENT,
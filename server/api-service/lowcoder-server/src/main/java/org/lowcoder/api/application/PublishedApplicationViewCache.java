@@ -0,0 +1,135 @@
+package org.lowcoder.api.application;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.hash.Hashing;
+import org.lowcoder.api.application.view.ApplicationView;
+import org.lowcoder.api.application.view.CachedApplicationView;
+import org.lowcoder.api.framework.view.ResponseView;
+import org.lowcoder.domain.application.model.Application;
+import org.lowcoder.domain.application.model.ApplicationType;
+import org.lowcoder.domain.application.model.ApplicationVersion;
+import org.lowcoder.domain.application.service.ApplicationModuleClosureCache;
+import org.lowcoder.domain.application.service.ApplicationRecordService;
+import org.lowcoder.infra.localcache.CaffeineCacheUtils;
+import org.lowcoder.sdk.config.CommonConfig;
+import org.lowcoder.sdk.util.JsonUtils;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the serialized and gzipped response of published application views, so that viewing a public or embedded app
+ * does not expand its modules and sanitize its dsl again for every viewer.
+ * <p>
+ * Entries are keyed by the live version of the application, the time it was last updated and the role of the viewer, which
+ * is part of the view. Publishing the application or one of its modules drops its entries through {@link #invalidate(String)};
+ * changes made through another node are picked up after {@link #EXPIRE}.
+ * <p>
+ * Navigation layouts are never cached, their sub apps are filtered by what each viewer can read.
+ */
+@Component
+public class PublishedApplicationViewCache {
+
+    private static final Duration EXPIRE = Duration.ofMinutes(5);
+
+    private final ApplicationRecordService applicationRecordService;
+    private final ApplicationModuleClosureCache applicationModuleClosureCache;
+    private final Cache<ViewKey, CachedApplicationView> cache;
+
+    public PublishedApplicationViewCache(ApplicationRecordService applicationRecordService,
+            ApplicationModuleClosureCache applicationModuleClosureCache, CommonConfig commonConfig) {
+        this.applicationRecordService = applicationRecordService;
+        this.applicationModuleClosureCache = applicationModuleClosureCache;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(commonConfig.getQuery().getAppViewCacheMaxSizeMb() * 1024L * 1024L)
+                .weigher((ViewKey key, CachedApplicationView value) -> value.getGzippedBody().length)
+                .expireAfterWrite(EXPIRE)
+                .build();
+    }
+
+    /**
+     * @param application the application without dsl, already checked for the current request
+     * @param viewSupplier builds the view when it is not cached
+     */
+    public Mono<CachedApplicationView> get(Application application, String role, Supplier<Mono<ApplicationView>> viewSupplier) {
+        if (application.getApplicationType() == ApplicationType.NAV_LAYOUT.getValue()) {
+            return viewSupplier.get().map(PublishedApplicationViewCache::buildUncached);
+        }
+        return getVersion(application)
+                .flatMap(version -> CaffeineCacheUtils.getCacheValueMono(cache, new ViewKey(application.getId(), role, version),
+                        () -> viewSupplier.get().flatMap(view -> build(application.getId(), view))));
+    }
+
+    /**
+     * drop the views of the application and of every application using it as a module, called when it is published or updated.
+     */
+    public void invalidate(String applicationId) {
+        cache.asMap().entrySet().removeIf(entry -> entry.getKey().applicationId().equals(applicationId)
+                || entry.getValue().getModuleIds().contains(applicationId));
+    }
+
+    private Mono<String> getVersion(Application application) {
+        long updatedAt = application.getUpdatedAt() == null ? 0 : application.getUpdatedAt().toEpochMilli();
+        return applicationRecordService.getLatestRecordWithoutDslByApplicationId(application.getId())
+                .map(ApplicationVersion::getId)
+                .defaultIfEmpty("editing")
+                .map(recordId -> recordId + ":" + updatedAt);
+    }
+
+    private Mono<CachedApplicationView> build(String applicationId, ApplicationView view) {
+        return applicationModuleClosureCache.getDependentModuleIds(applicationId)
+                .defaultIfEmpty(Set.of())
+                .map(moduleIds -> toCachedView(view, moduleIds));
+    }
+
+    private static CachedApplicationView buildUncached(ApplicationView view) {
+        return toCachedView(view, Set.of());
+    }
+
+    /**
+     * the etag is taken over the serialized body, which besides the application and its modules holds the org settings and
+     * the template id of the application.
+     */
+    @SuppressWarnings("UnstableApiUsage")
+    private static CachedApplicationView toCachedView(ApplicationView view, Set<String> moduleIds) {
+        byte[] body = toJson(ResponseView.success(view));
+        return CachedApplicationView.builder()
+                .applicationView(ApplicationView.builder()
+                        .applicationInfoView(view.getApplicationInfoView())
+                        .build())
+                .gzippedBody(gzip(body))
+                .etag("\"" + Hashing.sha256().hashBytes(body) + "\"")
+                .moduleIds(moduleIds)
+                .build();
+    }
+
+    private static byte[] toJson(Object body) {
+        try {
+            return JsonUtils.getObjectMapper().writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private record ViewKey(String applicationId, String role, String version) {
+    }
+}
@@ -0,0 +1,41 @@
+package org.lowcoder.api.application.view;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * A published application view kept as the gzipped json of its response, shared by the viewers with the same role.
+ */
+@Builder
+@Getter
+public class CachedApplicationView {
+
+    /**
+     * the view without its dsl, used for the view events
+     */
+    private final ApplicationView applicationView;
+    private final byte[] gzippedBody;
+    private final String etag;
+
+    /**
+     * modules the view was built with, publishing one of them drops the view
+     */
+    private final Set<String> moduleIds;
+
+    /**
+     * the uncompressed body, for the few clients not accepting gzip
+     */
+    public byte[] getBody() {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(gzippedBody))) {
+            return gzip.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.lowcoder.api.framework.service.GlobalContextService;
 import org.lowcoder.api.home.SessionUserService;
+import org.lowcoder.domain.organization.model.OrgMember;
 import org.lowcoder.domain.organization.service.OrgMemberService;
 import org.lowcoder.infra.serverlog.ServerLog;
 import org.lowcoder.infra.serverlog.ServerLogService;
@@ -21,6 +22,7 @@ import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuples;
 
 import java.util.Locale;
 import java.util.Map;
@@ -56,10 +58,15 @@ public class GlobalContextFilter implements WebFilter, Ordered {
     public Mono<Void> filter(@Nonnull ServerWebExchange exchange, @Nonnull WebFilterChain chain) {
 
         return sessionUserService.getVisitorId()
-                .flatMap(visitorId -> saveServerLog(exchange, visitorId))
-                .flatMap(visitorId -> chain.filter(exchange)
+                .flatMap(visitorId -> {
+                    // resolved at most once per request, shared by the server log and everything reading CURRENT_ORG_MEMBER
+                    Mono<OrgMember> currentOrgMemberMono = orgMemberService.getCurrentOrgMember(visitorId).cache();
+                    return saveServerLog(exchange, visitorId, currentOrgMemberMono)
+                            .map(__ -> Tuples.of(visitorId, currentOrgMemberMono));
+                })
+                .flatMap(tuple -> chain.filter(exchange)
                         .contextWrite(ctx -> {
-                            Map<String, Object> contextMap = buildContextMap(exchange, visitorId);
+                            Map<String, Object> contextMap = buildContextMap(exchange, tuple.getT1(), tuple.getT2());
                             for (Entry<String, Object> entry : contextMap.entrySet()) {
                                 String key = entry.getKey();
                                 Object value = entry.getValue();
@@ -69,13 +76,12 @@ public class GlobalContextFilter implements WebFilter, Ordered {
                         }));
     }
 
-    private Mono<String> saveServerLog(ServerWebExchange exchange, String visitorId) {
+    private Mono<String> saveServerLog(ServerWebExchange exchange, String visitorId, Mono<OrgMember> currentOrgMemberMono) {
         if (isAnonymousUser(visitorId)) {
             return Mono.just(visitorId);
         }
 
-        return orgMemberService
-                .getCurrentOrgMember(visitorId)
+        return currentOrgMemberMono
                 .map(orgMember -> {
                     ServerLog serverLog = ServerLog.builder()
                             .orgId(orgMember.getOrgId())
@@ -90,7 +96,7 @@ public class GlobalContextFilter implements WebFilter, Ordered {
 
     }
 
-    private Map<String, Object> buildContextMap(ServerWebExchange serverWebExchange, String visitorId) {
+    private Map<String, Object> buildContextMap(ServerWebExchange serverWebExchange, String visitorId, Mono<OrgMember> currentOrgMemberMono) {
         ServerHttpRequest request = serverWebExchange.getRequest();
         Map<String, Object> contextMap = request.getHeaders().toSingleValueMap().entrySet()
                 .stream()
@@ -106,7 +112,7 @@ public class GlobalContextFilter implements WebFilter, Ordered {
         LocaleContext localeContext = serverWebExchange.getLocaleContext();
         Locale currentLocale = localeContext.getLocale() != null ? localeContext.getLocale() : Locale.ENGLISH;
         contextMap.put(CLIENT_LOCALE, currentLocale);
-        contextMap.put(CURRENT_ORG_MEMBER, orgMemberService.getCurrentOrgMember(visitorId).cache());
+        contextMap.put(CURRENT_ORG_MEMBER, currentOrgMemberMono);
         contextMap.put(VISITOR_TOKEN, cookieHelper.getCookieToken(serverWebExchange));
         contextMap.put(DOMAIN, UriUtils.getRefererDomainFromRequest(serverWebExchange));
 
@@ -5,6 +5,7 @@ import jakarta.annotation.Nonnull;
 import jakarta.annotation.PostConstruct;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.lowcoder.sdk.config.dynamic.Conf;
 import org.lowcoder.sdk.config.dynamic.ConfigCenter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -19,7 +20,6 @@ import reactor.core.publisher.Mono;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Supplier;
 
 import static java.util.Collections.emptyMap;
 import static org.lowcoder.api.framework.filter.FilterOrder.THROTTLING;
@@ -37,7 +37,7 @@ public class ThrottlingFilter implements WebFilter, Ordered {
 
     
     private final Map<String, RateLimiterWrapper> rateLimiterMap = new ConcurrentHashMap<>();
-    private Supplier<Map<String, Integer>> urlRateLimiter;
+    private Conf<Map<String, Integer>> urlRateLimiter;
 
     @Autowired
     private ConfigCenter configCenter;
@@ -45,6 +45,7 @@ public class ThrottlingFilter implements WebFilter, Ordered {
     @PostConstruct
     private void init() {
         urlRateLimiter = configCenter.threshold().ofMap("urlRateLimiter", String.class, Integer.class, emptyMap());
+        urlRateLimiter.onChange(this::updateRates);
         log.info("API rate limit filter enabled with default rate limit set to: {} requests per second", defaultApiRateLimit);
     }
 
@@ -55,18 +56,8 @@ public class ThrottlingFilter implements WebFilter, Ordered {
         ServerHttpRequest request = exchange.getRequest();
         String requestUrl = request.getPath().pathWithinApplication().value();
 
-        RateLimiterWrapper rateLimiter = rateLimiterMap.compute(requestUrl,
-                (url, currentLimiter) -> {
-                    int targetRate = urlRateLimiter.get().getOrDefault(url, defaultApiRateLimit);
-                    if (currentLimiter == null) {
-                        return RateLimiterWrapper.create(targetRate);
-                    }
-                    if (currentLimiter.rateNotChanged(targetRate)) {
-                        return currentLimiter;
-                    }
-                    return currentLimiter.updateRate(targetRate);
-                });
-
+        RateLimiterWrapper rateLimiter = rateLimiterMap.computeIfAbsent(requestUrl,
+                url -> RateLimiterWrapper.create(urlRateLimiter.get().getOrDefault(url, defaultApiRateLimit)));
 
         if (!rateLimiter.tryAcquire()) {
             return ofError(REQUEST_THROTTLED, "REQUEST_THROTTLED");
@@ -75,6 +66,15 @@ public class ThrottlingFilter implements WebFilter, Ordered {
         return chain.filter(exchange);
     }
 
+    private void updateRates(Map<String, Integer> urlRates) {
+        rateLimiterMap.forEach((url, rateLimiter) -> {
+            int targetRate = urlRates.getOrDefault(url, defaultApiRateLimit);
+            if (!rateLimiter.rateNotChanged(targetRate)) {
+                rateLimiter.updateRate(targetRate);
+            }
+        });
+    }
+
     @Override
     public int getOrder() {
         return THROTTLING.getOrder();
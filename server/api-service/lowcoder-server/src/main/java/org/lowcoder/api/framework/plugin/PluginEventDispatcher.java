@@ -0,0 +1,135 @@
+package org.lowcoder.api.framework.plugin;
+
+import static org.lowcoder.infra.perf.PerfEvent.PLUGIN_EVENT_DELIVERED;
+import static org.lowcoder.infra.perf.PerfEvent.PLUGIN_EVENT_DROPPED;
+import static org.lowcoder.infra.perf.PerfEvent.PLUGIN_EVENT_QUEUE_SIZE;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.lowcoder.infra.perf.PerfHelper;
+import org.lowcoder.plugin.api.event.LowcoderEvent;
+import org.lowcoder.sdk.config.CommonConfig;
+
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Delivers events to one plugin listener from its own thread, so that a slow listener never delays the request publishing
+ * the event. Events wait in a bounded queue and are drained in batches; when the queue is full, the newest or the oldest
+ * event is dropped according to {@link CommonConfig.PluginEvents#getOverflowPolicy()}.
+ */
+@Slf4j
+class PluginEventDispatcher
+{
+	private static final long POLL_TIMEOUT_MILLIS = 1000;
+	private static final long CLOSE_TIMEOUT_MILLIS = 5000;
+
+	private final Consumer<LowcoderEvent> listener;
+	private final BlockingQueue<LowcoderEvent> queue;
+	private final int batchSize;
+	private final CommonConfig.OverflowPolicy overflowPolicy;
+	private final PerfHelper perfHelper;
+	private final Tags tags;
+	private final Thread worker;
+
+	private volatile boolean running = true;
+
+	PluginEventDispatcher(String name, Consumer<LowcoderEvent> listener, CommonConfig.PluginEvents config, PerfHelper perfHelper)
+	{
+		this.listener = listener;
+		this.queue = new ArrayBlockingQueue<>(Math.max(config.getQueueCapacity(), 1));
+		this.batchSize = Math.max(config.getBatchSize(), 1);
+		this.overflowPolicy = config.getOverflowPolicy();
+		this.perfHelper = perfHelper;
+		this.tags = Tags.of("listener", name);
+		perfHelper.gaugeSafely(PLUGIN_EVENT_QUEUE_SIZE, tags, queue, Collection::size);
+
+		this.worker = new Thread(this::deliverEvents, "plugin-event-" + name);
+		this.worker.setDaemon(true);
+		this.worker.start();
+	}
+
+	/**
+	 * never blocks the caller
+	 */
+	void dispatch(LowcoderEvent event)
+	{
+		if (queue.offer(event))
+		{
+			return;
+		}
+		if (overflowPolicy == CommonConfig.OverflowPolicy.DROP_OLDEST)
+		{
+			queue.poll();
+			queue.offer(event);
+		}
+		perfHelper.count(PLUGIN_EVENT_DROPPED, tags);
+	}
+
+	/**
+	 * stops taking new events and waits for the queued ones to be delivered
+	 */
+	void close()
+	{
+		running = false;
+		try
+		{
+			worker.join(CLOSE_TIMEOUT_MILLIS);
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+		if (!queue.isEmpty())
+		{
+			log.warn("{} plugin events not delivered on shutdown", queue.size());
+		}
+	}
+
+	private void deliverEvents()
+	{
+		List<LowcoderEvent> batch = new ArrayList<>(batchSize);
+		while (running || !queue.isEmpty())
+		{
+			try
+			{
+				LowcoderEvent first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+				if (first == null)
+				{
+					continue;
+				}
+				batch.add(first);
+				queue.drainTo(batch, batchSize - 1);
+				for (LowcoderEvent event : batch)
+				{
+					deliver(event);
+				}
+				perfHelper.count(PLUGIN_EVENT_DELIVERED, tags, batch.size());
+				batch.clear();
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	private void deliver(LowcoderEvent event)
+	{
+		try
+		{
+			listener.accept(event);
+		}
+		catch (Throwable cause)
+		{
+			log.warn("Error delivering event {} to plugin listener", event.getClass().getSimpleName(), cause);
+		}
+	}
+}
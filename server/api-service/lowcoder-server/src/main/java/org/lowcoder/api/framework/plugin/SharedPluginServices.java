@@ -1,19 +1,22 @@
 package org.lowcoder.api.framework.plugin;
 
-import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
 
 import org.lowcoder.api.framework.plugin.endpoint.PluginEndpointHandler;
 import org.lowcoder.infra.config.model.ServerConfig;
 import org.lowcoder.infra.config.repository.ServerConfigRepository;
+import org.lowcoder.infra.perf.PerfHelper;
 import org.lowcoder.plugin.api.LowcoderServices;
 import org.lowcoder.plugin.api.PluginEndpoint;
 import org.lowcoder.plugin.api.event.LowcoderEvent;
+import org.lowcoder.sdk.config.CommonConfig;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 
 @RequiredArgsConstructor
@@ -21,24 +24,39 @@ import lombok.RequiredArgsConstructor;
 public class SharedPluginServices implements LowcoderServices
 {
 	private final PluginEndpointHandler pluginEndpointHandler;
+	private final CommonConfig commonConfig;
+	private final PerfHelper perfHelper;
 
 	@Autowired
 	private ServerConfigRepository serverConfigRepository;
 	
-	private List<Consumer<LowcoderEvent>> eventListeners = new LinkedList<>();
+	private final List<PluginEventDispatcher> eventDispatchers = new CopyOnWriteArrayList<>();
 
 	@Override
 	public void registerEventListener(Consumer<LowcoderEvent> listener) 
 	{
-		this.eventListeners.add(listener);
+		String name = "listener-" + eventDispatchers.size();
+		this.eventDispatchers.add(new PluginEventDispatcher(name, listener, commonConfig.getPluginEvents(), perfHelper));
 	}
 
+	/**
+	 * only queues the event for each listener, listeners are called from their own dispatcher thread
+	 */
 	@EventListener(classes = LowcoderEvent.class)
 	private void publishEvents(LowcoderEvent event)
 	{
-		for (Consumer<LowcoderEvent> listener : eventListeners)
+		for (PluginEventDispatcher dispatcher : eventDispatchers)
 		{
-			listener.accept(event);
+			dispatcher.dispatch(event);
+		}
+	}
+
+	@PreDestroy
+	private void closeEventDispatchers()
+	{
+		for (PluginEventDispatcher dispatcher : eventDispatchers)
+		{
+			dispatcher.close();
 		}
 	}
 
@@ -29,6 +29,9 @@ public interface FolderApiService {
 
     Flux<?> getElements(@Nullable String folderId, @Nullable ApplicationType applicationType, @Nullable String name, @Nullable String category);
 
+    Mono<FolderLevelView> getLevel(@Nullable String folderId, @Nullable ApplicationType applicationType, @Nullable String name,
+            @Nullable String category, @Nullable String cursor, int pageSize);
+
     Mono<Void> grantPermission(String folderId, Set<String> userIds, Set<String> groupIds, ResourceRole role);
 
     Mono<Void> updatePermission(String folderId, String permissionId, ResourceRole role);
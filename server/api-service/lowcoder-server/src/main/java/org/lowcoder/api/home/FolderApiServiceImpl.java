@@ -11,11 +11,15 @@ import org.lowcoder.api.application.view.ApplicationPermissionView;
 import org.lowcoder.api.permission.PermissionHelper;
 import org.lowcoder.api.permission.view.PermissionItemView;
 import org.lowcoder.api.usermanagement.OrgDevChecker;
+import org.lowcoder.domain.application.model.Application;
 import org.lowcoder.domain.application.model.ApplicationStatus;
 import org.lowcoder.domain.application.model.ApplicationType;
 import org.lowcoder.domain.folder.model.Folder;
 import org.lowcoder.domain.folder.model.FolderElement;
 import org.lowcoder.domain.folder.service.*;
+import org.lowcoder.domain.folder.service.FolderContentService.ChildCount;
+import org.lowcoder.domain.folder.service.FolderContentService.LevelQuery;
+import org.lowcoder.domain.folder.service.FolderContentService.NameCursor;
 import org.lowcoder.domain.group.service.GroupService;
 import org.lowcoder.domain.interaction.UserFolderInteraction;
 import org.lowcoder.domain.interaction.UserFolderInteractionService;
@@ -31,15 +35,18 @@ import org.lowcoder.domain.user.model.User;
 import org.lowcoder.domain.user.service.UserService;
 import org.lowcoder.sdk.exception.BizError;
 import org.lowcoder.sdk.exception.BizException;
+import org.lowcoder.sdk.util.JsonUtils;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.*;
 import java.util.function.Function;
 import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
 
 import static org.apache.commons.collections4.CollectionUtils.isNotEmpty;
 import static org.lowcoder.infra.util.MonoUtils.emptyIfNull;
@@ -67,6 +74,12 @@ public class FolderApiServiceImpl implements FolderApiService {
                         return ((FolderNode<ApplicationInfoView, FolderInfoView>) node).getSelf().getName();
                     });
 
+    private static final int MAX_LEVEL_PAGE_SIZE = 500;
+    private static final int MIN_APPLICATION_BATCH_SIZE = 20;
+    private static final int MAX_APPLICATION_BATCHES = 5;
+    private static final int READABLE_APPLICATION_BATCH_SIZE = 100;
+    private static final int MAX_READABLE_APPLICATION_BATCHES = 10;
+
     private final FolderService folderService;
     private final SessionUserService sessionUserService;
     private final OrgDevChecker orgDevChecker;
@@ -79,6 +92,7 @@ public class FolderApiServiceImpl implements FolderApiService {
     private final UserService userService;
     private final OrganizationService organizationService;
     private final UserFolderInteractionService userFolderInteractionService;
+    private final FolderContentService folderContentService;
 
     @Override
     public Mono<FolderInfoView> create(Folder folder) {
@@ -273,6 +287,213 @@ public class FolderApiServiceImpl implements FolderApiService {
                 });
     }
 
+    /**
+     * one page of the direct content of a folder or of the root: its sub folders and then its applications, each sorted by
+     * name. unlike {@link #getElements}, a folder is not expanded: it comes with the number of its children. as there,
+     * members who are not developers only see the folders with a readable application somewhere below.
+     */
+    @Override
+    public Mono<FolderLevelView> getLevel(@Nullable String folderId, @Nullable ApplicationType applicationType, @Nullable String name,
+            @Nullable String category, @Nullable String cursor, int pageSize) {
+        if (pageSize <= 0 || pageSize > MAX_LEVEL_PAGE_SIZE) {
+            return ofError(INVALID_PARAMETER, "INVALID_PARAMETER", "pageSize");
+        }
+        LevelCursor levelCursor = LevelCursor.decode(cursor);
+        if (StringUtils.isNotBlank(cursor) && levelCursor == null) {
+            return ofError(INVALID_PARAMETER, "INVALID_PARAMETER", "cursor");
+        }
+
+        return Mono.zip(sessionUserService.getVisitorOrgMemberCache(), orgDevChecker.isCurrentOrgDev())
+                .delayUntil(tuple -> folderId == null ? Mono.empty()
+                        : checkFolderExist(folderId).flatMap(folder -> checkFolderCurrentOrg(folder, tuple.getT1().getOrgId())))
+                .flatMap(tuple -> {
+                    OrgMember orgMember = tuple.getT1();
+                    boolean devOrAdmin = tuple.getT2();
+                    Integer type = applicationType == null || applicationType == ApplicationType.ALL ? null : applicationType.getValue();
+                    LevelQuery query = new LevelQuery(orgMember.getOrgId(), folderId, type, name, category);
+                    if (levelCursor != null && levelCursor.applications()) {
+                        return collectLevelApplications(query, levelCursor.after(), pageSize, new ArrayList<>(), 0)
+                                .map(page -> FolderLevelView.builder()
+                                        .folders(List.of())
+                                        .applications(page.applications())
+                                        .nextCursor(page.hasMore() ? LevelCursor.ofApplications(page.next()) : null)
+                                        .build());
+                    }
+
+                    // one more folder than the page size tells whether the applications belong to this page
+                    return folderContentService.getLevelFolders(orgMember.getOrgId(), folderId, name,
+                                    levelCursor == null ? null : levelCursor.after(), pageSize + 1)
+                            .collectList()
+                            .flatMap(folders -> {
+                                if (folders.size() > pageSize) {
+                                    List<Folder> pageFolders = folders.subList(0, pageSize);
+                                    Folder last = pageFolders.get(pageSize - 1);
+                                    return buildLevelFolderViews(query, orgMember, devOrAdmin, pageFolders)
+                                            .map(views -> FolderLevelView.builder()
+                                                    .folders(views)
+                                                    .applications(List.of())
+                                                    .nextCursor(LevelCursor.ofFolders(new NameCursor(last.getName(), last.getId())))
+                                                    .build());
+                                }
+                                int applicationPageSize = pageSize - folders.size();
+                                Mono<ApplicationPage> applicationPageMono = applicationPageSize == 0
+                                        ? Mono.just(new ApplicationPage(List.of(), null, true))
+                                        : collectLevelApplications(query, null, applicationPageSize, new ArrayList<>(), 0);
+                                return Mono.zip(buildLevelFolderViews(query, orgMember, devOrAdmin, folders), applicationPageMono)
+                                        .map(views -> FolderLevelView.builder()
+                                                .folders(views.getT1())
+                                                .applications(views.getT2().applications())
+                                                .nextCursor(views.getT2().hasMore() ? LevelCursor.ofApplications(views.getT2().next()) : null)
+                                                .build());
+                            });
+                });
+    }
+
+    /**
+     * reads the applications of the level batch by batch and keeps the ones the visitor can read, until the page is full.
+     * after {@link #MAX_APPLICATION_BATCHES} batches the page is returned as it is, so that a visitor who can only read a few
+     * applications of a large folder does not scan all of them in one request.
+     */
+    private Mono<ApplicationPage> collectLevelApplications(LevelQuery query, @Nullable NameCursor after, int pageSize,
+            List<ApplicationInfoView> collected, int batch) {
+        int limit = Math.max(pageSize - collected.size() + 1, MIN_APPLICATION_BATCH_SIZE);
+        return folderContentService.getLevelApplications(query, after, limit)
+                .collectList()
+                .flatMap(applications -> {
+                    if (applications.isEmpty()) {
+                        return Mono.just(new ApplicationPage(collected, null, false));
+                    }
+                    return userHomeApiService.getAuthorisedApplicationViews(applications, query.category())
+                            .collectMap(ApplicationInfoView::getApplicationId)
+                            .flatMap(views -> {
+                                NameCursor position = after;
+                                for (Application application : applications) {
+                                    ApplicationInfoView view = views.get(application.getId());
+                                    if (view != null) {
+                                        if (collected.size() == pageSize) {
+                                            return Mono.just(new ApplicationPage(collected, position, true));
+                                        }
+                                        collected.add(view);
+                                    }
+                                    position = new NameCursor(application.getName(), application.getId());
+                                }
+                                if (applications.size() < limit) {
+                                    return Mono.just(new ApplicationPage(collected, null, false));
+                                }
+                                if (batch + 1 >= MAX_APPLICATION_BATCHES) {
+                                    return Mono.just(new ApplicationPage(collected, position, true));
+                                }
+                                return collectLevelApplications(query, position, pageSize, collected, batch + 1);
+                            });
+                });
+    }
+
+    private Mono<List<FolderInfoView>> buildLevelFolderViews(LevelQuery query, OrgMember orgMember, boolean devOrAdmin, List<Folder> folders) {
+        if (folders.isEmpty()) {
+            return Mono.just(List.of());
+        }
+
+        Mono<Map<String, ChildCount>> childCountMapMono = folderContentService.countChildren(orgMember.getOrgId(),
+                folders.stream().map(Folder::getId).toList());
+        Mono<Map<String, User>> userMapMono = userService.getByIds(folders.stream()
+                .map(Folder::getCreatedBy)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList());
+        Mono<Map<String, Instant>> folderId2LastViewTimeMapMono = userFolderInteractionService.findByUserId(orgMember.getUserId())
+                .collectMap(UserFolderInteraction::folderId, UserFolderInteraction::lastViewTime);
+
+        Mono<Set<String>> visibleFolderIdsMono = devOrAdmin
+                ? Mono.just(folders.stream().map(Folder::getId).collect(Collectors.toSet()))
+                : getFoldersWithReadableApplications(query, folders);
+
+        return Mono.zip(childCountMapMono, userMapMono, folderId2LastViewTimeMapMono, visibleFolderIdsMono)
+                .map(tuple -> folders.stream()
+                        .filter(folder -> tuple.getT4().contains(folder.getId()))
+                        .map(folder -> {
+                            ChildCount childCount = tuple.getT1().get(folder.getId());
+                            User creator = tuple.getT2().get(folder.getCreatedBy());
+                            return FolderInfoView.builder()
+                                    .orgId(orgMember.getOrgId())
+                                    .folderId(folder.getId())
+                                    .folderGid(folder.getGid())
+                                    .parentFolderId(folder.getParentFolderId())
+                                    .parentFolderGid(folder.getParentFolderGid())
+                                    .name(folder.getName())
+                                    .description(folder.getDescription())
+                                    .category(folder.getCategory())
+                                    .type(folder.getType())
+                                    .image(folder.getImage())
+                                    .createAt(folder.getCreatedAt() == null ? 0 : folder.getCreatedAt().toEpochMilli())
+                                    .createBy(creator == null ? null : creator.getName())
+                                    .createTime(folder.getCreatedAt())
+                                    .lastViewTime(tuple.getT3().get(folder.getId()))
+                                    .subFolderCount(childCount.folders())
+                                    .elementCount(childCount.elements())
+                                    .isManageable(orgMember.isAdmin() || orgMember.isSuperAdmin() || orgMember.getUserId().equals(folder.getCreatedBy()))
+                                    .isVisible(true)
+                                    .build();
+                        })
+                        .toList());
+    }
+
+    /**
+     * the folders having an application the visitor can read somewhere below them. the sub trees of the folders are read
+     * one depth at a time, then the applications below them batch by batch, and a folder is no longer searched once a
+     * readable application is found in it.
+     */
+    private Mono<Set<String>> getFoldersWithReadableApplications(LevelQuery query, List<Folder> folders) {
+        // folder id -> the folder of the level it is in, the folders of a level have disjoint sub trees
+        Map<String, String> levelFolderIds = new HashMap<>();
+        folders.forEach(folder -> levelFolderIds.put(folder.getId(), folder.getId()));
+        return collectSubFolders(query.orgId(), levelFolderIds, levelFolderIds.keySet())
+                .then(Mono.defer(() -> collectFoldersWithReadableApplications(query, levelFolderIds, null, new HashSet<>(), 0)));
+    }
+
+    private Mono<Void> collectSubFolders(String orgId, Map<String, String> levelFolderIds, Collection<String> parentFolderIds) {
+        return folderContentService.getSubFolders(orgId, parentFolderIds)
+                .filter(folder -> levelFolderIds.putIfAbsent(folder.getId(), levelFolderIds.get(folder.getParentFolderId())) == null)
+                .map(Folder::getId)
+                .collectList()
+                .flatMap(subFolderIds -> subFolderIds.isEmpty() ? Mono.empty() : collectSubFolders(orgId, levelFolderIds, subFolderIds));
+    }
+
+    /**
+     * after {@link #MAX_READABLE_APPLICATION_BATCHES} batches the folders without a readable application found yet are
+     * left out, so that a visitor who can only read a few applications of a large org does not scan all of them.
+     */
+    private Mono<Set<String>> collectFoldersWithReadableApplications(LevelQuery query, Map<String, String> levelFolderIds,
+            @Nullable String afterId, Set<String> found, int batch) {
+        List<String> folderIds = levelFolderIds.entrySet().stream()
+                .filter(entry -> !found.contains(entry.getValue()))
+                .map(Map.Entry::getKey)
+                .toList();
+        if (folderIds.isEmpty()) {
+            return Mono.just(found);
+        }
+        return folderContentService.getFolderApplications(query.orgId(), folderIds, query.applicationType(), afterId,
+                        READABLE_APPLICATION_BATCH_SIZE)
+                .collectList()
+                .flatMap(applications -> {
+                    if (applications.isEmpty()) {
+                        return Mono.just(found);
+                    }
+                    return userHomeApiService.getAuthorisedApplicationViews(applications, query.category())
+                            .map(ApplicationInfoView::getApplicationId)
+                            .collect(Collectors.toSet())
+                            .flatMap(readableIds -> {
+                                applications.stream()
+                                        .filter(application -> readableIds.contains(application.getId()))
+                                        .forEach(application -> found.add(levelFolderIds.get(application.getFolderId())));
+                                if (applications.size() < READABLE_APPLICATION_BATCH_SIZE || batch + 1 >= MAX_READABLE_APPLICATION_BATCHES) {
+                                    return Mono.just(found);
+                                }
+                                String lastId = applications.get(applications.size() - 1).getId();
+                                return collectFoldersWithReadableApplications(query, levelFolderIds, lastId, found, batch + 1);
+                            });
+                });
+    }
+
     private Mono<Tree<Object, Folder>> buildFolderTree(String orgId) {
         return folderService.findByOrganizationId(orgId)
                 .collectList()
@@ -458,4 +679,45 @@ public class FolderApiServiceImpl implements FolderApiService {
                         .isManageable(manageable)
                         .build());
     }
+
+    /**
+     * @param next position after the last application read, null to start from the first application of the level
+     */
+    private record ApplicationPage(List<ApplicationInfoView> applications, @Nullable NameCursor next, boolean hasMore) {
+    }
+
+    /**
+     * position in a level: the folders are listed before the applications
+     */
+    private record LevelCursor(boolean applications, @Nullable String name, @Nullable String id) {
+
+        static String ofFolders(NameCursor after) {
+            return new LevelCursor(false, after.name(), after.id()).encode();
+        }
+
+        static String ofApplications(@Nullable NameCursor after) {
+            return new LevelCursor(true, after == null ? null : after.name(), after == null ? null : after.id()).encode();
+        }
+
+        @Nullable
+        static LevelCursor decode(@Nullable String cursor) {
+            if (StringUtils.isBlank(cursor)) {
+                return null;
+            }
+            try {
+                return JsonUtils.fromJsonQuietly(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8), LevelCursor.class);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+
+        @Nullable
+        NameCursor after() {
+            return id == null ? null : new NameCursor(name, id);
+        }
+
+        private String encode() {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(JsonUtils.toJson(this).getBytes(StandardCharsets.UTF_8));
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package org.lowcoder.api.home;
 
 import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
 import org.lowcoder.api.application.ApplicationApiService;
 import org.lowcoder.api.application.view.ApplicationPermissionView;
 import org.lowcoder.api.framework.view.PageResponseView;
@@ -92,6 +93,21 @@ public class FolderController implements FolderEndpoints
         });
     }
 
+    @Override
+    public Mono<ResponseView<FolderLevelView>> getLevel(@RequestParam(value = "id", required = false) String folderId,
+                                                        @RequestParam(value = "applicationType", required = false) ApplicationType applicationType,
+                                                        @RequestParam(required = false) String name,
+                                                        @RequestParam(required = false) String category,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(required = false, defaultValue = "100") Integer pageSize) {
+        return gidService.convertFolderIdToObjectId(folderId).flatMap(optionalObjectId -> {
+            String objectId = optionalObjectId.orElse(null);
+            return folderApiService.getLevel(objectId, applicationType, name, category, cursor, pageSize)
+                    .delayUntil(__ -> StringUtils.isBlank(cursor) ? folderApiService.upsertLastViewTime(objectId) : Mono.empty())
+                    .map(ResponseView::success);
+        });
+    }
+
     @Override
     public Mono<ResponseView<Void>> move(@PathVariable("id") String applicationLikeId,
             @RequestParam(value = "targetFolderId", required = false) String targetFolderId) {
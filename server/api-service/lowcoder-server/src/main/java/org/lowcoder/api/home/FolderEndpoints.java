@@ -75,6 +75,23 @@ public interface FolderEndpoints
 												 @RequestParam(required = false, defaultValue = "1") Integer pageNum,
 												 @RequestParam(required = false, defaultValue = "0") Integer pageSize);
 
+    /**
+     * one level of a folder, sub folders first and then applications, each sorted by name
+     */
+	@Operation(
+			tags = TAG_FOLDER_MANAGEMENT,
+		    operationId = "listFolderLevel",
+		    summary = "Get one level of Folder contents",
+		    description = "Retrieve the direct Subfolders and Applications of an Application Folder within Lowcoder page by page, following the returned cursor."
+	)
+    @GetMapping("/elements/level")
+    public Mono<ResponseView<FolderLevelView>> getLevel(@RequestParam(value = "id", required = false) String folderId,
+												 @RequestParam(value = "applicationType", required = false) ApplicationType applicationType,
+												 @RequestParam(required = false) String name,
+												 @RequestParam(required = false) String category,
+												 @RequestParam(required = false) String cursor,
+												 @RequestParam(required = false, defaultValue = "100") Integer pageSize);
+
 	@Operation(
 			tags = TAG_FOLDER_MANAGEMENT,
 		    operationId = "moveFolder",
@@ -29,6 +29,9 @@ public class FolderInfoView {
     private final String image;
     private final Long createAt;
     private final String createBy;
+    // only set when listing a single level
+    private final Long subFolderCount;
+    private final Long elementCount;
     private boolean isVisible;
     private boolean isManageable;
 
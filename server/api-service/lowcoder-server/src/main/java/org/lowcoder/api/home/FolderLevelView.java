@@ -0,0 +1,20 @@
+package org.lowcoder.api.home;
+
+import java.util.List;
+
+import org.lowcoder.api.application.view.ApplicationInfoView;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class FolderLevelView {
+
+    private final List<FolderInfoView> folders;
+    private final List<ApplicationInfoView> applications;
+    /**
+     * null on the last page
+     */
+    private final String nextCursor;
+}
@@ -8,6 +8,7 @@ import org.lowcoder.domain.organization.model.OrgMember;
 import org.lowcoder.domain.organization.service.OrgMemberService;
 import org.lowcoder.domain.user.model.User;
 import org.lowcoder.domain.user.model.UserState;
+import org.lowcoder.domain.user.service.SessionUserCache;
 import org.lowcoder.domain.user.service.UserService;
 import org.lowcoder.sdk.config.CommonConfig;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -38,6 +39,8 @@ public class SessionUserServiceImpl implements SessionUserService {
     private OrgMemberService orgMemberService;
     @Autowired
     private UserApiService userApiService;
+    @Autowired
+    private SessionUserCache sessionUserCache;
 
     @Autowired
     private ReactiveRedisTemplate<String, String> reactiveTemplate;
@@ -108,7 +111,7 @@ public class SessionUserServiceImpl implements SessionUserService {
 
     @Override
     public Mono<Void> extendValidity(String token) {
-        if (StringUtils.isBlank(token)) {
+        if (StringUtils.isBlank(token) || !sessionUserCache.shouldExtendValidity(token)) {
             return Mono.empty();
         }
         return reactiveTemplate.expire(token, getTokenExpireTime())
@@ -126,8 +129,11 @@ public class SessionUserServiceImpl implements SessionUserService {
             return Mono.empty();
         }
         ReactiveValueOperations<String, String> ops = reactiveTemplate.opsForValue();
+        // the cached user is evicted once the token is gone from redis, else a concurrent request could cache it again
+        Mono<Void> deleteSession = ops.delete(token).then(sessionUserCache.invalidateToken(token));
         return ops.get(token)
-                .delayUntil(__ -> ops.delete(token))
+                .delayUntil(__ -> deleteSession)
+                .switchIfEmpty(deleteSession.then(Mono.empty()))
                 .flatMap(userId -> userApiService.removeToken(userId, token));
     }
 
@@ -136,7 +142,7 @@ public class SessionUserServiceImpl implements SessionUserService {
         if (StringUtils.isBlank(token)) {
             return Mono.empty();
         }
-        return reactiveTemplate.opsForValue().get(token)
+        return sessionUserCache.getUser(token, () -> reactiveTemplate.opsForValue().get(token)
                 .flatMap(value -> {
                     User user = fromJsonQuietly(value, User.class);
                     if (user == null) {
@@ -145,7 +151,7 @@ public class SessionUserServiceImpl implements SessionUserService {
                     // some compatible code
                     return userService.findById(user.getId());
                 })
-                .filter(user -> user.getState() != UserState.DELETED);
+                .filter(user -> user.getState() != UserState.DELETED));
     }
 
     @Override
@@ -7,6 +7,7 @@ import org.lowcoder.api.application.view.MarketplaceApplicationInfoView;
 import org.lowcoder.api.bundle.view.BundleInfoView;
 import org.lowcoder.api.bundle.view.MarketplaceBundleInfoView;
 import org.lowcoder.api.usermanagement.view.UserProfileView;
+import org.lowcoder.domain.application.model.Application;
 import org.lowcoder.domain.application.model.ApplicationStatus;
 import org.lowcoder.domain.application.model.ApplicationType;
 import org.lowcoder.domain.bundle.model.BundleStatus;
@@ -15,6 +16,8 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 public interface UserHomeApiService {
 
     Mono<UserProfileView> buildUserProfileView(User user, ServerWebExchange exchange);
@@ -26,6 +29,12 @@ public interface UserHomeApiService {
     Flux<ApplicationInfoView> getAllAuthorisedApplications4CurrentOrgMember(@Nullable ApplicationType applicationType,
                                                                             @Nullable ApplicationStatus applicationStatus, boolean withContainerSize, @Nullable String name, @Nullable String category);
 
+    /**
+     * @param applications loaded without dsl
+     * @return views of the given applications the current org member can read, in the same order
+     */
+    Flux<ApplicationInfoView> getAuthorisedApplicationViews(List<Application> applications, @Nullable String category);
+
     Flux<BundleInfoView> getAllAuthorisedBundles4CurrentOrgMember(@Nullable BundleStatus bundleStatus);
 
     public Flux<MarketplaceApplicationInfoView> getAllMarketplaceApplications(@Nullable ApplicationType applicationType);
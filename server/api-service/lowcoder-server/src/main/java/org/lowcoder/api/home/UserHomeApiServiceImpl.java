@@ -11,16 +11,16 @@ import org.lowcoder.api.usermanagement.OrgDevChecker;
 import org.lowcoder.api.usermanagement.view.OrgAndVisitorRoleView;
 import org.lowcoder.api.usermanagement.view.UserProfileView;
 import org.lowcoder.domain.application.model.Application;
-import org.lowcoder.domain.application.model.ApplicationVersion;
 import org.lowcoder.domain.application.model.ApplicationStatus;
+import org.lowcoder.domain.application.model.ApplicationSummary;
 import org.lowcoder.domain.application.model.ApplicationType;
 import org.lowcoder.domain.application.service.ApplicationRecordService;
 import org.lowcoder.domain.application.service.ApplicationService;
+import org.lowcoder.domain.application.service.ApplicationSummaryService;
 import org.lowcoder.domain.bundle.model.Bundle;
-import org.lowcoder.domain.bundle.model.BundleElement;
 import org.lowcoder.domain.bundle.model.BundleStatus;
-import org.lowcoder.domain.bundle.service.BundleElementRelationServiceImpl;
 import org.lowcoder.domain.bundle.service.BundleService;
+import org.lowcoder.domain.folder.model.FolderElement;
 import org.lowcoder.domain.folder.service.FolderElementRelationService;
 import org.lowcoder.domain.interaction.UserApplicationInteraction;
 import org.lowcoder.domain.interaction.UserApplicationInteractionService;
@@ -36,7 +36,6 @@ import org.lowcoder.domain.user.model.UserStatus;
 import org.lowcoder.domain.user.service.UserService;
 import org.lowcoder.domain.user.service.UserStatusService;
 import org.lowcoder.infra.util.NetworkUtils;
-import org.lowcoder.infra.util.TupleUtils;
 import org.lowcoder.sdk.config.CommonConfig;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
@@ -70,10 +69,10 @@ public class UserHomeApiServiceImpl implements UserHomeApiService {
     private final FolderApiService folderApiService;
     private final UserApplicationInteractionService userApplicationInteractionService;
     private final CommonConfig config;
-    private final BundleElementRelationServiceImpl bundleElementRelationServiceImpl;
     private final BundleService bundleService;
     private final ApplicationRecordService applicationRecordService;
     private final FolderElementRelationService folderElementRelationService;
+    private final ApplicationSummaryService applicationSummaryService;
 
     @Override
     public Mono<UserProfileView> buildUserProfileView(User user, ServerWebExchange exchange) {
@@ -177,71 +176,74 @@ public class UserHomeApiServiceImpl implements UserHomeApiService {
 
         return sessionUserService.getVisitorOrgMemberCache()
                 .flatMapMany(orgMember -> {
-                    String visitorId = orgMember.getUserId();
-                    String currentOrgId = orgMember.getOrgId();
-                    // application flux
-                    Flux<Application> applicationFlux = Flux.defer(() -> {
-                                if (withContainerSize) {
-                                    return applicationService.findByOrganizationIdWithDsl(currentOrgId);
-                                }
-                                return applicationService.findByOrganizationIdWithoutDsl(currentOrgId);
-                            }).flatMap(application -> application.getCategory(applicationRecordService)
-                                    .map(categoryValue -> Map.entry(application, categoryValue)))
-                            .filter(entry -> (isNull(applicationType) || applicationType == ApplicationType.ALL || entry.getKey().getApplicationType() == applicationType.getValue())
-                                    && (isNull(applicationStatus) || entry.getKey().getApplicationStatus() == applicationStatus)
-                                    && (isNull(name) || StringUtils.containsIgnoreCase(entry.getKey().getName(), name))
-                                    && (isNull(category) || StringUtils.containsIgnoreCase(entry.getValue(), category)))
-                            .map(Map.Entry::getKey)
-                            .cache()
-                            .collectList()
-                            .flatMapIterable(Function.identity());
-
-                    // last view time
-                    Mono<Map<String, Instant>> applicationLastViewTimeMapMono = userApplicationInteractionService.findByUserId(visitorId)
-                            .collectMap(UserApplicationInteraction::applicationId, UserApplicationInteraction::lastViewTime)
-                            .cache();
-
-                    Mono<Map<String, ResourcePermission>> resourcePermissionMapMono = applicationFlux
-                            .mapNotNull(Application::getId)
-                            .collectList()
-                            .flatMap(applicationIds -> resourcePermissionService.getMaxMatchingPermission(visitorId, applicationIds,
-                                    READ_APPLICATIONS))
-                            .cache();
+                    Mono<List<Application>> applicationsMono = applicationService.findByOrganizationIdWithoutDsl(orgMember.getOrgId())
+                            .filter(application -> (isNull(applicationType) || applicationType == ApplicationType.ALL || application.getApplicationType() == applicationType.getValue())
+                                    && (isNull(applicationStatus) || application.getApplicationStatus() == applicationStatus)
+                                    && (isNull(name) || StringUtils.containsIgnoreCase(application.getName(), name)))
+                            .collectList();
+                    return buildAuthorisedApplicationViews(orgMember, applicationsMono, withContainerSize, category);
+                });
+    }
 
-                    // user map
-                    Mono<Map<String, User>> userMapMono = applicationFlux
-                            .flatMap(application -> emptyIfNull(application.getCreatedBy()))
-                            .collectList()
-                            .flatMap(userService::getByIds)
-                            .cache();
+    @Override
+    public Flux<ApplicationInfoView> getAuthorisedApplicationViews(List<Application> applications, @Nullable String category) {
+        return sessionUserService.getVisitorOrgMemberCache()
+                .flatMapMany(orgMember -> buildAuthorisedApplicationViews(orgMember, Mono.just(applications), false, category));
+    }
 
-                    return applicationFlux
-                            .flatMap(application -> Mono.zip(Mono.just(application), resourcePermissionMapMono, userMapMono,
-                                    applicationLastViewTimeMapMono))
-                            .filter(tuple -> {
-                                // filter by permission
-                                Application application = tuple.getT1();
-                                Map<String, ResourcePermission> resourcePermissionMap = tuple.getT2();
-                                return resourcePermissionMap.containsKey(application.getId());
-                            })
-                            .flatMap(tuple -> {
-                                // build view
-                                Application application = tuple.getT1();
-                                Map<String, ResourcePermission> resourcePermissionMap = tuple.getT2();
-                                Map<String, User> userMap = tuple.getT3();
-                                Map<String, Instant> applicationLastViewTimeMap = tuple.getT4();
-
-                                return bundleElementRelationServiceImpl.getByElementIds(List.of(Objects.requireNonNull(application.getId())))
-                                        .mapNotNull(BundleElement::position)
-                                        .defaultIfEmpty(0L)
-                                        .collectList()
-                                        .flatMap(positions -> {
-                                            long position = positions.isEmpty() ? 0 : positions.get(0);
-                                            ResourceRole resourceRole = resourcePermissionMap.get(application.getId()).getResourceRole();
-                                            return buildView(application, resourceRole, userMap, applicationLastViewTimeMap.get(application.getId()),
-                                                    position, withContainerSize);
-                                        });
-                            });
+    /**
+     * views of the applications the visitor can read, in the order of {@code candidatesMono}. the summaries of their live dsl
+     * replace loading every dsl.
+     */
+    private Flux<ApplicationInfoView> buildAuthorisedApplicationViews(OrgMember orgMember, Mono<List<Application>> candidatesMono,
+            boolean withContainerSize, @Nullable String category) {
+        String visitorId = orgMember.getUserId();
+        Mono<List<Application>> applicationsMono = candidatesMono.cache();
+
+        Mono<Map<String, ResourcePermission>> resourcePermissionMapMono = applicationsMono
+                .flatMap(applications -> resourcePermissionService.getMaxMatchingPermission(visitorId,
+                        applications.stream().map(Application::getId).filter(Objects::nonNull).toList(), READ_APPLICATIONS))
+                .cache();
+
+        Mono<List<Application>> authorisedApplicationsMono = Mono.zip(applicationsMono, resourcePermissionMapMono)
+                .map(tuple -> tuple.getT1().stream()
+                        .filter(application -> tuple.getT2().containsKey(application.getId()))
+                        .toList())
+                .cache();
+
+        Mono<Map<String, ApplicationSummary>> summaryMapMono = authorisedApplicationsMono
+                .flatMap(applicationSummaryService::getByApplications);
+
+        // last view time
+        Mono<Map<String, Instant>> applicationLastViewTimeMapMono = userApplicationInteractionService.findByUserId(visitorId)
+                .collectMap(UserApplicationInteraction::applicationId, UserApplicationInteraction::lastViewTime);
+
+        // user map
+        Mono<Map<String, User>> userMapMono = authorisedApplicationsMono
+                .flatMapIterable(Function.identity())
+                .flatMap(application -> emptyIfNull(application.getCreatedBy()))
+                .collectList()
+                .flatMap(userService::getByIds);
+
+        Mono<Map<String, String>> folderIdMapMono = authorisedApplicationsMono
+                .flatMapMany(applications -> folderElementRelationService.getByElementIds(
+                        applications.stream().map(Application::getId).filter(Objects::nonNull).toList()))
+                .collectMap(FolderElement::elementId, FolderElement::folderId);
+
+        return Mono.zip(authorisedApplicationsMono, resourcePermissionMapMono, summaryMapMono, userMapMono,
+                        applicationLastViewTimeMapMono, folderIdMapMono)
+                .flatMapIterable(tuple -> {
+                    Map<String, ResourcePermission> resourcePermissionMap = tuple.getT2();
+                    Map<String, ApplicationSummary> summaryMap = tuple.getT3();
+                    return tuple.getT1().stream()
+                            .filter(application -> summaryMap.containsKey(application.getId()))
+                            .filter(application -> isNull(category)
+                                    || StringUtils.containsIgnoreCase(summaryMap.get(application.getId()).getCategory(), category))
+                            .map(application -> buildView(application, summaryMap.get(application.getId()),
+                                    resourcePermissionMap.get(application.getId()).getResourceRole(), tuple.getT4(),
+                                    tuple.getT5().get(application.getId()), tuple.getT6().get(application.getId()),
+                                    withContainerSize))
+                            .toList();
                 });
     }
 
@@ -545,56 +547,37 @@ public class UserHomeApiServiceImpl implements UserHomeApiService {
                 });
     }
 
-    private Mono<ApplicationInfoView> buildView(Application application, ResourceRole maxRole, Map<String, User> userMap, @Nullable Instant lastViewTime,
-                                          Long bundlePosition, boolean withContainerSize) {
-        return application.getTitle(applicationRecordService)
-                .zipWith(application.getDescription(applicationRecordService))
-                .zipWith(application.getCategory(applicationRecordService), TupleUtils::merge)
-                .zipWith(application.getIcon(applicationRecordService), TupleUtils::merge)
-                .zipWith(applicationRecordService.getLatestRecordByApplicationId(application.getId()).map(Optional::of).switchIfEmpty(Mono.just(Optional.empty())), TupleUtils::merge)
-                .flatMap(tuple -> {
-                    Optional<ApplicationVersion> lastAppRecord = tuple.getT5();
-                    ApplicationInfoView.ApplicationInfoViewBuilder applicationInfoViewBuilder = ApplicationInfoView.builder()
-                        .applicationId(application.getId())
-                        .applicationGid(application.getGid())
-                        .orgId(application.getOrganizationId())
-                        .name(application.getName())
-                        .title(tuple.getT1())
-                        .description(tuple.getT2())
-                        .category(tuple.getT3())
-                        .icon(tuple.getT4())
-                        .published(lastAppRecord.isPresent())
-                        .publishedVersion(lastAppRecord.map(ApplicationVersion::version).orElse(null))
-                        .lastPublishedTime(lastAppRecord.map(ApplicationVersion::getCreatedAt).orElse(null))
-                        .createBy(Optional.ofNullable(userMap.get(application.getCreatedBy()))
-                                .map(User::getName)
-                                .orElse(""))
-                        .createAt(application.getCreatedAt().toEpochMilli())
-                        .role(maxRole.getValue())
-                        .applicationType(application.getApplicationType())
-                        .applicationStatus(application.getApplicationStatus())
-                        .lastModifyTime(application.getUpdatedAt())
-                        .lastViewTime(lastViewTime)
-                        .lastEditedAt(application.getLastEditedAt())
-                        .publicToAll(application.isPublicToAll())
-                        .publicToMarketplace(application.isPublicToMarketplace())
-                        .agencyProfile(application.agencyProfile());
-                    if (withContainerSize) {
-                        return application.getLiveContainerSize(applicationRecordService).map(size -> applicationInfoViewBuilder
-                                .containerSize(size)
-                                .build())
-                                .switchIfEmpty(Mono.just(applicationInfoViewBuilder
-                                        .containerSize(null)
-                                        .build()));
-                    }
-                    return Mono.just(applicationInfoViewBuilder.build());
-        }).delayUntil(applicationInfoView -> {
-            String applicationId = applicationInfoView.getApplicationId();
-            return folderElementRelationService.getByElementIds(List.of(applicationId))
-                    .doOnNext(folderElement -> {
-                        applicationInfoView.setFolderId(folderElement.folderId());
-                    }).then();
-        });
+    private ApplicationInfoView buildView(Application application, ApplicationSummary summary, ResourceRole maxRole, Map<String, User> userMap,
+                                          @Nullable Instant lastViewTime, @Nullable String folderId, boolean withContainerSize) {
+        ApplicationInfoView applicationInfoView = ApplicationInfoView.builder()
+                .applicationId(application.getId())
+                .applicationGid(application.getGid())
+                .orgId(application.getOrganizationId())
+                .name(application.getName())
+                .title(summary.getTitle())
+                .description(summary.getDescription())
+                .category(summary.getCategory())
+                .icon(summary.getIcon())
+                .published(summary.isPublished())
+                .publishedVersion(summary.getPublishedVersion())
+                .lastPublishedTime(summary.getLastPublishedTime())
+                .createBy(Optional.ofNullable(userMap.get(application.getCreatedBy()))
+                        .map(User::getName)
+                        .orElse(""))
+                .createAt(application.getCreatedAt().toEpochMilli())
+                .role(maxRole.getValue())
+                .applicationType(application.getApplicationType())
+                .applicationStatus(application.getApplicationStatus())
+                .lastModifyTime(application.getUpdatedAt())
+                .lastViewTime(lastViewTime)
+                .lastEditedAt(application.getLastEditedAt())
+                .publicToAll(application.isPublicToAll())
+                .publicToMarketplace(application.isPublicToMarketplace())
+                .agencyProfile(application.agencyProfile())
+                .containerSize(withContainerSize ? summary.getContainerSize() : null)
+                .build();
+        applicationInfoView.setFolderId(folderId);
+        return applicationInfoView;
     }
 
 }
@@ -3,6 +3,7 @@ package org.lowcoder.api.material;
 import org.lowcoder.domain.asset.service.AssetService;
 import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ServerWebExchange;
 
@@ -16,8 +17,10 @@ public class AssetController implements AssetEndpoints
     private final AssetService service;
 
     @Override
-    public Mono<Void> getById(@PathVariable String id, ServerWebExchange exchange) {
+    public Mono<Void> getById(@PathVariable String id,
+            @RequestParam(value = "size", required = false) Integer size,
+            ServerWebExchange exchange) {
         exchange.getResponse().getHeaders().set(HttpHeaders.CACHE_CONTROL, "public, max-age=7776000, immutable");
-        return service.makeImageResponse(exchange, id);
+        return service.makeImageResponse(exchange, id, size);
     }
 }
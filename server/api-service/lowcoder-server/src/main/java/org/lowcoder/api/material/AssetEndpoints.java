@@ -5,6 +5,7 @@ import org.lowcoder.infra.constant.Url;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ServerWebExchange;
 
@@ -21,8 +22,10 @@ public interface AssetEndpoints
 			tags = TAG_ASSET_MANAGEMENT,
 		    operationId = "getAsset",
 		    summary = "Retrieve Image Asset",
-		    description = "Retrieve an image asset within Lowcoder using its unique ID, which can be used for various purposes such as displaying images in applications."
+		    description = "Retrieve an image asset within Lowcoder using its unique ID, which can be used for various purposes such as displaying images in applications. The optional size selects the smallest stored thumbnail at least that large."
 	)
     @GetMapping("/{id}")
-    public Mono<Void> getById(@PathVariable String id, ServerWebExchange exchange);
+    public Mono<Void> getById(@PathVariable String id,
+            @RequestParam(value = "size", required = false) Integer size,
+            ServerWebExchange exchange);
 }
@@ -5,8 +5,7 @@ import java.util.List;
 import org.lowcoder.api.material.MaterialEndpoints.MaterialView;
 import org.lowcoder.domain.material.model.MaterialMeta;
 import org.lowcoder.domain.material.model.MaterialType;
-import org.reactivestreams.Publisher;
-import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.web.server.ServerWebExchange;
 
 import reactor.core.publisher.Mono;
 
@@ -17,7 +16,10 @@ public interface MaterialApiService {
      */
     Mono<MaterialMeta> upload(String filename, String content, MaterialType type);
 
-    Publisher<? extends DataBuffer> download(MaterialMeta materialMeta);
+    /**
+     * writes the content of the material, answering conditional and range requests.
+     */
+    Mono<Void> makeDownloadResponse(ServerWebExchange exchange, MaterialMeta materialMeta);
 
     Mono<List<MaterialView>> list();
 
@@ -1,5 +1,6 @@
 package org.lowcoder.api.material;
 
+import jakarta.annotation.Nullable;
 import jakarta.annotation.PostConstruct;
 import org.lowcoder.api.home.SessionUserService;
 import org.lowcoder.api.material.MaterialEndpoints.MaterialView;
@@ -14,16 +15,22 @@ import org.lowcoder.sdk.config.dynamic.ConfigCenter;
 import org.lowcoder.sdk.config.dynamic.ConfigInstanceHelper;
 import org.lowcoder.sdk.exception.BizError;
 import org.lowcoder.sdk.exception.BizException;
-import org.reactivestreams.Publisher;
+import org.lowcoder.sdk.util.HashUtils;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import java.util.Base64;
 import java.util.List;
 
 import static org.apache.commons.io.FileUtils.*;
+import static org.apache.commons.lang3.ObjectUtils.firstNonNull;
 
 @Service
 public class MaterialApiServiceImpl implements MaterialApiService {
@@ -85,6 +92,7 @@ public class MaterialApiServiceImpl implements MaterialApiService {
                             .filename(filename)
                             .size(decode.length)
                             .type(type)
+                            .contentHash(HashUtils.hash(decode))
                             .build();
                     return materialMateRepository.save(materialMeta);
                 })
@@ -92,14 +100,69 @@ public class MaterialApiServiceImpl implements MaterialApiService {
     }
 
     @Override
-    public Publisher<? extends DataBuffer> download(MaterialMeta materialMeta) {
+    public Mono<Void> makeDownloadResponse(ServerWebExchange exchange, MaterialMeta materialMeta) {
         return Mono.defer(() -> {
                     if (materialMeta.getType() == MaterialType.LOGO || materialMeta.getType() == MaterialType.FAVICON) {
                         return Mono.empty();
                     }
                     return checkMaterialOrg(materialMeta.getOrgId());
                 })
-                .thenMany(materialStorageService.download(materialMeta));
+                .then(Mono.defer(() -> {
+                    ServerHttpResponse response = exchange.getResponse();
+                    // the content of a material never changes, a new upload gets a new id
+                    String etag = "\"" + firstNonNull(materialMeta.getContentHash(), materialMeta.getId()) + "\"";
+                    if (exchange.checkNotModified(etag)) {
+                        return response.setComplete();
+                    }
+
+                    HttpHeaders headers = response.getHeaders();
+                    long size = materialMeta.getSize();
+                    if (size <= 0) {
+                        return response.writeWith(materialStorageService.download(materialMeta));
+                    }
+                    headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+                    HttpRange range = getSingleRange(exchange.getRequest(), etag);
+                    if (range == null) {
+                        headers.setContentLength(size);
+                        return response.writeWith(materialStorageService.download(materialMeta));
+                    }
+
+                    long start;
+                    long end;
+                    try {
+                        start = range.getRangeStart(size);
+                        end = range.getRangeEnd(size);
+                    } catch (IllegalArgumentException e) {
+                        start = size;
+                        end = size;
+                    }
+                    if (start >= size) {
+                        response.setStatusCode(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+                        headers.set(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                        return response.setComplete();
+                    }
+                    response.setStatusCode(HttpStatus.PARTIAL_CONTENT);
+                    headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+                    headers.setContentLength(end - start + 1);
+                    return response.writeWith(materialStorageService.download(materialMeta, start, end - start + 1));
+                }));
+    }
+
+    /**
+     * requests with several ranges, an invalid range header or an outdated If-Range get the whole content.
+     */
+    @Nullable
+    private static HttpRange getSingleRange(ServerHttpRequest request, String etag) {
+        String ifRange = request.getHeaders().getFirst(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = request.getHeaders().getRange();
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
     }
 
     @Override
@@ -11,11 +11,11 @@ import org.lowcoder.sdk.util.MediaTypeUtils;
 import org.springframework.http.CacheControl;
 import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
 
 import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Mono;
@@ -46,11 +46,11 @@ public class MaterialController implements MaterialEndpoints
     @Override
     public Mono<Void> download(@PathVariable String id,
             @RequestParam(value = "type", defaultValue = DOWNLOAD_TYPE) String type,
-            ServerHttpResponse serverHttpResponse) {
+            ServerWebExchange exchange) {
         return materialMetaService.findById(id)
                 .switchIfEmpty(Mono.error(new BizException(BizError.INVALID_PARAMETER, "FILE_NOT_EXIST")))
                 .doOnNext(materialMeta -> {
-                    HttpHeaders headers = serverHttpResponse.getHeaders();
+                    HttpHeaders headers = exchange.getResponse().getHeaders();
                     if (PREVIEW_TYPE.equals(type)) {
                         headers.setContentDisposition(ContentDisposition.inline().filename(materialMeta.getFilename()).build());
                     } else {
@@ -59,8 +59,7 @@ public class MaterialController implements MaterialEndpoints
                     headers.setContentType(MediaTypeUtils.parse(materialMeta.getFilename()));
                     headers.setCacheControl(CacheControl.maxAge(Duration.ofHours(1)));
                 })
-                .flatMap(materialMeta -> serverHttpResponse.writeWith(materialApiService.download(materialMeta)))
-                .then();
+                .flatMap(materialMeta -> materialApiService.makeDownloadResponse(exchange, materialMeta));
     }
 
     @Override
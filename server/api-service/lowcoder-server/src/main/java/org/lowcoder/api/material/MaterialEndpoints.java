@@ -6,7 +6,6 @@ import java.util.List;
 
 import org.lowcoder.api.framework.view.ResponseView;
 import org.lowcoder.domain.material.model.MaterialType;
-import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -15,6 +14,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
 
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.Builder;
@@ -51,7 +51,7 @@ public interface MaterialEndpoints
     @GetMapping("/{id}")
     public Mono<Void> download(@PathVariable String id,
             @RequestParam(value = "type", defaultValue = DOWNLOAD_TYPE) String type,
-            ServerHttpResponse serverHttpResponse);
+            ServerWebExchange exchange);
 
 	@Operation(
 			tags = TAG_MATERIAL_MANAGEMENT,
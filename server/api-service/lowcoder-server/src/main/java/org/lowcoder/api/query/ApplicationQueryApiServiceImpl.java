@@ -1,5 +1,6 @@
 package org.lowcoder.api.query;
 
+import io.micrometer.core.instrument.Tags;
 import jakarta.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang.ArrayUtils;
@@ -7,7 +8,8 @@ import org.apache.commons.lang3.StringUtils;
 import org.lowcoder.api.home.SessionUserService;
 import org.lowcoder.api.query.view.QueryExecutionRequest;
 import org.lowcoder.domain.application.model.Application;
-import org.lowcoder.domain.application.service.ApplicationRecordService;
+import org.lowcoder.domain.application.service.ApplicationModuleClosureCache;
+import org.lowcoder.domain.application.service.ApplicationQueryIndexCache;
 import org.lowcoder.domain.application.service.ApplicationService;
 import org.lowcoder.domain.datasource.model.Datasource;
 import org.lowcoder.domain.datasource.service.DatasourceService;
@@ -21,6 +23,7 @@ import org.lowcoder.domain.query.service.LibraryQueryService;
 import org.lowcoder.domain.query.service.QueryExecutionService;
 import org.lowcoder.domain.user.model.Connection;
 import org.lowcoder.domain.user.model.User;
+import org.lowcoder.infra.perf.PerfHelper;
 import org.lowcoder.infra.util.TupleUtils;
 import org.lowcoder.sdk.config.CommonConfig;
 import org.lowcoder.sdk.exception.BizError;
@@ -41,11 +44,17 @@ import reactor.core.publisher.Mono;
 import reactor.core.publisher.Timed;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static org.lowcoder.domain.permission.model.ResourceAction.READ_APPLICATIONS;
+import static org.lowcoder.infra.perf.PerfEvent.QUERY_DATASOURCE_LOAD;
+import static org.lowcoder.infra.perf.PerfEvent.QUERY_PERMISSION_CHECK;
+import static org.lowcoder.infra.perf.PerfEvent.QUERY_RESOLVE;
 import static org.lowcoder.sdk.exception.BizError.DATASOURCE_AND_APP_ORG_NOT_MATCH;
 import static org.lowcoder.sdk.exception.BizError.INVALID_PARAMETER;
 import static org.lowcoder.sdk.util.ExceptionUtils.deferredError;
@@ -55,6 +64,10 @@ import static org.lowcoder.sdk.util.ExceptionUtils.ofError;
 @Service
 public class ApplicationQueryApiServiceImpl implements ApplicationQueryApiService {
 
+    private static final String DATASOURCE_TYPE_TAG = "datasourceType";
+    // stages that fail before the datasource is loaded keep the tag, so that the timers of a stage share their tag keys
+    private static final Tags UNKNOWN_DATASOURCE_TYPE = Tags.of(DATASOURCE_TYPE_TAG, "unknown");
+
     private final SessionUserService sessionUserService;
     private final LibraryQueryService libraryQueryService;
     private final LibraryQueryRecordService libraryQueryRecordService;
@@ -63,7 +76,9 @@ public class ApplicationQueryApiServiceImpl implements ApplicationQueryApiServic
     private final DatasourceService datasourceService;
     private final QueryExecutionService queryExecutionService;
     private final CommonConfig commonConfig;
-    private final ApplicationRecordService applicationRecordService;
+    private final ApplicationQueryIndexCache applicationQueryIndexCache;
+    private final ApplicationModuleClosureCache applicationModuleClosureCache;
+    private final PerfHelper perfHelper;
 
     @Value("${server.port}")
     private int port;
@@ -79,19 +94,26 @@ public class ApplicationQueryApiServiceImpl implements ApplicationQueryApiServic
         }
         boolean viewMode = queryExecutionRequest.isViewMode();
         String queryId = queryExecutionRequest.getQueryId();
-        Mono<Application> appMono = applicationService.findById(appId).cache();
+        // the dsl is not needed here, queries are served from the pre-parsed per-version index
+        Mono<Application> appMono = applicationService.findByIdWithoutDsl(appId).cache();
         Mono<ApplicationQuery> appQueryMono = appMono
-                .flatMap(app -> app.getQueryByViewModeAndQueryId(viewMode, queryId, applicationRecordService))
+                .flatMap(app -> applicationQueryIndexCache.getQuery(app, viewMode, queryId))
                 .cache();
 
-        Mono<BaseQuery> baseQueryMono = appQueryMono.flatMap(this::getBaseQuery).cache();
-        Mono<Datasource> datasourceMono = baseQueryMono.flatMap(query -> datasourceService.getById(query.getDatasourceId())
+        Mono<BaseQuery> resolvedQueryMono = appQueryMono.flatMap(this::getBaseQuery).cache();
+        Mono<Datasource> datasourceMono = resolvedQueryMono.flatMap(query -> perfHelper.recordMonoTime(QUERY_DATASOURCE_LOAD,
+                                UNKNOWN_DATASOURCE_TYPE, datasource -> Mono.justOrEmpty(datasource).map(this::datasourceTypeTags),
+                                datasourceService.getCachedById(query.getDatasourceId()))
                         .switchIfEmpty(deferredError(BizError.DATASOURCE_NOT_FOUND, "DATASOURCE_NOT_FOUND", query.getDatasourceId())))
                 .cache();
+        // the stages before the datasource load are tagged with its type once it is loaded, which they wait for after succeeding
+        Mono<Tags> datasourceTypeTagsMono = datasourceMono.map(this::datasourceTypeTags);
+        Mono<BaseQuery> baseQueryMono = perfHelper.recordMonoTime(QUERY_RESOLVE, UNKNOWN_DATASOURCE_TYPE,
+                __ -> datasourceTypeTagsMono, resolvedQueryMono);
 
         return sessionUserService.getVisitor()
-                .delayUntil(user -> checkExecutePermission(user.getId(), queryExecutionRequest.getPath(), appId,
-                        queryExecutionRequest.isViewMode()))
+                .delayUntil(user -> perfHelper.recordMonoTime(QUERY_PERMISSION_CHECK, UNKNOWN_DATASOURCE_TYPE, __ -> datasourceTypeTagsMono,
+                        checkExecutePermission(user.getId(), queryExecutionRequest.getPath(), appId, queryExecutionRequest.isViewMode())))
                 .zipWhen(visitorId -> Mono.zip(appMono, appQueryMono, baseQueryMono, datasourceMono), TupleUtils::merge)
                 .flatMap(tuple -> {
                     String userId = tuple.getT1().getId();
@@ -126,8 +148,10 @@ public class ApplicationQueryApiServiceImpl implements ApplicationQueryApiServic
                         paramsAndHeadersInheritFromLogin = getAuthParamsAndHeadersInheritFromLogin(tuple.getT1(), jsDatasourceConnectionConfig.getAuthId(), true);
                     }
 
-                    QueryVisitorContext queryVisitorContext = new QueryVisitorContext(userId, app.getOrganizationId(), port, cookies, paramsAndHeadersInheritFromLogin, commonConfig.getDisallowedHosts());
-                    return queryExecutionService.executeQuery(datasource, baseQuery.getQueryConfig(), queryExecutionRequest.paramMap(),
+                    QueryVisitorContext queryVisitorContext = new QueryVisitorContext(userId, app.getOrganizationId(), port, cookies, paramsAndHeadersInheritFromLogin, commonConfig.getDisallowedHosts())
+                            .withCompactResult(queryExecutionRequest.isCompactResultFormat());
+                    // the query config is shared through the query index cache, so the execution gets its own copy to fill in
+                    return queryExecutionService.executeQuery(datasource, new HashMap<>(baseQuery.getQueryConfig()), queryExecutionRequest.paramMap(),
                                     appQuery.getTimeoutStr(), queryVisitorContext
                             )
                             .timed()
@@ -139,6 +163,10 @@ public class ApplicationQueryApiServiceImpl implements ApplicationQueryApiServic
                 });
     }
 
+    private Tags datasourceTypeTags(Datasource datasource) {
+        return Tags.of(DATASOURCE_TYPE_TAG, datasource.getType());
+    }
+
     private boolean shouldCheckDatasourceOrgMatch(Datasource datasource) {
         return !datasource.isSystemStatic() && !datasource.isLegacyQuickRestApi() && !datasource.isLegacyLowcoderApi();
     }
@@ -157,9 +185,10 @@ public class ApplicationQueryApiServiceImpl implements ApplicationQueryApiServic
         if (StringUtils.isBlank(rootAppId)) {
             return Mono.just(appId);
         }
-        Mono<List<Application>> allDependentModules = applicationService.getAllDependentModulesFromApplicationId(rootAppId, viewMode);
+        Mono<Set<String>> allDependentModules = viewMode ? applicationModuleClosureCache.getDependentModuleIds(rootAppId)
+                                                         : applicationService.getAllDependentModulesFromApplicationId(rootAppId, false)
+                                                                 .map(modules -> modules.stream().map(Application::getId).collect(Collectors.toSet()));
         return allDependentModules
-                .map(modules -> modules.stream().map(Application::getId).collect(Collectors.toSet()))
                 .flatMap(modules -> {
                     if (!modules.contains(appId)) {
                         return ofError(INVALID_PARAMETER, "INVALID_PARAMETER");
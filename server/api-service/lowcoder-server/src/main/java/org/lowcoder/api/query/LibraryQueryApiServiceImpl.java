@@ -238,7 +238,7 @@ public class LibraryQueryApiServiceImpl implements LibraryQueryApiService {
 
         Mono<BaseQuery> baseQueryMono = getQueryBaseFromQueryName(request.getLibraryQueryName(), request.getLibraryQueryRecordId()).cache();
 
-        Mono<Datasource> datasourceMono = baseQueryMono.flatMap(query -> datasourceService.getById(query.getDatasourceId())
+        Mono<Datasource> datasourceMono = baseQueryMono.flatMap(query -> datasourceService.getCachedById(query.getDatasourceId())
                         .switchIfEmpty(deferredError(BizError.DATASOURCE_NOT_FOUND, "DATASOURCE_NOT_FOUND", query.getDatasourceId())))
                 .cache();
 
@@ -285,7 +285,7 @@ public class LibraryQueryApiServiceImpl implements LibraryQueryApiService {
         MultiValueMap<String, HttpCookie> cookies = exchange.getRequest().getCookies();
         Mono<BaseQuery> baseQueryMono = libraryQueryService.getEditingBaseQueryByLibraryQueryId(
                 queryExecutionRequest.getLibraryQueryCombineId().libraryQueryId()).cache();
-        Mono<Datasource> datasourceMono = baseQueryMono.flatMap(query -> datasourceService.getById(query.getDatasourceId())
+        Mono<Datasource> datasourceMono = baseQueryMono.flatMap(query -> datasourceService.getCachedById(query.getDatasourceId())
                 .switchIfEmpty(deferredError(BizError.DATASOURCE_NOT_FOUND, "DATASOURCE_NOT_FOUND", query.getDatasourceId()))).cache();
 
         Mono<User> userMono = sessionUserService.getVisitor();
@@ -322,7 +322,8 @@ public class LibraryQueryApiServiceImpl implements LibraryQueryApiService {
                     }
 
                     QueryVisitorContext queryVisitorContext = new QueryVisitorContext(userId, orgId, port, cookies, paramsAndHeadersInheritFromLogin,
-                            commonConfig.getDisallowedHosts());
+                            commonConfig.getDisallowedHosts())
+                            .withCompactResult(queryExecutionRequest.isCompactResultFormat());
                     Map<String, Object> queryConfig = baseQuery.getQueryConfig();
                     String timeoutStr = baseQuery.getTimeoutStr();
                     return queryExecutionService.executeQuery(datasource, queryConfig, queryExecutionRequest.paramMap(), timeoutStr,
@@ -8,6 +8,7 @@ import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
 import org.lowcoder.domain.query.model.LibraryQueryCombineId;
+import org.lowcoder.sdk.models.CompactRows;
 import org.lowcoder.sdk.models.Param;
 
 import lombok.Setter;
@@ -29,6 +30,11 @@ public class QueryExecutionRequest {
 
     private String[] path;
 
+    /**
+     * "compact" to get tabular results as column labels plus value arrays, see {@link CompactRows}
+     */
+    private String resultFormat;
+
     public String getApplicationId() {
         return applicationId;
     }
@@ -45,6 +51,10 @@ public class QueryExecutionRequest {
         return path;
     }
 
+    public boolean isCompactResultFormat() {
+        return CompactRows.COMPACT_RESULT_FORMAT.equals(resultFormat);
+    }
+
     public Map<String, Object> paramMap() {
         return emptyIfNull(params).stream()
                 .filter(it -> StringUtils.isNotBlank(it.getKey()))
@@ -1,6 +1,7 @@
 package org.lowcoder.api.usermanagement;
 
 import static java.util.Collections.emptyList;
+import static org.lowcoder.infra.birelation.BiRelationBizType.GROUP_MEMBER;
 import static org.lowcoder.sdk.exception.BizError.CANNOT_LEAVE_GROUP;
 import static org.lowcoder.sdk.exception.BizError.CANNOT_REMOVE_MYSELF;
 import static org.lowcoder.sdk.exception.BizError.INVALID_GROUP_ID;
@@ -27,6 +28,10 @@ import org.lowcoder.domain.group.service.GroupMemberService;
 import org.lowcoder.domain.group.service.GroupService;
 import org.lowcoder.domain.organization.model.MemberRole;
 import org.lowcoder.domain.organization.model.OrgMember;
+import org.lowcoder.domain.organization.service.MemberSearchService;
+import org.lowcoder.domain.organization.service.MemberSearchService.MemberPage;
+import org.lowcoder.domain.organization.service.MemberSearchService.MemberQuery;
+import org.lowcoder.domain.organization.service.MemberSearchService.MemberSortKey;
 import org.lowcoder.domain.organization.service.OrgMemberService;
 import org.lowcoder.domain.user.model.User;
 import org.lowcoder.domain.user.service.UserService;
@@ -51,68 +56,16 @@ public class GroupApiServiceImpl implements GroupApiService {
     private final GroupService groupService;
     private final AbstractBizThresholdChecker bizThresholdChecker;
     private final OrgMemberService orgMemberService;
+    private final MemberSearchService memberSearchService;
 
     @Override
     public Mono<GroupMemberAggregateView> getGroupMembers(String groupId, int page, int count) {
-        Mono<Tuple2<GroupMember, OrgMember>> groupAndOrgMemberInfo = getGroupAndOrgMemberInfo(groupId).cache();
-
-        Mono<MemberRole> visitorRoleMono = groupAndOrgMemberInfo.flatMap(tuple -> {
-            GroupMember groupMember = tuple.getT1();
-            OrgMember orgMember = tuple.getT2();
-            if (groupMember.isSuperAdmin() || orgMember.isSuperAdmin()) {
-                return Mono.just(MemberRole.SUPER_ADMIN);
-            }
-            if (groupMember.isAdmin() || orgMember.isAdmin()) {
-                return Mono.just(MemberRole.ADMIN);
-            }
-            if (groupMember.isValid()) {
-                return Mono.just(MemberRole.MEMBER);
-            }
-            return ofError(BizError.NOT_AUTHORIZED, NOT_AUTHORIZED);
-        });
-
-        return groupAndOrgMemberInfo
-                .filter(this::hasReadPermission)
-                .switchIfEmpty(deferredError(BizError.NOT_AUTHORIZED, NOT_AUTHORIZED))
-                .flatMap(groupMember -> groupMemberService.getGroupMembers(groupId))
-                .<Pair<List<GroupMemberView>, Integer>> flatMap(members -> {
-                    if (members.isEmpty()) {
-                        return Mono.just(Pair.of(emptyList(), 0));
-                    }
-
-                    List<String> userIds = collectList(members, GroupMember::getUserId);
-                    Mono<Map<String, User>> userMapMono = userService.getByIds(userIds);
-                    return userMapMono.map(map -> {
-                            var list = members.stream()
-                                    .map(orgMember -> {
-                                        User user = map.get(orgMember.getUserId());
-                                        if (user == null) {
-                                            return null;
-                                        }
-                                        return new GroupMemberView(orgMember, user);
-                                    })
-                                    .filter(Objects::nonNull)
-                                    .toList();
-                            var pageTotal = list.size();
-                            list = list.subList((page - 1) * count, count == 0 ? pageTotal : Math.min(page * count, pageTotal));
-                            return Pair.of(list, pageTotal);
-                    });
-                })
-                .zipWith(visitorRoleMono)
-                .map(tuple -> {
-                    Pair<List<GroupMemberView>, Integer> t1 = tuple.getT1();
-                    return GroupMemberAggregateView.builder()
-                            .members(t1.getLeft())
-                            .total(t1.getRight())
-                            .pageNum(page)
-                            .pageSize(count)
-                            .visitorRole(tuple.getT2().getValue())
-                            .build();
-                });
+        return getGroupMembersForSearch(groupId, null, null, null, null, page, count, null);
     }
 
     @Override
-    public Mono<GroupMemberAggregateView> getGroupMembersForSearch(String groupId, String search, String role, String sort, String order, Integer pageNum, Integer pageSize) {
+    public Mono<GroupMemberAggregateView> getGroupMembersForSearch(String groupId, String search, String role, String sort, String order,
+            Integer pageNum, Integer pageSize, String cursor) {
         Mono<Tuple2<GroupMember, OrgMember>> groupAndOrgMemberInfo = getGroupAndOrgMemberInfo(groupId).cache();
 
         Mono<MemberRole> visitorRoleMono = groupAndOrgMemberInfo.flatMap(tuple -> {
@@ -130,67 +83,34 @@ public class GroupApiServiceImpl implements GroupApiService {
             return ofError(BizError.NOT_AUTHORIZED, NOT_AUTHORIZED);
         });
 
+        MemberQuery query = new MemberQuery(GROUP_MEMBER, groupId, search, role, MemberSortKey.fromValue(sort),
+                "desc".equalsIgnoreCase(order), pageNum, pageSize, cursor);
         return groupAndOrgMemberInfo
                 .filter(this::hasReadPermission)
                 .switchIfEmpty(deferredError(BizError.NOT_AUTHORIZED, NOT_AUTHORIZED))
-                .flatMap(groupMember -> groupMemberService.getGroupMembersByIdAndRole(groupId, role))
-                .<Pair<List<GroupMemberView>, Integer>> flatMap(members -> {
+                .flatMap(groupMember -> memberSearchService.searchMembers(query))
+                .flatMap(memberPage -> {
+                    List<GroupMember> members = collectList(memberPage.members(), GroupMember::from);
                     if (members.isEmpty()) {
-                        return Mono.just(Pair.of(emptyList(), 0));
+                        return Mono.just(Pair.of(memberPage, List.<GroupMemberView> of()));
                     }
 
-                    List<String> userIds = collectList(members, GroupMember::getUserId);
-                    Mono<Map<String, User>> userMapMono = userService.getByIds(userIds);
-                    return userMapMono.map(map -> {
-                        var list = members.stream()
-                                .map(orgMember -> {
-                                    User user = map.get(orgMember.getUserId());
-                                    if (user == null) {
-                                        return null;
-                                    }
-                                    return new GroupMemberView(orgMember, user);
-                                })
-                                .filter(Objects::nonNull)
-                                .filter(view -> {
-                                    if (search == null || search.isBlank()) return true;
-                                    return view.getUserName() != null &&
-                                            view.getUserName().toLowerCase().contains(search.toLowerCase());
-                                })
-                                .toList();
-                        List<GroupMemberView> mutableList = new ArrayList<>(list);
-                        if (sort != null && !sort.isBlank()) {
-                            Comparator<GroupMemberView> comparator = null;
-                            if ("userName".equalsIgnoreCase(sort)) {
-                                comparator = Comparator.comparing(GroupMemberView::getUserName, Comparator.nullsLast(String::compareToIgnoreCase));
-                            } else if ("role".equalsIgnoreCase(sort)) {
-                                comparator = Comparator.comparing(GroupMemberView::getRole, Comparator.nullsLast(String::compareToIgnoreCase));
-                            } else if ("joinTime".equalsIgnoreCase(sort)) {
-                                comparator = Comparator.comparing(GroupMemberView::getJoinTime, Comparator.nullsLast(Long::compareTo));
-                            }
-                            if (comparator != null && "desc".equalsIgnoreCase(order)) {
-                                comparator = comparator.reversed();
-                            }
-                            if (comparator != null) {
-                                mutableList.sort(comparator);
-                            }
-                        }
-
-                        int pageTotal = mutableList.size();
-                        int fromIndex = Math.max(0, (pageNum - 1) * pageSize);
-                        int toIndex = pageSize == 0 ? pageTotal : Math.min(pageNum * pageSize, pageTotal);
-                        List<GroupMemberView> pagedList = fromIndex < toIndex ? mutableList.subList(fromIndex, toIndex) : emptyList();
-
-                        return Pair.of(pagedList, pageTotal);
-                    });
+                    // only the users of the current page are loaded, in the order of the page
+                    return userService.getByIds(collectList(members, GroupMember::getUserId))
+                            .map(userMap -> Pair.of(memberPage, members.stream()
+                                    .filter(groupMember -> userMap.containsKey(groupMember.getUserId()))
+                                    .map(groupMember -> new GroupMemberView(groupMember, userMap.get(groupMember.getUserId())))
+                                    .toList()));
                 })
                 .zipWith(visitorRoleMono)
                 .map(tuple -> {
-                    Pair<List<GroupMemberView>, Integer> t1 = tuple.getT1();
+                    MemberPage memberPage = tuple.getT1().getLeft();
                     return GroupMemberAggregateView.builder()
-                            .members(t1.getLeft())
-                            .total(t1.getRight())
+                            .members(tuple.getT1().getRight())
+                            .total((int) memberPage.total())
                             .pageNum(pageNum)
                             .pageSize(pageSize)
+                            .nextCursor(memberPage.nextCursor())
                             .visitorRole(tuple.getT2().getValue())
                             .build();
                 });
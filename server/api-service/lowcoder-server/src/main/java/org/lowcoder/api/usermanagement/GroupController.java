@@ -123,9 +123,10 @@ public class GroupController implements GroupEndpoints
             @RequestParam(required = false) String sort,
             @RequestParam(required = false) String order,
             @RequestParam(required = false, defaultValue = "1") Integer pageNum,
-            @RequestParam(required = false, defaultValue = "100") Integer pageSize) {
+            @RequestParam(required = false, defaultValue = "100") Integer pageSize,
+            @RequestParam(required = false) String cursor) {
         return gidService.convertGroupIdToObjectId(groupId).flatMap(objectId ->
-            groupApiService.getGroupMembersForSearch(objectId, search, role, sort, order, pageNum, pageSize)
+            groupApiService.getGroupMembersForSearch(objectId, search, role, sort, order, pageNum, pageSize, cursor)
                 .map(ResponseView::success));
     }
 
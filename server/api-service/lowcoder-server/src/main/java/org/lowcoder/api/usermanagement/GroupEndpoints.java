@@ -70,7 +70,7 @@ public interface GroupEndpoints
 			tags = TAG_GROUP_MEMBERS,
 			operationId = "listGroupMembersWithSearchAndSort",
 			summary = "List User Group Members with Search and Sort",
-			description = "Retrieve a paginated, searchable, and sortable list of Users / Members within a specific User Group in Lowcoder."
+			description = "Retrieve a paginated, searchable, and sortable list of Users / Members within a specific User Group in Lowcoder. Pass the nextCursor of a page as cursor to get the page after it."
 	)
 	@GetMapping("/{groupId}/members")
 	public Mono<ResponseView<GroupMemberAggregateView>> getGroupMembers(
@@ -80,7 +80,8 @@ public interface GroupEndpoints
 			@RequestParam(required = false) String sort,
 			@RequestParam(required = false) String order,
 			@RequestParam(required = false, defaultValue = "1") Integer pageNum,
-			@RequestParam(required = false, defaultValue = "100") Integer pageSize
+			@RequestParam(required = false, defaultValue = "100") Integer pageSize,
+			@RequestParam(required = false) String cursor
 	);
 
 	@Operation(
@@ -22,6 +22,8 @@ public interface OrgApiService {
     @NonEmptyMono
     Mono<OrgMemberListView> getOrganizationMembers(String orgId, int page, int count);
 
+    Mono<OrgMemberListView> getOrganizationMembers(String orgId, int page, int count, String cursor);
+
     Mono<Boolean> updateRoleForMember(String orgId, UpdateRoleRequest updateRoleRequest);
 
     Mono<OrgMember> checkVisitorAdminRole(String orgId);
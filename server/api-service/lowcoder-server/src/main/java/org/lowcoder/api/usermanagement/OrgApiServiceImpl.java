@@ -22,6 +22,9 @@ import org.lowcoder.domain.organization.model.OrgMember;
 import org.lowcoder.domain.organization.model.Organization;
 import org.lowcoder.domain.organization.model.Organization.OrganizationCommonSettings;
 import org.lowcoder.domain.organization.model.OrganizationDomain;
+import org.lowcoder.domain.organization.service.MemberSearchService;
+import org.lowcoder.domain.organization.service.MemberSearchService.MemberPage;
+import org.lowcoder.domain.organization.service.MemberSearchService.MemberQuery;
 import org.lowcoder.domain.organization.service.OrgMemberService;
 import org.lowcoder.domain.organization.service.OrganizationService;
 import org.lowcoder.domain.user.model.Connection;
@@ -47,6 +50,7 @@ import org.lowcoder.domain.group.model.GroupMember;
 import java.util.*;
 import java.util.stream.Collectors;
 
+import static org.lowcoder.infra.birelation.BiRelationBizType.ORG_MEMBER;
 import static org.lowcoder.sdk.exception.BizError.LAST_ADMIN_CANNOT_LEAVE_ORG;
 import static org.lowcoder.sdk.exception.BizError.UNSUPPORTED_OPERATION;
 import static org.lowcoder.sdk.util.ExceptionUtils.deferredError;
@@ -81,19 +85,28 @@ public class OrgApiServiceImpl implements OrgApiService {
     private ServerLogService serverLogService;
     @Autowired
     private GroupMemberService groupMemberService;
+    @Autowired
+    private MemberSearchService memberSearchService;
 
     @Override
     public Mono<OrgMemberListView> getOrganizationMembers(String orgId, int page, int count) {
+        return getOrganizationMembers(orgId, page, count, null);
+    }
+
+    @Override
+    public Mono<OrgMemberListView> getOrganizationMembers(String orgId, int page, int count, String cursor) {
         return sessionUserService.getVisitorId()
                 .flatMap(visitorId -> orgMemberService.getOrgMember(orgId, visitorId))
                 .switchIfEmpty(deferredError(BizError.NOT_AUTHORIZED, "NOT_AUTHORIZED"))
-                .then(getOrgMemberListView(orgId, page, count));
+                .then(getOrgMemberListView(orgId, page, count, cursor));
     }
 
-    private Mono<OrgMemberListView> getOrgMemberListView(String orgId, int page, int count) {
-        return orgMemberService.getOrganizationMembers(orgId)
-                .collectList()
-                .flatMap(orgMembers -> {
+    private Mono<OrgMemberListView> getOrgMemberListView(String orgId, int page, int count, String cursor) {
+        return memberSearchService.searchMembers(new MemberQuery(ORG_MEMBER, orgId, null, null, null, false, page, count, cursor))
+                .flatMap(memberPage -> {
+                    List<OrgMember> orgMembers = memberPage.members().stream()
+                            .map(OrgMember::from)
+                            .toList();
                     List<String> userIds = orgMembers.stream()
                             .map(OrgMember::getUserId)
                             .collect(Collectors.toList());
@@ -111,21 +124,20 @@ public class OrgApiServiceImpl implements OrgApiService {
                             })
                             .filter(Objects::nonNull)
                             .collect(Collectors.toList());
-                        var pageTotal = list.size();
-                        list = list.subList((page - 1) * count, count == 0 ? pageTotal : Math.min(page * count, pageTotal));
-                        return Pair.of(list, pageTotal);
+                        return Pair.of(list, memberPage);
                     });
                 })
                 .zipWith(sessionUserService.getVisitorOrgMemberCache())
                 .map(tuple -> {
                     List<OrgMemberView> orgMemberViews = tuple.getT1().getLeft();
-                    var pageTotal = tuple.getT1().getRight();
+                    MemberPage memberPage = tuple.getT1().getRight();
                     OrgMember orgMember = tuple.getT2();
                     return OrgMemberListView.builder()
                             .members(orgMemberViews)
-                            .total(pageTotal)
+                            .total((int) memberPage.total())
                             .pageNum(page)
                             .pageSize(count)
+                            .nextCursor(memberPage.nextCursor())
                             .visitorRole(orgMember.getRole().getValue())
                             .build();
                 });
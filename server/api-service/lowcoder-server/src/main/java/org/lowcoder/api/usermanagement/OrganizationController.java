@@ -113,9 +113,10 @@ public class OrganizationController implements OrganizationEndpoints
     @Override
     public Mono<ResponseView<OrgMemberListView>> getOrgMembers(@PathVariable String orgId,
             @RequestParam(required = false, defaultValue = "1") int pageNum,
-            @RequestParam(required = false, defaultValue = "1000") int pageSize) {
+            @RequestParam(required = false, defaultValue = "1000") int pageSize,
+            @RequestParam(required = false) String cursor) {
         return gidService.convertOrganizationIdToObjectId(orgId).flatMap(id ->
-            orgApiService.getOrganizationMembers(id, pageNum, pageSize)
+            orgApiService.getOrganizationMembers(id, pageNum, pageSize, cursor)
                 .map(ResponseView::success));
     }
 
@@ -96,7 +96,8 @@ public interface OrganizationEndpoints
     @GetMapping("/{orgId}/members")
     public Mono<ResponseView<OrgMemberListView>> getOrgMembers(@PathVariable String orgId,
             @RequestParam(required = false, defaultValue = "1") int pageNum,
-            @RequestParam(required = false, defaultValue = "1000") int pageSize);
+            @RequestParam(required = false, defaultValue = "1000") int pageSize,
+            @RequestParam(required = false) String cursor);
 
 	@Operation(
 			tags = TAG_ORGANIZATION_MEMBERS,
@@ -26,6 +26,7 @@ import org.lowcoder.sdk.config.CommonConfig;
 import org.lowcoder.sdk.constants.AuthSourceConstants;
 import org.lowcoder.sdk.exception.BizError;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.codec.multipart.Part;
 import org.springframework.web.bind.annotation.*;
@@ -199,6 +200,8 @@ public class UserController implements UserEndpoints
 
     @Override
     public Mono<Void> getProfilePhoto(ServerWebExchange exchange, @PathVariable String userId) {
+        // the avatar of a user changes, browsers revalidate it with the etag of the asset
+        exchange.getResponse().getHeaders().setCacheControl(CacheControl.noCache().cachePrivate());
         return userService.getUserAvatar(exchange, userId)
                 .switchIfEmpty(Mono.fromRunnable(() -> exchange.getResponse().setStatusCode(HttpStatus.NOT_FOUND)));
     }
@@ -13,4 +13,5 @@ public class GroupMemberAggregateView {
     private Integer total;
     private Integer pageNum;
     private Integer pageSize;
+    private String nextCursor;
 }
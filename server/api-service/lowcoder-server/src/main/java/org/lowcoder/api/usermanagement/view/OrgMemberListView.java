@@ -16,6 +16,7 @@ public class OrgMemberListView {
     private Integer total;
     private Integer pageNum;
     private Integer pageSize;
+    private String nextCursor;
 
     @Getter
     @SuperBuilder
@@ -124,6 +124,40 @@ public class BusinessEventPublisher {
     }
 
     public Mono<Void> publishApplicationCommonEvent(ApplicationView originalApplicationView, ApplicationView applicationView, EventType eventType) {
+        Mono<String[]> liveSettingsMono = Mono.defer(() -> {
+            String appId = applicationView.getApplicationInfoView().getApplicationId();
+            return applicationService.findById(appId)
+                    .zipWhen(application -> application.getCategory(applicationRecordServiceImpl))
+                    .zipWhen(application -> application.getT1().getDescription(applicationRecordServiceImpl))
+                    .zipWhen(application -> application.getT1().getT1().getTitle(applicationRecordServiceImpl))
+                    .map(tuple -> {
+                        String category = tuple.getT1().getT1().getT2();
+                        String description = tuple.getT1().getT2();
+                        String title = tuple.getT2();
+                        return new String[]{category, description, title};
+                    });
+        });
+        return publishApplicationCommonEvent(originalApplicationView, applicationView, eventType, liveSettingsMono);
+    }
+
+    /**
+     * the view of a published application is built with the category, description and title of its live dsl, so the event
+     * is published without loading the application again.
+     */
+    public Mono<Void> publishApplicationViewEvent(ApplicationView applicationView) {
+        ApplicationInfoView applicationInfoView = applicationView.getApplicationInfoView();
+        Mono<String[]> liveSettingsMono = Mono.fromSupplier(() -> new String[]{
+                StringUtils.defaultString(applicationInfoView.getCategory()),
+                StringUtils.defaultString(applicationInfoView.getDescription()),
+                StringUtils.defaultString(applicationInfoView.getTitle())});
+        return publishApplicationCommonEvent(applicationView, applicationView, EventType.APPLICATION_VIEW, liveSettingsMono);
+    }
+
+    /**
+     * @param liveSettingsMono category, description and title of the application
+     */
+    private Mono<Void> publishApplicationCommonEvent(ApplicationView originalApplicationView, ApplicationView applicationView,
+            EventType eventType, Mono<String[]> liveSettingsMono) {
         return sessionUserService.isAnonymousUser()
                 .flatMap(anonymous -> sessionUserService.getVisitorOrgMemberCache()
                         .onErrorReturn(new OrgMember(null, null, null, null, 0))
@@ -146,19 +180,7 @@ public class BusinessEventPublisher {
                                     .onErrorReturn(Optional.empty());
                         }), TupleUtils::merge)
                         .zipWith(sessionUserService.getVisitorToken())
-                        .zipWith(Mono.defer(() -> {
-                            String appId = applicationView.getApplicationInfoView().getApplicationId();
-                            return applicationService.findById(appId)
-                                    .zipWhen(application -> application.getCategory(applicationRecordServiceImpl))
-                                    .zipWhen(application -> application.getT1().getDescription(applicationRecordServiceImpl))
-                                    .zipWhen(application -> application.getT1().getT1().getTitle(applicationRecordServiceImpl))
-                                    .map(tuple -> {
-                                        String category = tuple.getT1().getT1().getT2();
-                                        String description = tuple.getT1().getT2();
-                                        String title = tuple.getT2();
-                                        return new String[]{category, description, title};
-                                    });
-                        }), TupleUtils::merge)
+                        .zipWith(liveSettingsMono, TupleUtils::merge)
                         .flatMap(tuple -> Mono.deferContextual(contextView -> {
                             OrgMember orgMember = tuple.getT1().getT1();
                             Optional<Folder> optional = tuple.getT1().getT2();
@@ -10,6 +10,7 @@ import com.mongodb.client.MongoCursor;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.result.DeleteResult;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.ListUtils;
 import org.bson.Document;
 import org.bson.types.ObjectId;
 import org.lowcoder.domain.application.model.Application;
@@ -29,11 +30,14 @@ import org.lowcoder.domain.query.model.LibraryQuery;
 import org.lowcoder.domain.query.model.LibraryQueryRecord;
 import org.lowcoder.domain.user.model.User;
 import org.lowcoder.infra.birelation.BiRelation;
+import org.lowcoder.infra.birelation.BiRelationBizType;
 import org.lowcoder.infra.config.model.ServerConfig;
 import org.lowcoder.infra.eventlog.EventLog;
+import org.lowcoder.infra.serverlog.ApiUsageRollup;
 import org.lowcoder.infra.serverlog.ServerLog;
 import org.lowcoder.runner.migrations.job.AddPtmFieldsJob;
 import org.lowcoder.runner.migrations.job.AddSuperAdminUser;
+import org.lowcoder.runner.migrations.job.BackfillApiUsageRollups;
 import org.lowcoder.runner.migrations.job.CompleteAuthType;
 import org.lowcoder.runner.migrations.job.MigrateAuthConfigJob;
 import org.lowcoder.sdk.config.CommonConfig;
@@ -51,10 +55,12 @@ import org.springframework.data.mongodb.core.query.Update;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static org.lowcoder.api.authentication.util.AdvancedMapUtils.documentToMap;
@@ -502,6 +508,142 @@ public class DatabaseChangelog {
         }
     }
 
+    @ChangeSet(order = "032", id = "add-snapshot-keyframe-index", author = "")
+    public void addSnapshotKeyframeIndex(MongockTemplate mongoTemplate) {
+        ensureIndexes(mongoTemplate, ApplicationHistorySnapshot.class, makeIndex("keyframeId"));
+        ensureIndexes(mongoTemplate, ApplicationHistorySnapshotTS.class, makeIndex("keyframeId"));
+    }
+
+    @ChangeSet(order = "033", id = "add-member-search-indexes", author = "")
+    public void addMemberSearchIndexes(MongockTemplate mongoTemplate) {
+        ensureIndexes(mongoTemplate, BiRelation.class,
+                makeIndex("bizType", "sourceId", "createdAt"),
+                makeIndex("bizType", "sourceId", "relation", "createdAt")
+        );
+        ensureIndexes(mongoTemplate, User.class,
+                makeIndex("name"),
+                makeIndex("email")
+        );
+    }
+
+    @ChangeSet(order = "034", id = "add-folder-level-indexes", author = "")
+    public void addFolderLevelIndexes(MongockTemplate mongoTemplate) {
+        ensureIndexes(mongoTemplate, Application.class, makeIndex("organizationId", "name"));
+        ensureIndexes(mongoTemplate, Folder.class, makeIndex("organizationId", "parentFolderId", "name"));
+    }
+
+    @ChangeSet(order = "035", id = "add-api-usage-rollup-indexes", author = "")
+    public void addApiUsageRollupIndexes(MongockTemplate mongoTemplate) {
+        ensureIndexes(mongoTemplate, ApiUsageRollup.class,
+                makeIndex("orgId", "dimension", "granularity", "bucketStart"),
+                makeIndex("expireAt").expire(0, TimeUnit.SECONDS)
+        );
+    }
+
+    @ChangeSet(order = "036", id = "backfill-api-usage-rollups", author = "")
+    public void backfillApiUsageRollups(BackfillApiUsageRollups backfillApiUsageRollups) {
+        backfillApiUsageRollups.backfill();
+    }
+
+    @ChangeSet(order = "037", id = "add-user-search-keys", author = "")
+    public void addUserSearchKeys(MongockTemplate mongoTemplate) {
+        String collectionName = mongoTemplate.getCollectionName(User.class);
+        Query query = new Query();
+        query.fields().include("name", "email");
+        mongoTemplate.executeQuery(query, collectionName, document -> {
+            Update update = new Update()
+                    .set("searchName", User.toSearchKey(document.getString("name")))
+                    .set("searchEmail", User.toSearchKey(document.getString("email")));
+            mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(document.get("_id"))), update, collectionName);
+        });
+        ensureIndexes(mongoTemplate, User.class,
+                makeIndex("searchName", "_id"),
+                makeIndex("searchEmail")
+        );
+    }
+
+    /**
+     * memberships left behind by users removed from the database, e.g. by delete-old-super-admin, were counted in the
+     * member totals without ever being listed. only memberships of valid user ids confirmed missing from the user
+     * collection are removed, a target id that is not an object id is left alone.
+     */
+    @ChangeSet(order = "038", id = "remove-orphan-member-relations", author = "")
+    public void removeOrphanMemberRelations(MongockTemplate mongoTemplate) {
+        List<String> memberBizTypes = List.of(BiRelationBizType.ORG_MEMBER.name(), BiRelationBizType.GROUP_MEMBER.name());
+        List<String> userIds = new ArrayList<>();
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(BiRelation.class))
+                .aggregate(List.of(
+                        new Document("$match", new Document("bizType", new Document("$in", memberBizTypes))),
+                        new Document("$group", new Document("_id", "$targetId"))))
+                .allowDiskUse(true)
+                .forEach(document -> {
+                    if (document.get("_id") instanceof String userId && ObjectId.isValid(userId)) {
+                        userIds.add(userId);
+                    }
+                });
+
+        ListUtils.partition(userIds, 1000).forEach(batch -> {
+            Query existing = Query.query(Criteria.where("_id").in(batch.stream().map(ObjectId::new).toList()));
+            existing.fields().include("_id");
+            Set<String> existingUserIds = mongoTemplate.find(existing, Document.class, mongoTemplate.getCollectionName(User.class))
+                    .stream()
+                    .map(document -> document.getObjectId("_id").toHexString())
+                    .collect(Collectors.toSet());
+            List<String> orphanUserIds = batch.stream().filter(userId -> !existingUserIds.contains(userId)).toList();
+            if (orphanUserIds.isEmpty()) {
+                return;
+            }
+            DeleteResult result = mongoTemplate.remove(
+                    Query.query(Criteria.where("bizType").in(memberBizTypes).and("targetId").in(orphanUserIds)), BiRelation.class);
+            log.info("Removed {} memberships of missing users {}", result.getDeletedCount(), orphanUserIds);
+        });
+    }
+
+    /**
+     * copies the folder relations onto the applications, bundle relations match no application and are skipped.
+     */
+    @ChangeSet(order = "039", id = "add-application-folder-id", author = "")
+    public void addApplicationFolderId(MongockTemplate mongoTemplate) {
+        String applicationCollectionName = mongoTemplate.getCollectionName(Application.class);
+        Query query = Query.query(Criteria.where("bizType").is(BiRelationBizType.FOLDER_ELEMENT.name()));
+        query.fields().include("sourceId", "targetId");
+        mongoTemplate.executeQuery(query, mongoTemplate.getCollectionName(BiRelation.class), document -> {
+            String applicationId = document.getString("targetId");
+            if (!ObjectId.isValid(applicationId)) {
+                return;
+            }
+            mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(new ObjectId(applicationId))),
+                    new Update().set("folderId", document.getString("sourceId")), applicationCollectionName);
+        });
+        ensureIndexes(mongoTemplate, Application.class,
+                makeIndex("organizationId", "folderId", "name", "_id"),
+                makeIndex("organizationId", "folderId", "_id")
+        );
+    }
+
+    /**
+     * backfills the name words of the users, so that a member search prefix matches any word of the name
+     */
+    @ChangeSet(order = "040", id = "add-user-search-name-words", author = "")
+    public void addUserSearchNameWords(MongockTemplate mongoTemplate) {
+        String collectionName = mongoTemplate.getCollectionName(User.class);
+        Query query = Query.query(Criteria.where("name").ne(null));
+        query.fields().include("name");
+        mongoTemplate.executeQuery(query, collectionName, document -> mongoTemplate.updateFirst(
+                new Query(Criteria.where("_id").is(document.get("_id"))),
+                new Update().set("searchNameWords", User.toSearchWords(document.getString("name"))), collectionName));
+        ensureIndexes(mongoTemplate, User.class, makeIndex("searchNameWords"));
+    }
+
+    /**
+     * the latest version of an application is read in (applicationId, createdAt) order
+     */
+    @ChangeSet(order = "041", id = "add-application-version-latest-index", author = "")
+    public void addApplicationVersionLatestIndex(MongockTemplate mongoTemplate) {
+        ensureIndexes(mongoTemplate, ApplicationVersion.class,
+                new CompoundIndexDefinition(new Document("applicationId", 1).append("createdAt", -1)));
+    }
+
     private void addGidField(MongockTemplate mongoTemplate, String collectionName) {
         // Create a query to match all documents
         Query query = new Query();
@@ -0,0 +1,6 @@
+package org.lowcoder.runner.migrations.job;
+
+public interface BackfillApiUsageRollups {
+
+    void backfill();
+}
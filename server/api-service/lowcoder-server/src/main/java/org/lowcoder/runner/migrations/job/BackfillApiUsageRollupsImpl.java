@@ -0,0 +1,17 @@
+package org.lowcoder.runner.migrations.job;
+
+import org.lowcoder.infra.serverlog.ApiUsageRollupService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BackfillApiUsageRollupsImpl implements BackfillApiUsageRollups {
+
+    @Autowired
+    private ApiUsageRollupService apiUsageRollupService;
+
+    @Override
+    public void backfill() {
+        apiUsageRollupService.backfill().block();
+    }
+}
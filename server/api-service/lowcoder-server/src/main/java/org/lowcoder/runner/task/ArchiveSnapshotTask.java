@@ -1,146 +1,217 @@
 package org.lowcoder.runner.task;
 
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoWriteException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.instrument.Tags;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.lowcoder.infra.perf.PerfHelper;
 import org.lowcoder.sdk.config.CommonConfig;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
-import com.mongodb.client.MongoCollection;
-import com.mongodb.client.MongoCursor;
-import com.mongodb.client.model.Filters;
-import org.bson.Document;
-
+import static org.lowcoder.infra.perf.PerfEvent.SNAPSHOT_ARCHIVE_BATCH;
+import static org.lowcoder.infra.perf.PerfEvent.SNAPSHOT_ARCHIVE_DOCUMENTS;
+
+/**
+ * Moves the history snapshots older than the retention time to the archive collection, in batches of
+ * {@link CommonConfig.Query#getAppSnapshotArchiveBatchSize()} sorted by id: each batch is inserted with one insertMany and
+ * removed from the source with one ranged deleteMany.
+ * <p>
+ * The checkpoint document records the batch in flight, so a run interrupted between the insert and the delete completes
+ * that batch without inserting it twice on the next run. It also holds a lease so that only one node archives at a time.
+ */
 @Slf4j
 @RequiredArgsConstructor
 @Component
 public class ArchiveSnapshotTask {
 
+    private static final String SOURCE_COLLECTION = "applicationHistorySnapshot";
+    private static final String TARGET_COLLECTION = "applicationHistorySnapshotTS";
+    private static final String CHECKPOINT_COLLECTION = "applicationHistorySnapshotArchiveCheckpoint";
+    private static final String CHECKPOINT_ID = "archive";
+    private static final Duration LEASE = Duration.ofMinutes(10);
+
     private final CommonConfig commonConfig;
     private final MongoTemplate mongoTemplate;
+    private final PerfHelper perfHelper;
 
     @Scheduled(initialDelay = 0, fixedRate = 1, timeUnit = TimeUnit.DAYS)
     public void archive() {
-        int mongoVersion = getMongoDBVersion();
-        Instant thresholdDate = Instant.now().minus(commonConfig.getQuery().getAppSnapshotKeepDuration(), ChronoUnit.DAYS);
-
-        if (mongoVersion >= 5) {
-            archiveForVersion5AndAbove(thresholdDate);
-        } else {
-            archiveForVersionBelow5(thresholdDate);
+        String owner = UUID.randomUUID().toString();
+        if (!acquireLease(owner)) {
+            log.info("Snapshot archival is running on another node, skipped");
+            return;
         }
-    }
-
-    private int getMongoDBVersion() {
-        Document buildInfo = mongoTemplate.getDb().runCommand(new Document("buildInfo", 1));
-        String version = buildInfo.getString("version");
-        return Integer.parseInt(version.split("\\.")[0]); // Parse major version
-    }
-
-    private void archiveForVersion5AndAbove(Instant thresholdDate) {
-        log.info("Running archival for MongoDB version >= 5");
-
-        MongoCollection<Document> sourceCollection = mongoTemplate.getDb().getCollection("applicationHistorySnapshot");
-        MongoCollection<Document> targetCollection = mongoTemplate.getDb().getCollection("applicationHistorySnapshotTS");
-
-        long totalDocuments = sourceCollection.countDocuments(Filters.lte("createdAt", thresholdDate));
-        log.info("Total documents to archive: {}", totalDocuments);
 
+        long startNanos = System.nanoTime();
         long processedCount = 0;
-
-        try (MongoCursor<Document> cursor = sourceCollection.find(Filters.lte("createdAt", thresholdDate)).iterator()) {
-            while (cursor.hasNext()) {
-                Document document = cursor.next();
-
-                // Transform the document for the target collection
-                document.put("id", document.getObjectId("_id")); // Map `_id` to `id`
-                document.remove("_id");
-
-                // Insert the document into the target collection
-                try {
-                    targetCollection.insertOne(document);
-                } catch (Exception e) {
-                    log.error("Failed to insert document with ID {}. Error: {}", document.getObjectId("id"), e.getMessage());
-                    continue;
+        try {
+            resumePendingBatch(owner);
+
+            Instant thresholdDate = Instant.now().minus(commonConfig.getQuery().getAppSnapshotKeepDuration(), ChronoUnit.DAYS);
+            int batchSize = Math.max(commonConfig.getQuery().getAppSnapshotArchiveBatchSize(), 1);
+            MongoCollection<Document> sourceCollection = mongoTemplate.getDb().getCollection(SOURCE_COLLECTION);
+            while (true) {
+                List<Document> batch = sourceCollection.find(Filters.lte("createdAt", thresholdDate))
+                        .sort(Sorts.ascending("_id"))
+                        .limit(batchSize)
+                        .into(new ArrayList<>());
+                if (batch.isEmpty()) {
+                    break;
                 }
-
-                // Remove the document from the source collection
-                try {
-                    sourceCollection.deleteOne(Filters.eq("_id", document.getObjectId("id")));
-                } catch (Exception e) {
-                    log.error("Failed to delete document with ID {}. Error: {}", document.getObjectId("id"), e.getMessage());
-                    continue;
-                }
-
-                processedCount++;
-                log.info("Processed document {} / {}", processedCount, totalDocuments);
+                archiveBatch(owner, batch, thresholdDate, false);
+                processedCount += batch.size();
             }
         } catch (Exception e) {
-            log.error("Failed during archival process. Error: {}", e.getMessage());
+            log.error("Snapshot archival failed, it resumes from the checkpoint on the next run", e);
+        } finally {
+            releaseLease(owner);
         }
 
-        log.info("Archival process completed. Total documents archived: {}", processedCount);
+        double seconds = Math.max((System.nanoTime() - startNanos) / 1e9, 1e-3);
+        log.info("Archival process completed. Total documents archived: {} in {}s ({} documents/s)",
+                processedCount, String.format("%.1f", seconds), Math.round(processedCount / seconds));
     }
 
-    private void archiveForVersionBelow5(Instant thresholdDate) {
-        log.info("Running archival for MongoDB version < 5");
+    private void resumePendingBatch(String owner) {
+        Document checkpoint = getCheckpointCollection().find(Filters.eq("_id", CHECKPOINT_ID)).first();
+        if (checkpoint == null || checkpoint.getObjectId("pendingFromId") == null) {
+            return;
+        }
+        ObjectId fromId = checkpoint.getObjectId("pendingFromId");
+        ObjectId toId = checkpoint.getObjectId("pendingToId");
+        Instant thresholdDate = checkpoint.getDate("pendingThreshold").toInstant();
+        log.info("Resuming snapshot archival batch {} - {}", fromId, toId);
+
+        List<Document> batch = mongoTemplate.getDb().getCollection(SOURCE_COLLECTION)
+                .find(batchFilter(fromId, toId, thresholdDate))
+                .sort(Sorts.ascending("_id"))
+                .into(new ArrayList<>());
+        if (batch.isEmpty()) {
+            completeCheckpoint(owner, toId, 0);
+            return;
+        }
+        archiveBatch(owner, batch, thresholdDate, true);
+    }
 
-        MongoCollection<Document> sourceCollection = mongoTemplate.getDb().getCollection("applicationHistorySnapshot");
+    private void archiveBatch(String owner, List<Document> batch, Instant thresholdDate, boolean resumed) {
+        long startNanos = System.nanoTime();
+        ObjectId fromId = batch.get(0).getObjectId("_id");
+        ObjectId toId = batch.get(batch.size() - 1).getObjectId("_id");
+        saveCheckpoint(owner, fromId, toId, thresholdDate);
 
-        long totalDocuments = sourceCollection.countDocuments(Filters.lte("createdAt", thresholdDate));
-        log.info("Total documents to archive: {}", totalDocuments);
+        // archived as they are: the keyframe and base snapshot ids of the deltas refer to `_id`
+        List<Document> documents = batch;
+        if (resumed) {
+            documents = excludeArchived(documents);
+        }
+        if (!documents.isEmpty()) {
+            mongoTemplate.getDb().getCollection(TARGET_COLLECTION)
+                    .insertMany(documents, new InsertManyOptions().ordered(false));
+        }
+        mongoTemplate.getDb().getCollection(SOURCE_COLLECTION).deleteMany(batchFilter(fromId, toId, thresholdDate));
+        completeCheckpoint(owner, toId, batch.size());
 
-        long processedCount = 0;
+        perfHelper.count(SNAPSHOT_ARCHIVE_DOCUMENTS, Tags.empty(), batch.size());
+        perfHelper.recordTime(SNAPSHOT_ARCHIVE_BATCH.perfKey(), Tags.empty(), Duration.ofNanos(System.nanoTime() - startNanos));
+        log.debug("Archived snapshots {} - {}, size: {}", fromId, toId, batch.size());
+    }
 
-        try (MongoCursor<Document> cursor = sourceCollection.find(Filters.lte("createdAt", thresholdDate)).iterator()) {
-            while (cursor.hasNext()) {
-                Document document = cursor.next();
-
-                // Transform the document for the target collection
-                document.put("id", document.getObjectId("_id")); // Map `_id` to `id`
-                document.remove("_id");
-
-                // Use aggregation with $out for the single document
-                try {
-                    sourceCollection.aggregate(List.of(
-                            Filters.eq("_id", document.getObjectId("id")),
-                            new Document("$project", new Document()
-                                    .append("applicationId", document.get("applicationId"))
-                                    .append("dsl", document.get("dsl"))
-                                    .append("context", document.get("context"))
-                                    .append("createdAt", document.get("createdAt"))
-                                    .append("createdBy", document.get("createdBy"))
-                                    .append("modifiedBy", document.get("modifiedBy"))
-                                    .append("updatedAt", document.get("updatedAt"))
-                                    .append("id", document.get("id"))),
-                            new Document("$out", "applicationHistorySnapshotTS")
-                    )).first();
-                } catch (Exception e) {
-                    log.error("Failed to aggregate and insert document with ID {}. Error: {}", document.getObjectId("id"), e.getMessage());
-                    continue;
-                }
+    /**
+     * the documents of an interrupted batch may have been inserted already.
+     */
+    private List<Document> excludeArchived(List<Document> documents) {
+        List<ObjectId> ids = documents.stream().map(document -> document.getObjectId("_id")).toList();
+        Set<ObjectId> archivedIds = new HashSet<>();
+        mongoTemplate.getDb().getCollection(TARGET_COLLECTION)
+                .find(Filters.in("_id", ids))
+                .projection(Projections.include("_id"))
+                .forEach(document -> archivedIds.add(document.getObjectId("_id")));
+        return documents.stream()
+                .filter(document -> !archivedIds.contains(document.getObjectId("_id")))
+                .toList();
+    }
 
-                // Remove the document from the source collection
-                try {
-                    sourceCollection.deleteOne(Filters.eq("_id", document.getObjectId("id")));
-                } catch (Exception e) {
-                    log.error("Failed to delete document with ID {}. Error: {}", document.getObjectId("id"), e.getMessage());
-                    continue;
-                }
+    private static Bson batchFilter(ObjectId fromId, ObjectId toId, Instant thresholdDate) {
+        return Filters.and(Filters.gte("_id", fromId), Filters.lte("_id", toId), Filters.lte("createdAt", thresholdDate));
+    }
 
-                processedCount++;
-                log.info("Processed document {} / {}", processedCount, totalDocuments);
+    private boolean acquireLease(String owner) {
+        Instant now = Instant.now();
+        try {
+            // upserting while another node holds the lease fails on the duplicate id
+            getCheckpointCollection().updateOne(
+                    Filters.and(Filters.eq("_id", CHECKPOINT_ID),
+                            Filters.or(Filters.exists("leaseUntil", false), Filters.lt("leaseUntil", now))),
+                    Updates.combine(Updates.set("owner", owner), Updates.set("leaseUntil", now.plus(LEASE))),
+                    new UpdateOptions().upsert(true));
+            return true;
+        } catch (MongoWriteException e) {
+            if (e.getError().getCategory() == ErrorCategory.DUPLICATE_KEY) {
+                return false;
             }
+            throw e;
+        }
+    }
+
+    private void releaseLease(String owner) {
+        try {
+            getCheckpointCollection().updateOne(Filters.and(Filters.eq("_id", CHECKPOINT_ID), Filters.eq("owner", owner)),
+                    Updates.combine(Updates.unset("owner"), Updates.unset("leaseUntil")));
         } catch (Exception e) {
-            log.error("Failed during archival process. Error: {}", e.getMessage());
+            log.warn("Failed to release snapshot archival lease, it expires in {}", LEASE, e);
+        }
+    }
+
+    /**
+     * records the batch in flight and renews the lease.
+     */
+    private void saveCheckpoint(String owner, ObjectId fromId, ObjectId toId, Instant thresholdDate) {
+        UpdateResult result = getCheckpointCollection().updateOne(
+                Filters.and(Filters.eq("_id", CHECKPOINT_ID), Filters.eq("owner", owner)),
+                Updates.combine(Updates.set("pendingFromId", fromId),
+                        Updates.set("pendingToId", toId),
+                        Updates.set("pendingThreshold", thresholdDate),
+                        Updates.set("leaseUntil", Instant.now().plus(LEASE))));
+        if (result.getMatchedCount() == 0) {
+            throw new IllegalStateException("snapshot archival lease lost");
         }
+    }
+
+    private void completeCheckpoint(String owner, ObjectId toId, int count) {
+        getCheckpointCollection().updateOne(Filters.and(Filters.eq("_id", CHECKPOINT_ID), Filters.eq("owner", owner)),
+                Updates.combine(Updates.unset("pendingFromId"),
+                        Updates.unset("pendingToId"),
+                        Updates.unset("pendingThreshold"),
+                        Updates.set("lastArchivedId", toId),
+                        Updates.set("lastArchivedAt", Instant.now()),
+                        Updates.inc("archivedCount", count)));
+    }
 
-        log.info("Archival process completed. Total documents archived: {}", processedCount);
+    private MongoCollection<Document> getCheckpointCollection() {
+        return mongoTemplate.getDb().getCollection(CHECKPOINT_COLLECTION);
     }
 }
@@ -12,17 +12,30 @@ import org.lowcoder.api.util.GidService;
 import org.lowcoder.domain.application.model.Application;
 import org.lowcoder.domain.application.model.ApplicationRequestType;
 import org.lowcoder.domain.application.model.ApplicationStatus;
+import org.lowcoder.domain.application.model.ApplicationType;
+import org.lowcoder.domain.application.service.ApplicationModuleClosureCache;
 import org.lowcoder.domain.application.service.ApplicationRecordService;
 import org.lowcoder.domain.permission.model.ResourceRole;
+import org.lowcoder.sdk.config.CommonConfig;
 import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 import reactor.core.publisher.Flux;
 
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
 
@@ -51,6 +64,7 @@ class ApplicationEndpointsTest {
         // Setup common mocks
         when(businessEventPublisher.publishApplicationCommonEvent(any(), any(), any())).thenReturn(Mono.empty());
         when(businessEventPublisher.publishApplicationCommonEvent(any(), any(), any(), any(), any())).thenReturn(Mono.empty());
+        when(businessEventPublisher.publishApplicationViewEvent(any())).thenReturn(Mono.empty());
         when(businessEventPublisher.publishApplicationPublishEvent(any(), any())).thenReturn(Mono.empty());
         when(businessEventPublisher.publishApplicationVersionChangeEvent(any(), any())).thenReturn(Mono.empty());
         when(businessEventPublisher.publishApplicationPermissionEvent(any(), any(), any(), any(), any())).thenReturn(Mono.empty());
@@ -816,48 +830,39 @@ class ApplicationEndpointsTest {
     @Test
     void testGetPublishedApplication_success() {
         // Mock the service responses
-        ApplicationView mockApplicationView = createMockApplicationView();
-        when(applicationApiService.getPublishedApplication(TEST_APPLICATION_ID, ApplicationRequestType.PUBLIC_TO_ALL, false))
-                .thenReturn(Mono.just(mockApplicationView));
+        when(applicationApiService.getCachedPublishedApplication(TEST_APPLICATION_ID, ApplicationRequestType.PUBLIC_TO_ALL, false))
+                .thenReturn(Mono.just(createCachedApplicationView()));
         when(applicationApiService.updateUserApplicationLastViewTime(TEST_APPLICATION_ID))
                 .thenReturn(Mono.empty());
 
         // Test the controller method directly
-        Mono<ResponseView<ApplicationView>> result = controller.getPublishedApplication(TEST_APPLICATION_ID, false);
+        MockServerWebExchange exchange = createGzipExchange();
+        Mono<Void> result = controller.getPublishedApplication(exchange, TEST_APPLICATION_ID, false);
 
         // Verify the result
         StepVerifier.create(result)
-                .expectNextMatches(response -> {
-                    assert response != null;
-                    assert response.isSuccess();
-                    assert response.getData() != null;
-                    assert response.getData().getApplicationInfoView() != null;
-                    return true;
-                })
                 .verifyComplete();
+        assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+        assertEquals("gzip", exchange.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
     }
 
     @Test
     void testGetPublishedApplication_withDeleted() {
         // Mock the service responses with withDeleted=true
-        ApplicationView mockApplicationView = createMockApplicationView();
-        when(applicationApiService.getPublishedApplication(TEST_APPLICATION_ID, ApplicationRequestType.PUBLIC_TO_ALL, true))
-                .thenReturn(Mono.just(mockApplicationView));
+        when(applicationApiService.getCachedPublishedApplication(TEST_APPLICATION_ID, ApplicationRequestType.PUBLIC_TO_ALL, true))
+                .thenReturn(Mono.just(createCachedApplicationView()));
         when(applicationApiService.updateUserApplicationLastViewTime(TEST_APPLICATION_ID))
                 .thenReturn(Mono.empty());
 
         // Test the controller method directly
-        Mono<ResponseView<ApplicationView>> result = controller.getPublishedApplication(TEST_APPLICATION_ID, true);
+        MockServerWebExchange exchange = createGzipExchange();
+        Mono<Void> result = controller.getPublishedApplication(exchange, TEST_APPLICATION_ID, true);
 
         // Verify the result
         StepVerifier.create(result)
-                .expectNextMatches(response -> {
-                    assert response != null;
-                    assert response.isSuccess();
-                    assert response.getData() != null;
-                    return true;
-                })
                 .verifyComplete();
+        assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+        assertEquals("gzip", exchange.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
     }
 
     @Test
@@ -865,34 +870,31 @@ class ApplicationEndpointsTest {
         // Test with a different application ID
         String differentAppId = "app-456";
 
-        ApplicationView mockApplicationView = createMockApplicationView();
-        when(applicationApiService.getPublishedApplication(differentAppId, ApplicationRequestType.PUBLIC_TO_ALL, false))
-                .thenReturn(Mono.just(mockApplicationView));
+        when(applicationApiService.getCachedPublishedApplication(differentAppId, ApplicationRequestType.PUBLIC_TO_ALL, false))
+                .thenReturn(Mono.just(createCachedApplicationView()));
         when(applicationApiService.updateUserApplicationLastViewTime(differentAppId))
                 .thenReturn(Mono.empty());
 
         // Test the controller method directly
-        Mono<ResponseView<ApplicationView>> result = controller.getPublishedApplication(differentAppId, false);
+        MockServerWebExchange exchange = createGzipExchange();
+        Mono<Void> result = controller.getPublishedApplication(exchange, differentAppId, false);
 
         // Verify the result
         StepVerifier.create(result)
-                .expectNextMatches(response -> {
-                    assert response != null;
-                    assert response.isSuccess();
-                    assert response.getData() != null;
-                    return true;
-                })
                 .verifyComplete();
+        assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+        assertEquals("gzip", exchange.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
     }
 
     @Test
     void testGetPublishedApplication_serviceError() {
         // Mock service error
-        when(applicationApiService.getPublishedApplication(TEST_APPLICATION_ID, ApplicationRequestType.PUBLIC_TO_ALL, false))
+        when(applicationApiService.getCachedPublishedApplication(TEST_APPLICATION_ID, ApplicationRequestType.PUBLIC_TO_ALL, false))
                 .thenReturn(Mono.error(new RuntimeException("Application not found")));
 
         // Test the controller method directly
-        Mono<ResponseView<ApplicationView>> result = controller.getPublishedApplication(TEST_APPLICATION_ID, false);
+        MockServerWebExchange exchange = createGzipExchange();
+        Mono<Void> result = controller.getPublishedApplication(exchange, TEST_APPLICATION_ID, false);
 
         // Verify the error is propagated
         StepVerifier.create(result)
@@ -905,11 +907,12 @@ class ApplicationEndpointsTest {
         // Test with empty application ID
         String emptyAppId = "";
 
-        when(applicationApiService.getPublishedApplication(emptyAppId, ApplicationRequestType.PUBLIC_TO_ALL, false))
+        when(applicationApiService.getCachedPublishedApplication(emptyAppId, ApplicationRequestType.PUBLIC_TO_ALL, false))
                 .thenReturn(Mono.error(new RuntimeException("Application ID cannot be empty")));
 
         // Test the controller method directly
-        Mono<ResponseView<ApplicationView>> result = controller.getPublishedApplication(emptyAppId, false);
+        MockServerWebExchange exchange = createGzipExchange();
+        Mono<Void> result = controller.getPublishedApplication(exchange, emptyAppId, false);
 
         // Verify the error is propagated
         StepVerifier.create(result)
@@ -919,22 +922,18 @@ class ApplicationEndpointsTest {
 
     @Test
     void testGetPublishedMarketPlaceApplication_success() {
-        ApplicationView mockApplicationView = createMockApplicationView();
-        when(applicationApiService.getPublishedApplication(TEST_APPLICATION_ID, ApplicationRequestType.PUBLIC_TO_MARKETPLACE, false))
-                .thenReturn(Mono.just(mockApplicationView));
+        when(applicationApiService.getCachedPublishedApplication(TEST_APPLICATION_ID, ApplicationRequestType.PUBLIC_TO_MARKETPLACE, false))
+                .thenReturn(Mono.just(createCachedApplicationView()));
         when(applicationApiService.updateUserApplicationLastViewTime(TEST_APPLICATION_ID))
                 .thenReturn(Mono.empty());
 
-        Mono<ResponseView<ApplicationView>> result = controller.getPublishedMarketPlaceApplication(TEST_APPLICATION_ID);
+        MockServerWebExchange exchange = createGzipExchange();
+        Mono<Void> result = controller.getPublishedMarketPlaceApplication(exchange, TEST_APPLICATION_ID);
 
         StepVerifier.create(result)
-                .expectNextMatches(response -> {
-                    assert response != null;
-                    assert response.isSuccess();
-                    assert response.getData() != null;
-                    return true;
-                })
                 .verifyComplete();
+        assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+        assertEquals("gzip", exchange.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
     }
 
     @Test
@@ -942,34 +941,31 @@ class ApplicationEndpointsTest {
         // Test with a different application ID
         String differentAppId = "app-789";
 
-        ApplicationView mockApplicationView = createMockApplicationView();
-        when(applicationApiService.getPublishedApplication(differentAppId, ApplicationRequestType.PUBLIC_TO_MARKETPLACE, false))
-                .thenReturn(Mono.just(mockApplicationView));
+        when(applicationApiService.getCachedPublishedApplication(differentAppId, ApplicationRequestType.PUBLIC_TO_MARKETPLACE, false))
+                .thenReturn(Mono.just(createCachedApplicationView()));
         when(applicationApiService.updateUserApplicationLastViewTime(differentAppId))
                 .thenReturn(Mono.empty());
 
         // Test the controller method directly
-        Mono<ResponseView<ApplicationView>> result = controller.getPublishedMarketPlaceApplication(differentAppId);
+        MockServerWebExchange exchange = createGzipExchange();
+        Mono<Void> result = controller.getPublishedMarketPlaceApplication(exchange, differentAppId);
 
         // Verify the result
         StepVerifier.create(result)
-                .expectNextMatches(response -> {
-                    assert response != null;
-                    assert response.isSuccess();
-                    assert response.getData() != null;
-                    return true;
-                })
                 .verifyComplete();
+        assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+        assertEquals("gzip", exchange.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
     }
 
     @Test
     void testGetPublishedMarketPlaceApplication_serviceError() {
         // Mock service error
-        when(applicationApiService.getPublishedApplication(TEST_APPLICATION_ID, ApplicationRequestType.PUBLIC_TO_MARKETPLACE, false))
+        when(applicationApiService.getCachedPublishedApplication(TEST_APPLICATION_ID, ApplicationRequestType.PUBLIC_TO_MARKETPLACE, false))
                 .thenReturn(Mono.error(new RuntimeException("Application not found")));
 
         // Test the controller method directly
-        Mono<ResponseView<ApplicationView>> result = controller.getPublishedMarketPlaceApplication(TEST_APPLICATION_ID);
+        MockServerWebExchange exchange = createGzipExchange();
+        Mono<Void> result = controller.getPublishedMarketPlaceApplication(exchange, TEST_APPLICATION_ID);
 
         // Verify the error is propagated
         StepVerifier.create(result)
@@ -979,22 +975,18 @@ class ApplicationEndpointsTest {
 
     @Test
     void testGetAgencyProfileApplication_success() {
-        ApplicationView mockApplicationView = createMockApplicationView();
-        when(applicationApiService.getPublishedApplication(TEST_APPLICATION_ID, ApplicationRequestType.AGENCY_PROFILE, false))
-                .thenReturn(Mono.just(mockApplicationView));
+        when(applicationApiService.getCachedPublishedApplication(TEST_APPLICATION_ID, ApplicationRequestType.AGENCY_PROFILE, false))
+                .thenReturn(Mono.just(createCachedApplicationView()));
         when(applicationApiService.updateUserApplicationLastViewTime(TEST_APPLICATION_ID))
                 .thenReturn(Mono.empty());
 
-        Mono<ResponseView<ApplicationView>> result = controller.getAgencyProfileApplication(TEST_APPLICATION_ID);
+        MockServerWebExchange exchange = createGzipExchange();
+        Mono<Void> result = controller.getAgencyProfileApplication(exchange, TEST_APPLICATION_ID);
 
         StepVerifier.create(result)
-                .expectNextMatches(response -> {
-                    assert response != null;
-                    assert response.isSuccess();
-                    assert response.getData() != null;
-                    return true;
-                })
                 .verifyComplete();
+        assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+        assertEquals("gzip", exchange.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
     }
 
     @Test
@@ -1002,34 +994,31 @@ class ApplicationEndpointsTest {
         // Test with a different application ID
         String differentAppId = "app-999";
 
-        ApplicationView mockApplicationView = createMockApplicationView();
-        when(applicationApiService.getPublishedApplication(differentAppId, ApplicationRequestType.AGENCY_PROFILE, false))
-                .thenReturn(Mono.just(mockApplicationView));
+        when(applicationApiService.getCachedPublishedApplication(differentAppId, ApplicationRequestType.AGENCY_PROFILE, false))
+                .thenReturn(Mono.just(createCachedApplicationView()));
         when(applicationApiService.updateUserApplicationLastViewTime(differentAppId))
                 .thenReturn(Mono.empty());
 
         // Test the controller method directly
-        Mono<ResponseView<ApplicationView>> result = controller.getAgencyProfileApplication(differentAppId);
+        MockServerWebExchange exchange = createGzipExchange();
+        Mono<Void> result = controller.getAgencyProfileApplication(exchange, differentAppId);
 
         // Verify the result
         StepVerifier.create(result)
-                .expectNextMatches(response -> {
-                    assert response != null;
-                    assert response.isSuccess();
-                    assert response.getData() != null;
-                    return true;
-                })
                 .verifyComplete();
+        assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+        assertEquals("gzip", exchange.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
     }
 
     @Test
     void testGetAgencyProfileApplication_serviceError() {
         // Mock service error
-        when(applicationApiService.getPublishedApplication(TEST_APPLICATION_ID, ApplicationRequestType.AGENCY_PROFILE, false))
+        when(applicationApiService.getCachedPublishedApplication(TEST_APPLICATION_ID, ApplicationRequestType.AGENCY_PROFILE, false))
                 .thenReturn(Mono.error(new RuntimeException("Application not found")));
 
         // Test the controller method directly
-        Mono<ResponseView<ApplicationView>> result = controller.getAgencyProfileApplication(TEST_APPLICATION_ID);
+        MockServerWebExchange exchange = createGzipExchange();
+        Mono<Void> result = controller.getAgencyProfileApplication(exchange, TEST_APPLICATION_ID);
 
         // Verify the error is propagated
         StepVerifier.create(result)
@@ -1037,6 +1026,84 @@ class ApplicationEndpointsTest {
                 .verify();
     }
 
+    @Test
+    void testGetPublishedApplication_notModified() {
+        CachedApplicationView cachedView = createCachedApplicationView();
+        when(applicationApiService.getCachedPublishedApplication(TEST_APPLICATION_ID, ApplicationRequestType.PUBLIC_TO_ALL, false))
+                .thenReturn(Mono.just(cachedView));
+        when(applicationApiService.updateUserApplicationLastViewTime(TEST_APPLICATION_ID))
+                .thenReturn(Mono.empty());
+
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/")
+                .header(HttpHeaders.IF_NONE_MATCH, cachedView.getEtag()));
+        Mono<Void> result = controller.getPublishedApplication(exchange, TEST_APPLICATION_ID, false);
+
+        StepVerifier.create(result)
+                .verifyComplete();
+        assertEquals(HttpStatus.NOT_MODIFIED, exchange.getResponse().getStatusCode());
+    }
+
+    @Test
+    void testGetPublishedNavLayout_filteredPerViewer() {
+        PublishedApplicationViewCache viewCache = new PublishedApplicationViewCache(Mockito.mock(ApplicationRecordService.class),
+                Mockito.mock(ApplicationModuleClosureCache.class), new CommonConfig());
+        Application navLayout = Application.builder()
+                .id(TEST_APPLICATION_ID)
+                .applicationType(ApplicationType.NAV_LAYOUT.getValue())
+                .build();
+        // both viewers have the same role, the sub apps they can read differ
+        AtomicReference<Set<String>> readableSubApps = new AtomicReference<>();
+        when(applicationApiService.getCachedPublishedApplication(TEST_APPLICATION_ID, ApplicationRequestType.PUBLIC_TO_ALL, false))
+                .thenAnswer(invocation -> viewCache.get(navLayout, ResourceRole.VIEWER.getValue(),
+                        () -> Mono.just(createNavLayoutView(readableSubApps.get()))));
+        when(applicationApiService.updateUserApplicationLastViewTime(TEST_APPLICATION_ID))
+                .thenReturn(Mono.empty());
+
+        readableSubApps.set(Set.of("sub-app-1", "sub-app-2"));
+        String firstViewerBody = getPublishedApplicationBody();
+        readableSubApps.set(Set.of("sub-app-1"));
+        String secondViewerBody = getPublishedApplicationBody();
+
+        assertTrue(firstViewerBody.contains("sub-app-2"));
+        assertTrue(secondViewerBody.contains("sub-app-1"));
+        assertFalse(secondViewerBody.contains("sub-app-2"));
+    }
+
+    @Test
+    void testPublishedViewEtagCoversOrgSettingsAndTemplate() {
+        ApplicationRecordService recordService = Mockito.mock(ApplicationRecordService.class);
+        ApplicationModuleClosureCache moduleClosureCache = Mockito.mock(ApplicationModuleClosureCache.class);
+        when(recordService.getLatestRecordWithoutDslByApplicationId(TEST_APPLICATION_ID)).thenReturn(Mono.empty());
+        when(moduleClosureCache.getDependentModuleIds(TEST_APPLICATION_ID)).thenReturn(Mono.empty());
+        PublishedApplicationViewCache viewCache = new PublishedApplicationViewCache(recordService, moduleClosureCache, new CommonConfig());
+        Application application = Application.builder()
+                .id(TEST_APPLICATION_ID)
+                .applicationType(ApplicationType.APPLICATION.getValue())
+                .build();
+
+        String etag = getEtag(viewCache, application, Map.of("theme", "light"), "template1");
+        viewCache.invalidate(TEST_APPLICATION_ID);
+        assertEquals(etag, getEtag(viewCache, application, Map.of("theme", "light"), "template1"));
+        viewCache.invalidate(TEST_APPLICATION_ID);
+        assertNotEquals(etag, getEtag(viewCache, application, Map.of("theme", "dark"), "template1"));
+        viewCache.invalidate(TEST_APPLICATION_ID);
+        assertNotEquals(etag, getEtag(viewCache, application, Map.of("theme", "light"), "template2"));
+    }
+
+    private String getEtag(PublishedApplicationViewCache viewCache, Application application, Map<String, Object> orgCommonSettings,
+            String templateId) {
+        return viewCache.get(application, ResourceRole.VIEWER.getValue(), () -> Mono.just(ApplicationView.builder()
+                        .applicationInfoView(ApplicationInfoView.builder()
+                                .applicationId(TEST_APPLICATION_ID)
+                                .build())
+                        .applicationDSL(Map.of("ui", Map.of()))
+                        .orgCommonSettings(orgCommonSettings)
+                        .templateId(templateId)
+                        .build()))
+                .map(CachedApplicationView::getEtag)
+                .block();
+    }
+
     @Test
     void testUpdate_success() {
         ApplicationView mockApplicationView = createMockApplicationView();
@@ -1415,6 +1482,44 @@ class ApplicationEndpointsTest {
     }
 
     // Helper methods to create mock objects
+    private MockServerWebExchange createGzipExchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+    }
+
+    private String getPublishedApplicationBody() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/"));
+        StepVerifier.create(controller.getPublishedApplication(exchange, TEST_APPLICATION_ID, false))
+                .verifyComplete();
+        return exchange.getResponse().getBodyAsString().block();
+    }
+
+    /**
+     * a navigation layout as filtered for a viewer who can read the given sub apps
+     */
+    private ApplicationView createNavLayoutView(Set<String> readableSubApps) {
+        List<Map<String, Object>> items = readableSubApps.stream()
+                .sorted()
+                .map(subAppId -> Map.<String, Object> of("app", Map.of("appId", subAppId)))
+                .toList();
+        return ApplicationView.builder()
+                .applicationInfoView(ApplicationInfoView.builder()
+                        .applicationId(TEST_APPLICATION_ID)
+                        .applicationType(ApplicationType.NAV_LAYOUT.getValue())
+                        .build())
+                .applicationDSL(Map.of("ui", Map.of("comp", Map.of("items", items))))
+                .build();
+    }
+
+    private CachedApplicationView createCachedApplicationView() {
+        return CachedApplicationView.builder()
+                .applicationView(createMockApplicationView())
+                .gzippedBody(new byte[0])
+                .etag("\"test-etag\"")
+                .moduleIds(Set.of())
+                .build();
+    }
+
     private ApplicationView createMockApplicationView() {
         ApplicationView view = Mockito.mock(ApplicationView.class);
         ApplicationInfoView infoView = createMockApplicationInfoView();
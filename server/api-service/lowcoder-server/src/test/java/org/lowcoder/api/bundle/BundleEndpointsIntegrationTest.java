@@ -58,6 +58,7 @@ class BundleEndpointsIntegrationTest {
             when(mockPublisher.publishBundleCommonEvent(any(String.class), any(), any(), any())).thenReturn(Mono.empty());
             when(mockPublisher.publishApplicationCommonEvent(any(), any(), any())).thenReturn(Mono.empty());
             when(mockPublisher.publishApplicationCommonEvent(any(), any(), any(), any(), any())).thenReturn(Mono.empty());
+            when(mockPublisher.publishApplicationViewEvent(any())).thenReturn(Mono.empty());
             when(mockPublisher.publishApplicationPermissionEvent(any(), any(), any(), any(), any())).thenReturn(Mono.empty());
             when(mockPublisher.publishApplicationSharingEvent(any(), any(), any())).thenReturn(Mono.empty());
             when(mockPublisher.publishApplicationPublishEvent(any(), any())).thenReturn(Mono.empty());
@@ -0,0 +1,59 @@
+package org.lowcoder.api.framework.plugin;
+
+import org.junit.jupiter.api.Test;
+import org.lowcoder.infra.perf.PerfEvent;
+import org.lowcoder.infra.perf.PerfHelper;
+import org.lowcoder.plugin.api.event.LowcoderEvent;
+import org.lowcoder.sdk.config.CommonConfig;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class PluginEventDispatcherTest {
+
+    @Test
+    void testEventsAreDroppedWhenListenerFallsBehind() throws InterruptedException {
+        CommonConfig.PluginEvents config = new CommonConfig.PluginEvents();
+        config.setQueueCapacity(2);
+        PerfHelper perfHelper = mock(PerfHelper.class);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<LowcoderEvent> delivered = new CopyOnWriteArrayList<>();
+        PluginEventDispatcher dispatcher = new PluginEventDispatcher("test", event -> {
+            started.countDown();
+            awaitQuietly(release);
+            delivered.add(event);
+        }, config, perfHelper);
+
+        List<LowcoderEvent> events = List.of(mock(LowcoderEvent.class), mock(LowcoderEvent.class),
+                mock(LowcoderEvent.class), mock(LowcoderEvent.class));
+        dispatcher.dispatch(events.get(0));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        // the listener is blocked on the first event, the queue holds two more and the last one is dropped
+        events.subList(1, 4).forEach(dispatcher::dispatch);
+        release.countDown();
+        dispatcher.close();
+
+        assertEquals(events.subList(0, 3), delivered);
+        verify(perfHelper, times(1)).count(eq(PerfEvent.PLUGIN_EVENT_DROPPED), any());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package org.lowcoder.api.home;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lowcoder.api.application.view.ApplicationInfoView;
+import org.lowcoder.api.permission.PermissionHelper;
+import org.lowcoder.api.usermanagement.OrgDevChecker;
+import org.lowcoder.domain.application.model.Application;
+import org.lowcoder.domain.folder.model.Folder;
+import org.lowcoder.domain.folder.service.FolderContentService;
+import org.lowcoder.domain.folder.service.FolderContentService.ChildCount;
+import org.lowcoder.domain.folder.service.FolderContentService.LevelQuery;
+import org.lowcoder.domain.folder.service.FolderContentService.NameCursor;
+import org.lowcoder.domain.folder.service.FolderElementRelationService;
+import org.lowcoder.domain.folder.service.FolderService;
+import org.lowcoder.domain.group.service.GroupService;
+import org.lowcoder.domain.interaction.UserFolderInteractionService;
+import org.lowcoder.domain.organization.model.MemberRole;
+import org.lowcoder.domain.organization.model.OrgMember;
+import org.lowcoder.domain.organization.service.OrganizationService;
+import org.lowcoder.domain.permission.service.ResourcePermissionService;
+import org.lowcoder.domain.user.service.UserService;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class FolderApiServiceImplTest {
+
+    private static final String ORG_ID = "org1";
+
+    private final List<Folder> folders = new ArrayList<>();
+    private final List<Application> applications = new ArrayList<>();
+    private final Set<String> readableApplicationIds = new HashSet<>();
+
+    private FolderService folderService;
+    private OrgDevChecker orgDevChecker;
+    private FolderContentService folderContentService;
+    private FolderApiServiceImpl folderApiService;
+
+    @BeforeEach
+    void setUp() {
+        SessionUserService sessionUserService = mock(SessionUserService.class);
+        folderService = mock(FolderService.class);
+        orgDevChecker = mock(OrgDevChecker.class);
+        UserHomeApiService userHomeApiService = mock(UserHomeApiService.class);
+        UserService userService = mock(UserService.class);
+        UserFolderInteractionService userFolderInteractionService = mock(UserFolderInteractionService.class);
+        folderContentService = mock(FolderContentService.class);
+        folderApiService = new FolderApiServiceImpl(folderService, sessionUserService, orgDevChecker, userHomeApiService,
+                mock(FolderElementRelationService.class), mock(ResourcePermissionService.class), mock(PermissionHelper.class),
+                mock(GroupService.class), userService, mock(OrganizationService.class), userFolderInteractionService,
+                folderContentService);
+
+        when(sessionUserService.getVisitorOrgMemberCache())
+                .thenReturn(Mono.just(OrgMember.builder().orgId(ORG_ID).userId("user1").role(MemberRole.ADMIN).build()));
+        when(orgDevChecker.isCurrentOrgDev()).thenReturn(Mono.just(true));
+        when(userService.getByIds(any())).thenReturn(Mono.just(Map.of()));
+        when(userFolderInteractionService.findByUserId("user1")).thenReturn(Flux.empty());
+        when(folderContentService.countChildren(eq(ORG_ID), any())).thenAnswer(invocation -> Mono.just(
+                invocation.<Collection<String>>getArgument(1).stream()
+                        .collect(Collectors.toMap(Function.identity(), folderId -> new ChildCount(0, 1)))));
+        when(folderContentService.getLevelFolders(eq(ORG_ID), isNull(), isNull(), any(), anyInt()))
+                .thenAnswer(invocation -> Flux.fromIterable(page(folders, Folder::getName, Folder::getId,
+                        invocation.getArgument(3), invocation.getArgument(4))));
+        when(folderContentService.getLevelApplications(any(), any(), anyInt()))
+                .thenAnswer(invocation -> {
+                    LevelQuery query = invocation.getArgument(0);
+                    List<Application> level = applications.stream()
+                            .filter(application -> Objects.equals(application.getFolderId(), query.folderId()))
+                            .toList();
+                    return Flux.fromIterable(page(level, Application::getName, Application::getId,
+                            invocation.getArgument(1), invocation.getArgument(2)));
+                });
+        when(folderContentService.getFolderApplications(eq(ORG_ID), any(), any(), any(), anyInt()))
+                .thenAnswer(invocation -> {
+                    Collection<String> folderIds = invocation.getArgument(1);
+                    String afterId = invocation.getArgument(3);
+                    return Flux.fromIterable(applications)
+                            .filter(application -> folderIds.contains(application.getFolderId()))
+                            .filter(application -> afterId == null || application.getId().compareTo(afterId) > 0)
+                            .sort(Comparator.comparing(Application::getId))
+                            .take(invocation.<Integer>getArgument(4));
+                });
+        when(userHomeApiService.getAuthorisedApplicationViews(any(), any()))
+                .thenAnswer(invocation -> Flux.fromIterable(invocation.<List<Application>>getArgument(0))
+                        .filter(application -> readableApplicationIds.contains(application.getId()))
+                        .map(application -> ApplicationInfoView.builder()
+                                .applicationId(application.getId())
+                                .name(application.getName())
+                                .build()));
+    }
+
+    @Test
+    void testFoldersComeBeforeApplicationsAcrossPages() {
+        folders.addAll(List.of(folder("f1", "a"), folder("f2", "b"), folder("f3", "c")));
+        addApplications(List.of(application("a1", "a"), application("a2", "b"), application("a3", "c")), true);
+
+        FolderLevelView first = folderApiService.getLevel(null, null, null, null, null, 2).block();
+        assertEquals(List.of("f1", "f2"), folderIds(first));
+        assertEquals(List.of(), applicationIds(first));
+        assertNotNull(first.getNextCursor());
+
+        FolderLevelView second = folderApiService.getLevel(null, null, null, null, first.getNextCursor(), 2).block();
+        assertEquals(List.of("f3"), folderIds(second));
+        assertEquals(List.of("a1"), applicationIds(second));
+        assertNotNull(second.getNextCursor());
+
+        FolderLevelView third = folderApiService.getLevel(null, null, null, null, second.getNextCursor(), 2).block();
+        assertEquals(List.of(), folderIds(third));
+        assertEquals(List.of("a2", "a3"), applicationIds(third));
+        assertNull(third.getNextCursor());
+    }
+
+    @Test
+    void testPageIsCutShortAfterMaxApplicationBatches() {
+        List<Application> unreadable = IntStream.range(0, 190)
+                .mapToObj(i -> application(String.format("a%03d", i), String.format("name%03d", i)))
+                .toList();
+        addApplications(unreadable, false);
+        readableApplicationIds.add("a150");
+
+        FolderLevelView first = folderApiService.getLevel(null, null, null, null, null, 5).block();
+        assertEquals(List.of(), applicationIds(first));
+        assertNotNull(first.getNextCursor());
+        // five batches of twenty applications
+        verify(folderContentService, times(5)).getLevelApplications(any(), any(), eq(20));
+        verify(folderContentService).getLevelApplications(any(), eq(new NameCursor("name079", "a079")), eq(20));
+
+        FolderLevelView second = folderApiService.getLevel(null, null, null, null, first.getNextCursor(), 5).block();
+        assertEquals(List.of("a150"), applicationIds(second));
+        assertNull(second.getNextCursor());
+        verify(folderContentService).getLevelApplications(any(), eq(new NameCursor("name099", "a099")), eq(20));
+    }
+
+    @Test
+    void testUnnamedApplicationsArePagedThrough() {
+        addApplications(List.of(application("a1", null), application("a2", null), application("a3", "b")), true);
+
+        List<String> applicationIds = new ArrayList<>();
+        String cursor = null;
+        do {
+            FolderLevelView page = folderApiService.getLevel(null, null, null, null, cursor, 1).block();
+            applicationIds.addAll(applicationIds(page));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(List.of("a1", "a2", "a3"), applicationIds);
+        verify(folderContentService).getLevelApplications(any(), eq(new NameCursor(null, "a1")), anyInt());
+    }
+
+    @Test
+    void testMembersOnlySeeFoldersWithReadableApplicationsBelow() {
+        when(orgDevChecker.isCurrentOrgDev()).thenReturn(Mono.just(false));
+        Folder nested = folder("f1a", "nested");
+        nested.setParentFolderId("f1");
+        folders.addAll(List.of(folder("f1", "a"), folder("f2", "b"), folder("f3", "c")));
+        List<Folder> allFolders = List.of(folders.get(0), nested, folders.get(1), folders.get(2));
+        when(folderContentService.getSubFolders(eq(ORG_ID), any())).thenAnswer(invocation -> Flux.fromIterable(allFolders)
+                .filter(folder -> invocation.<Collection<String>>getArgument(1).contains(folder.getParentFolderId())));
+        addApplications(List.of(application("a1", "a", "f1a")), true);
+        addApplications(List.of(application("a2", "b", "f2")), false);
+
+        FolderLevelView page = folderApiService.getLevel(null, null, null, null, null, 10).block();
+        assertEquals(List.of("f1"), folderIds(page));
+    }
+
+    @Test
+    void testSearchForReadableApplicationsInFoldersIsCapped() {
+        when(orgDevChecker.isCurrentOrgDev()).thenReturn(Mono.just(false));
+        when(folderContentService.getSubFolders(eq(ORG_ID), any())).thenReturn(Flux.empty());
+        folders.addAll(List.of(folder("f1", "a"), folder("f2", "b")));
+        addApplications(IntStream.range(0, 1200)
+                .mapToObj(i -> application(String.format("a%04d", i), "name", "f1"))
+                .toList(), false);
+        addApplications(List.of(application("b0000", "b", "f2")), true);
+
+        FolderLevelView page = folderApiService.getLevel(null, null, null, null, null, 10).block();
+        // ten batches of a hundred applications, the readable one comes after them
+        assertEquals(List.of(), folderIds(page));
+        verify(folderContentService, times(10)).getFolderApplications(eq(ORG_ID), any(), any(), any(), eq(100));
+    }
+
+    /**
+     * what the database returns for a level: sorted by name with null names first, then by id, after the cursor
+     */
+    private static <T> List<T> page(List<T> items, Function<T, String> name, Function<T, String> id, NameCursor after, int limit) {
+        Comparator<NameCursor> order = Comparator.comparing(NameCursor::name, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(NameCursor::id);
+        return items.stream()
+                .sorted(Comparator.comparing(item -> new NameCursor(name.apply(item), id.apply(item)), order))
+                .filter(item -> after == null || order.compare(new NameCursor(name.apply(item), id.apply(item)), after) > 0)
+                .limit(limit)
+                .toList();
+    }
+
+    private void addApplications(List<Application> added, boolean readable) {
+        applications.addAll(added);
+        if (readable) {
+            added.forEach(application -> readableApplicationIds.add(application.getId()));
+        }
+    }
+
+    private static Folder folder(String id, String name) {
+        Folder folder = new Folder();
+        folder.setId(id);
+        folder.setOrganizationId(ORG_ID);
+        folder.setName(name);
+        return folder;
+    }
+
+    private static Application application(String id, String name) {
+        return application(id, name, null);
+    }
+
+    private static Application application(String id, String name, String folderId) {
+        return Application.builder().id(id).organizationId(ORG_ID).name(name).folderId(folderId).build();
+    }
+
+    private static List<String> folderIds(FolderLevelView view) {
+        return view.getFolders().stream().map(FolderInfoView::getFolderId).toList();
+    }
+
+    private static List<String> applicationIds(FolderLevelView view) {
+        return view.getApplications().stream().map(ApplicationInfoView::getApplicationId).toList();
+    }
+}
@@ -0,0 +1,165 @@
+package org.lowcoder.api.material;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.lowcoder.domain.asset.model.Asset;
+import org.lowcoder.domain.asset.service.AssetRepository;
+import org.lowcoder.domain.asset.service.AssetServiceImpl;
+import org.lowcoder.sdk.config.CommonConfig;
+import org.lowcoder.sdk.config.dynamic.ConfigCenterForTest;
+import org.lowcoder.sdk.exception.BizError;
+import org.lowcoder.sdk.exception.BizException;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.multipart.Part;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AssetControllerTest {
+
+    @Mock
+    private AssetRepository repository;
+
+    private AssetServiceImpl assetService;
+    private AssetController assetController;
+
+    @BeforeEach
+    void setUp() {
+        assetService = new AssetServiceImpl(repository, new ConfigCenterForTest(), new CommonConfig());
+        assetController = new AssetController(assetService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        assetService.disposeThumbnailScheduler();
+    }
+
+    @Test
+    void testImageIsServedWithItsEtag() {
+        Asset asset = asset("asset1", "image", Map.of());
+        when(repository.findById("asset1")).thenReturn(Mono.just(asset));
+
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/assets/asset1"));
+        assetController.getById("asset1", null, exchange).block();
+
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+        assertEquals("\"" + asset.getContentHash() + "\"", headers.getETag());
+        assertEquals(MediaType.IMAGE_PNG, headers.getContentType());
+        assertEquals("image", exchange.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void testMatchingEtagGetsNotModified() {
+        Asset asset = asset("asset1", "image", Map.of());
+        when(repository.findById("asset1")).thenReturn(Mono.just(asset));
+
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/assets/asset1")
+                .ifNoneMatch("\"" + asset.getContentHash() + "\""));
+        assetController.getById("asset1", null, exchange).block();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, exchange.getResponse().getStatusCode());
+        assertNull(exchange.getResponse().getHeaders().getContentType());
+    }
+
+    @Test
+    void testOutdatedEtagGetsTheImage() {
+        when(repository.findById("asset1")).thenReturn(Mono.just(asset("asset1", "image", Map.of())));
+
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/assets/asset1").ifNoneMatch("\"outdated\""));
+        assetController.getById("asset1", null, exchange).block();
+
+        assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+        assertEquals("image", exchange.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void testSizeSelectsTheSmallestThumbnailThatIsLargeEnough() {
+        when(repository.findById("asset1")).thenReturn(Mono.just(asset("asset1", "image128", Map.of("32", "thumb32", "64", "thumb64"))));
+        when(repository.findById("thumb32")).thenReturn(Mono.just(asset("thumb32", "image32", Map.of())));
+        when(repository.findById("thumb64")).thenReturn(Mono.just(asset("thumb64", "image64", Map.of())));
+
+        assertEquals("image32", getImage("asset1", 20));
+        assertEquals("image32", getImage("asset1", 32));
+        assertEquals("image64", getImage("asset1", 40));
+        assertEquals("image128", getImage("asset1", 100));
+        assertEquals("image128", getImage("asset1", null));
+    }
+
+    @Test
+    void testMissingThumbnailFallsBackToTheImage() {
+        when(repository.findById("asset1")).thenReturn(Mono.just(asset("asset1", "image128", Map.of("32", "thumb32"))));
+        when(repository.findById("thumb32")).thenReturn(Mono.empty());
+
+        assertEquals("image128", getImage("asset1", 32));
+    }
+
+    @Test
+    void testUploadOverTheSizeLimitFails() {
+        // the limit is crossed by the last of several buffers
+        Part part = imagePart(1000, 1000, 100);
+
+        StepVerifier.create(assetService.upload(part, 2, false))
+                .expectErrorMatches(e -> e instanceof BizException bizException && bizException.getError() == BizError.PAYLOAD_TOO_LARGE)
+                .verify();
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void testUploadUpToTheSizeLimitIsSaved() {
+        when(repository.save(any())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        Part part = imagePart(1000, 1000, 48);
+
+        StepVerifier.create(assetService.upload(part, 2, false))
+                .expectNextMatches(asset -> asset.getData().length == 2048)
+                .verifyComplete();
+    }
+
+    private String getImage(String assetId, Integer size) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/assets/" + assetId));
+        assetController.getById(assetId, size, exchange).block();
+        return exchange.getResponse().getBodyAsString().block();
+    }
+
+    private static Asset asset(String id, String data, Map<String, String> thumbnails) {
+        return Asset.builder()
+                .id(id)
+                .contentType(MediaType.IMAGE_PNG_VALUE)
+                .data(data.getBytes(StandardCharsets.UTF_8))
+                .thumbnails(thumbnails)
+                .build();
+    }
+
+    private static Part imagePart(int... bufferSizes) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.IMAGE_PNG);
+        Part part = mock(Part.class);
+        when(part.headers()).thenReturn(headers);
+        when(part.content()).thenReturn(Flux.fromStream(IntStream.of(bufferSizes).boxed())
+                .<DataBuffer> map(size -> DefaultDataBufferFactory.sharedInstance.wrap(new byte[size])));
+        return part;
+    }
+}
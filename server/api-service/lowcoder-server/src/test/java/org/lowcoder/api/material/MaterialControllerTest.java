@@ -0,0 +1,156 @@
+package org.lowcoder.api.material;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.lowcoder.domain.material.model.MaterialMeta;
+import org.lowcoder.domain.material.model.MaterialType;
+import org.lowcoder.domain.material.service.meta.MaterialMetaService;
+import org.lowcoder.domain.material.service.storage.MaterialStorageService;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.lowcoder.api.material.MaterialEndpoints.DOWNLOAD_TYPE;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MaterialControllerTest {
+
+    private static final String CONTENT = "0123456789";
+    private static final String ETAG = "\"hash\"";
+
+    @Mock
+    private MaterialMetaService materialMetaService;
+    @Mock
+    private MaterialStorageService materialStorageService;
+    @InjectMocks
+    private MaterialApiServiceImpl materialApiService;
+
+    private MaterialController materialController;
+
+    @BeforeEach
+    void setUp() {
+        materialController = new MaterialController(materialApiService, materialMetaService);
+
+        // logos are public, so no org check is needed here
+        MaterialMeta materialMeta = MaterialMeta.builder()
+                .filename("logo.png")
+                .orgId("org1")
+                .size(CONTENT.length())
+                .type(MaterialType.LOGO)
+                .contentHash("hash")
+                .build();
+        materialMeta.setId("material1");
+        when(materialMetaService.findById("material1")).thenReturn(Mono.just(materialMeta));
+        // not read by the requests that get no content
+        lenient().doAnswer(invocation -> Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(CONTENT.getBytes(StandardCharsets.UTF_8))))
+                .when(materialStorageService).download(materialMeta);
+    }
+
+    @Test
+    void testWholeContent() {
+        MockServerHttpResponse response = download(MockServerHttpRequest.get("/api/materials/material1"));
+
+        HttpHeaders headers = response.getHeaders();
+        assertEquals(ETAG, headers.getETag());
+        assertEquals("bytes", headers.getFirst(HttpHeaders.ACCEPT_RANGES));
+        assertEquals(CONTENT.length(), headers.getContentLength());
+        assertNull(headers.getFirst(HttpHeaders.CONTENT_RANGE));
+        assertEquals(CONTENT, response.getBodyAsString().block());
+    }
+
+    @Test
+    void testMatchingEtagGetsNotModified() {
+        MockServerHttpResponse response = download(MockServerHttpRequest.get("/api/materials/material1").ifNoneMatch(ETAG));
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+    }
+
+    @Test
+    void testSingleRange() {
+        doCallRealMethod().when(materialStorageService).download(any(), anyLong(), anyLong());
+
+        MockServerHttpResponse response = download(MockServerHttpRequest.get("/api/materials/material1")
+                .header(HttpHeaders.RANGE, "bytes=2-5"));
+
+        assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+        assertEquals("bytes 2-5/10", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        assertEquals(4, response.getHeaders().getContentLength());
+        assertEquals("2345", response.getBodyAsString().block());
+    }
+
+    @Test
+    void testSuffixRange() {
+        doCallRealMethod().when(materialStorageService).download(any(), anyLong(), anyLong());
+
+        MockServerHttpResponse response = download(MockServerHttpRequest.get("/api/materials/material1")
+                .header(HttpHeaders.RANGE, "bytes=-3"));
+
+        assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+        assertEquals("bytes 7-9/10", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        assertEquals("789", response.getBodyAsString().block());
+    }
+
+    @Test
+    void testSeveralRangesGetTheWholeContent() {
+        MockServerHttpResponse response = download(MockServerHttpRequest.get("/api/materials/material1")
+                .header(HttpHeaders.RANGE, "bytes=0-1,4-5"));
+
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        assertEquals(CONTENT, response.getBodyAsString().block());
+    }
+
+    @Test
+    void testUnsatisfiableRange() {
+        MockServerHttpResponse response = download(MockServerHttpRequest.get("/api/materials/material1")
+                .header(HttpHeaders.RANGE, "bytes=10-"));
+
+        assertEquals(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE, response.getStatusCode());
+        assertEquals("bytes */10", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    void testMatchingIfRangeGetsTheRange() {
+        doCallRealMethod().when(materialStorageService).download(any(), anyLong(), anyLong());
+
+        MockServerHttpResponse response = download(MockServerHttpRequest.get("/api/materials/material1")
+                .header(HttpHeaders.RANGE, "bytes=2-5")
+                .header(HttpHeaders.IF_RANGE, ETAG));
+
+        assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+        assertEquals("2345", response.getBodyAsString().block());
+    }
+
+    @Test
+    void testOutdatedIfRangeGetsTheWholeContent() {
+        MockServerHttpResponse response = download(MockServerHttpRequest.get("/api/materials/material1")
+                .header(HttpHeaders.RANGE, "bytes=2-5")
+                .header(HttpHeaders.IF_RANGE, "\"outdated\""));
+
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        assertEquals(CONTENT, response.getBodyAsString().block());
+    }
+
+    private MockServerHttpResponse download(MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        materialController.download("material1", DOWNLOAD_TYPE, exchange).block();
+        return exchange.getResponse();
+    }
+}
@@ -0,0 +1,135 @@
+package org.lowcoder.api.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.lowcoder.infra.config.repository.ServerConfigRepository;
+import org.lowcoder.infra.serverlog.ApiUsageRollup;
+import org.lowcoder.infra.serverlog.ApiUsageRollup.Dimension;
+import org.lowcoder.infra.serverlog.ApiUsageRollupService;
+import org.lowcoder.infra.serverlog.ServerLog;
+import org.lowcoder.infra.serverlog.ServerLogRepository;
+import org.lowcoder.sdk.util.IDUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.lowcoder.infra.serverlog.ApiUsageRollup.Granularity.HOUR;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ApiUsageRollupServiceTest {
+
+    @Autowired
+    private ApiUsageRollupService apiUsageRollupService;
+    @Autowired
+    private ServerLogRepository serverLogRepository;
+    @Autowired
+    private ServerConfigRepository serverConfigRepository;
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    private long cutoverTime;
+
+    @BeforeAll
+    public void beforeAll() {
+        cutoverTime = apiUsageRollupService.add(List.of())
+                .then(serverConfigRepository.findByKey("apiUsageRollup.cutoverTime"))
+                .map(serverConfig -> ((Number) serverConfig.getValue()).longValue())
+                .block();
+    }
+
+    @Test
+    public void testCountersAreIncrementedAcrossFlushes() {
+        String orgId = IDUtils.generate();
+        long time = HOUR.bucketStart(cutoverTime) + HOUR.millis();
+
+        Mono<Map<Dimension, List<Long>>> countsMono = apiUsageRollupService.add(List.of(log(orgId, "user1", time), log(orgId, "user1", time + 1)))
+                .then(apiUsageRollupService.add(List.of(log(orgId, "user1", time + 2))))
+                .then(getHourlyCounts(orgId));
+
+        StepVerifier.create(countsMono)
+                .assertNext(counts -> {
+                    Assertions.assertEquals(List.of(3L), counts.get(Dimension.ORG));
+                    Assertions.assertEquals(List.of(3L), counts.get(Dimension.USER));
+                    Assertions.assertEquals(List.of(3L), counts.get(Dimension.ENDPOINT));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void testCountOrgCallsWithinBounds() {
+        String orgId = IDUtils.generate();
+        long hour = HOUR.bucketStart(cutoverTime) + HOUR.millis();
+        long nextHour = hour + HOUR.millis();
+        long lastHour = nextHour + HOUR.millis();
+
+        Mono<Void> addMono = apiUsageRollupService.add(List.of(log(orgId, "user1", hour), log(orgId, "user1", nextHour),
+                log(orgId, "user1", nextHour + 1), log(orgId, "user1", lastHour)));
+
+        StepVerifier.create(addMono.then(Mono.zip(apiUsageRollupService.countOrgCalls(orgId, null, null),
+                        apiUsageRollupService.countOrgCalls(orgId, nextHour, null),
+                        apiUsageRollupService.countOrgCalls(orgId, null, nextHour),
+                        apiUsageRollupService.countOrgCalls(orgId, nextHour, lastHour))))
+                .assertNext(tuple -> {
+                    Assertions.assertEquals(4L, tuple.getT1());
+                    // from is inclusive
+                    Assertions.assertEquals(3L, tuple.getT2());
+                    // to is exclusive
+                    Assertions.assertEquals(1L, tuple.getT3());
+                    Assertions.assertEquals(2L, tuple.getT4());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void testBackfillAddsToTheCountersOfAdd() {
+        String orgId = IDUtils.generate();
+        long before = cutoverTime - 1;
+
+        Mono<Map<Dimension, List<Long>>> countsMono = serverLogRepository.saveAll(List.of(log(orgId, "user1", before), log(orgId, null, before)))
+                .then(apiUsageRollupService.backfill())
+                // calls before the cutover are left to the backfill
+                .then(apiUsageRollupService.add(List.of(log(orgId, "user1", cutoverTime), log(orgId, null, cutoverTime), log(orgId, "user1", before))))
+                .then(getHourlyCounts(orgId));
+
+        StepVerifier.create(countsMono)
+                .assertNext(counts -> {
+                    Assertions.assertEquals(List.of(4L), counts.get(Dimension.ORG));
+                    Assertions.assertEquals(List.of(2L, 2L), counts.get(Dimension.USER));
+                    Assertions.assertEquals(List.of(2L), counts.get(Dimension.ENDPOINT));
+                })
+                .verifyComplete();
+    }
+
+    /**
+     * dimension -> counts of the hourly counters of the org
+     */
+    private Mono<Map<Dimension, List<Long>>> getHourlyCounts(String orgId) {
+        Query query = Query.query(Criteria.where("orgId").is(orgId).and("granularity").is(HOUR.name()));
+        return reactiveMongoTemplate.find(query, ApiUsageRollup.class)
+                .collectList()
+                .map(rollups -> rollups.stream()
+                        .collect(Collectors.groupingBy(ApiUsageRollup::getDimension,
+                                Collectors.mapping(ApiUsageRollup::getCount, Collectors.toList()))));
+    }
+
+    private static ServerLog log(String orgId, String userId, long createTime) {
+        return ServerLog.builder()
+                .orgId(orgId)
+                .userId(userId)
+                .urlPath("/api/applications/6566b7c4b2d5ef4a7ac1e5e2/view")
+                .httpMethod("GET")
+                .createTime(createTime)
+                .build();
+    }
+}
@@ -6,13 +6,25 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.lowcoder.domain.application.model.ApplicationHistorySnapshot;
 import org.lowcoder.domain.application.service.ApplicationHistorySnapshotService;
+import org.lowcoder.runner.task.ArchiveSnapshotTask;
 import org.lowcoder.sdk.models.HasIdAndAuditing;
+import org.lowcoder.sdk.util.IDUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.test.context.junit4.SpringRunner;
 import reactor.test.StepVerifier;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
 import static org.junit.Assert.*;
 
 @SuppressWarnings({"ReactiveStreamsNullableInLambdaInTransform"})
@@ -23,6 +35,10 @@ public class ApplicationHistorySnapshotServiceTest {
 
     @Autowired
     private ApplicationHistorySnapshotService service;
+    @Autowired
+    private ArchiveSnapshotTask archiveSnapshotTask;
+    @Autowired
+    private MongoTemplate mongoTemplate;
 
     @Test
     public void testServiceMethods() {
@@ -89,4 +105,36 @@ public class ApplicationHistorySnapshotServiceTest {
                 .verifyComplete();
 
     }
+
+    @Test
+    public void testDeltaIsRebuiltFromArchivedKeyframe() {
+        String applicationId = IDUtils.generate();
+        List<Map<String, Object>> dsls = List.of(dsl("a"), dsl("b"), dsl("c"));
+        for (Map<String, Object> dsl : dsls) {
+            assertTrue(service.createHistorySnapshot(applicationId, dsl, ImmutableMap.of(), "user1").block());
+        }
+        List<ApplicationHistorySnapshot> snapshots = mongoTemplate.find(Query.query(Criteria.where("applicationId").is(applicationId))
+                .with(Sort.by("id")), ApplicationHistorySnapshot.class);
+        String keyframeId = snapshots.get(0).getId();
+        assertEquals(keyframeId, snapshots.get(2).getKeyframeId());
+
+        // only the keyframe is past the retention time
+        mongoTemplate.updateFirst(Query.query(Criteria.where("id").is(keyframeId)),
+                Update.update("createdAt", Instant.now().minus(365, ChronoUnit.DAYS)), ApplicationHistorySnapshot.class);
+        archiveSnapshotTask.archive();
+
+        StepVerifier.create(service.countByApplicationIdArchived(applicationId))
+                .expectNext(1L)
+                .verifyComplete();
+        StepVerifier.create(service.getHistorySnapshotDetailArchived(keyframeId))
+                .assertNext(snapshot -> assertEquals(dsls.get(0), snapshot.getDsl()))
+                .verifyComplete();
+        StepVerifier.create(service.getHistorySnapshotDetail(snapshots.get(2).getId()))
+                .assertNext(snapshot -> assertEquals(dsls.get(2), snapshot.getDsl()))
+                .verifyComplete();
+    }
+
+    private static Map<String, Object> dsl(String compName) {
+        return ImmutableMap.of("ui", ImmutableMap.of("comp", ImmutableMap.of("name", compName)));
+    }
 }